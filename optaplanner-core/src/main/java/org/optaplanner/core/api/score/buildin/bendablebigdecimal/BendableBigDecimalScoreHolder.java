@@ -65,14 +65,9 @@ public class BendableBigDecimalScoreHolder extends AbstractScoreHolder {
      * The {@code scoreLevel} is {@code hardLevel} for hard levels and {@code softLevel + hardLevelSize} for soft levels.
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final int hardLevel, final BigDecimal weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, int hardLevel, BigDecimal weight) {
         hardScores[hardLevel] = hardScores[hardLevel].add(weight);
-        registerBigDecimalConstraintMatch(kcontext, hardLevel, weight, new BigDecimalConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScores[hardLevel] = hardScores[hardLevel].subtract(weight);
-            }
-        });
+        registerBigDecimalConstraintMatch(kcontext, hardLevel, weight);
     }
 
     /**
@@ -81,14 +76,20 @@ public class BendableBigDecimalScoreHolder extends AbstractScoreHolder {
      * The {@code scoreLevel} is {@code hardLevel} for hard levels and {@code softLevel + hardLevelSize} for soft levels.
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final int softLevel, final BigDecimal weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, int softLevel, BigDecimal weight) {
         softScores[softLevel] = softScores[softLevel].add(weight);
-        registerBigDecimalConstraintMatch(kcontext, getHardLevelsSize() + softLevel, weight, new BigDecimalConstraintUndoListener() {
-            @Override
-            public void undo() {
-                softScores[softLevel] = softScores[softLevel].subtract(weight);
-            }
-        });
+        registerBigDecimalConstraintMatch(kcontext, getHardLevelsSize() + softLevel, weight);
+    }
+
+    @Override
+    protected void undoBigDecimalConstraintMatch(int scoreLevel, BigDecimal weight) {
+        int hardLevelsSize = getHardLevelsSize();
+        if (scoreLevel < hardLevelsSize) {
+            hardScores[scoreLevel] = hardScores[scoreLevel].subtract(weight);
+        } else {
+            int softLevel = scoreLevel - hardLevelsSize;
+            softScores[softLevel] = softScores[softLevel].subtract(weight);
+        }
     }
 
     @Override
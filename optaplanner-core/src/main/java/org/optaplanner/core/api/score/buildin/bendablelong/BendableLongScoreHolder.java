@@ -21,11 +21,12 @@ import java.util.Arrays;
 import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see BendableLongScore
  */
-public class BendableLongScoreHolder extends AbstractScoreHolder {
+public class BendableLongScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     private long[] hardScores;
     private long[] softScores;
@@ -62,14 +63,9 @@ public class BendableLongScoreHolder extends AbstractScoreHolder {
      * The {@code scoreLevel} is {@code hardLevel} for hard levels and {@code softLevel + hardLevelSize} for soft levels.
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final int hardLevel, final long weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, int hardLevel, long weight) {
         hardScores[hardLevel] += weight;
-        registerLongConstraintMatch(kcontext, hardLevel, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScores[hardLevel] -= weight;
-            }
-        });
+        registerLongConstraintMatch(kcontext, hardLevel, weight);
     }
 
     /**
@@ -78,14 +74,20 @@ public class BendableLongScoreHolder extends AbstractScoreHolder {
      * The {@code scoreLevel} is {@code hardLevel} for hard levels and {@code softLevel + hardLevelSize} for soft levels.
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final int softLevel, final long weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, int softLevel, long weight) {
         softScores[softLevel] += weight;
-        registerLongConstraintMatch(kcontext, getHardLevelsSize() + softLevel, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
-                softScores[softLevel] -= weight;
-            }
-        });
+        registerLongConstraintMatch(kcontext, getHardLevelsSize() + softLevel, weight);
+    }
+
+    @Override
+    protected void undoLongConstraintMatch(int scoreLevel, long weight) {
+        int hardLevelsSize = getHardLevelsSize();
+        if (scoreLevel < hardLevelsSize) {
+            hardScores[scoreLevel] -= weight;
+        } else {
+            int softLevel = scoreLevel - hardLevelsSize;
+            softScores[softLevel] -= weight;
+        }
     }
 
     @Override
@@ -95,4 +97,15 @@ public class BendableLongScoreHolder extends AbstractScoreHolder {
                 Arrays.copyOf(softScores, softScores.length));
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        for (int i = 0; i < hardScores.length; i++) {
+            packedScore[1 + i] = hardScores[i];
+        }
+        for (int i = 0; i < softScores.length; i++) {
+            packedScore[1 + hardScores.length + i] = softScores[i];
+        }
+    }
+
 }
@@ -19,11 +19,12 @@ package org.optaplanner.core.api.score.buildin.hardmediumsoft;
 import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see HardMediumSoftScore
  */
-public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
+public class HardMediumSoftScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     protected int hardScore;
     protected int mediumScore;
@@ -53,42 +54,44 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final int weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, int weight) {
         hardScore += weight;
-        registerIntConstraintMatch(kcontext, 0, weight, new IntConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScore -= weight;
-            }
-        });
+        registerIntConstraintMatch(kcontext, 0, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addMediumConstraintMatch(RuleContext kcontext, final int weight) {
+    public void addMediumConstraintMatch(RuleContext kcontext, int weight) {
         mediumScore += weight;
-        registerIntConstraintMatch(kcontext, 1, weight, new IntConstraintUndoListener() {
-            @Override
-            public void undo() {
-                mediumScore -= weight;
-            }
-        });
+        registerIntConstraintMatch(kcontext, 1, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final int weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, int weight) {
         softScore += weight;
-        registerIntConstraintMatch(kcontext, 2, weight, new IntConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerIntConstraintMatch(kcontext, 2, weight);
+    }
+
+    @Override
+    protected void undoIntConstraintMatch(int scoreLevel, int weight) {
+        switch (scoreLevel) {
+            case 0:
+                hardScore -= weight;
+                break;
+            case 1:
+                mediumScore -= weight;
+                break;
+            case 2:
                 softScore -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -96,4 +99,12 @@ public class HardMediumSoftScoreHolder extends AbstractScoreHolder {
         return HardMediumSoftScore.valueOf(initScore, hardScore, mediumScore, softScore);
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        packedScore[1] = hardScore;
+        packedScore[2] = mediumScore;
+        packedScore[3] = softScore;
+    }
+
 }
@@ -20,11 +20,12 @@ import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.buildin.hardmediumsoft.HardMediumSoftScore;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see HardMediumSoftScore
  */
-public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
+public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     protected long hardScore;
     protected long mediumScore;
@@ -54,42 +55,44 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final long weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, long weight) {
         hardScore += weight;
-        registerLongConstraintMatch(kcontext, 0, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScore -= weight;
-            }
-        });
+        registerLongConstraintMatch(kcontext, 0, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addMediumConstraintMatch(RuleContext kcontext, final long weight) {
+    public void addMediumConstraintMatch(RuleContext kcontext, long weight) {
         mediumScore += weight;
-        registerLongConstraintMatch(kcontext, 1, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
-                mediumScore -= weight;
-            }
-        });
+        registerLongConstraintMatch(kcontext, 1, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final long weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, long weight) {
         softScore += weight;
-        registerLongConstraintMatch(kcontext, 2, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerLongConstraintMatch(kcontext, 2, weight);
+    }
+
+    @Override
+    protected void undoLongConstraintMatch(int scoreLevel, long weight) {
+        switch (scoreLevel) {
+            case 0:
+                hardScore -= weight;
+                break;
+            case 1:
+                mediumScore -= weight;
+                break;
+            case 2:
                 softScore -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -97,4 +100,12 @@ public class HardMediumSoftLongScoreHolder extends AbstractScoreHolder {
         return HardMediumSoftLongScore.valueOf(initScore, hardScore, mediumScore, softScore);
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        packedScore[1] = hardScore;
+        packedScore[2] = mediumScore;
+        packedScore[3] = softScore;
+    }
+
 }
@@ -19,11 +19,12 @@ package org.optaplanner.core.api.score.buildin.hardsoft;
 import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see HardSoftScore
  */
-public class HardSoftScoreHolder extends AbstractScoreHolder {
+public class HardSoftScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     protected int hardScore;
     protected int softScore;
@@ -48,28 +49,32 @@ public class HardSoftScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final int weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, int weight) {
         hardScore += weight;
-        registerIntConstraintMatch(kcontext, 0, weight, new IntConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScore -= weight;
-            }
-        });
+        registerIntConstraintMatch(kcontext, 0, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final int weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, int weight) {
         softScore += weight;
-        registerIntConstraintMatch(kcontext, 1, weight, new IntConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerIntConstraintMatch(kcontext, 1, weight);
+    }
+
+    @Override
+    protected void undoIntConstraintMatch(int scoreLevel, int weight) {
+        switch (scoreLevel) {
+            case 0:
+                hardScore -= weight;
+                break;
+            case 1:
                 softScore -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -77,4 +82,11 @@ public class HardSoftScoreHolder extends AbstractScoreHolder {
         return HardSoftScore.valueOf(initScore, hardScore, softScore);
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        packedScore[1] = hardScore;
+        packedScore[2] = softScore;
+    }
+
 }
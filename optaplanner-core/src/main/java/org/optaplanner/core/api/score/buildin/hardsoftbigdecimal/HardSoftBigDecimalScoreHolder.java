@@ -50,28 +50,32 @@ public class HardSoftBigDecimalScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final BigDecimal weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, BigDecimal weight) {
         hardScore = (hardScore == null) ? weight : hardScore.add(weight);
-        registerBigDecimalConstraintMatch(kcontext, 0, weight, new BigDecimalConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScore = hardScore.subtract(weight);
-            }
-        });
+        registerBigDecimalConstraintMatch(kcontext, 0, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final BigDecimal weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, BigDecimal weight) {
         softScore = (softScore == null) ? weight : softScore.add(weight);
-        registerBigDecimalConstraintMatch(kcontext, 1, weight, new BigDecimalConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerBigDecimalConstraintMatch(kcontext, 1, weight);
+    }
+
+    @Override
+    protected void undoBigDecimalConstraintMatch(int scoreLevel, BigDecimal weight) {
+        switch (scoreLevel) {
+            case 0:
+                hardScore = hardScore.subtract(weight);
+                break;
+            case 1:
                 softScore = softScore.subtract(weight);
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -51,28 +51,32 @@ public class HardSoftDoubleScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final double weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, double weight) {
         hardScore += weight;
-        registerDoubleConstraintMatch(kcontext, 0, weight, new DoubleConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScore -= weight;
-            }
-        });
+        registerDoubleConstraintMatch(kcontext, 0, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final double weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, double weight) {
         softScore += weight;
-        registerDoubleConstraintMatch(kcontext, 1, weight, new DoubleConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerDoubleConstraintMatch(kcontext, 1, weight);
+    }
+
+    @Override
+    protected void undoDoubleConstraintMatch(int scoreLevel, double weight) {
+        switch (scoreLevel) {
+            case 0:
+                hardScore -= weight;
+                break;
+            case 1:
                 softScore -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
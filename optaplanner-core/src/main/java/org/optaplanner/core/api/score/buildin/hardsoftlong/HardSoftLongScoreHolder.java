@@ -19,11 +19,12 @@ package org.optaplanner.core.api.score.buildin.hardsoftlong;
 import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see HardSoftLongScore
  */
-public class HardSoftLongScoreHolder extends AbstractScoreHolder {
+public class HardSoftLongScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     protected long hardScore;
     protected long softScore;
@@ -48,28 +49,32 @@ public class HardSoftLongScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addHardConstraintMatch(RuleContext kcontext, final long weight) {
+    public void addHardConstraintMatch(RuleContext kcontext, long weight) {
         hardScore += weight;
-        registerLongConstraintMatch(kcontext, 0, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
-                hardScore -= weight;
-            }
-        });
+        registerLongConstraintMatch(kcontext, 0, weight);
     }
 
     /**
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addSoftConstraintMatch(RuleContext kcontext, final long weight) {
+    public void addSoftConstraintMatch(RuleContext kcontext, long weight) {
         softScore += weight;
-        registerLongConstraintMatch(kcontext, 1, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerLongConstraintMatch(kcontext, 1, weight);
+    }
+
+    @Override
+    protected void undoLongConstraintMatch(int scoreLevel, long weight) {
+        switch (scoreLevel) {
+            case 0:
+                hardScore -= weight;
+                break;
+            case 1:
                 softScore -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -77,4 +82,11 @@ public class HardSoftLongScoreHolder extends AbstractScoreHolder {
         return HardSoftLongScore.valueOf(initScore, hardScore, softScore);
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        packedScore[1] = hardScore;
+        packedScore[2] = softScore;
+    }
+
 }
@@ -19,11 +19,12 @@ package org.optaplanner.core.api.score.buildin.simple;
 import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see SimpleScore
  */
-public class SimpleScoreHolder extends AbstractScoreHolder {
+public class SimpleScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     protected int score;
 
@@ -43,14 +44,20 @@ public class SimpleScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addConstraintMatch(RuleContext kcontext, final int weight) {
+    public void addConstraintMatch(RuleContext kcontext, int weight) {
         score += weight;
-        registerIntConstraintMatch(kcontext, 0, weight, new IntConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerIntConstraintMatch(kcontext, 0, weight);
+    }
+
+    @Override
+    protected void undoIntConstraintMatch(int scoreLevel, int weight) {
+        switch (scoreLevel) {
+            case 0:
                 score -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -58,4 +65,10 @@ public class SimpleScoreHolder extends AbstractScoreHolder {
         return SimpleScore.valueOf(initScore, score);
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        packedScore[1] = score;
+    }
+
 }
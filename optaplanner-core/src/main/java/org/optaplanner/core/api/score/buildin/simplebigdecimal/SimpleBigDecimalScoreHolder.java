@@ -45,14 +45,20 @@ public class SimpleBigDecimalScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addConstraintMatch(RuleContext kcontext, final BigDecimal weight) {
+    public void addConstraintMatch(RuleContext kcontext, BigDecimal weight) {
         score = (score == null) ? weight : score.add(weight);
-        registerBigDecimalConstraintMatch(kcontext, 0, weight, new BigDecimalConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerBigDecimalConstraintMatch(kcontext, 0, weight);
+    }
+
+    @Override
+    protected void undoBigDecimalConstraintMatch(int scoreLevel, BigDecimal weight) {
+        switch (scoreLevel) {
+            case 0:
                 score = score.subtract(weight);
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
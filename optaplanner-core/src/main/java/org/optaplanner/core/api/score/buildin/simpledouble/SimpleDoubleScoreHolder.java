@@ -45,14 +45,20 @@ public class SimpleDoubleScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addConstraintMatch(RuleContext kcontext, final double weight) {
+    public void addConstraintMatch(RuleContext kcontext, double weight) {
         score += weight;
-        registerDoubleConstraintMatch(kcontext, 0, weight, new DoubleConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerDoubleConstraintMatch(kcontext, 0, weight);
+    }
+
+    @Override
+    protected void undoDoubleConstraintMatch(int scoreLevel, double weight) {
+        switch (scoreLevel) {
+            case 0:
                 score -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
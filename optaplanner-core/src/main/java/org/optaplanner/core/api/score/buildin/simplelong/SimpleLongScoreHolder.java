@@ -19,11 +19,12 @@ package org.optaplanner.core.api.score.buildin.simplelong;
 import org.kie.api.runtime.rule.RuleContext;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolder;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 
 /**
  * @see SimpleLongScore
  */
-public class SimpleLongScoreHolder extends AbstractScoreHolder {
+public class SimpleLongScoreHolder extends AbstractScoreHolder implements PackedScoreHolder {
 
     protected long score;
 
@@ -43,14 +44,20 @@ public class SimpleLongScoreHolder extends AbstractScoreHolder {
      * @param kcontext never null, the magic variable in DRL
      * @param weight higher is better, negative for a penalty, positive for a reward
      */
-    public void addConstraintMatch(RuleContext kcontext, final long weight) {
+    public void addConstraintMatch(RuleContext kcontext, long weight) {
         score += weight;
-        registerLongConstraintMatch(kcontext, 0, weight, new LongConstraintUndoListener() {
-            @Override
-            public void undo() {
+        registerLongConstraintMatch(kcontext, 0, weight);
+    }
+
+    @Override
+    protected void undoLongConstraintMatch(int scoreLevel, long weight) {
+        switch (scoreLevel) {
+            case 0:
                 score -= weight;
-            }
-        });
+                break;
+            default:
+                throw new IllegalArgumentException("The scoreLevel (" + scoreLevel + ") is not supported.");
+        }
     }
 
     @Override
@@ -58,4 +65,10 @@ public class SimpleLongScoreHolder extends AbstractScoreHolder {
         return SimpleLongScore.valueOf(initScore, score);
     }
 
+    @Override
+    public void extractPackedScore(int initScore, long[] packedScore) {
+        packedScore[0] = initScore;
+        packedScore[1] = score;
+    }
+
 }
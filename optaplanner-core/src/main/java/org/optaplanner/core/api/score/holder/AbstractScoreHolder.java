@@ -31,6 +31,7 @@ import org.kie.api.runtime.rule.Match;
 import org.kie.api.runtime.rule.RuleContext;
 import org.kie.api.runtime.rule.RuleRuntime;
 import org.kie.internal.event.rule.ActivationUnMatchListener;
+import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.score.constraint.bigdecimal.BigDecimalConstraintMatch;
 import org.optaplanner.core.api.score.constraint.bigdecimal.BigDecimalConstraintMatchTotal;
@@ -48,11 +49,17 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
 
     protected final boolean constraintMatchEnabled;
     protected final Map<List<Object>, ConstraintMatchTotal> constraintMatchTotalMap;
+    /**
+     * Caches the {@link ConstraintMatchTotal} per score level for each {@link Rule},
+     * so finding it doesn't need to build the key of {@link #constraintMatchTotalMap} for every constraint match.
+     */
+    protected final Map<Rule, ConstraintMatchTotal[]> ruleToConstraintMatchTotalsMap;
 
     protected AbstractScoreHolder(boolean constraintMatchEnabled) {
         this.constraintMatchEnabled = constraintMatchEnabled;
         // TODO Can we set the initial capacity of this map more accurately? For example: number of rules
         constraintMatchTotalMap = constraintMatchEnabled ? new LinkedHashMap<>() : null;
+        ruleToConstraintMatchTotalsMap = constraintMatchEnabled ? new HashMap<>() : null;
     }
 
     @Override
@@ -77,7 +84,8 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
             final IntConstraintUndoListener constraintUndoListener) {
         if (constraintMatchEnabled) {
             // Not needed in fast code: Add ConstraintMatch
-            constraintUndoListener.constraintMatchTotal = findIntConstraintMatchTotal(kcontext, scoreLevel);
+            constraintUndoListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                    IntConstraintMatchTotal::new);
             constraintUndoListener.constraintMatch = constraintUndoListener
                     .constraintMatchTotal.addConstraintMatch(kcontext, weight);
         }
@@ -100,24 +108,12 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
 
     }
 
-    private IntConstraintMatchTotal findIntConstraintMatchTotal(RuleContext kcontext, int scoreLevel) {
-        Rule rule = kcontext.getRule();
-        String constraintPackage = rule.getPackageName();
-        String constraintName = rule.getName();
-        List<Object> key = Arrays.<Object>asList(constraintPackage, constraintName, scoreLevel);
-        IntConstraintMatchTotal matchTotal = (IntConstraintMatchTotal) constraintMatchTotalMap.get(key);
-        if (matchTotal == null) {
-            matchTotal = new IntConstraintMatchTotal(constraintPackage, constraintName, scoreLevel);
-            constraintMatchTotalMap.put(key, matchTotal);
-        }
-        return matchTotal;
-    }
-
     protected void registerLongConstraintMatch(RuleContext kcontext, int scoreLevel, long weight,
             final LongConstraintUndoListener constraintUndoListener) {
         if (constraintMatchEnabled) {
             // Not needed in fast code: Add ConstraintMatch
-            constraintUndoListener.constraintMatchTotal = findLongConstraintMatchTotal(kcontext, scoreLevel);
+            constraintUndoListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                    LongConstraintMatchTotal::new);
             constraintUndoListener.constraintMatch = constraintUndoListener
                     .constraintMatchTotal.addConstraintMatch(kcontext, weight);
         }
@@ -140,24 +136,12 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
 
     }
 
-    private LongConstraintMatchTotal findLongConstraintMatchTotal(RuleContext kcontext, int scoreLevel) {
-        Rule rule = kcontext.getRule();
-        String constraintPackage = rule.getPackageName();
-        String constraintName = rule.getName();
-        List<Object> key = Arrays.<Object>asList(constraintPackage, constraintName, scoreLevel);
-        LongConstraintMatchTotal matchTotal = (LongConstraintMatchTotal) constraintMatchTotalMap.get(key);
-        if (matchTotal == null) {
-            matchTotal = new LongConstraintMatchTotal(constraintPackage, constraintName, scoreLevel);
-            constraintMatchTotalMap.put(key, matchTotal);
-        }
-        return matchTotal;
-    }
-
     protected void registerDoubleConstraintMatch(RuleContext kcontext, int scoreLevel, double weight,
             final DoubleConstraintUndoListener constraintUndoListener) {
         if (constraintMatchEnabled) {
             // Not needed in fast code: Add ConstraintMatch
-            constraintUndoListener.constraintMatchTotal = findDoubleConstraintMatchTotal(kcontext, scoreLevel);
+            constraintUndoListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                    DoubleConstraintMatchTotal::new);
             constraintUndoListener.constraintMatch = constraintUndoListener
                     .constraintMatchTotal.addConstraintMatch(kcontext, weight);
         }
@@ -180,24 +164,12 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
 
     }
 
-    private DoubleConstraintMatchTotal findDoubleConstraintMatchTotal(RuleContext kcontext, int scoreLevel) {
-        Rule rule = kcontext.getRule();
-        String constraintPackage = rule.getPackageName();
-        String constraintName = rule.getName();
-        List<Object> key = Arrays.<Object>asList(constraintPackage, constraintName, scoreLevel);
-        DoubleConstraintMatchTotal matchTotal = (DoubleConstraintMatchTotal) constraintMatchTotalMap.get(key);
-        if (matchTotal == null) {
-            matchTotal = new DoubleConstraintMatchTotal(constraintPackage, constraintName, scoreLevel);
-            constraintMatchTotalMap.put(key, matchTotal);
-        }
-        return matchTotal;
-    }
-
     protected void registerBigDecimalConstraintMatch(RuleContext kcontext, int scoreLevel, BigDecimal weight,
             final BigDecimalConstraintUndoListener constraintUndoListener) {
         if (constraintMatchEnabled) {
             // Not needed in fast code: Add ConstraintMatch
-            constraintUndoListener.constraintMatchTotal = findBigDecimalConstraintMatchTotal(kcontext, scoreLevel);
+            constraintUndoListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                    BigDecimalConstraintMatchTotal::new);
             constraintUndoListener.constraintMatch = constraintUndoListener
                     .constraintMatchTotal.addConstraintMatch(kcontext, weight);
         }
@@ -220,19 +192,293 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
 
     }
 
-    private BigDecimalConstraintMatchTotal findBigDecimalConstraintMatchTotal(RuleContext kcontext, int scoreLevel) {
+    /**
+     * Like {@link #registerIntConstraintMatch(RuleContext, int, int, IntConstraintUndoListener)},
+     * but without creating an undo listener for every constraint match:
+     * the undo calls {@link #undoIntConstraintMatch(int, int)} instead.
+     * If constraint matches are disabled, this doesn't create any garbage when an activation fires again.
+     * @param kcontext never null, the magic variable in DRL
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight that has been added to that score level
+     */
+    protected void registerIntConstraintMatch(RuleContext kcontext, int scoreLevel, int weight) {
+        IntScoreLevelUnMatchListener unMatchListener = findScoreLevelUnMatchListener(kcontext, scoreLevel,
+                IntScoreLevelUnMatchListener.class);
+        if (unMatchListener == null) {
+            unMatchListener = new IntScoreLevelUnMatchListener(scoreLevel);
+            putScoreLevelUnMatchListener(kcontext, unMatchListener);
+        } else if (unMatchListener.matched) {
+            unMatchListener.undoMatch();
+        }
+        unMatchListener.weight = weight;
+        if (constraintMatchEnabled) {
+            // Not needed in fast code: Add ConstraintMatch
+            if (unMatchListener.constraintMatchTotal == null) {
+                unMatchListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                        IntConstraintMatchTotal::new);
+            }
+            unMatchListener.constraintMatch = unMatchListener.constraintMatchTotal
+                    .addConstraintMatch(kcontext, weight);
+        }
+        unMatchListener.matched = true;
+    }
+
+    /**
+     * Must be overwritten to use {@link #registerIntConstraintMatch(RuleContext, int, int)}.
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight to subtract from that score level
+     */
+    protected void undoIntConstraintMatch(int scoreLevel, int weight) {
+        throw new UnsupportedOperationException("The scoreHolder (" + getClass().getSimpleName()
+                + ") does not support undoing an int constraint match on scoreLevel (" + scoreLevel + ").");
+    }
+
+    private final class IntScoreLevelUnMatchListener extends ScoreLevelUnMatchListener {
+
+        private int weight;
+        private IntConstraintMatchTotal constraintMatchTotal;
+        private IntConstraintMatch constraintMatch;
+
+        private IntScoreLevelUnMatchListener(int scoreLevel) {
+            super(scoreLevel);
+        }
+
+        @Override
+        protected void undoMatch() {
+            undoIntConstraintMatch(scoreLevel, weight);
+            if (constraintMatchEnabled) {
+                // Not needed in fast code: Remove ConstraintMatch
+                constraintMatchTotal.removeConstraintMatch(constraintMatch);
+                constraintMatch = null;
+            }
+            matched = false;
+        }
+
+    }
+
+    /**
+     * Like {@link #registerLongConstraintMatch(RuleContext, int, long, LongConstraintUndoListener)},
+     * but without creating an undo listener for every constraint match:
+     * the undo calls {@link #undoLongConstraintMatch(int, long)} instead.
+     * If constraint matches are disabled, this doesn't create any garbage when an activation fires again.
+     * @param kcontext never null, the magic variable in DRL
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight that has been added to that score level
+     */
+    protected void registerLongConstraintMatch(RuleContext kcontext, int scoreLevel, long weight) {
+        LongScoreLevelUnMatchListener unMatchListener = findScoreLevelUnMatchListener(kcontext, scoreLevel,
+                LongScoreLevelUnMatchListener.class);
+        if (unMatchListener == null) {
+            unMatchListener = new LongScoreLevelUnMatchListener(scoreLevel);
+            putScoreLevelUnMatchListener(kcontext, unMatchListener);
+        } else if (unMatchListener.matched) {
+            unMatchListener.undoMatch();
+        }
+        unMatchListener.weight = weight;
+        if (constraintMatchEnabled) {
+            // Not needed in fast code: Add ConstraintMatch
+            if (unMatchListener.constraintMatchTotal == null) {
+                unMatchListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                        LongConstraintMatchTotal::new);
+            }
+            unMatchListener.constraintMatch = unMatchListener.constraintMatchTotal
+                    .addConstraintMatch(kcontext, weight);
+        }
+        unMatchListener.matched = true;
+    }
+
+    /**
+     * Must be overwritten to use {@link #registerLongConstraintMatch(RuleContext, int, long)}.
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight to subtract from that score level
+     */
+    protected void undoLongConstraintMatch(int scoreLevel, long weight) {
+        throw new UnsupportedOperationException("The scoreHolder (" + getClass().getSimpleName()
+                + ") does not support undoing a long constraint match on scoreLevel (" + scoreLevel + ").");
+    }
+
+    private final class LongScoreLevelUnMatchListener extends ScoreLevelUnMatchListener {
+
+        private long weight;
+        private LongConstraintMatchTotal constraintMatchTotal;
+        private LongConstraintMatch constraintMatch;
+
+        private LongScoreLevelUnMatchListener(int scoreLevel) {
+            super(scoreLevel);
+        }
+
+        @Override
+        protected void undoMatch() {
+            undoLongConstraintMatch(scoreLevel, weight);
+            if (constraintMatchEnabled) {
+                // Not needed in fast code: Remove ConstraintMatch
+                constraintMatchTotal.removeConstraintMatch(constraintMatch);
+                constraintMatch = null;
+            }
+            matched = false;
+        }
+
+    }
+
+    /**
+     * Like {@link #registerDoubleConstraintMatch(RuleContext, int, double, DoubleConstraintUndoListener)},
+     * but without creating an undo listener for every constraint match:
+     * the undo calls {@link #undoDoubleConstraintMatch(int, double)} instead.
+     * If constraint matches are disabled, this doesn't create any garbage when an activation fires again.
+     * @param kcontext never null, the magic variable in DRL
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight that has been added to that score level
+     */
+    protected void registerDoubleConstraintMatch(RuleContext kcontext, int scoreLevel, double weight) {
+        DoubleScoreLevelUnMatchListener unMatchListener = findScoreLevelUnMatchListener(kcontext, scoreLevel,
+                DoubleScoreLevelUnMatchListener.class);
+        if (unMatchListener == null) {
+            unMatchListener = new DoubleScoreLevelUnMatchListener(scoreLevel);
+            putScoreLevelUnMatchListener(kcontext, unMatchListener);
+        } else if (unMatchListener.matched) {
+            unMatchListener.undoMatch();
+        }
+        unMatchListener.weight = weight;
+        if (constraintMatchEnabled) {
+            // Not needed in fast code: Add ConstraintMatch
+            if (unMatchListener.constraintMatchTotal == null) {
+                unMatchListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                        DoubleConstraintMatchTotal::new);
+            }
+            unMatchListener.constraintMatch = unMatchListener.constraintMatchTotal
+                    .addConstraintMatch(kcontext, weight);
+        }
+        unMatchListener.matched = true;
+    }
+
+    /**
+     * Must be overwritten to use {@link #registerDoubleConstraintMatch(RuleContext, int, double)}.
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight to subtract from that score level
+     */
+    protected void undoDoubleConstraintMatch(int scoreLevel, double weight) {
+        throw new UnsupportedOperationException("The scoreHolder (" + getClass().getSimpleName()
+                + ") does not support undoing a double constraint match on scoreLevel (" + scoreLevel + ").");
+    }
+
+    private final class DoubleScoreLevelUnMatchListener extends ScoreLevelUnMatchListener {
+
+        private double weight;
+        private DoubleConstraintMatchTotal constraintMatchTotal;
+        private DoubleConstraintMatch constraintMatch;
+
+        private DoubleScoreLevelUnMatchListener(int scoreLevel) {
+            super(scoreLevel);
+        }
+
+        @Override
+        protected void undoMatch() {
+            undoDoubleConstraintMatch(scoreLevel, weight);
+            if (constraintMatchEnabled) {
+                // Not needed in fast code: Remove ConstraintMatch
+                constraintMatchTotal.removeConstraintMatch(constraintMatch);
+                constraintMatch = null;
+            }
+            matched = false;
+        }
+
+    }
+
+    /**
+     * Like {@link #registerBigDecimalConstraintMatch(RuleContext, int, BigDecimal, BigDecimalConstraintUndoListener)},
+     * but without creating an undo listener for every constraint match:
+     * the undo calls {@link #undoBigDecimalConstraintMatch(int, BigDecimal)} instead.
+     * If constraint matches are disabled, this doesn't create any garbage when an activation fires again.
+     * @param kcontext never null, the magic variable in DRL
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight that has been added to that score level
+     */
+    protected void registerBigDecimalConstraintMatch(RuleContext kcontext, int scoreLevel, BigDecimal weight) {
+        BigDecimalScoreLevelUnMatchListener unMatchListener = findScoreLevelUnMatchListener(kcontext, scoreLevel,
+                BigDecimalScoreLevelUnMatchListener.class);
+        if (unMatchListener == null) {
+            unMatchListener = new BigDecimalScoreLevelUnMatchListener(scoreLevel);
+            putScoreLevelUnMatchListener(kcontext, unMatchListener);
+        } else if (unMatchListener.matched) {
+            unMatchListener.undoMatch();
+        }
+        unMatchListener.weight = weight;
+        if (constraintMatchEnabled) {
+            // Not needed in fast code: Add ConstraintMatch
+            if (unMatchListener.constraintMatchTotal == null) {
+                unMatchListener.constraintMatchTotal = findConstraintMatchTotal(kcontext, scoreLevel,
+                        BigDecimalConstraintMatchTotal::new);
+            }
+            unMatchListener.constraintMatch = unMatchListener.constraintMatchTotal
+                    .addConstraintMatch(kcontext, weight);
+        }
+        unMatchListener.matched = true;
+    }
+
+    /**
+     * Must be overwritten to use {@link #registerBigDecimalConstraintMatch(RuleContext, int, BigDecimal)}.
+     * @param scoreLevel {@code >= 0}
+     * @param weight the weight to subtract from that score level
+     */
+    protected void undoBigDecimalConstraintMatch(int scoreLevel, BigDecimal weight) {
+        throw new UnsupportedOperationException("The scoreHolder (" + getClass().getSimpleName()
+                + ") does not support undoing a BigDecimal constraint match on scoreLevel (" + scoreLevel + ").");
+    }
+
+    private final class BigDecimalScoreLevelUnMatchListener extends ScoreLevelUnMatchListener {
+
+        private BigDecimal weight;
+        private BigDecimalConstraintMatchTotal constraintMatchTotal;
+        private BigDecimalConstraintMatch constraintMatch;
+
+        private BigDecimalScoreLevelUnMatchListener(int scoreLevel) {
+            super(scoreLevel);
+        }
+
+        @Override
+        protected void undoMatch() {
+            undoBigDecimalConstraintMatch(scoreLevel, weight);
+            if (constraintMatchEnabled) {
+                // Not needed in fast code: Remove ConstraintMatch
+                constraintMatchTotal.removeConstraintMatch(constraintMatch);
+                constraintMatch = null;
+            }
+            matched = false;
+        }
+
+    }
+
+    private <Total_ extends ConstraintMatchTotal> Total_ findConstraintMatchTotal(RuleContext kcontext,
+            int scoreLevel, ConstraintMatchTotalFactory<Total_> constraintMatchTotalFactory) {
         Rule rule = kcontext.getRule();
-        String constraintPackage = rule.getPackageName();
-        String constraintName = rule.getName();
-        List<Object> key = Arrays.<Object>asList(constraintPackage, constraintName, scoreLevel);
-        BigDecimalConstraintMatchTotal matchTotal = (BigDecimalConstraintMatchTotal) constraintMatchTotalMap.get(key);
+        ConstraintMatchTotal[] matchTotals = ruleToConstraintMatchTotalsMap.get(rule);
+        if (matchTotals == null || scoreLevel >= matchTotals.length) {
+            matchTotals = (matchTotals == null) ? new ConstraintMatchTotal[scoreLevel + 1]
+                    : Arrays.copyOf(matchTotals, scoreLevel + 1);
+            ruleToConstraintMatchTotalsMap.put(rule, matchTotals);
+        }
+        Total_ matchTotal = (Total_) matchTotals[scoreLevel];
         if (matchTotal == null) {
-            matchTotal = new BigDecimalConstraintMatchTotal(constraintPackage, constraintName, scoreLevel);
-            constraintMatchTotalMap.put(key, matchTotal);
+            String constraintPackage = rule.getPackageName();
+            String constraintName = rule.getName();
+            List<Object> key = Arrays.<Object>asList(constraintPackage, constraintName, scoreLevel);
+            matchTotal = (Total_) constraintMatchTotalMap.get(key);
+            if (matchTotal == null) {
+                matchTotal = constraintMatchTotalFactory.create(constraintPackage, constraintName, scoreLevel);
+                constraintMatchTotalMap.put(key, matchTotal);
+            }
+            matchTotals[scoreLevel] = matchTotal;
         }
         return matchTotal;
     }
 
+    @FunctionalInterface
+    private interface ConstraintMatchTotalFactory<Total_ extends ConstraintMatchTotal> {
+
+        Total_ create(String constraintPackage, String constraintName, int scoreLevel);
+
+    }
+
     private void putConstraintUndoListener(RuleContext kcontext, int scoreLevel, ConstraintUndoListener constraintUndoListener) {
         AgendaItem agendaItem = (AgendaItem) kcontext.getMatch();
         ActivationUnMatchListener activationUnMatchListener = agendaItem.getActivationUnMatchListener();
@@ -245,6 +491,39 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
         }
     }
 
+    private <Listener_ extends ScoreLevelUnMatchListener> Listener_ findScoreLevelUnMatchListener(
+            RuleContext kcontext, int scoreLevel, Class<Listener_> listenerClass) {
+        AgendaItem agendaItem = (AgendaItem) kcontext.getMatch();
+        ActivationUnMatchListener activationUnMatchListener = agendaItem.getActivationUnMatchListener();
+        if (activationUnMatchListener == null) {
+            return null;
+        }
+        if (!(activationUnMatchListener instanceof ScoreLevelUnMatchListener)) {
+            throw new IllegalStateException("The scoreHolder (" + getClass().getSimpleName()
+                    + ") cannot mix a constraint match with and without an undo listener for the rule ("
+                    + kcontext.getRule().getName() + ").");
+        }
+        for (ScoreLevelUnMatchListener unMatchListener = (ScoreLevelUnMatchListener) activationUnMatchListener;
+                unMatchListener != null; unMatchListener = unMatchListener.next) {
+            if (unMatchListener.scoreLevel == scoreLevel) {
+                return listenerClass.cast(unMatchListener);
+            }
+        }
+        return null;
+    }
+
+    private void putScoreLevelUnMatchListener(RuleContext kcontext, ScoreLevelUnMatchListener unMatchListener) {
+        AgendaItem agendaItem = (AgendaItem) kcontext.getMatch();
+        ScoreLevelUnMatchListener head = (ScoreLevelUnMatchListener) agendaItem.getActivationUnMatchListener();
+        if (head == null) {
+            agendaItem.setActivationUnMatchListener(unMatchListener);
+        } else {
+            // Most score rules use only 1 score level, so this linked list is usually 1 element long
+            unMatchListener.next = head.next;
+            head.next = unMatchListener;
+        }
+    }
+
     protected interface ConstraintUndoListener {
 
         /**
@@ -260,6 +539,39 @@ public abstract class AbstractScoreHolder implements ScoreHolder, Serializable {
 
     }
 
+    /**
+     * Remembers the weight of 1 score level of an activation, so it can be undone without creating new objects.
+     * It is reused when the same activation fires again.
+     * Other score levels of the same activation are linked through {@link #next}.
+     */
+    private abstract static class ScoreLevelUnMatchListener implements ActivationUnMatchListener {
+
+        protected final int scoreLevel;
+        protected boolean matched = false;
+        protected ScoreLevelUnMatchListener next = null;
+
+        protected ScoreLevelUnMatchListener(int scoreLevel) {
+            this.scoreLevel = scoreLevel;
+        }
+
+        @Override
+        public final void unMatch(RuleRuntime ruleRuntime, Match match) {
+            for (ScoreLevelUnMatchListener unMatchListener = this; unMatchListener != null;
+                    unMatchListener = unMatchListener.next) {
+                if (unMatchListener.matched) {
+                    unMatchListener.undoMatch();
+                }
+            }
+        }
+
+        /**
+         * Undoes the weight on the score level and if constraint matches are enabled, also removes the
+         * {@link ConstraintMatch}. Afterwards {@link #matched} is false.
+         */
+        protected abstract void undoMatch();
+
+    }
+
     private static class MultiLevelActivationUnMatchListener implements ActivationUnMatchListener {
 
         private static final int INITIAL_MAP_CAPACITY = 2;
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.score.holder;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
+import org.optaplanner.core.impl.score.director.drools.DroolsScoreDirector;
+
+/**
+ * A {@link ScoreHolder} that can extract its score without creating a {@link Score} instance,
+ * so {@link DroolsScoreDirector} can evaluate a move without any garbage.
+ * Only supported for score types that have int or long levels.
+ * @see PackedScoreConverter
+ */
+public interface PackedScoreHolder extends ScoreHolder {
+
+    /**
+     * Like {@link #extractScore(int)}, but writes the score in a packed array instead,
+     * as {@code [initScore, level0, level1, ...]}.
+     * <p>
+     * Should not be called directly, the {@link DroolsScoreDirector} calls it.
+     * @param initScore {@code <= 0}, managed by OptaPlanner, see {@link Score#getInitScore()}
+     * @param packedScore never null, its length is the number of levels plus 1
+     */
+    void extractPackedScore(int initScore, long[] packedScore);
+
+}
@@ -24,6 +24,8 @@ import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.solver.event.BestSolutionChangedEvent;
 import org.optaplanner.core.api.solver.event.SolverEventListener;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.impl.score.director.ScoreDirectorFactory;
 import org.optaplanner.core.impl.solver.ProblemFactChange;
 import org.optaplanner.core.impl.solver.termination.Termination;
@@ -112,15 +114,42 @@ public interface Solver<Solution_> {
      * <p>
      * As a side-effect, this restarts the {@link Solver}, effectively resetting all {@link Termination}s,
      * but not {@link #terminateEarly()}.
+     * If in place problem fact changes are enabled, a running Local Search phase applies it in between 2 steps
+     * instead, without restarting the {@link Solver}.
+     * <p>
+     * All pending {@link ProblemFactChange}s are processed together, with a single score calculation.
      * <p>
      * This method is thread-safe.
      * Follows specifications of {@link BlockingQueue#add(Object)} with by default
-     * a capacity of {@link Integer#MAX_VALUE}.
+     * a capacity of {@link Integer#MAX_VALUE}, see {@link SolverConfig#setProblemFactChangeQueueCapacity(Integer)}.
      * @param problemFactChange never null
      * @return true (as specified by {@link Collection#add})
+     * @see #addProblemFactChanges(Collection)
      */
     boolean addProblemFactChange(ProblemFactChange<Solution_> problemFactChange);
 
+    /**
+     * Schedules multiple {@link ProblemFactChange}s to be processed together, in order,
+     * with a single score calculation after the last one.
+     * Either all of them are scheduled or none of them.
+     * <p>
+     * This method is thread-safe.
+     * @param problemFactChangeCollection never null
+     * @return true (as specified by {@link Collection#addAll})
+     * @throws IllegalStateException if the remaining capacity is too small for all of them
+     * @see #addProblemFactChange(ProblemFactChange)
+     */
+    boolean addProblemFactChanges(Collection<? extends ProblemFactChange<Solution_>> problemFactChangeCollection);
+
+    /**
+     * Use this as a backpressure signal, for example to slow down or batch the producer
+     * of {@link ProblemFactChange}s when it exceeds a threshold.
+     * <p>
+     * This method is thread-safe.
+     * @return {@code >= 0}, the number of scheduled {@link ProblemFactChange}s that are still waiting to be processed
+     */
+    int getPendingProblemFactChangeCount();
+
     /**
      * Checks if all scheduled {@link ProblemFactChange}s have been processed.
      * <p>
@@ -139,6 +168,23 @@ public interface Solver<Solution_> {
      */
     void removeEventListener(SolverEventListener<Solution_> eventListener);
 
+    /**
+     * Records the hot path metrics, such as the number of evaluated moves per move type,
+     * the score calculation time and the best score progression, into a {@link SolverMetricRegistry},
+     * which can be read while solving.
+     * This is far cheaper than enabling DEBUG or TRACE logging.
+     * <p>
+     * Must not be called while {@link #isSolving()}.
+     * @param metricRegistry null to stop recording the metrics, which is the default
+     */
+    void setMetricRegistry(SolverMetricRegistry metricRegistry);
+
+    /**
+     * @return null if the metrics are not recorded
+     * @see #setMetricRegistry(SolverMetricRegistry)
+     */
+    SolverMetricRegistry getMetricRegistry();
+
     /**
      * Useful to reuse the {@link Score} calculation in a UI (or even to explain the {@link Score} in a UI).
      *
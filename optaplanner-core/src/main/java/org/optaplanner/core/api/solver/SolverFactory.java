@@ -24,8 +24,10 @@ import org.kie.api.KieServices;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.solver.manager.SolverManager;
 import org.optaplanner.core.config.SolverConfigContext;
 import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.manager.SolverManagerConfig;
 import org.optaplanner.core.impl.solver.EmptySolverFactory;
 import org.optaplanner.core.impl.solver.XStreamXmlSolverFactory;
 
@@ -232,4 +234,24 @@ public abstract class SolverFactory<Solution_> {
      */
     public abstract Solver<Solution_> buildSolver();
 
+    /**
+     * Creates a new {@link SolverManager} instance with a default {@link SolverManagerConfig}.
+     * @param <ProblemId_> the ID type of a submitted problem, such as {@link Long} or {@link java.util.UUID}
+     * @return never null
+     */
+    public abstract <ProblemId_> SolverManager<Solution_, ProblemId_> buildSolverManager();
+
+    /**
+     * Creates a new {@link SolverManager} instance, which solves many planning problems with {@link Solver}s
+     * that share the expensive parts of this {@link SolverFactory}, such as the KieBase.
+     * <p>
+     * The {@link SolverManager} uses a copy of the current {@link #getSolverConfig()},
+     * so later changes to it do not affect the {@link SolverManager}.
+     * @param solverManagerConfig never null
+     * @param <ProblemId_> the ID type of a submitted problem, such as {@link Long} or {@link java.util.UUID}
+     * @return never null
+     */
+    public abstract <ProblemId_> SolverManager<Solution_, ProblemId_> buildSolverManager(
+            SolverManagerConfig solverManagerConfig);
+
 }
@@ -17,6 +17,7 @@
 package org.optaplanner.core.api.solver.event;
 
 import java.util.EventObject;
+import java.util.function.Supplier;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.FeasibilityScore;
@@ -34,7 +35,8 @@ public class BestSolutionChangedEvent<Solution_> extends EventObject {
 
     private final Solver<Solution_> solver;
     private final long timeMillisSpent;
-    private final Solution_ newBestSolution;
+    private Solution_ newBestSolution;
+    private Supplier<Solution_> newBestSolutionSupplier;
     private final Score newBestScore;
 
     /**
@@ -48,6 +50,24 @@ public class BestSolutionChangedEvent<Solution_> extends EventObject {
         this.solver = solver;
         this.timeMillisSpent = timeMillisSpent;
         this.newBestSolution = newBestSolution;
+        this.newBestSolutionSupplier = null;
+        this.newBestScore = newBestScore;
+    }
+
+    /**
+     * Used when the best solution is only cloned if a listener asks for it.
+     * @param solver never null
+     * @param timeMillisSpent {@code >= 0L}
+     * @param newBestSolutionSupplier never null, called at most once, by the first {@link #getNewBestSolution()}
+     * @param newBestScore never null
+     */
+    public BestSolutionChangedEvent(Solver<Solution_> solver, long timeMillisSpent,
+            Supplier<Solution_> newBestSolutionSupplier, Score newBestScore) {
+        super(solver);
+        this.solver = solver;
+        this.timeMillisSpent = timeMillisSpent;
+        this.newBestSolution = null;
+        this.newBestSolutionSupplier = newBestSolutionSupplier;
         this.newBestScore = newBestScore;
     }
 
@@ -67,9 +87,17 @@ public class BestSolutionChangedEvent<Solution_> extends EventObject {
      *     <li>this {@link PlanningSolution} might be uninitialized: check {@link Score#isSolutionInitialized()}.</li>
      *     <li>this {@link PlanningSolution} might be infeasible: check {@link FeasibilityScore#isFeasible()}.</li>
      * </ul>
+     * <p>
+     * If the best solution is cloned lazily (see the bestSolutionRecaller's deltaRecording),
+     * call this method during {@link SolverEventListener#bestSolutionChanged(BestSolutionChangedEvent)}:
+     * when called later, it might return an even better solution that was found in the meantime.
      * @return never null
      */
     public Solution_ getNewBestSolution() {
+        if (newBestSolutionSupplier != null) {
+            newBestSolution = newBestSolutionSupplier.get();
+            newBestSolutionSupplier = null;
+        }
         return newBestSolution;
     }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.solver.manager;
+
+import java.util.concurrent.ExecutionException;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.Solver;
+
+/**
+ * Represents a planning problem that has been submitted to a {@link SolverManager}.
+ * <p>
+ * All methods are thread-safe.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <ProblemId_> the ID type of a submitted problem, such as {@link Long} or {@link java.util.UUID}
+ */
+public interface SolverJob<Solution_, ProblemId_> {
+
+    /**
+     * @return never null, a value given to {@link SolverManager#solve(Object, Object)}
+     */
+    ProblemId_ getProblemId();
+
+    /**
+     * @return never null
+     */
+    SolverStatus getSolverStatus();
+
+    /**
+     * @return never null, the planning problem if the solving hasn't started yet
+     * @see Solver#getBestSolution()
+     */
+    Solution_ getBestSolution();
+
+    /**
+     * @return null if the solving hasn't started yet or if the best solution is still uninitialized
+     * @see Solver#getBestScore()
+     */
+    Score getBestScore();
+
+    /**
+     * Waits until the solving has ended and returns the best solution, like {@link java.util.concurrent.Future#get()}.
+     * @return never null, but it can return the original, uninitialized {@link PlanningSolution} with a {@link Score} null
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException if the solving threw an exception
+     */
+    Solution_ getFinalBestSolution() throws InterruptedException, ExecutionException;
+
+    /**
+     * Notifies the solver that it should stop at its earliest convenience.
+     * If the solving hasn't started yet, it never starts and {@link #getFinalBestSolution()}
+     * returns the planning problem.
+     * @return true if successful, false if the solving has already ended
+     * @see Solver#terminateEarly()
+     */
+    boolean terminateEarly();
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.solver.manager;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.manager.SolverManagerConfig;
+
+/**
+ * Solves many planning problems (for example one per tenant or per user session)
+ * on a bounded pool of solver threads.
+ * <p>
+ * Every {@link Solver} it builds shares the same solution descriptor and score director factory
+ * (including the KieBase in case of Drools score calculation), so the per problem setup cost is low.
+ * Never more than {@link SolverManagerConfig#getParallelSolverCount()} problems are solved at the same time:
+ * the other problems wait in order of their priority and, within the same priority, in the order of submission.
+ * <p>
+ * All methods are thread-safe.
+ * <p>
+ * Build by {@link SolverFactory#buildSolverManager()}.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <ProblemId_> the ID type of a submitted problem, such as {@link Long} or {@link java.util.UUID}
+ */
+public interface SolverManager<Solution_, ProblemId_> {
+
+    /**
+     * Same as {@link #solve(Object, Object, int, Long)} with the default priority {@code 0}
+     * and without a time budget.
+     * @param problemId never null, a unique ID for each planning problem that is scheduled or solving
+     * @param planningProblem never null, usually its planning variables are uninitialized
+     * @return never null
+     */
+    SolverJob<Solution_, ProblemId_> solve(ProblemId_ problemId, Solution_ planningProblem);
+
+    /**
+     * Schedules a planning problem to be solved on a free solver thread and returns immediately.
+     * <p>
+     * The solver terminates as configured in the {@link SolverFactory}'s termination,
+     * but never later than the timeMillisSpentLimit.
+     * Without any termination, the solver only stops after {@link #terminateEarly(Object)}.
+     * @param problemId never null, a unique ID for each planning problem that is scheduled or solving
+     * @param planningProblem never null, usually its planning variables are uninitialized
+     * @param priority a problem with a higher priority starts before a problem with a lower priority,
+     * but it does not interrupt a problem that is already solving
+     * @param timeMillisSpentLimit null if there is no time budget, otherwise at least 0
+     * @return never null
+     * @throws IllegalStateException if the problemId is already scheduled or solving
+     */
+    SolverJob<Solution_, ProblemId_> solve(ProblemId_ problemId, Solution_ planningProblem,
+            int priority, Long timeMillisSpentLimit);
+
+    /**
+     * As {@link #solve(Object, Object, int, Long)}, but if the solver threads take turns on the CPU
+     * (see {@link SolverManagerConfig#getActiveThreadCount()}),
+     * this problem gets CPU time in proportion to its cpuWeight
+     * and its time spent terminations only count the CPU time it actually got.
+     * @param problemId never null, a unique ID for each planning problem that is scheduled or solving
+     * @param planningProblem never null, usually its planning variables are uninitialized
+     * @param priority a problem with a higher priority starts before a problem with a lower priority
+     * @param cpuWeight at least 1, relative to the cpuWeight of the other problems, defaults to {@code 1}
+     * @param timeMillisSpentLimit null if there is no time budget, otherwise at least 0
+     * @return never null
+     * @throws IllegalStateException if the problemId is already scheduled or solving
+     */
+    SolverJob<Solution_, ProblemId_> solve(ProblemId_ problemId, Solution_ planningProblem,
+            int priority, int cpuWeight, Long timeMillisSpentLimit);
+
+    /**
+     * @param problemId never null
+     * @return null if the problemId is not scheduled or solving
+     */
+    SolverJob<Solution_, ProblemId_> getSolverJob(ProblemId_ problemId);
+
+    /**
+     * @param problemId never null
+     * @return never null
+     */
+    SolverStatus getSolverStatus(ProblemId_ problemId);
+
+    /**
+     * @param problemId never null
+     * @return null if the problemId is not scheduled or solving
+     * @see SolverJob#getBestSolution()
+     */
+    Solution_ getBestSolution(ProblemId_ problemId);
+
+    /**
+     * @param problemId never null
+     * @return null if the problemId is not scheduled or solving or if its best solution is still uninitialized
+     * @see SolverJob#getBestScore()
+     */
+    Score getBestScore(ProblemId_ problemId);
+
+    /**
+     * @param problemId never null
+     * @return true if successful, false if the problemId is not scheduled or solving
+     * @see SolverJob#terminateEarly()
+     */
+    boolean terminateEarly(ProblemId_ problemId);
+
+    /**
+     * Terminates every scheduled and solving problem early and stops the solver threads.
+     * After this, {@link #solve(Object, Object)} can no longer be called.
+     */
+    void shutdown();
+
+}
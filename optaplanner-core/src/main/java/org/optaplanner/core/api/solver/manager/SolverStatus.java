@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.solver.manager;
+
+/**
+ * The status of a planning problem submitted to a {@link SolverManager}.
+ */
+public enum SolverStatus {
+    /**
+     * Waiting for a free solver thread, see {@link SolverManager#solve(Object, Object, int, Long)}.
+     */
+    SOLVING_SCHEDULED,
+    /**
+     * A solver thread is solving the planning problem.
+     */
+    SOLVING_ACTIVE,
+    /**
+     * The planning problem is solved or terminated early, or it is unknown to the {@link SolverManager}.
+     */
+    NOT_SOLVING;
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.solver.metric;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.solver.metric.DefaultSolverMetricRegistry;
+
+/**
+ * Receives the hot path metrics of a {@link Solver}, see {@link Solver#setMetricRegistry(SolverMetricRegistry)}.
+ * For example, {@link DefaultSolverMetricRegistry} keeps them in memory, so they can be read while solving.
+ * <p>
+ * Every method is called very frequently, from the solver thread and from the move and partition threads,
+ * so implementations must be thread-safe
+ * and <b>should return very fast, because they steal time from the {@link Solver}</b>.
+ * Prefer striped counters (such as {@link java.util.concurrent.atomic.LongAdder}) over locks.
+ */
+public interface SolverMetricRegistry {
+
+    /**
+     * Called for every doable move that is evaluated by Local Search.
+     * @param moveClass never null
+     * @param accepted true if the acceptor accepted the move
+     */
+    void recordMoveEvaluation(Class<? extends Move> moveClass, boolean accepted);
+
+    /**
+     * @param timerType never null
+     * @param durationNanos {@code >= 0}, measured with {@link System#nanoTime()}
+     */
+    void recordTime(SolverTimerType timerType, long durationNanos);
+
+    /**
+     * Called from the solver thread at the start of solving and every time the best score improves.
+     * @param timeMillisSpent {@code >= 0}, since the solver started
+     * @param bestScore never null
+     */
+    void recordBestScore(long timeMillisSpent, Score bestScore);
+
+}
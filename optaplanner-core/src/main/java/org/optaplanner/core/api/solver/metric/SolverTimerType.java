@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.api.solver.metric;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.domain.variable.CustomShadowVariable;
+
+/**
+ * The durations recorded by {@link SolverMetricRegistry#recordTime(SolverTimerType, long)}.
+ */
+public enum SolverTimerType {
+    /**
+     * The score calculation of a move evaluated by Local Search or a Construction Heuristic.
+     */
+    SCORE_CALCULATION,
+    /**
+     * A step of any phase, from the step started event up to and including the step ended event.
+     */
+    STEP,
+    /**
+     * A planning clone of the {@link PlanningSolution}, for example for a new best solution.
+     */
+    SOLUTION_CLONE,
+    /**
+     * The triggering of the shadow variable listeners (including the {@link CustomShadowVariable} ones)
+     * after a move or a problem fact change.
+     */
+    VARIABLE_LISTENER;
+
+}
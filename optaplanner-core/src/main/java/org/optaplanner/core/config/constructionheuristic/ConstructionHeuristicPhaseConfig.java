@@ -35,6 +35,7 @@ import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.constructionheuristic.ConstructionHeuristicPhase;
 import org.optaplanner.core.impl.constructionheuristic.DefaultConstructionHeuristicPhase;
 import org.optaplanner.core.impl.constructionheuristic.decider.ConstructionHeuristicDecider;
+import org.optaplanner.core.impl.constructionheuristic.decider.MultiThreadedConstructionHeuristicDecider;
 import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
 import org.optaplanner.core.impl.constructionheuristic.placer.EntityPlacer;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
@@ -157,8 +158,24 @@ public class ConstructionHeuristicPhaseConfig extends PhaseConfig<ConstructionHe
         ConstructionHeuristicForagerConfig foragerConfig_ = foragerConfig == null
                 ? new ConstructionHeuristicForagerConfig() : foragerConfig;
         ConstructionHeuristicForager forager = foragerConfig_.buildForager(configPolicy);
-        ConstructionHeuristicDecider decider = new ConstructionHeuristicDecider(termination, forager);
+        Integer moveThreadCount = configPolicy.getMoveThreadCount();
         EnvironmentMode environmentMode = configPolicy.getEnvironmentMode();
+        ConstructionHeuristicDecider decider;
+        if (moveThreadCount == null) {
+            decider = new ConstructionHeuristicDecider(termination, forager);
+        } else {
+            MultiThreadedConstructionHeuristicDecider multiThreadedDecider
+                    = new MultiThreadedConstructionHeuristicDecider(termination, forager,
+                    configPolicy.getThreadFactory(), moveThreadCount, configPolicy.getMoveThreadBufferSize());
+            if (environmentMode.isNonIntrusiveFullAsserted()) {
+                multiThreadedDecider.setAssertStepScoreFromScratch(true);
+            }
+            if (environmentMode.isIntrusiveFastAsserted()) {
+                multiThreadedDecider.setAssertExpectedStepScore(true);
+                multiThreadedDecider.setAssertShadowVariablesAreNotStaleAfterStep(true);
+            }
+            decider = multiThreadedDecider;
+        }
         if (environmentMode.isNonIntrusiveFullAsserted()) {
             decider.setAssertMoveScoreFromScratch(true);
         }
@@ -30,6 +30,7 @@ import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.SolverConfigContext;
 import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.config.solver.DomainAccessType;
 import org.optaplanner.core.impl.domain.solution.AbstractSolution;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
@@ -55,7 +56,8 @@ public class ScanAnnotatedClassesConfig extends AbstractConfig<ScanAnnotatedClas
     // Builder methods
     // ************************************************************************
 
-    public SolutionDescriptor buildSolutionDescriptor(SolverConfigContext configContext, ScoreDefinition deprecatedScoreDefinition) {
+    public SolutionDescriptor buildSolutionDescriptor(SolverConfigContext configContext,
+            ScoreDefinition deprecatedScoreDefinition, DomainAccessType domainAccessType) {
         ClassLoader[] classLoaders;
         if (configContext.getClassLoader() != null) {
             classLoaders = new ClassLoader[] {configContext.getClassLoader()};
@@ -85,7 +87,8 @@ public class ScanAnnotatedClassesConfig extends AbstractConfig<ScanAnnotatedClas
         Reflections reflections = new Reflections(builder);
         Class<?> solutionClass = loadSolutionClass(reflections);
         List<Class<?>> entityClassList = loadEntityClassList(reflections);
-        return SolutionDescriptor.buildSolutionDescriptor(solutionClass, entityClassList, deprecatedScoreDefinition);
+        return SolutionDescriptor.buildSolutionDescriptor(solutionClass, entityClassList, deprecatedScoreDefinition,
+                domainAccessType);
     }
 
     protected Class<?> loadSolutionClass(Reflections reflections) {
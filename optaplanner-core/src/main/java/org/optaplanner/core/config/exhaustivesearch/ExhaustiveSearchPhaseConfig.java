@@ -39,6 +39,7 @@ import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.exhaustivesearch.DefaultExhaustiveSearchPhase;
 import org.optaplanner.core.impl.exhaustivesearch.ExhaustiveSearchPhase;
+import org.optaplanner.core.impl.exhaustivesearch.MultiThreadedExhaustiveSearchPhase;
 import org.optaplanner.core.impl.exhaustivesearch.decider.ExhaustiveSearchDecider;
 import org.optaplanner.core.impl.exhaustivesearch.node.bounder.ScoreBounder;
 import org.optaplanner.core.impl.exhaustivesearch.node.bounder.TrendBasedScoreBounder;
@@ -130,7 +131,18 @@ public class ExhaustiveSearchPhaseConfig extends PhaseConfig<ExhaustiveSearchPha
                 : exhaustiveSearchType_.getDefaultEntitySorterManner());
         phaseConfigPolicy.setValueSorterManner(valueSorterManner != null ? valueSorterManner
                 : exhaustiveSearchType_.getDefaultValueSorterManner());
-        DefaultExhaustiveSearchPhase phase = new DefaultExhaustiveSearchPhase();
+        Integer moveThreadCount = phaseConfigPolicy.getMoveThreadCount();
+        DefaultExhaustiveSearchPhase phase;
+        if (moveThreadCount == null) {
+            phase = new DefaultExhaustiveSearchPhase();
+        } else {
+            MultiThreadedExhaustiveSearchPhase multiThreadedPhase = new MultiThreadedExhaustiveSearchPhase(
+                    phaseConfigPolicy.getThreadFactory(), moveThreadCount);
+            multiThreadedPhase.setPhaseConfig(this);
+            multiThreadedPhase.setChildThreadConfigPolicy(solverConfigPolicy.createChildThreadConfigPolicy());
+            multiThreadedPhase.setSolverTermination(solverTermination);
+            phase = multiThreadedPhase;
+        }
         configurePhase(phase, phaseIndex, phaseConfigPolicy, bestSolutionRecaller, solverTermination);
         boolean scoreBounderEnabled = exhaustiveSearchType_.isScoreBounderEnabled();
         NodeExplorationType nodeExplorationType_;
@@ -18,6 +18,7 @@ package org.optaplanner.core.config.heuristic.policy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 import org.optaplanner.core.config.heuristic.selector.entity.EntitySorterManner;
 import org.optaplanner.core.config.heuristic.selector.value.ValueSorterManner;
@@ -34,6 +35,9 @@ public class HeuristicConfigPolicy {
 
     private final EnvironmentMode environmentMode;
     private final InnerScoreDirectorFactory scoreDirectorFactory;
+    private Integer moveThreadCount = null;
+    private Integer moveThreadBufferSize = null;
+    private ThreadFactory threadFactory = null;
 
     private EntitySorterManner entitySorterManner = EntitySorterManner.NONE;
     private ValueSorterManner valueSorterManner = ValueSorterManner.NONE;
@@ -66,6 +70,33 @@ public class HeuristicConfigPolicy {
         return scoreDirectorFactory;
     }
 
+    /**
+     * @return null if move threads are disabled, otherwise at least 1
+     */
+    public Integer getMoveThreadCount() {
+        return moveThreadCount;
+    }
+
+    public void setMoveThreadCount(Integer moveThreadCount) {
+        this.moveThreadCount = moveThreadCount;
+    }
+
+    public Integer getMoveThreadBufferSize() {
+        return moveThreadBufferSize;
+    }
+
+    public void setMoveThreadBufferSize(Integer moveThreadBufferSize) {
+        this.moveThreadBufferSize = moveThreadBufferSize;
+    }
+
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
     public EntitySorterManner getEntitySorterManner() {
         return entitySorterManner;
     }
@@ -119,6 +150,17 @@ public class HeuristicConfigPolicy {
     // ************************************************************************
 
     public HeuristicConfigPolicy createPhaseConfigPolicy() {
+        HeuristicConfigPolicy phaseConfigPolicy = new HeuristicConfigPolicy(environmentMode, scoreDirectorFactory);
+        phaseConfigPolicy.setMoveThreadCount(moveThreadCount);
+        phaseConfigPolicy.setMoveThreadBufferSize(moveThreadBufferSize);
+        phaseConfigPolicy.setThreadFactory(threadFactory);
+        return phaseConfigPolicy;
+    }
+
+    /**
+     * @return never null, for a phase that runs on a move thread, so it never spawns move threads itself
+     */
+    public HeuristicConfigPolicy createChildThreadConfigPolicy() {
         return new HeuristicConfigPolicy(environmentMode, scoreDirectorFactory);
     }
 
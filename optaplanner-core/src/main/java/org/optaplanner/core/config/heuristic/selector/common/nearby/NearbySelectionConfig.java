@@ -42,6 +42,9 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
     @XStreamAlias("originEntitySelector")
     protected EntitySelectorConfig originEntitySelectorConfig = null;
     protected Class<? extends NearbyDistanceMeter> nearbyDistanceMeterClass = null;
+    protected SelectionCacheType nearbyDistanceMatrixCacheType = null;
+    protected Boolean nearbyDistanceMatrixLazy = null;
+    protected Boolean nearbyDistanceMatrixParallel = null;
 
     protected NearbySelectionDistributionType nearbySelectionDistributionType = null;
 
@@ -73,6 +76,42 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         this.nearbyDistanceMeterClass = nearbyDistanceMeterClass;
     }
 
+    /**
+     * @return null (defaults to {@link SelectionCacheType#PHASE}) or {@link SelectionCacheType#SOLVER}
+     * to share the nearby distance matrix with the nearby selections of other phases
+     */
+    public SelectionCacheType getNearbyDistanceMatrixCacheType() {
+        return nearbyDistanceMatrixCacheType;
+    }
+
+    public void setNearbyDistanceMatrixCacheType(SelectionCacheType nearbyDistanceMatrixCacheType) {
+        this.nearbyDistanceMatrixCacheType = nearbyDistanceMatrixCacheType;
+    }
+
+    /**
+     * @return null (defaults to false) or true to calculate the nearby destinations of an origin
+     * when that origin is selected for the first time, instead of for every origin when the phase starts
+     */
+    public Boolean getNearbyDistanceMatrixLazy() {
+        return nearbyDistanceMatrixLazy;
+    }
+
+    public void setNearbyDistanceMatrixLazy(Boolean nearbyDistanceMatrixLazy) {
+        this.nearbyDistanceMatrixLazy = nearbyDistanceMatrixLazy;
+    }
+
+    /**
+     * @return null (defaults to false) or true to calculate the nearby distance matrix eagerly on multiple CPU's,
+     * which requires a thread-safe {@link NearbyDistanceMeter}
+     */
+    public Boolean getNearbyDistanceMatrixParallel() {
+        return nearbyDistanceMatrixParallel;
+    }
+
+    public void setNearbyDistanceMatrixParallel(Boolean nearbyDistanceMatrixParallel) {
+        this.nearbyDistanceMatrixParallel = nearbyDistanceMatrixParallel;
+    }
+
     public NearbySelectionDistributionType getNearbySelectionDistributionType() {
         return nearbySelectionDistributionType;
     }
@@ -169,6 +208,18 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
                     + ") has a resolvedSelectionOrder (" + resolvedSelectionOrder
                     + ") that is not " + SelectionOrder.ORIGINAL + " or " + SelectionOrder.RANDOM + ".");
         }
+        if (nearbyDistanceMatrixCacheType != null && nearbyDistanceMatrixCacheType != SelectionCacheType.PHASE
+                && nearbyDistanceMatrixCacheType != SelectionCacheType.SOLVER) {
+            throw new IllegalArgumentException("The nearbySelectorConfig (" + this
+                    + ") has a nearbyDistanceMatrixCacheType (" + nearbyDistanceMatrixCacheType
+                    + ") that is not " + SelectionCacheType.PHASE + " or " + SelectionCacheType.SOLVER + ".");
+        }
+        if (Boolean.TRUE.equals(nearbyDistanceMatrixLazy) && Boolean.TRUE.equals(nearbyDistanceMatrixParallel)) {
+            throw new IllegalArgumentException("The nearbySelectorConfig (" + this
+                    + ") has both nearbyDistanceMatrixLazy (" + nearbyDistanceMatrixLazy
+                    + ") and nearbyDistanceMatrixParallel (" + nearbyDistanceMatrixParallel + ") enabled.\n"
+                    + "A lazy nearby distance matrix is never calculated in parallel.");
+        }
         if (resolvedCacheType.isCached()) {
             throw new IllegalArgumentException("The nearbySelectorConfig (" + this
                     + ") with nearbyOriginEntitySelector ("  + originEntitySelectorConfig
@@ -190,7 +241,9 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         // TODO Check nearbyDistanceMeterClass.getGenericInterfaces() to confirm generic type S is an entityClass
         NearbyRandom nearbyRandom = buildNearbyRandom(randomSelection);
         return new NearEntityNearbyEntitySelector(entitySelector, originEntitySelector,
-                nearbyDistanceMeter, nearbyRandom, randomSelection);
+                nearbyDistanceMeter, nearbyRandom, randomSelection,
+                defaultIfNull(nearbyDistanceMatrixCacheType, SelectionCacheType.PHASE),
+                defaultIfNull(nearbyDistanceMatrixLazy, false), defaultIfNull(nearbyDistanceMatrixParallel, false));
     }
 
     public ValueSelector applyNearbyValueSelector(HeuristicConfigPolicy configPolicy,
@@ -204,7 +257,9 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         // TODO Check nearbyDistanceMeterClass.getGenericInterfaces() to confirm generic type S is an entityClass
         NearbyRandom nearbyRandom = buildNearbyRandom(randomSelection);
         return new NearEntityNearbyValueSelector(valueSelector, originEntitySelector,
-                nearbyDistanceMeter, nearbyRandom, randomSelection);
+                nearbyDistanceMeter, nearbyRandom, randomSelection,
+                defaultIfNull(nearbyDistanceMatrixCacheType, SelectionCacheType.PHASE),
+                defaultIfNull(nearbyDistanceMatrixLazy, false), defaultIfNull(nearbyDistanceMatrixParallel, false));
     }
 
     protected NearbyRandom buildNearbyRandom(boolean randomSelection) {
@@ -280,6 +335,12 @@ public class NearbySelectionConfig extends SelectorConfig<NearbySelectionConfig>
         originEntitySelectorConfig = ConfigUtils.inheritConfig(originEntitySelectorConfig, inheritedConfig.getOriginEntitySelectorConfig());
         nearbyDistanceMeterClass = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMeterClass,
                 inheritedConfig.getNearbyDistanceMeterClass());
+        nearbyDistanceMatrixCacheType = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMatrixCacheType,
+                inheritedConfig.getNearbyDistanceMatrixCacheType());
+        nearbyDistanceMatrixLazy = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMatrixLazy,
+                inheritedConfig.getNearbyDistanceMatrixLazy());
+        nearbyDistanceMatrixParallel = ConfigUtils.inheritOverwritableProperty(nearbyDistanceMatrixParallel,
+                inheritedConfig.getNearbyDistanceMatrixParallel());
         nearbySelectionDistributionType = ConfigUtils.inheritOverwritableProperty(nearbySelectionDistributionType,
                 inheritedConfig.getNearbySelectionDistributionType());
         blockDistributionSizeMinimum = ConfigUtils.inheritOverwritableProperty(blockDistributionSizeMinimum,
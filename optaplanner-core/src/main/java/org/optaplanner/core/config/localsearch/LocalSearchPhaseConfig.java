@@ -40,6 +40,7 @@ import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.localsearch.DefaultLocalSearchPhase;
 import org.optaplanner.core.impl.localsearch.LocalSearchPhase;
 import org.optaplanner.core.impl.localsearch.decider.LocalSearchDecider;
+import org.optaplanner.core.impl.localsearch.decider.MultiThreadedLocalSearchDecider;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
 import org.optaplanner.core.impl.localsearch.decider.forager.Forager;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
@@ -123,14 +124,9 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
     }
 
     private LocalSearchDecider buildDecider(HeuristicConfigPolicy configPolicy, Termination termination) {
-        LocalSearchDecider decider = new LocalSearchDecider();
-        decider.setTermination(termination);
         MoveSelector moveSelector = buildMoveSelector(configPolicy);
-        decider.setMoveSelector(moveSelector);
         Acceptor acceptor = buildAcceptor(configPolicy);
-        decider.setAcceptor(acceptor);
         Forager forager = buildForager(configPolicy);
-        decider.setForager(forager);
         if (moveSelector.isNeverEnding() && !forager.supportsNeverEndingMoveSelector()) {
             throw new IllegalStateException("The moveSelector (" + moveSelector
                     + ") has neverEnding (" + moveSelector.isNeverEnding()
@@ -138,7 +134,27 @@ public class LocalSearchPhaseConfig extends PhaseConfig<LocalSearchPhaseConfig>
                     + ") does not support it."
                     + " Configure the <forager> with <acceptedCountLimit>.");
         }
+        Integer moveThreadCount = configPolicy.getMoveThreadCount();
         EnvironmentMode environmentMode = configPolicy.getEnvironmentMode();
+        LocalSearchDecider decider;
+        if (moveThreadCount == null) {
+            decider = new LocalSearchDecider();
+        } else {
+            MultiThreadedLocalSearchDecider multiThreadedDecider = new MultiThreadedLocalSearchDecider(
+                    configPolicy.getThreadFactory(), moveThreadCount, configPolicy.getMoveThreadBufferSize());
+            if (environmentMode.isNonIntrusiveFullAsserted()) {
+                multiThreadedDecider.setAssertStepScoreFromScratch(true);
+            }
+            if (environmentMode.isIntrusiveFastAsserted()) {
+                multiThreadedDecider.setAssertExpectedStepScore(true);
+                multiThreadedDecider.setAssertShadowVariablesAreNotStaleAfterStep(true);
+            }
+            decider = multiThreadedDecider;
+        }
+        decider.setTermination(termination);
+        decider.setMoveSelector(moveSelector);
+        decider.setAcceptor(acceptor);
+        decider.setForager(forager);
         if (environmentMode.isNonIntrusiveFullAsserted()) {
             decider.setAssertMoveScoreFromScratch(true);
         }
@@ -347,6 +347,12 @@ public class AcceptorConfig extends AbstractConfig<AcceptorConfig> {
         }
         if ((acceptorTypeList != null && acceptorTypeList.contains(AcceptorType.SOLUTION_TABU))
                 || solutionTabuSize != null || fadingSolutionTabuSize != null) {
+            if (configPolicy.getMoveThreadCount() != null) {
+                throw new IllegalArgumentException("The acceptor with solutionTabuSize (" + solutionTabuSize
+                        + ") and fadingSolutionTabuSize (" + fadingSolutionTabuSize
+                        + ") does not support a moveThreadCount (" + configPolicy.getMoveThreadCount() + ").\n"
+                        + "Maybe remove the moveThreadCount or use another tabu type, such as entityTabuSize.");
+            }
             SolutionTabuAcceptor acceptor = new SolutionTabuAcceptor();
             if (solutionTabuSize != null) {
                 acceptor.setTabuSizeStrategy(new FixedTabuSizeStrategy(solutionTabuSize));
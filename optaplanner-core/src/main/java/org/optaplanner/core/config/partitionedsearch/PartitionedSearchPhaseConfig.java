@@ -32,9 +32,14 @@ import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPh
 import org.optaplanner.core.config.heuristic.policy.HeuristicConfigPolicy;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import org.optaplanner.core.impl.partitionedsearch.DefaultPartitionedSearchPhase;
 import org.optaplanner.core.impl.partitionedsearch.PartitionedSearchPhase;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.AffinityGraphSolutionPartitioner;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.GroupingKeySolutionPartitioner;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.PartitionGroupingKeyExtractor;
 import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 import org.optaplanner.core.impl.solver.termination.Termination;
@@ -57,6 +62,10 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
     protected String activeThreadCount = null;
 
     private Class<SolutionPartitioner> solutionPartitionerClass = null;
+    protected Class<? extends PartitionGroupingKeyExtractor> partitionGroupingKeyExtractorClass = null;
+    protected Class<? extends NearbyDistanceMeter> partitionAffinityMeterClass = null;
+    protected Double maximumAffinityDistance = null;
+    protected Integer partCount = null;
 
     @XStreamImplicit()
     protected List<PhaseConfig> phaseConfigList = null;
@@ -95,6 +104,43 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         this.solutionPartitionerClass = solutionPartitionerClass;
     }
 
+    public Class<? extends PartitionGroupingKeyExtractor> getPartitionGroupingKeyExtractorClass() {
+        return partitionGroupingKeyExtractorClass;
+    }
+
+    public void setPartitionGroupingKeyExtractorClass(
+            Class<? extends PartitionGroupingKeyExtractor> partitionGroupingKeyExtractorClass) {
+        this.partitionGroupingKeyExtractorClass = partitionGroupingKeyExtractorClass;
+    }
+
+    public Class<? extends NearbyDistanceMeter> getPartitionAffinityMeterClass() {
+        return partitionAffinityMeterClass;
+    }
+
+    public void setPartitionAffinityMeterClass(Class<? extends NearbyDistanceMeter> partitionAffinityMeterClass) {
+        this.partitionAffinityMeterClass = partitionAffinityMeterClass;
+    }
+
+    public Double getMaximumAffinityDistance() {
+        return maximumAffinityDistance;
+    }
+
+    public void setMaximumAffinityDistance(Double maximumAffinityDistance) {
+        this.maximumAffinityDistance = maximumAffinityDistance;
+    }
+
+    /**
+     * Only used by the built-in partitioners (so not with a {@link #getSolutionPartitionerClass()}).
+     * @return null if every entity group becomes a part, otherwise the maximum number of parts
+     */
+    public Integer getPartCount() {
+        return partCount;
+    }
+
+    public void setPartCount(Integer partCount) {
+        this.partCount = partCount;
+    }
+
     public List<PhaseConfig> getPhaseConfigList() {
         return phaseConfigList;
     }
@@ -115,7 +161,7 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         configurePhase(phase, phaseIndex, phaseConfigPolicy, bestSolutionRecaller, solverTermination);
         phase.setThreadPoolExecutor(buildThreadPoolExecutor());
         phase.setActiveThreadCount(resolvedActiveThreadCount());
-        phase.setSolutionPartitioner(buildSolutionPartitioner());
+        phase.setSolutionPartitioner(buildSolutionPartitioner(phaseConfigPolicy));
         List<PhaseConfig> phaseConfigList_ = phaseConfigList;
         if (ConfigUtils.isEmptyCollection(phaseConfigList_)) {
             phaseConfigList_ = Arrays.asList(
@@ -124,17 +170,14 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         }
         phase.setPhaseConfigList(phaseConfigList_);
         phase.setConfigPolicy(phaseConfigPolicy);
-
-
-        // TODO check if any asserts should happen in EnvironmentMode
-//        EnvironmentMode environmentMode = phaseConfigPolicy.getEnvironmentMode();
-//        if (environmentMode.isNonIntrusiveFullAsserted()) {
-//            phase.setAssertStepScoreFromScratch(true);
-//        }
-//        if (environmentMode.isIntrusiveFastAsserted()) {
-//            phase.setAssertExpectedStepScore(true);
-//            phase.setAssertShadowVariablesAreNotStaleAfterStep(true);
-//        }
+        EnvironmentMode environmentMode = phaseConfigPolicy.getEnvironmentMode();
+        if (environmentMode.isNonIntrusiveFullAsserted()) {
+            phase.setAssertStepScoreFromScratch(true);
+        }
+        if (environmentMode.isIntrusiveFastAsserted()) {
+            // The step score is calculated (not predicted), so there is no expected step score to assert
+            phase.setAssertShadowVariablesAreNotStaleAfterStep(true);
+        }
         return phase;
     }
 
@@ -176,12 +219,45 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
         return resolvedActiveThreadCount;
     }
 
-    private SolutionPartitioner buildSolutionPartitioner() {
+    private SolutionPartitioner buildSolutionPartitioner(HeuristicConfigPolicy configPolicy) {
         if (solutionPartitionerClass != null) {
+            if (partitionGroupingKeyExtractorClass != null || partitionAffinityMeterClass != null
+                    || maximumAffinityDistance != null || partCount != null) {
+                throw new IllegalArgumentException("The partitionedSearch with solutionPartitionerClass ("
+                        + solutionPartitionerClass + ") has a partitionGroupingKeyExtractorClass ("
+                        + partitionGroupingKeyExtractorClass + "), a partitionAffinityMeterClass ("
+                        + partitionAffinityMeterClass + "), a maximumAffinityDistance ("
+                        + maximumAffinityDistance + ") or a partCount (" + partCount + ").\n"
+                        + "Those only apply to a built-in partitioner.");
+            }
             return ConfigUtils.newInstance(this, "solutionPartitionerClass", solutionPartitionerClass);
+        } else if (partitionGroupingKeyExtractorClass != null) {
+            if (partitionAffinityMeterClass != null || maximumAffinityDistance != null) {
+                throw new IllegalArgumentException("The partitionedSearch with partitionGroupingKeyExtractorClass ("
+                        + partitionGroupingKeyExtractorClass + ") has a partitionAffinityMeterClass ("
+                        + partitionAffinityMeterClass + ") or a maximumAffinityDistance ("
+                        + maximumAffinityDistance + ").");
+            }
+            PartitionGroupingKeyExtractor groupingKeyExtractor = ConfigUtils.newInstance(this,
+                    "partitionGroupingKeyExtractorClass", partitionGroupingKeyExtractorClass);
+            return new GroupingKeySolutionPartitioner(configPolicy.getSolutionDescriptor(), partCount,
+                    groupingKeyExtractor);
+        } else if (partitionAffinityMeterClass != null) {
+            if (maximumAffinityDistance == null) {
+                throw new IllegalArgumentException("The partitionedSearch with partitionAffinityMeterClass ("
+                        + partitionAffinityMeterClass + ") lacks a maximumAffinityDistance ("
+                        + maximumAffinityDistance + ").");
+            }
+            NearbyDistanceMeter affinityMeter = ConfigUtils.newInstance(this,
+                    "partitionAffinityMeterClass", partitionAffinityMeterClass);
+            return new AffinityGraphSolutionPartitioner(configPolicy.getSolutionDescriptor(), partCount,
+                    affinityMeter, maximumAffinityDistance);
         } else {
-            // TODO
-            throw new UnsupportedOperationException();
+            throw new IllegalArgumentException("The partitionedSearch lacks a solutionPartitionerClass ("
+                    + solutionPartitionerClass + "), a partitionGroupingKeyExtractorClass ("
+                    + partitionGroupingKeyExtractorClass + ") and a partitionAffinityMeterClass ("
+                    + partitionAffinityMeterClass + ").\n"
+                    + "Maybe configure one of those to define how the solution is split into parts.");
         }
     }
 
@@ -194,6 +270,13 @@ public class PartitionedSearchPhaseConfig extends PhaseConfig<PartitionedSearchP
                 inheritedConfig.getActiveThreadCount());
         solutionPartitionerClass = ConfigUtils.inheritOverwritableProperty(solutionPartitionerClass,
                 inheritedConfig.getSolutionPartitionerClass());
+        partitionGroupingKeyExtractorClass = ConfigUtils.inheritOverwritableProperty(
+                partitionGroupingKeyExtractorClass, inheritedConfig.getPartitionGroupingKeyExtractorClass());
+        partitionAffinityMeterClass = ConfigUtils.inheritOverwritableProperty(partitionAffinityMeterClass,
+                inheritedConfig.getPartitionAffinityMeterClass());
+        maximumAffinityDistance = ConfigUtils.inheritOverwritableProperty(maximumAffinityDistance,
+                inheritedConfig.getMaximumAffinityDistance());
+        partCount = ConfigUtils.inheritOverwritableProperty(partCount, inheritedConfig.getPartCount());
         phaseConfigList = ConfigUtils.inheritMergeableListConfig(
                 phaseConfigList, inheritedConfig.getPhaseConfigList());
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.config.solver;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
+
+/**
+ * Determines how the {@link MemberAccessor}s of the domain model
+ * (such as the {@link PlanningSolution} class and the planning entity classes) read and write their members.
+ */
+public enum DomainAccessType {
+    /**
+     * Use {@link Method#invoke(Object, Object...)} and {@link Field#get(Object)} for every read and write.
+     * <p>
+     * This is the default.
+     */
+    REFLECTION,
+    /**
+     * Generate direct call accessor classes for getter and setter methods
+     * with {@link LambdaMetafactory} when the {@link PlanningSolution} is built,
+     * so a read or write avoids the reflection overhead.
+     * <p>
+     * Falls back to {@link #REFLECTION} for fields
+     * and for getters and setters that cannot be called directly from OptaPlanner's classes,
+     * for example because their class isn't public or because it is loaded by another {@link ClassLoader}.
+     */
+    LAMBDA;
+
+}
@@ -19,6 +19,8 @@ package org.optaplanner.core.config.solver;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamImplicit;
@@ -41,33 +43,49 @@ import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
 import org.optaplanner.core.impl.solver.BasicPlumbingTermination;
 import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.solver.ProblemFactChange;
 import org.optaplanner.core.impl.solver.random.DefaultRandomFactory;
 import org.optaplanner.core.impl.solver.random.RandomFactory;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.solver.termination.Termination;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.apache.commons.lang3.ObjectUtils.*;
 
 @XStreamAlias("solver")
 public class SolverConfig extends AbstractConfig<SolverConfig> {
 
+    public static final String MOVE_THREAD_COUNT_NONE = "NONE";
+    public static final String MOVE_THREAD_COUNT_AUTO = "AUTO";
     protected static final long DEFAULT_RANDOM_SEED = 0L;
+    protected static final int DEFAULT_MOVE_THREAD_BUFFER_SIZE = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(SolverConfig.class);
 
     // Warning: all fields are null (and not defaulted) because they can be inherited
     // and also because the input config file should match the output config file
 
     protected EnvironmentMode environmentMode = null;
     protected Boolean daemon = null;
+    protected Boolean inPlaceProblemFactChanges = null;
+    protected Integer problemFactChangeQueueCapacity = null;
     protected RandomType randomType = null;
     protected Long randomSeed = null;
     protected Class<? extends RandomFactory> randomFactoryClass = null;
+    protected String moveThreadCount = null;
+    protected Integer moveThreadBufferSize = null;
+    protected Class<? extends ThreadFactory> threadFactoryClass = null;
+    protected Boolean asyncBestSolutionEvents = null;
+    protected Long bestSolutionEventThrottleMillis = null;
 
     @XStreamAlias("scanAnnotatedClasses")
     protected ScanAnnotatedClassesConfig scanAnnotatedClassesConfig = null;
     protected Class<?> solutionClass = null;
     @XStreamImplicit(itemFieldName = "entityClass")
     protected List<Class<?>> entityClassList = null;
+    protected DomainAccessType domainAccessType = null;
 
     @XStreamAlias("scoreDirectorFactory")
     protected ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = null;
@@ -75,6 +93,9 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
     @XStreamAlias("termination")
     private TerminationConfig terminationConfig;
 
+    @XStreamAlias("bestSolutionRecaller")
+    protected BestSolutionRecallerConfig bestSolutionRecallerConfig = null;
+
     @XStreamImplicit()
     protected List<PhaseConfig> phaseConfigList = null;
 
@@ -108,6 +129,26 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.daemon = daemon;
     }
 
+    public Boolean getInPlaceProblemFactChanges() {
+        return inPlaceProblemFactChanges;
+    }
+
+    public void setInPlaceProblemFactChanges(Boolean inPlaceProblemFactChanges) {
+        this.inPlaceProblemFactChanges = inPlaceProblemFactChanges;
+    }
+
+    public Integer getProblemFactChangeQueueCapacity() {
+        return problemFactChangeQueueCapacity;
+    }
+
+    /**
+     * @param problemFactChangeQueueCapacity null or {@code >= 1}, null means {@link Integer#MAX_VALUE}
+     * @see Solver#addProblemFactChange(ProblemFactChange)
+     */
+    public void setProblemFactChangeQueueCapacity(Integer problemFactChangeQueueCapacity) {
+        this.problemFactChangeQueueCapacity = problemFactChangeQueueCapacity;
+    }
+
     public RandomType getRandomType() {
         return randomType;
     }
@@ -132,6 +173,50 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.randomFactoryClass = randomFactoryClass;
     }
 
+    /**
+     * @return null, a number, {@value #MOVE_THREAD_COUNT_NONE}, {@value #MOVE_THREAD_COUNT_AUTO}
+     * or a JavaScript calculation using {@value ConfigUtils#AVAILABLE_PROCESSOR_COUNT}.
+     */
+    public String getMoveThreadCount() {
+        return moveThreadCount;
+    }
+
+    public void setMoveThreadCount(String moveThreadCount) {
+        this.moveThreadCount = moveThreadCount;
+    }
+
+    public Integer getMoveThreadBufferSize() {
+        return moveThreadBufferSize;
+    }
+
+    public void setMoveThreadBufferSize(Integer moveThreadBufferSize) {
+        this.moveThreadBufferSize = moveThreadBufferSize;
+    }
+
+    public Class<? extends ThreadFactory> getThreadFactoryClass() {
+        return threadFactoryClass;
+    }
+
+    public void setThreadFactoryClass(Class<? extends ThreadFactory> threadFactoryClass) {
+        this.threadFactoryClass = threadFactoryClass;
+    }
+
+    public Boolean getAsyncBestSolutionEvents() {
+        return asyncBestSolutionEvents;
+    }
+
+    public void setAsyncBestSolutionEvents(Boolean asyncBestSolutionEvents) {
+        this.asyncBestSolutionEvents = asyncBestSolutionEvents;
+    }
+
+    public Long getBestSolutionEventThrottleMillis() {
+        return bestSolutionEventThrottleMillis;
+    }
+
+    public void setBestSolutionEventThrottleMillis(Long bestSolutionEventThrottleMillis) {
+        this.bestSolutionEventThrottleMillis = bestSolutionEventThrottleMillis;
+    }
+
     public ScanAnnotatedClassesConfig getScanAnnotatedClassesConfig() {
         return scanAnnotatedClassesConfig;
     }
@@ -156,6 +241,14 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.entityClassList = entityClassList;
     }
 
+    public DomainAccessType getDomainAccessType() {
+        return domainAccessType;
+    }
+
+    public void setDomainAccessType(DomainAccessType domainAccessType) {
+        this.domainAccessType = domainAccessType;
+    }
+
     public ScoreDirectorFactoryConfig getScoreDirectorFactoryConfig() {
         return scoreDirectorFactoryConfig;
     }
@@ -172,6 +265,14 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         this.terminationConfig = terminationConfig;
     }
 
+    public BestSolutionRecallerConfig getBestSolutionRecallerConfig() {
+        return bestSolutionRecallerConfig;
+    }
+
+    public void setBestSolutionRecallerConfig(BestSolutionRecallerConfig bestSolutionRecallerConfig) {
+        this.bestSolutionRecallerConfig = bestSolutionRecallerConfig;
+    }
+
     public List<PhaseConfig> getPhaseConfigList() {
         return phaseConfigList;
     }
@@ -208,31 +309,70 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
      * @return never null
      */
     public <Solution_> Solver<Solution_> buildSolver(SolverConfigContext configContext) {
+        InnerScoreDirectorFactory<Solution_> scoreDirectorFactory = buildScoreDirectorFactory(configContext);
+        return buildSolver(scoreDirectorFactory);
+    }
+
+    /**
+     * Builds the {@link SolutionDescriptor} and the {@link InnerScoreDirectorFactory} (including any KieBase),
+     * which are the expensive parts of {@link #buildSolver(SolverConfigContext)}.
+     * @param configContext never null
+     * @return never null
+     */
+    public <Solution_> InnerScoreDirectorFactory<Solution_> buildScoreDirectorFactory(
+            SolverConfigContext configContext) {
         configContext.validate();
         EnvironmentMode environmentMode_ = determineEnvironmentMode();
-        boolean daemon_ = defaultIfNull(daemon, false);
-
-        RandomFactory randomFactory = buildRandomFactory(environmentMode_);
         SolutionDescriptor<Solution_> solutionDescriptor = buildSolutionDescriptor(configContext);
         ScoreDirectorFactoryConfig scoreDirectorFactoryConfig_
                 = scoreDirectorFactoryConfig == null ? new ScoreDirectorFactoryConfig()
                 : scoreDirectorFactoryConfig;
-        InnerScoreDirectorFactory<Solution_> scoreDirectorFactory = scoreDirectorFactoryConfig_.buildScoreDirectorFactory(
+        return scoreDirectorFactoryConfig_.buildScoreDirectorFactory(
                 configContext, environmentMode_, solutionDescriptor);
+    }
+
+    /**
+     * Reuses a scoreDirectorFactory, so multiple solvers can share the same {@link SolutionDescriptor} and KieBase.
+     * @param scoreDirectorFactory never null, built by {@link #buildScoreDirectorFactory(SolverConfigContext)}
+     * of this config or a config with the same solution, entities and score director configuration
+     * @return never null
+     */
+    public <Solution_> Solver<Solution_> buildSolver(InnerScoreDirectorFactory<Solution_> scoreDirectorFactory) {
+        EnvironmentMode environmentMode_ = determineEnvironmentMode();
+        boolean daemon_ = defaultIfNull(daemon, false);
+
+        RandomFactory randomFactory = buildRandomFactory(environmentMode_);
         boolean constraintMatchEnabledPreference = environmentMode_.isAsserted();
         DefaultSolverScope<Solution_> solverScope = new DefaultSolverScope<>();
         solverScope.setScoreDirector(scoreDirectorFactory.buildScoreDirector(constraintMatchEnabledPreference));
 
+        Integer moveThreadCount_ = resolveMoveThreadCount();
         HeuristicConfigPolicy configPolicy = new HeuristicConfigPolicy(environmentMode_, scoreDirectorFactory);
+        if (moveThreadCount_ != null) {
+            configPolicy.setMoveThreadCount(moveThreadCount_);
+            configPolicy.setMoveThreadBufferSize(defaultIfNull(moveThreadBufferSize, DEFAULT_MOVE_THREAD_BUFFER_SIZE));
+            configPolicy.setThreadFactory(buildThreadFactory());
+        }
         TerminationConfig terminationConfig_ = terminationConfig == null ? new TerminationConfig()
                 : terminationConfig;
-        BasicPlumbingTermination basicPlumbingTermination = new BasicPlumbingTermination(daemon_);
+        BasicPlumbingTermination basicPlumbingTermination = new BasicPlumbingTermination(daemon_,
+                resolveProblemFactChangeQueueCapacity());
         Termination termination = terminationConfig_.buildTermination(configPolicy, basicPlumbingTermination);
-        BestSolutionRecaller<Solution_> bestSolutionRecaller = new BestSolutionRecallerConfig()
+        BestSolutionRecallerConfig bestSolutionRecallerConfig_ = bestSolutionRecallerConfig == null
+                ? new BestSolutionRecallerConfig() : bestSolutionRecallerConfig;
+        BestSolutionRecaller<Solution_> bestSolutionRecaller = bestSolutionRecallerConfig_
                 .buildBestSolutionRecaller(environmentMode_);
         List<Phase<Solution_>> phaseList = buildPhaseList(configPolicy, bestSolutionRecaller, termination);
         DefaultSolver<Solution_> solver = new DefaultSolver<>(environmentMode_, randomFactory,
                 basicPlumbingTermination, termination, bestSolutionRecaller, phaseList, solverScope);
+        solver.setInPlaceProblemFactChanges(defaultIfNull(inPlaceProblemFactChanges, false));
+        if (asyncBestSolutionEvents != null && asyncBestSolutionEvents) {
+            solver.setAsyncBestSolutionEvents(buildThreadFactory(), defaultIfNull(bestSolutionEventThrottleMillis, 0L));
+        } else if (bestSolutionEventThrottleMillis != null) {
+            throw new IllegalArgumentException("The solverConfig with bestSolutionEventThrottleMillis ("
+                    + bestSolutionEventThrottleMillis + ") has an asyncBestSolutionEvents ("
+                    + asyncBestSolutionEvents + ") that is not true.");
+        }
         return solver;
     }
 
@@ -257,9 +397,69 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
         return randomFactory;
     }
 
+    /**
+     * @return at least 1, {@link Integer#MAX_VALUE} if unbounded
+     */
+    protected int resolveProblemFactChangeQueueCapacity() {
+        if (problemFactChangeQueueCapacity == null) {
+            return Integer.MAX_VALUE;
+        }
+        if (problemFactChangeQueueCapacity < 1) {
+            throw new IllegalArgumentException("The problemFactChangeQueueCapacity (" + problemFactChangeQueueCapacity
+                    + ") cannot be lower than 1.");
+        }
+        return problemFactChangeQueueCapacity;
+    }
+
+    /**
+     * @return null if move threads are disabled, otherwise at least 1
+     */
+    protected Integer resolveMoveThreadCount() {
+        int availableProcessorCount = Runtime.getRuntime().availableProcessors();
+        Integer resolvedMoveThreadCount;
+        if (moveThreadCount == null || moveThreadCount.equals(MOVE_THREAD_COUNT_NONE)) {
+            return null;
+        } else if (moveThreadCount.equals(MOVE_THREAD_COUNT_AUTO)) {
+            // Leave one for the solver thread and one for the operating system and the garbage collector
+            resolvedMoveThreadCount = (availableProcessorCount - 2);
+            if (resolvedMoveThreadCount <= 1) {
+                // Fall back to single threaded solving with no move threads.
+                // To deliberately enforce 1 moveThread, set the moveThreadCount explicitly to 1.
+                return null;
+            }
+        } else {
+            resolvedMoveThreadCount = ConfigUtils.resolveThreadPoolSizeScript(
+                    "moveThreadCount", moveThreadCount, MOVE_THREAD_COUNT_NONE, MOVE_THREAD_COUNT_AUTO);
+        }
+        if (resolvedMoveThreadCount < 1) {
+            throw new IllegalArgumentException("The moveThreadCount (" + moveThreadCount
+                    + ") resulted in a resolvedMoveThreadCount (" + resolvedMoveThreadCount
+                    + ") that is lower than 1.");
+        }
+        if (resolvedMoveThreadCount > availableProcessorCount) {
+            logger.debug("The resolvedMoveThreadCount ({}) is higher than the availableProcessorCount ({}),"
+                    + " so the JVM will round-robin the CPU instead.",
+                    resolvedMoveThreadCount, availableProcessorCount);
+        }
+        if (moveThreadBufferSize != null && moveThreadBufferSize < 1) {
+            throw new IllegalArgumentException("The moveThreadBufferSize (" + moveThreadBufferSize
+                    + ") cannot be lower than 1.");
+        }
+        return resolvedMoveThreadCount;
+    }
+
+    protected ThreadFactory buildThreadFactory() {
+        if (threadFactoryClass != null) {
+            return ConfigUtils.newInstance(this, "threadFactoryClass", threadFactoryClass);
+        } else {
+            return Executors.defaultThreadFactory();
+        }
+    }
+
     public <Solution_> SolutionDescriptor<Solution_> buildSolutionDescriptor(SolverConfigContext configContext) {
         ScoreDefinition deprecatedScoreDefinition = scoreDirectorFactoryConfig == null ? null
                 : scoreDirectorFactoryConfig.buildDeprecatedScoreDefinition();
+        DomainAccessType domainAccessType_ = defaultIfNull(domainAccessType, DomainAccessType.REFLECTION);
         if (scanAnnotatedClassesConfig != null) {
             if (solutionClass != null || entityClassList != null) {
                 throw new IllegalArgumentException("The solver configuration with scanAnnotatedClasses ("
@@ -267,7 +467,8 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                         + ") or an entityClass (" + entityClassList + ").\n"
                         + "  Please decide between automatic scanning or manual referencing.");
             }
-            return scanAnnotatedClassesConfig.buildSolutionDescriptor(configContext, deprecatedScoreDefinition);
+            return scanAnnotatedClassesConfig.buildSolutionDescriptor(configContext, deprecatedScoreDefinition,
+                    domainAccessType_);
         } else {
             if (solutionClass == null) {
                 throw new IllegalArgumentException("The solver configuration must have a solutionClass (" + solutionClass
@@ -278,7 +479,8 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
                         "The solver configuration must have at least 1 entityClass (" + entityClassList
                         + "), if it has no scanAnnotatedClasses (" + scanAnnotatedClassesConfig + ").");
             }
-            return SolutionDescriptor.buildSolutionDescriptor((Class<Solution_>) solutionClass, entityClassList, deprecatedScoreDefinition);
+            return SolutionDescriptor.buildSolutionDescriptor((Class<Solution_>) solutionClass, entityClassList,
+                    deprecatedScoreDefinition, domainAccessType_);
         }
     }
 
@@ -306,16 +508,34 @@ public class SolverConfig extends AbstractConfig<SolverConfig> {
     public void inherit(SolverConfig inheritedConfig) {
         environmentMode = ConfigUtils.inheritOverwritableProperty(environmentMode, inheritedConfig.getEnvironmentMode());
         daemon = ConfigUtils.inheritOverwritableProperty(daemon, inheritedConfig.getDaemon());
+        inPlaceProblemFactChanges = ConfigUtils.inheritOverwritableProperty(inPlaceProblemFactChanges,
+                inheritedConfig.getInPlaceProblemFactChanges());
+        problemFactChangeQueueCapacity = ConfigUtils.inheritOverwritableProperty(problemFactChangeQueueCapacity,
+                inheritedConfig.getProblemFactChangeQueueCapacity());
         randomType = ConfigUtils.inheritOverwritableProperty(randomType, inheritedConfig.getRandomType());
         randomSeed = ConfigUtils.inheritOverwritableProperty(randomSeed, inheritedConfig.getRandomSeed());
         randomFactoryClass = ConfigUtils.inheritOverwritableProperty(
                 randomFactoryClass, inheritedConfig.getRandomFactoryClass());
+        moveThreadCount = ConfigUtils.inheritOverwritableProperty(moveThreadCount,
+                inheritedConfig.getMoveThreadCount());
+        moveThreadBufferSize = ConfigUtils.inheritOverwritableProperty(moveThreadBufferSize,
+                inheritedConfig.getMoveThreadBufferSize());
+        threadFactoryClass = ConfigUtils.inheritOverwritableProperty(threadFactoryClass,
+                inheritedConfig.getThreadFactoryClass());
+        asyncBestSolutionEvents = ConfigUtils.inheritOverwritableProperty(asyncBestSolutionEvents,
+                inheritedConfig.getAsyncBestSolutionEvents());
+        bestSolutionEventThrottleMillis = ConfigUtils.inheritOverwritableProperty(bestSolutionEventThrottleMillis,
+                inheritedConfig.getBestSolutionEventThrottleMillis());
         scanAnnotatedClassesConfig = ConfigUtils.inheritConfig(scanAnnotatedClassesConfig, inheritedConfig.getScanAnnotatedClassesConfig());
         solutionClass = ConfigUtils.inheritOverwritableProperty(solutionClass, inheritedConfig.getSolutionClass());
         entityClassList = ConfigUtils.inheritMergeableListProperty(
                 entityClassList, inheritedConfig.getEntityClassList());
+        domainAccessType = ConfigUtils.inheritOverwritableProperty(domainAccessType,
+                inheritedConfig.getDomainAccessType());
         scoreDirectorFactoryConfig = ConfigUtils.inheritConfig(scoreDirectorFactoryConfig, inheritedConfig.getScoreDirectorFactoryConfig());
         terminationConfig = ConfigUtils.inheritConfig(terminationConfig, inheritedConfig.getTerminationConfig());
+        bestSolutionRecallerConfig = ConfigUtils.inheritConfig(bestSolutionRecallerConfig,
+                inheritedConfig.getBestSolutionRecallerConfig());
         phaseConfigList = ConfigUtils.inheritMergeableListConfig(
                 phaseConfigList, inheritedConfig.getPhaseConfigList());
     }
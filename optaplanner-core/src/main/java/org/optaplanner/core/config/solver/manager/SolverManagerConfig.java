@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.config.solver.manager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.optaplanner.core.api.solver.manager.SolverManager;
+import org.optaplanner.core.config.SolverConfigContext;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.util.ConfigUtils;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.manager.DefaultSolverManager;
+import org.optaplanner.core.impl.solver.thread.SolverThreadScheduler;
+
+import static org.apache.commons.lang3.ObjectUtils.*;
+
+public class SolverManagerConfig {
+
+    public static final String PARALLEL_SOLVER_COUNT_AUTO = "AUTO";
+    public static final String ACTIVE_THREAD_COUNT_AUTO = "AUTO";
+    public static final String ACTIVE_THREAD_COUNT_UNLIMITED = "UNLIMITED";
+
+    protected String parallelSolverCount = null;
+    protected String activeThreadCount = null;
+    protected Long threadQuantumMillis = null;
+    protected Class<? extends ThreadFactory> threadFactoryClass = null;
+
+    /**
+     * @return null, {@value #PARALLEL_SOLVER_COUNT_AUTO} or a JavaScript calculation
+     * using {@value ConfigUtils#AVAILABLE_PROCESSOR_COUNT}
+     */
+    public String getParallelSolverCount() {
+        return parallelSolverCount;
+    }
+
+    public void setParallelSolverCount(String parallelSolverCount) {
+        this.parallelSolverCount = parallelSolverCount;
+    }
+
+    /**
+     * Caps the number of solver threads that solve at the same time,
+     * so more parallel solvers than CPU cores take turns cooperatively instead of being time-sliced by the OS.
+     * @return null, a number, {@value #ACTIVE_THREAD_COUNT_AUTO}, {@value #ACTIVE_THREAD_COUNT_UNLIMITED}
+     * or a JavaScript calculation using {@value ConfigUtils#AVAILABLE_PROCESSOR_COUNT}
+     */
+    public String getActiveThreadCount() {
+        return activeThreadCount;
+    }
+
+    public void setActiveThreadCount(String activeThreadCount) {
+        this.activeThreadCount = activeThreadCount;
+    }
+
+    /**
+     * @return null or at least 1, the minimum CPU time a solver thread keeps its active thread before yielding it
+     */
+    public Long getThreadQuantumMillis() {
+        return threadQuantumMillis;
+    }
+
+    public void setThreadQuantumMillis(Long threadQuantumMillis) {
+        this.threadQuantumMillis = threadQuantumMillis;
+    }
+
+    public Class<? extends ThreadFactory> getThreadFactoryClass() {
+        return threadFactoryClass;
+    }
+
+    public void setThreadFactoryClass(Class<? extends ThreadFactory> threadFactoryClass) {
+        this.threadFactoryClass = threadFactoryClass;
+    }
+
+    // ************************************************************************
+    // Builder methods
+    // ************************************************************************
+
+    /**
+     * @param configContext never null
+     * @param solverConfig never null, copied, so later changes to it do not affect the {@link SolverManager}
+     * @return never null
+     */
+    public <Solution_, ProblemId_> SolverManager<Solution_, ProblemId_> buildSolverManager(
+            SolverConfigContext configContext, SolverConfig solverConfig) {
+        int parallelSolverCount_ = resolveParallelSolverCount();
+        SolverConfig solverConfig_ = new SolverConfig(solverConfig);
+        InnerScoreDirectorFactory<Solution_> scoreDirectorFactory = solverConfig_.buildScoreDirectorFactory(
+                configContext);
+        return new DefaultSolverManager<>(solverConfig_, scoreDirectorFactory, parallelSolverCount_,
+                buildThreadFactory(), buildThreadScheduler());
+    }
+
+    protected int resolveParallelSolverCount() {
+        int availableProcessorCount = Runtime.getRuntime().availableProcessors();
+        int resolvedParallelSolverCount;
+        if (parallelSolverCount == null || parallelSolverCount.equals(PARALLEL_SOLVER_COUNT_AUTO)) {
+            // Leave one for the operating system and the garbage collector
+            resolvedParallelSolverCount = Math.max(1, availableProcessorCount - 1);
+        } else {
+            resolvedParallelSolverCount = ConfigUtils.resolveThreadPoolSizeScript(
+                    "parallelSolverCount", parallelSolverCount, PARALLEL_SOLVER_COUNT_AUTO);
+        }
+        if (resolvedParallelSolverCount < 1) {
+            throw new IllegalArgumentException("The parallelSolverCount (" + parallelSolverCount
+                    + ") resulted in a resolvedParallelSolverCount (" + resolvedParallelSolverCount
+                    + ") that is lower than 1.");
+        }
+        return resolvedParallelSolverCount;
+    }
+
+    /**
+     * @return null if the active threads are unlimited
+     */
+    protected SolverThreadScheduler buildThreadScheduler() {
+        Integer resolvedActiveThreadCount = resolveActiveThreadCount();
+        if (resolvedActiveThreadCount == null) {
+            if (threadQuantumMillis != null) {
+                throw new IllegalArgumentException("The solverManagerConfig with threadQuantumMillis ("
+                        + threadQuantumMillis + ") has an activeThreadCount (" + activeThreadCount
+                        + ") that is unlimited.");
+            }
+            return null;
+        }
+        return new SolverThreadScheduler(resolvedActiveThreadCount,
+                defaultIfNull(threadQuantumMillis, SolverThreadScheduler.DEFAULT_QUANTUM_MILLIS));
+    }
+
+    /**
+     * @return null if unlimited, otherwise at least 1
+     */
+    protected Integer resolveActiveThreadCount() {
+        int availableProcessorCount = Runtime.getRuntime().availableProcessors();
+        Integer resolvedActiveThreadCount;
+        if (activeThreadCount == null || activeThreadCount.equals(ACTIVE_THREAD_COUNT_UNLIMITED)) {
+            resolvedActiveThreadCount = null;
+        } else if (activeThreadCount.equals(ACTIVE_THREAD_COUNT_AUTO)) {
+            resolvedActiveThreadCount = availableProcessorCount <= 1 ? 1 : availableProcessorCount - 1;
+        } else {
+            resolvedActiveThreadCount = ConfigUtils.resolveThreadPoolSizeScript(
+                    "activeThreadCount", activeThreadCount, ACTIVE_THREAD_COUNT_AUTO, ACTIVE_THREAD_COUNT_UNLIMITED);
+            if (resolvedActiveThreadCount < 1) {
+                throw new IllegalArgumentException("The activeThreadCount (" + activeThreadCount
+                        + ") resulted in a resolvedActiveThreadCount (" + resolvedActiveThreadCount
+                        + ") that is lower than 1.");
+            }
+        }
+        return resolvedActiveThreadCount;
+    }
+
+    protected ThreadFactory buildThreadFactory() {
+        if (threadFactoryClass != null) {
+            return ConfigUtils.newInstance(this, "threadFactoryClass", threadFactoryClass);
+        } else {
+            return Executors.defaultThreadFactory();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + parallelSolverCount + ", " + activeThreadCount + ")";
+    }
+
+}
@@ -16,20 +16,41 @@
 
 package org.optaplanner.core.config.solver.recaller;
 
+import com.thoughtworks.xstream.annotations.XStreamAlias;
 import org.optaplanner.core.config.AbstractConfig;
 import org.optaplanner.core.config.solver.EnvironmentMode;
-import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.recaller.DeltaBestSolutionRecaller;
 
-// Currently not yet supported as being nested, so no XStreamAlias
+@XStreamAlias("bestSolutionRecaller")
 public class BestSolutionRecallerConfig extends AbstractConfig<BestSolutionRecallerConfig> {
 
+    /**
+     * If true, a new best solution during a step is recorded as a delta of the changed variables
+     * and only cloned when it's requested, see {@link DeltaBestSolutionRecaller}.
+     */
+    protected Boolean deltaRecording = null;
+
+    // ************************************************************************
+    // Constructors and simple getters/setters
+    // ************************************************************************
+
+    public Boolean getDeltaRecording() {
+        return deltaRecording;
+    }
+
+    public void setDeltaRecording(Boolean deltaRecording) {
+        this.deltaRecording = deltaRecording;
+    }
+
     // ************************************************************************
     // Builder methods
     // ************************************************************************
 
     public <Solution_> BestSolutionRecaller<Solution_> buildBestSolutionRecaller(EnvironmentMode environmentMode) {
-        BestSolutionRecaller<Solution_> bestSolutionRecaller = new BestSolutionRecaller<>();
+        BestSolutionRecaller<Solution_> bestSolutionRecaller = (deltaRecording != null && deltaRecording)
+                ? new DeltaBestSolutionRecaller<>() : new BestSolutionRecaller<>();
         if (environmentMode.isNonIntrusiveFullAsserted()) {
             bestSolutionRecaller.setAssertInitialScoreFromScratch(true);
             bestSolutionRecaller.setAssertShadowVariablesAreNotStale(true);
@@ -40,6 +61,7 @@ public class BestSolutionRecallerConfig extends AbstractConfig<BestSolutionRecal
 
     @Override
     public void inherit(BestSolutionRecallerConfig inheritedConfig) {
+        deltaRecording = ConfigUtils.inheritOverwritableProperty(deltaRecording, inheritedConfig.getDeltaRecording());
     }
 
 }
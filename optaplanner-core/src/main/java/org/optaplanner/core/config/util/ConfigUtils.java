@@ -37,10 +37,12 @@ import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.optaplanner.core.config.AbstractConfig;
+import org.optaplanner.core.config.solver.DomainAccessType;
 import org.optaplanner.core.impl.domain.common.AlphabeticMemberComparator;
 import org.optaplanner.core.impl.domain.common.ReflectionHelper;
 import org.optaplanner.core.impl.domain.common.accessor.BeanPropertyMemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.FieldMemberAccessor;
+import org.optaplanner.core.impl.domain.common.accessor.LambdaBeanPropertyMemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.MethodMemberAccessor;
 
@@ -259,6 +261,11 @@ public class ConfigUtils {
     }
 
     public static MemberAccessor buildMemberAccessor(Member member, MemberAccessorType memberAccessorType, Class<? extends Annotation> annotationClass) {
+        return buildMemberAccessor(member, memberAccessorType, annotationClass, DomainAccessType.REFLECTION);
+    }
+
+    public static MemberAccessor buildMemberAccessor(Member member, MemberAccessorType memberAccessorType,
+            Class<? extends Annotation> annotationClass, DomainAccessType domainAccessType) {
         if (member instanceof Field) {
             Field field = (Field) member;
             return new FieldMemberAccessor(field);
@@ -268,7 +275,7 @@ public class ConfigUtils {
             switch (memberAccessorType) {
                 case FIELD_OR_READ_METHOD:
                     if (ReflectionHelper.isGetterMethod(method)) {
-                        memberAccessor = new BeanPropertyMemberAccessor(method);
+                        memberAccessor = buildBeanPropertyMemberAccessor(method, domainAccessType);
                     } else {
                         ReflectionHelper.assertReadMethod(method, annotationClass);
                         memberAccessor = new MethodMemberAccessor(method);
@@ -277,7 +284,7 @@ public class ConfigUtils {
                 case FIELD_OR_GETTER_METHOD:
                 case FIELD_OR_GETTER_METHOD_WITH_SETTER:
                     ReflectionHelper.assertGetterMethod(method, annotationClass);
-                    memberAccessor = new BeanPropertyMemberAccessor(method);
+                    memberAccessor = buildBeanPropertyMemberAccessor(method, domainAccessType);
                     break;
                 default:
                     throw new IllegalStateException("The memberAccessorType (" + memberAccessorType
@@ -297,6 +304,23 @@ public class ConfigUtils {
         }
     }
 
+    private static MemberAccessor buildBeanPropertyMemberAccessor(Method getterMethod,
+            DomainAccessType domainAccessType) {
+        switch (domainAccessType) {
+            case REFLECTION:
+                return new BeanPropertyMemberAccessor(getterMethod);
+            case LAMBDA:
+                if (LambdaBeanPropertyMemberAccessor.isSupported(getterMethod)) {
+                    return new LambdaBeanPropertyMemberAccessor(getterMethod);
+                }
+                // Fall back to reflection, for example for a getter on a class that isn't public
+                return new BeanPropertyMemberAccessor(getterMethod);
+            default:
+                throw new IllegalStateException("The domainAccessType (" + domainAccessType
+                        + ") is not implemented.");
+        }
+    }
+
     public enum MemberAccessorType {
         FIELD_OR_READ_METHOD,
         FIELD_OR_GETTER_METHOD,
@@ -17,6 +17,8 @@
 package org.optaplanner.core.impl.constructionheuristic.decider;
 
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
 import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
 import org.optaplanner.core.impl.constructionheuristic.placer.AbstractEntityPlacer;
 import org.optaplanner.core.impl.constructionheuristic.placer.Placement;
@@ -36,6 +38,8 @@ public class ConstructionHeuristicDecider extends AbstractEntityPlacer {
     protected boolean assertMoveScoreFromScratch = false;
     protected boolean assertExpectedUndoMoveScore = false;
 
+    protected SolverMetricRegistry metricRegistry = null;
+
     public ConstructionHeuristicDecider(Termination termination, ConstructionHeuristicForager forager) {
         this.termination = termination;
         this.forager = forager;
@@ -63,6 +67,7 @@ public class ConstructionHeuristicDecider extends AbstractEntityPlacer {
     }
 
     public void phaseStarted(ConstructionHeuristicPhaseScope phaseScope) {
+        metricRegistry = phaseScope.getSolverScope().getMetricRegistry();
         forager.phaseStarted(phaseScope);
     }
 
@@ -76,6 +81,7 @@ public class ConstructionHeuristicDecider extends AbstractEntityPlacer {
 
     public void phaseEnded(ConstructionHeuristicPhaseScope phaseScope) {
         forager.phaseEnded(phaseScope);
+        metricRegistry = null;
     }
 
     @Override
@@ -86,7 +92,7 @@ public class ConstructionHeuristicDecider extends AbstractEntityPlacer {
     public void decideNextStep(ConstructionHeuristicStepScope stepScope, Placement placement) {
         int moveIndex = 0;
         for (Move move : placement) {
-            ConstructionHeuristicMoveScope moveScope = new ConstructionHeuristicMoveScope(stepScope);
+            ConstructionHeuristicMoveScope moveScope = stepScope.borrowMoveScope();
             moveScope.setMoveIndex(moveIndex);
             moveIndex++;
             moveScope.setMove(move);
@@ -96,6 +102,9 @@ public class ConstructionHeuristicDecider extends AbstractEntityPlacer {
             if (forager.isQuitEarly()) {
                 break;
             }
+            if (!moveScope.isRetained()) {
+                stepScope.releaseMoveScope(moveScope);
+            }
             stepScope.getPhaseScope().getSolverScope().checkYielding();
             if (termination.isPhaseTerminated(stepScope.getPhaseScope())) {
                 break;
@@ -131,7 +140,14 @@ public class ConstructionHeuristicDecider extends AbstractEntityPlacer {
     }
 
     private void processMove(ConstructionHeuristicMoveScope moveScope) {
-        Score score = moveScope.getStepScope().getPhaseScope().calculateScore();
+        Score score;
+        if (metricRegistry == null) {
+            score = moveScope.getStepScope().getPhaseScope().calculateScore();
+        } else {
+            long startingNanoTime = System.nanoTime();
+            score = moveScope.getStepScope().getPhaseScope().calculateScore();
+            metricRegistry.recordTime(SolverTimerType.SCORE_CALCULATION, System.nanoTime() - startingNanoTime);
+        }
         if (assertMoveScoreFromScratch) {
             moveScope.getStepScope().getPhaseScope().assertWorkingScoreFromScratch(score, moveScope.getMove());
         }
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.constructionheuristic.decider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.constructionheuristic.decider.forager.ConstructionHeuristicForager;
+import org.optaplanner.core.impl.constructionheuristic.placer.Placement;
+import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicMoveScope;
+import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicPhaseScope;
+import org.optaplanner.core.impl.constructionheuristic.scope.ConstructionHeuristicStepScope;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.thread.ApplyStepOperation;
+import org.optaplanner.core.impl.heuristic.thread.DestroyOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveEvaluationOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveResult;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadRunner;
+import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.ChildThreadType;
+import org.optaplanner.core.impl.solver.termination.Termination;
+
+/**
+ * Evaluates the moves of each {@link Placement} in parallel on multiple move threads,
+ * each with its own {@link InnerScoreDirector} (and therefore its own working solution).
+ * <p>
+ * The moves are still selected and foraged on the solver thread, in the order of their move index,
+ * so ties are broken the same way as single threaded and the result is reproducible
+ * regardless of the moveThreadCount.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MultiThreadedConstructionHeuristicDecider<Solution_> extends ConstructionHeuristicDecider {
+
+    protected final ThreadFactory threadFactory;
+    protected final int moveThreadCount;
+    protected final int selectedMoveBufferSize;
+
+    protected boolean assertStepScoreFromScratch = false;
+    protected boolean assertExpectedStepScore = false;
+    protected boolean assertShadowVariablesAreNotStaleAfterStep = false;
+
+    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    protected CyclicBarrier moveThreadBarrier;
+    protected ExecutorService executor;
+    protected List<MoveThreadRunner<Solution_>> moveThreadRunnerList;
+
+    public MultiThreadedConstructionHeuristicDecider(Termination termination, ConstructionHeuristicForager forager,
+            ThreadFactory threadFactory, int moveThreadCount, int selectedMoveBufferSize) {
+        super(termination, forager);
+        this.threadFactory = threadFactory;
+        this.moveThreadCount = moveThreadCount;
+        this.selectedMoveBufferSize = selectedMoveBufferSize;
+    }
+
+    public void setAssertStepScoreFromScratch(boolean assertStepScoreFromScratch) {
+        this.assertStepScoreFromScratch = assertStepScoreFromScratch;
+    }
+
+    public void setAssertExpectedStepScore(boolean assertExpectedStepScore) {
+        this.assertExpectedStepScore = assertExpectedStepScore;
+    }
+
+    public void setAssertShadowVariablesAreNotStaleAfterStep(boolean assertShadowVariablesAreNotStaleAfterStep) {
+        this.assertShadowVariablesAreNotStaleAfterStep = assertShadowVariablesAreNotStaleAfterStep;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void phaseStarted(ConstructionHeuristicPhaseScope phaseScope) {
+        super.phaseStarted(phaseScope);
+        // Capacity: MoveEvaluationOperations + ApplyStepOperations + DestroyOperations
+        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount + moveThreadCount);
+        // Capacity: MoveResults + exceptions
+        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
+        moveThreadBarrier = new CyclicBarrier(moveThreadCount);
+        InnerScoreDirector<Solution_> scoreDirector = phaseScope.getScoreDirector();
+        executor = Executors.newFixedThreadPool(moveThreadCount, threadFactory);
+        moveThreadRunnerList = new ArrayList<>(moveThreadCount);
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            // Clone the working solution in the solver thread, because it's not thread-safe to do it in a move thread
+            InnerScoreDirector<Solution_> childThreadScoreDirector
+                    = scoreDirector.createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
+            MoveThreadRunner<Solution_> moveThreadRunner = new MoveThreadRunner<>(
+                    moveThreadIndex, childThreadScoreDirector, operationQueue, resultQueue, moveThreadBarrier,
+                    assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
+                    assertStepScoreFromScratch, assertExpectedStepScore, assertShadowVariablesAreNotStaleAfterStep);
+            moveThreadRunner.setMetricRegistry(metricRegistry);
+            moveThreadRunnerList.add(moveThreadRunner);
+            executor.submit(moveThreadRunner);
+        }
+    }
+
+    @Override
+    public void phaseEnded(ConstructionHeuristicPhaseScope phaseScope) {
+        super.phaseEnded(phaseScope);
+        // Tell the move thread runners to stop
+        DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
+        for (int i = 0; i < moveThreadCount; i++) {
+            operationQueue.add(destroyOperation);
+        }
+        shutdownMoveThreads();
+        long childThreadsScoreCalculationCount = 0L;
+        for (MoveThreadRunner<Solution_> moveThreadRunner : moveThreadRunnerList) {
+            childThreadsScoreCalculationCount += Math.max(0L, moveThreadRunner.getCalculationCount());
+        }
+        phaseScope.getSolverScope().addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
+        operationQueue = null;
+        resultQueue = null;
+        moveThreadRunnerList = null;
+    }
+
+    protected void shutdownMoveThreads() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.warn("Multithreaded Construction Heuristic's move threads didn't stop within 1 second."
+                        + " Interrupting them now.");
+                executor.shutdownNow();
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void decideNextStep(ConstructionHeuristicStepScope stepScope, Placement placement) {
+        int stepIndex = stepScope.getStepIndex();
+        resultQueue.startNextStep(stepIndex);
+        int foragedMoveCount = 0;
+        try {
+            int selectMoveIndex = 0;
+            int movesInPlay = 0;
+            Iterator<Move> moveIterator = placement.iterator();
+            do {
+                boolean hasNextMove = moveIterator.hasNext();
+                // First fill the buffer so move evaluation can run freely in parallel
+                // For every move evaluation consumed, select exactly 1 new move
+                if (movesInPlay > 0 && (selectMoveIndex >= selectedMoveBufferSize || !hasNextMove)) {
+                    foragedMoveCount++;
+                    if (forageResult(stepScope, stepIndex)) {
+                        break;
+                    }
+                    movesInPlay--;
+                }
+                if (hasNextMove) {
+                    Move move = moveIterator.next();
+                    operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectMoveIndex, move));
+                    selectMoveIndex++;
+                    movesInPlay++;
+                }
+            } while (movesInPlay > 0);
+        } catch (RuntimeException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        // Do not evaluate the remaining selected moves of this step that haven't started evaluation yet
+        operationQueue.removeIf(operation -> operation instanceof MoveEvaluationOperation);
+        stepScope.setSelectedMoveCount((long) foragedMoveCount);
+        ConstructionHeuristicMoveScope pickedMoveScope = forager.pickMove(stepScope);
+        if (pickedMoveScope != null) {
+            Move step = pickedMoveScope.getMove();
+            stepScope.setStep(step);
+            if (logger.isDebugEnabled()) {
+                stepScope.setStepString(step.toString());
+            }
+            // The step isn't done yet on the solver thread, so the undo step is still correct
+            stepScope.setUndoStep(step.createUndoMove(stepScope.getScoreDirector()));
+            stepScope.setScore(pickedMoveScope.getScore());
+            // Start doing the step on every move thread. Don't wait for the stepEnded() event.
+            // Increase stepIndex by 1, because it's a preliminary action
+            ApplyStepOperation<Solution_> stepOperation = new ApplyStepOperation<>(stepIndex + 1,
+                    step, pickedMoveScope.getScore());
+            for (int i = 0; i < moveThreadCount; i++) {
+                operationQueue.add(stepOperation);
+            }
+        }
+    }
+
+    private boolean forageResult(ConstructionHeuristicStepScope stepScope, int stepIndex) {
+        MoveResult<Solution_> result;
+        try {
+            result = resultQueue.take();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("The step index (" + stepIndex
+                    + ") has been interrupted while waiting for a move thread result.", e);
+        }
+        if (stepIndex != result.getStepIndex()) {
+            throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
+                    + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
+        }
+        Move move = result.getMove();
+        ConstructionHeuristicMoveScope moveScope = stepScope.borrowMoveScope();
+        moveScope.setMoveIndex(result.getMoveIndex());
+        moveScope.setMove(move);
+        if (!result.isMoveDoable()) {
+            // Do not filter out pointless moves, because the original value of the entity(s) is irrelevant.
+            // A move that isn't doable changes nothing, so its score is the last step score.
+            moveScope.setScore(stepScope.getPhaseScope().getLastCompletedStepScope().getScore());
+        } else {
+            moveScope.setScore(result.getScore());
+        }
+        forager.addMove(moveScope);
+        logger.trace("        Move index ({}), score ({}), move ({}).",
+                moveScope.getMoveIndex(), moveScope.getScore(), move);
+        if (forager.isQuitEarly()) {
+            return true;
+        }
+        if (!moveScope.isRetained()) {
+            stepScope.releaseMoveScope(moveScope);
+        }
+        stepScope.getPhaseScope().getSolverScope().checkYielding();
+        return termination.isPhaseTerminated(stepScope.getPhaseScope());
+    }
+
+}
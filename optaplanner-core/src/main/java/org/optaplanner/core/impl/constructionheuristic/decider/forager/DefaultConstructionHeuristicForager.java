@@ -62,6 +62,11 @@ public class DefaultConstructionHeuristicForager extends AbstractConstructionHeu
         checkPickEarly(moveScope);
         if (maxScoreMoveScope == null
                 || scoreComparator.compare(moveScope.getScore(), maxScoreMoveScope.getScore()) > 0) {
+            if (maxScoreMoveScope != null) {
+                maxScoreMoveScope.setRetained(false);
+                maxScoreMoveScope.getStepScope().releaseMoveScope(maxScoreMoveScope);
+            }
+            moveScope.setRetained(true);
             maxScoreMoveScope = moveScope;
         }
     }
@@ -74,12 +79,12 @@ public class DefaultConstructionHeuristicForager extends AbstractConstructionHeu
                 Score lastStepScore = moveScope.getStepScope().getPhaseScope()
                         .getLastCompletedStepScope().getScore();
                 if (moveScope.getScore().toInitializedScore().compareTo(lastStepScore.toInitializedScore()) >= 0) {
-                    earlyPickedMoveScope = moveScope;
+                    pickEarly(moveScope);
                 }
                 break;
             case FIRST_FEASIBLE_SCORE:
                 if (((FeasibilityScore) moveScope.getScore().toInitializedScore()).isFeasible()) {
-                    earlyPickedMoveScope = moveScope;
+                    pickEarly(moveScope);
                 }
                 break;
             case FIRST_FEASIBLE_SCORE_OR_NON_DETERIORATING_HARD:
@@ -88,7 +93,7 @@ public class DefaultConstructionHeuristicForager extends AbstractConstructionHeu
                 Score lastStepScoreDifference = moveScope.getScore().toInitializedScore()
                         .subtract(lastStepScore2.toInitializedScore());
                 if (((FeasibilityScore) lastStepScoreDifference).isFeasible()) {
-                    earlyPickedMoveScope = moveScope;
+                    pickEarly(moveScope);
                 }
                 break;
             default:
@@ -96,6 +101,11 @@ public class DefaultConstructionHeuristicForager extends AbstractConstructionHeu
         }
     }
 
+    protected void pickEarly(ConstructionHeuristicMoveScope moveScope) {
+        moveScope.setRetained(true);
+        earlyPickedMoveScope = moveScope;
+    }
+
     @Override
     public boolean isQuitEarly() {
         return earlyPickedMoveScope != null;
@@ -34,6 +34,7 @@ public class ConstructionHeuristicMoveScope<Solution_> {
     private Move move = null;
     private Move undoMove = null;
     private Score score = null;
+    private boolean retained = false;
 
     public ConstructionHeuristicMoveScope(ConstructionHeuristicStepScope<Solution_> stepScope) {
         this.stepScope = stepScope;
@@ -75,10 +76,31 @@ public class ConstructionHeuristicMoveScope<Solution_> {
         this.score = score;
     }
 
+    /**
+     * A retained move scope is referenced after its move has been evaluated (for example as the best move so far),
+     * so it must not be released to {@link ConstructionHeuristicStepScope#releaseMoveScope}.
+     * @return true if it must not be reused for another move
+     */
+    public boolean isRetained() {
+        return retained;
+    }
+
+    public void setRetained(boolean retained) {
+        this.retained = retained;
+    }
+
     // ************************************************************************
     // Calculated methods
     // ************************************************************************
 
+    void reset() {
+        moveIndex = -1;
+        move = null;
+        undoMove = null;
+        score = null;
+        retained = false;
+    }
+
     public ScoreDirector<Solution_> getScoreDirector() {
         return stepScope.getScoreDirector();
     }
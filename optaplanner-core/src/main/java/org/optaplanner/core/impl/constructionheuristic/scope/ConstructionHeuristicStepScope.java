@@ -16,6 +16,9 @@
 
 package org.optaplanner.core.impl.constructionheuristic.scope;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
@@ -33,6 +36,8 @@ public class ConstructionHeuristicStepScope<Solution_> extends AbstractStepScope
     private Move undoStep = null;
     private Long selectedMoveCount = null;
 
+    private final Deque<ConstructionHeuristicMoveScope<Solution_>> moveScopePool = new ArrayDeque<>();
+
     public ConstructionHeuristicStepScope(ConstructionHeuristicPhaseScope<Solution_> phaseScope) {
         this(phaseScope, phaseScope.getNextStepIndex());
     }
@@ -47,6 +52,26 @@ public class ConstructionHeuristicStepScope<Solution_> extends AbstractStepScope
         return phaseScope;
     }
 
+    /**
+     * Reuses a {@link ConstructionHeuristicMoveScope} of this step that has been released,
+     * to avoid creating one per move.
+     * @return never null
+     * @see #releaseMoveScope(ConstructionHeuristicMoveScope)
+     */
+    public ConstructionHeuristicMoveScope<Solution_> borrowMoveScope() {
+        ConstructionHeuristicMoveScope<Solution_> moveScope = moveScopePool.pollFirst();
+        return moveScope == null ? new ConstructionHeuristicMoveScope<>(this) : moveScope;
+    }
+
+    /**
+     * @param moveScope never null, not {@link ConstructionHeuristicMoveScope#isRetained() retained},
+     * must not be used by the caller afterwards
+     */
+    public void releaseMoveScope(ConstructionHeuristicMoveScope<Solution_> moveScope) {
+        moveScope.reset();
+        moveScopePool.addFirst(moveScope);
+    }
+
     public Object getEntity() {
         return entity;
     }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.domain.common.accessor;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.optaplanner.core.config.solver.DomainAccessType;
+import org.optaplanner.core.impl.domain.common.ReflectionHelper;
+
+/**
+ * A {@link BeanPropertyMemberAccessor} alternative that calls the getter and setter directly,
+ * through a class generated by the {@link LambdaMetafactory}, instead of through {@link Method#invoke(Object, Object...)}.
+ * @see DomainAccessType#LAMBDA
+ */
+public final class LambdaBeanPropertyMemberAccessor implements MemberAccessor {
+
+    /**
+     * The generated class is hosted in OptaPlanner's classes,
+     * so it can only call public members of public classes that are visible from OptaPlanner's {@link ClassLoader}.
+     * @param getterMethod never null
+     * @return true if {@link #LambdaBeanPropertyMemberAccessor(Method)} supports that getter and its setter
+     */
+    public static boolean isSupported(Method getterMethod) {
+        if (!ReflectionHelper.isGetterMethod(getterMethod) || !isDirectlyCallable(getterMethod)) {
+            return false;
+        }
+        Method setterMethod = ReflectionHelper.getSetterMethod(getterMethod.getDeclaringClass(),
+                getterMethod.getReturnType(), ReflectionHelper.getGetterPropertyName(getterMethod));
+        return setterMethod == null || isDirectlyCallable(setterMethod);
+    }
+
+    private static boolean isDirectlyCallable(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        for (Class<?> type = method.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false,
+                    LambdaBeanPropertyMemberAccessor.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private final Class<?> propertyType;
+    private final String propertyName;
+    private final Method getterMethod;
+    private final Method setterMethod;
+    private final Function<Object, Object> getterFunction;
+    private final BiConsumer<Object, Object> setterFunction;
+
+    public LambdaBeanPropertyMemberAccessor(Method getterMethod) {
+        this.getterMethod = getterMethod;
+        Class declaringClass = getterMethod.getDeclaringClass();
+        if (!ReflectionHelper.isGetterMethod(getterMethod)) {
+            throw new IllegalArgumentException("The getterMethod (" + getterMethod + ") is not a valid getter.");
+        }
+        propertyType = getterMethod.getReturnType();
+        propertyName = ReflectionHelper.getGetterPropertyName(getterMethod);
+        setterMethod = ReflectionHelper.getSetterMethod(declaringClass, getterMethod.getReturnType(), propertyName);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        getterFunction = buildGetterFunction(lookup, getterMethod);
+        setterFunction = setterMethod == null ? null : buildSetterFunction(lookup, setterMethod);
+    }
+
+    private Function<Object, Object> buildGetterFunction(MethodHandles.Lookup lookup, Method getterMethod) {
+        try {
+            MethodHandle getterHandle = lookup.unreflect(getterMethod);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    getterHandle,
+                    MethodType.methodType(wrap(getterMethod.getReturnType()), getterMethod.getDeclaringClass()));
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot generate a direct call for property (" + propertyName
+                    + ") getterMethod (" + getterMethod + ").", e);
+        }
+    }
+
+    private BiConsumer<Object, Object> buildSetterFunction(MethodHandles.Lookup lookup, Method setterMethod) {
+        try {
+            MethodHandle setterHandle = lookup.unreflect(setterMethod);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    setterHandle,
+                    MethodType.methodType(void.class, setterMethod.getDeclaringClass(),
+                            wrap(setterMethod.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot generate a direct call for property (" + propertyName
+                    + ") setterMethod (" + setterMethod + ").", e);
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @Override
+    public String getName() {
+        return propertyName;
+    }
+
+    @Override
+    public Class<?> getType() {
+        return propertyType;
+    }
+
+    @Override
+    public Type getGenericType() {
+        return getterMethod.getGenericReturnType();
+    }
+
+    @Override
+    public Object executeGetter(Object bean) {
+        return getterFunction.apply(bean);
+    }
+
+    @Override
+    public boolean supportSetter() {
+        return setterFunction != null;
+    }
+
+    @Override
+    public void executeSetter(Object bean, Object value) {
+        setterFunction.accept(bean, value);
+    }
+
+    // ************************************************************************
+    // AnnotatedElement methods
+    // ************************************************************************
+
+    @Override
+    public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+        return getterMethod.isAnnotationPresent(annotationClass);
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+        return getterMethod.getAnnotation(annotationClass);
+    }
+
+    @Override
+    public Annotation[] getAnnotations() {
+        return getterMethod.getAnnotations();
+    }
+
+    @Override
+    public Annotation[] getDeclaredAnnotations() {
+        return getterMethod.getDeclaredAnnotations();
+    }
+
+    @Override
+    public String toString() {
+        return "bean property " + propertyName + " on " + getterMethod.getDeclaringClass();
+    }
+
+}
@@ -41,8 +41,9 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.domain.solution.cloner.DeepPlanningClone;
 import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
@@ -57,15 +58,30 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
 
     protected final SolutionDescriptor<Solution_> solutionDescriptor;
 
-    protected final Map<Class, Constructor> constructorCache = new HashMap<>();
-    protected final Map<Class, List<Field>> fieldListCache = new HashMap<>();
-    protected final Map<Pair<Field, Class>, Boolean> deepCloneDecisionFieldCache = new HashMap<>();
-    protected final Map<Class, Boolean> deepCloneDecisionActualValueClassCache = new HashMap<>();
+    /**
+     * Built once per instance class, so cloning an instance doesn't need to look up its fields
+     * or the deep clone decision of those fields again.
+     */
+    protected final ConcurrentMap<Class<?>, ClassCloningPlan> cloningPlanMap = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<Class<?>, Boolean> deepCloneDecisionActualValueClassCache
+            = new ConcurrentHashMap<>();
 
     public FieldAccessingSolutionCloner(SolutionDescriptor<Solution_> solutionDescriptor) {
         this.solutionDescriptor = solutionDescriptor;
     }
 
+    /**
+     * Builds the {@link ClassCloningPlan} of the solution class and the entity classes upfront,
+     * instead of during the first {@link #cloneSolution(Object)}.
+     * Must be called after the {@link SolutionDescriptor} knows all its entity classes.
+     */
+    public void initializeCloningPlans() {
+        retrieveCloningPlan(solutionDescriptor.getSolutionClass());
+        for (Class<?> entityClass : solutionDescriptor.getEntityClassSet()) {
+            retrieveCloningPlan(entityClass);
+        }
+    }
+
     // ************************************************************************
     // Worker methods
     // ************************************************************************
@@ -75,43 +91,54 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
         return new FieldAccessingSolutionClonerRun().cloneSolution(originalSolution);
     }
 
-    protected <C> Constructor<C> retrieveCachedConstructor(Class<C> clazz) throws NoSuchMethodException {
-        Constructor<C> constructor = constructorCache.get(clazz);
-        if (constructor == null) {
-            constructor = clazz.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            constructorCache.put(clazz, constructor);
+    protected ClassCloningPlan retrieveCloningPlan(Class<?> instanceClass) {
+        ClassCloningPlan cloningPlan = cloningPlanMap.get(instanceClass);
+        if (cloningPlan == null) {
+            cloningPlan = buildCloningPlan(instanceClass);
+            ClassCloningPlan existingCloningPlan = cloningPlanMap.putIfAbsent(instanceClass, cloningPlan);
+            if (existingCloningPlan != null) {
+                cloningPlan = existingCloningPlan;
+            }
         }
-        return constructor;
+        return cloningPlan;
     }
 
-    protected <C> List<Field> retrieveCachedFields(Class<C> clazz) {
-        List<Field> fieldList = fieldListCache.get(clazz);
-        if (fieldList == null) {
-            Field[] fields = clazz.getDeclaredFields();
-            fieldList = new ArrayList<>(fields.length);
-            for (Field field : fields) {
+    protected ClassCloningPlan buildCloningPlan(Class<?> instanceClass) {
+        Constructor<?> constructor;
+        try {
+            constructor = instanceClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            // Fail-fast when such an instance is cloned, it might never be
+            constructor = null;
+        }
+        List<FieldCloningPlan> fieldCloningPlanList = new ArrayList<>();
+        for (Class<?> clazz = instanceClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
                 if (!Modifier.isStatic(field.getModifiers())) {
                     field.setAccessible(true);
-                    fieldList.add(field);
+                    fieldCloningPlanList.add(new FieldCloningPlan(field,
+                            determineFieldCloningType(field, instanceClass)));
                 }
             }
-            fieldListCache.put(clazz, fieldList);
         }
-        return fieldList;
+        return new ClassCloningPlan(instanceClass, constructor,
+                fieldCloningPlanList.toArray(new FieldCloningPlan[fieldCloningPlanList.size()]));
     }
 
-    protected boolean retrieveDeepCloneDecision(Field field, Class fieldInstanceClass, Class<?> actualValueClass) {
-        Pair<Field, Class> pair = Pair.of(field, fieldInstanceClass);
-        Boolean deepCloneDecision = deepCloneDecisionFieldCache.get(pair);
-        if (deepCloneDecision == null) {
-            deepCloneDecision = isFieldDeepCloned(field, fieldInstanceClass);
-            deepCloneDecisionFieldCache.put(pair, deepCloneDecision);
+    protected FieldCloningType determineFieldCloningType(Field field, Class<?> fieldInstanceClass) {
+        if (isFieldDeepCloned(field, fieldInstanceClass)) {
+            return FieldCloningType.DEEP;
         }
-        if (deepCloneDecision) {
-            return true;
+        Class<?> type = field.getType();
+        if (type.isPrimitive()) {
+            return FieldCloningType.PRIMITIVE;
         }
-        return retrieveDeepCloneDecisionForActualValueClass(actualValueClass);
+        // The class of a value in a field with a final type is always that type
+        if (Modifier.isFinal(type.getModifiers()) && !type.isArray()) {
+            return isClassDeepCloned(type) ? FieldCloningType.DEEP : FieldCloningType.SHALLOW;
+        }
+        return FieldCloningType.DEPENDS_ON_ACTUAL_VALUE_CLASS;
     }
 
     private boolean isFieldDeepCloned(Field field, Class fieldInstanceClass) {
@@ -184,7 +211,7 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
         Boolean deepCloneDecision = deepCloneDecisionActualValueClassCache.get(actualValueClass);
         if (deepCloneDecision == null) {
             deepCloneDecision = isClassDeepCloned(actualValueClass);
-            deepCloneDecisionActualValueClassCache.put(actualValueClass, deepCloneDecision);
+            deepCloneDecisionActualValueClassCache.putIfAbsent(actualValueClass, deepCloneDecision);
         }
         return deepCloneDecision;
     }
@@ -219,27 +246,34 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
             if (existingClone != null) {
                 return  existingClone;
             }
-            Class<C> instanceClass = (Class<C>) original.getClass();
-            C clone = constructClone(instanceClass);
+            ClassCloningPlan cloningPlan = retrieveCloningPlan(original.getClass());
+            C clone = (C) constructClone(cloningPlan);
             originalToCloneMap.put(original, clone);
-            copyFields(instanceClass, instanceClass, original, clone);
+            copyFields(cloningPlan, original, clone);
             return clone;
         }
 
-        protected <C> C constructClone(Class<C> clazz) {
+        protected Object constructClone(ClassCloningPlan cloningPlan) {
             try {
-                Constructor<C> constructor = retrieveCachedConstructor(clazz);
-                return constructor.newInstance();
+                if (cloningPlan.constructor == null) {
+                    throw new NoSuchMethodException("No no-arg constructor.");
+                }
+                return cloningPlan.constructor.newInstance();
             } catch (ReflectiveOperationException e) {
-                throw new IllegalStateException("The class (" + clazz
+                throw new IllegalStateException("The class (" + cloningPlan.instanceClass
                         + ") should have a no-arg constructor to create a clone.", e);
             }
         }
 
-        protected <C> void copyFields(Class<C> clazz, Class<? extends C> instanceClass, C original, C clone) {
-            for (Field field : retrieveCachedFields(clazz)) {
+        protected void copyFields(ClassCloningPlan cloningPlan, Object original, Object clone) {
+            for (FieldCloningPlan fieldCloningPlan : cloningPlan.fieldCloningPlans) {
+                Field field = fieldCloningPlan.field;
+                if (fieldCloningPlan.cloningType == FieldCloningType.PRIMITIVE) {
+                    copyPrimitiveFieldValue(original, clone, field);
+                    continue;
+                }
                 Object originalValue = getFieldValue(original, field);
-                if (isDeepCloneField(field, instanceClass, originalValue)) {
+                if (isDeepCloneField(fieldCloningPlan, originalValue)) {
                     // Postpone filling in the fields
                     unprocessedQueue.add(new Unprocessed(clone, field, originalValue));
                 } else {
@@ -247,17 +281,23 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
                     setFieldValue(clone, field, originalValue);
                 }
             }
-            Class<? super C> superclass = clazz.getSuperclass();
-            if (superclass != null) {
-                copyFields(superclass, instanceClass, original, clone);
-            }
         }
 
-        protected boolean isDeepCloneField(Field field, Class fieldInstanceClass, Object originalValue) {
+        protected boolean isDeepCloneField(FieldCloningPlan fieldCloningPlan, Object originalValue) {
             if (originalValue == null) {
                 return false;
             }
-            return retrieveDeepCloneDecision(field, fieldInstanceClass, originalValue.getClass());
+            switch (fieldCloningPlan.cloningType) {
+                case DEEP:
+                    return true;
+                case SHALLOW:
+                    return false;
+                case DEPENDS_ON_ACTUAL_VALUE_CLASS:
+                    return retrieveDeepCloneDecisionForActualValueClass(originalValue.getClass());
+                default:
+                    throw new IllegalStateException("The cloningType (" + fieldCloningPlan.cloningType
+                            + ") is not implemented.");
+            }
         }
 
         protected void processQueue() {
@@ -413,6 +453,37 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
             }
         }
 
+        /**
+         * Avoids boxing and unboxing the value, unlike {@link #getFieldValue(Object, Field)}.
+         */
+        protected void copyPrimitiveFieldValue(Object original, Object clone, Field field) {
+            try {
+                Class<?> type = field.getType();
+                if (type == int.class) {
+                    field.setInt(clone, field.getInt(original));
+                } else if (type == long.class) {
+                    field.setLong(clone, field.getLong(original));
+                } else if (type == boolean.class) {
+                    field.setBoolean(clone, field.getBoolean(original));
+                } else if (type == double.class) {
+                    field.setDouble(clone, field.getDouble(original));
+                } else if (type == float.class) {
+                    field.setFloat(clone, field.getFloat(original));
+                } else if (type == short.class) {
+                    field.setShort(clone, field.getShort(original));
+                } else if (type == byte.class) {
+                    field.setByte(clone, field.getByte(original));
+                } else if (type == char.class) {
+                    field.setChar(clone, field.getChar(original));
+                } else {
+                    throw new IllegalStateException("The primitive type (" + type + ") is not implemented.");
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("The class (" + original.getClass() + ") has a field (" + field
+                        + ") which can not be copied to create a clone.", e);
+            }
+        }
+
         protected void setFieldValue(Object bean, Field field, Object value) {
             try {
                 field.set(bean, value);
@@ -424,6 +495,42 @@ public class FieldAccessingSolutionCloner<Solution_> implements SolutionCloner<S
 
     }
 
+    protected enum FieldCloningType {
+        PRIMITIVE,
+        SHALLOW,
+        DEEP,
+        DEPENDS_ON_ACTUAL_VALUE_CLASS;
+    }
+
+    protected static class ClassCloningPlan {
+
+        protected final Class<?> instanceClass;
+        /** Null if there is no no-arg constructor */
+        protected final Constructor<?> constructor;
+        /** Includes the fields of the superclasses */
+        protected final FieldCloningPlan[] fieldCloningPlans;
+
+        public ClassCloningPlan(Class<?> instanceClass, Constructor<?> constructor,
+                FieldCloningPlan[] fieldCloningPlans) {
+            this.instanceClass = instanceClass;
+            this.constructor = constructor;
+            this.fieldCloningPlans = fieldCloningPlans;
+        }
+
+    }
+
+    protected static class FieldCloningPlan {
+
+        protected final Field field;
+        protected final FieldCloningType cloningType;
+
+        public FieldCloningPlan(Field field, FieldCloningType cloningType) {
+            this.field = field;
+            this.cloningType = cloningType;
+        }
+
+    }
+
     protected static class Unprocessed {
 
         protected Object bean;
@@ -61,6 +61,7 @@ import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
 import org.optaplanner.core.api.score.buildin.simplebigdecimal.SimpleBigDecimalScore;
 import org.optaplanner.core.api.score.buildin.simpledouble.SimpleDoubleScore;
 import org.optaplanner.core.api.score.buildin.simplelong.SimpleLongScore;
+import org.optaplanner.core.config.solver.DomainAccessType;
 import org.optaplanner.core.config.util.ConfigUtils;
 import org.optaplanner.core.impl.domain.common.accessor.BeanPropertyMemberAccessor;
 import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
@@ -104,7 +105,15 @@ public class SolutionDescriptor<Solution_> {
 
     public static <Solution_> SolutionDescriptor<Solution_> buildSolutionDescriptor(Class<Solution_> solutionClass,
             List<Class<?>> entityClassList, ScoreDefinition deprecatedScoreDefinition) {
+        return buildSolutionDescriptor(solutionClass, entityClassList, deprecatedScoreDefinition,
+                DomainAccessType.REFLECTION);
+    }
+
+    public static <Solution_> SolutionDescriptor<Solution_> buildSolutionDescriptor(Class<Solution_> solutionClass,
+            List<Class<?>> entityClassList, ScoreDefinition deprecatedScoreDefinition,
+            DomainAccessType domainAccessType) {
         DescriptorPolicy descriptorPolicy = new DescriptorPolicy();
+        descriptorPolicy.setDomainAccessType(domainAccessType);
         SolutionDescriptor<Solution_> solutionDescriptor = new SolutionDescriptor<>(solutionClass);
         solutionDescriptor.processAnnotations(descriptorPolicy, deprecatedScoreDefinition);
         for (Class<?> entityClass : sortEntityClassList(entityClassList)) {
@@ -309,7 +318,7 @@ public class SolutionDescriptor<Solution_> {
     private void processValueRangeProviderAnnotation(DescriptorPolicy descriptorPolicy, Member member) {
         if (((AnnotatedElement) member).isAnnotationPresent(ValueRangeProvider.class)) {
             MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                    member, FIELD_OR_READ_METHOD, ValueRangeProvider.class);
+                    member, FIELD_OR_READ_METHOD, ValueRangeProvider.class, descriptorPolicy.getDomainAccessType());
             descriptorPolicy.addFromSolutionValueRangeProvider(memberAccessor);
         }
     }
@@ -319,7 +328,7 @@ public class SolutionDescriptor<Solution_> {
                 ProblemFactProperty.class, ProblemFactCollectionProperty.class);
         if (annotationClass != null) {
             MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                    member, FIELD_OR_READ_METHOD, annotationClass);
+                    member, FIELD_OR_READ_METHOD, annotationClass, descriptorPolicy.getDomainAccessType());
             assertUnexistingProblemFactOrPlanningEntityProperty(memberAccessor, annotationClass);
             if (annotationClass == ProblemFactProperty.class) {
                 problemFactMemberAccessorMap.put(memberAccessor.getName(), memberAccessor);
@@ -340,7 +349,7 @@ public class SolutionDescriptor<Solution_> {
                 PlanningEntityProperty.class, PlanningEntityCollectionProperty.class);
         if (annotationClass != null) {
             MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                    member, FIELD_OR_GETTER_METHOD, annotationClass);
+                    member, FIELD_OR_GETTER_METHOD, annotationClass, descriptorPolicy.getDomainAccessType());
             assertUnexistingProblemFactOrPlanningEntityProperty(memberAccessor, annotationClass);
             if (annotationClass == PlanningEntityProperty.class) {
                 entityMemberAccessorMap.put(memberAccessor.getName(), memberAccessor);
@@ -390,7 +399,7 @@ public class SolutionDescriptor<Solution_> {
             ScoreDefinition deprecatedScoreDefinition) {
         if (((AnnotatedElement) member).isAnnotationPresent(PlanningScore.class)) {
             MemberAccessor memberAccessor = ConfigUtils.buildMemberAccessor(
-                    member, FIELD_OR_GETTER_METHOD_WITH_SETTER, PlanningScore.class);
+                    member, FIELD_OR_GETTER_METHOD_WITH_SETTER, PlanningScore.class, descriptorPolicy.getDomainAccessType());
             if (deprecatedScoreDefinition != null) {
                 throw new IllegalStateException("The solutionClass (" + solutionClass
                         + ") has a " + PlanningScore.class.getSimpleName()
@@ -562,6 +571,9 @@ public class SolutionDescriptor<Solution_> {
             entityDescriptor.linkShadowSources(descriptorPolicy);
         }
         determineGlobalShadowOrder();
+        if (solutionCloner instanceof FieldAccessingSolutionCloner) {
+            ((FieldAccessingSolutionCloner<Solution_>) solutionCloner).initializeCloningPlans();
+        }
         if (logger.isTraceEnabled()) {
             logger.trace("    Model annotations parsed for Solution {}:", solutionClass.getSimpleName());
             for (Map.Entry<Class<?>, EntityDescriptor<Solution_>> entry : entityDescriptorMap.entrySet()) {
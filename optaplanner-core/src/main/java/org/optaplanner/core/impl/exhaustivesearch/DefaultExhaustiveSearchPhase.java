@@ -17,7 +17,6 @@
 package org.optaplanner.core.impl.exhaustivesearch;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.SortedSet;
@@ -95,23 +94,74 @@ public class DefaultExhaustiveSearchPhase<Solution_> extends AbstractPhase<Solut
 
     @Override
     public void solve(DefaultSolverScope<Solution_> solverScope) {
+        ExhaustiveSearchPhaseScope<Solution_> phaseScope = createPhaseScope(solverScope);
+        phaseStarted(phaseScope);
+        initStartNode(phaseScope, phaseScope.getLayerList().get(0));
+        expandNodes(phaseScope);
+        phaseEnded(phaseScope);
+    }
+
+    public ExhaustiveSearchPhaseScope<Solution_> createPhaseScope(DefaultSolverScope<Solution_> solverScope) {
         SortedSet<ExhaustiveSearchNode> expandableNodeQueue = new TreeSet<>(nodeComparator);
         ExhaustiveSearchPhaseScope<Solution_> phaseScope = new ExhaustiveSearchPhaseScope<>(solverScope);
         phaseScope.setExpandableNodeQueue(expandableNodeQueue);
-        phaseStarted(phaseScope);
+        return phaseScope;
+    }
 
+    protected void expandNodes(ExhaustiveSearchPhaseScope<Solution_> phaseScope) {
+        SortedSet<ExhaustiveSearchNode> expandableNodeQueue = phaseScope.getExpandableNodeQueue();
         while (!expandableNodeQueue.isEmpty() && !termination.isPhaseTerminated(phaseScope)) {
-            ExhaustiveSearchStepScope<Solution_> stepScope = new ExhaustiveSearchStepScope<>(phaseScope);
-            ExhaustiveSearchNode node = expandableNodeQueue.last();
-            expandableNodeQueue.remove(node);
-            stepScope.setExpandingNode(node);
-            stepStarted(stepScope);
-            restoreWorkingSolution(stepScope);
-            decider.expandNode(stepScope);
-            stepEnded(stepScope);
-            phaseScope.setLastCompletedStepScope(stepScope);
+            // Prune with the bounds found by other move threads, if any, before picking the next node
+            phaseScope.refreshSharedPessimisticBound();
+            if (expandableNodeQueue.isEmpty()) {
+                break;
+            }
+            ExhaustiveSearchNode node = phaseScope.removeLastExpandableNode();
+            expandNode(phaseScope, node);
         }
-        phaseEnded(phaseScope);
+    }
+
+    protected void expandNode(ExhaustiveSearchPhaseScope<Solution_> phaseScope, ExhaustiveSearchNode node) {
+        ExhaustiveSearchStepScope<Solution_> stepScope = new ExhaustiveSearchStepScope<>(phaseScope);
+        stepScope.setExpandingNode(node);
+        stepStarted(stepScope);
+        restoreWorkingSolution(stepScope);
+        decider.expandNode(stepScope);
+        stepEnded(stepScope);
+        phaseScope.setLastCompletedStepScope(stepScope);
+    }
+
+    /**
+     * Explores only the subtree under the working solution, which must already have the planning variables
+     * of every layer above the subtreeDepth initialized, as the nodes of that subtree's ancestors do.
+     * Afterwards, the working solution is restored to what it was before this call.
+     * <p>
+     * Can be called multiple times between {@link #phaseStarted(ExhaustiveSearchPhaseScope)}
+     * and {@link #phaseEnded(ExhaustiveSearchPhaseScope)}.
+     * @param phaseScope never null
+     * @param subtreeDepth {@code 0 <= subtreeDepth < layerList.size()}
+     */
+    public void solveSubtree(ExhaustiveSearchPhaseScope<Solution_> phaseScope, int subtreeDepth) {
+        initStartNode(phaseScope, phaseScope.getLayerList().get(subtreeDepth));
+        expandNodes(phaseScope);
+        restoreStartNode(phaseScope, subtreeDepth);
+        // On early termination, the unexpanded nodes are abandoned
+        phaseScope.clearExpandableNodes();
+    }
+
+    /**
+     * Undoes the moves of the last expanded node and its ancestors below the startDepth.
+     * @param phaseScope never null
+     * @param startDepth {@code 0 <= startDepth}
+     */
+    protected void restoreStartNode(ExhaustiveSearchPhaseScope<Solution_> phaseScope, int startDepth) {
+        ScoreDirector scoreDirector = phaseScope.getScoreDirector();
+        ExhaustiveSearchNode node = phaseScope.getLastCompletedStepScope().getExpandingNode();
+        while (node.getDepth() > startDepth) {
+            node.getUndoMove().doMove(scoreDirector);
+            node = node.getParent();
+        }
+        phaseScope.getLastCompletedStepScope().setExpandingNode(node);
     }
 
     @Override
@@ -126,7 +176,6 @@ public class DefaultExhaustiveSearchPhase<Solution_> extends AbstractPhase<Solut
         entitySelector.phaseStarted(phaseScope);
         decider.phaseStarted(phaseScope);
         fillLayerList(phaseScope);
-        initStartNode(phaseScope);
     }
 
     private void fillLayerList(ExhaustiveSearchPhaseScope<Solution_> phaseScope) {
@@ -160,8 +209,7 @@ public class DefaultExhaustiveSearchPhase<Solution_> extends AbstractPhase<Solut
         phaseScope.setLayerList(layerList);
     }
 
-    private void initStartNode(ExhaustiveSearchPhaseScope<Solution_> phaseScope) {
-        ExhaustiveSearchLayer startLayer = phaseScope.getLayerList().get(0);
+    protected void initStartNode(ExhaustiveSearchPhaseScope<Solution_> phaseScope, ExhaustiveSearchLayer startLayer) {
         ExhaustiveSearchNode startNode = new ExhaustiveSearchNode(startLayer, null);
 
         if (decider.isScoreBounderEnabled()) {
@@ -169,8 +217,14 @@ public class DefaultExhaustiveSearchPhase<Solution_> extends AbstractPhase<Solut
             Score score = scoreDirector.calculateScore();
             startNode.setScore(score);
             ScoreBounder scoreBounder = decider.getScoreBounder();
-            phaseScope.setBestPessimisticBound(startLayer.isLastLayer() ? score
-                    : scoreBounder.calculatePessimisticBound(scoreDirector, score));
+            Score pessimisticBound = startLayer.isLastLayer() ? score
+                    : scoreBounder.calculatePessimisticBound(scoreDirector, score);
+            if (phaseScope.getBestPessimisticBound() == null) {
+                phaseScope.setBestPessimisticBound(pessimisticBound);
+            } else {
+                // Another subtree has been solved before
+                phaseScope.registerPessimisticBound(pessimisticBound);
+            }
             startNode.setOptimisticBound(startLayer.isLastLayer() ? score
                     : scoreBounder.calculateOptimisticBound(scoreDirector, score));
         }
@@ -190,43 +244,62 @@ public class DefaultExhaustiveSearchPhase<Solution_> extends AbstractPhase<Solut
         ExhaustiveSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
         ExhaustiveSearchNode oldNode = phaseScope.getLastCompletedStepScope().getExpandingNode();
         ExhaustiveSearchNode newNode = stepScope.getExpandingNode();
-        List<Move> oldMoveList = new ArrayList<>(oldNode.getDepth());
-        List<Move> newMoveList = new ArrayList<>(newNode.getDepth());
+        ScoreDirector scoreDirector = phaseScope.getScoreDirector();
+        // The undo moves are done while walking up to the common ancestor, the redo moves are done afterwards
+        Move[] newMoves = new Move[newNode.getDepth()];
+        int newMoveCount = 0;
+        int oldMoveCount = 0;
         while (oldNode != newNode) {
             int oldDepth = oldNode.getDepth();
             int newDepth = newNode.getDepth();
             if (oldDepth < newDepth) {
-                newMoveList.add(newNode.getMove());
+                newMoves[newMoveCount] = newNode.getMove();
+                newMoveCount++;
                 newNode = newNode.getParent();
             } else {
-                oldMoveList.add(oldNode.getUndoMove());
+                oldNode.getUndoMove().doMove(scoreDirector);
+                oldMoveCount++;
                 oldNode = oldNode.getParent();
             }
         }
-        List<Move> restoreMoveList = new ArrayList<>(oldMoveList.size() + newMoveList.size());
-        restoreMoveList.addAll(oldMoveList);
-        Collections.reverse(newMoveList);
-        restoreMoveList.addAll(newMoveList);
-        ScoreDirector scoreDirector = phaseScope.getScoreDirector();
-        for (Move restoreMove : restoreMoveList) {
-            restoreMove.doMove(scoreDirector);
+        for (int i = newMoveCount - 1; i >= 0; i--) {
+            newMoves[i].doMove(scoreDirector);
         }
         // There is no need to recalculate the score, but we still need to set it
         phaseScope.getSolutionDescriptor().setScore(phaseScope.getWorkingSolution(), stepScope.getStartingStepScore());
         if (assertWorkingSolutionScoreFromScratch) {
             // In BRUTE_FORCE the stepScore can be null because it was not calculated
             if (stepScope.getStartingStepScore() != null) {
-                phaseScope.assertWorkingScoreFromScratch(stepScope.getStartingStepScore(), restoreMoveList);
+                phaseScope.assertWorkingScoreFromScratch(stepScope.getStartingStepScore(),
+                        buildRestoreMoveList(stepScope, oldMoveCount, newMoves, newMoveCount));
             }
         }
         if (assertExpectedWorkingSolutionScore) {
             // In BRUTE_FORCE the stepScore can be null because it was not calculated
             if (stepScope.getStartingStepScore() != null) {
-                phaseScope.assertExpectedWorkingScore(stepScope.getStartingStepScore(), restoreMoveList);
+                phaseScope.assertExpectedWorkingScore(stepScope.getStartingStepScore(),
+                        buildRestoreMoveList(stepScope, oldMoveCount, newMoves, newMoveCount));
             }
         }
     }
 
+    /**
+     * Only used to describe a restore in an assertion, so the restore itself doesn't need to build this list.
+     */
+    private List<Move> buildRestoreMoveList(ExhaustiveSearchStepScope<Solution_> stepScope,
+            int oldMoveCount, Move[] newMoves, int newMoveCount) {
+        List<Move> restoreMoveList = new ArrayList<>(oldMoveCount + newMoveCount);
+        ExhaustiveSearchNode oldNode = stepScope.getPhaseScope().getLastCompletedStepScope().getExpandingNode();
+        for (int i = 0; i < oldMoveCount; i++) {
+            restoreMoveList.add(oldNode.getUndoMove());
+            oldNode = oldNode.getParent();
+        }
+        for (int i = newMoveCount - 1; i >= 0; i--) {
+            restoreMoveList.add(newMoves[i]);
+        }
+        return restoreMoveList;
+    }
+
     public void stepEnded(ExhaustiveSearchStepScope<Solution_> stepScope) {
         super.stepEnded(stepScope);
         // Skip entitySelector.stepEnded(stepScope)
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.exhaustivesearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.config.exhaustivesearch.ExhaustiveSearchPhaseConfig;
+import org.optaplanner.core.config.heuristic.policy.HeuristicConfigPolicy;
+import org.optaplanner.core.impl.exhaustivesearch.node.ExhaustiveSearchNode;
+import org.optaplanner.core.impl.exhaustivesearch.scope.ExhaustiveSearchPhaseScope;
+import org.optaplanner.core.impl.exhaustivesearch.thread.SubtreeBestSolutionRecaller;
+import org.optaplanner.core.impl.exhaustivesearch.thread.SubtreeThreadEvent;
+import org.optaplanner.core.impl.exhaustivesearch.thread.SubtreeThreadRunner;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleSupport;
+import org.optaplanner.core.impl.solver.ChildThreadPlumbingTermination;
+import org.optaplanner.core.impl.solver.ChildThreadType;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.solver.termination.OrCompositeTermination;
+import org.optaplanner.core.impl.solver.termination.Termination;
+
+/**
+ * Explores the subtrees of the search tree in parallel on multiple move threads,
+ * each with its own {@link DefaultExhaustiveSearchPhase} and working solution.
+ * <p>
+ * The solver thread first expands the shallowest nodes until there are enough subtrees,
+ * then the move threads claim those subtrees one by one, most promising first.
+ * All move threads prune with the same best pessimistic bound, which is shared lock-free.
+ * <p>
+ * The best solution is the same as with a single thread, unless multiple solutions have the same best score
+ * or the phase terminates early.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MultiThreadedExhaustiveSearchPhase<Solution_> extends DefaultExhaustiveSearchPhase<Solution_> {
+
+    /**
+     * The solver thread splits the search tree into at least this many subtrees per move thread,
+     * so a move thread that finishes a small subtree early can claim another one.
+     */
+    protected static final int SUBTREE_COUNT_PER_MOVE_THREAD = 4;
+
+    protected final ThreadFactory threadFactory;
+    protected final int moveThreadCount;
+
+    protected ExhaustiveSearchPhaseConfig phaseConfig;
+    protected HeuristicConfigPolicy childThreadConfigPolicy;
+    protected Termination solverTermination;
+
+    public MultiThreadedExhaustiveSearchPhase(ThreadFactory threadFactory, int moveThreadCount) {
+        this.threadFactory = threadFactory;
+        this.moveThreadCount = moveThreadCount;
+    }
+
+    public void setPhaseConfig(ExhaustiveSearchPhaseConfig phaseConfig) {
+        this.phaseConfig = phaseConfig;
+    }
+
+    public void setChildThreadConfigPolicy(HeuristicConfigPolicy childThreadConfigPolicy) {
+        this.childThreadConfigPolicy = childThreadConfigPolicy;
+    }
+
+    public void setSolverTermination(Termination solverTermination) {
+        this.solverTermination = solverTermination;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void solve(DefaultSolverScope<Solution_> solverScope) {
+        ExhaustiveSearchPhaseScope<Solution_> phaseScope = createPhaseScope(solverScope);
+        phaseStarted(phaseScope);
+        initStartNode(phaseScope, phaseScope.getLayerList().get(0));
+        List<ExhaustiveSearchNode> subtreeRootList = splitSubtrees(phaseScope);
+        if (!subtreeRootList.isEmpty()) {
+            solveSubtrees(phaseScope, subtreeRootList);
+        }
+        phaseEnded(phaseScope);
+    }
+
+    /**
+     * Expands the nodes on the solver thread until there are enough subtrees for all move threads.
+     * Afterwards, the working solution is restored to the start node.
+     * @param phaseScope never null
+     * @return never null, the roots of the unexplored subtrees, most promising first
+     */
+    protected List<ExhaustiveSearchNode> splitSubtrees(ExhaustiveSearchPhaseScope<Solution_> phaseScope) {
+        SortedSet<ExhaustiveSearchNode> expandableNodeQueue = phaseScope.getExpandableNodeQueue();
+        int subtreeCountLimit = moveThreadCount * SUBTREE_COUNT_PER_MOVE_THREAD;
+        boolean terminated = false;
+        while (!expandableNodeQueue.isEmpty() && expandableNodeQueue.size() < subtreeCountLimit) {
+            if (termination.isPhaseTerminated(phaseScope)) {
+                terminated = true;
+                break;
+            }
+            // Expand the shallowest node first, so the subtrees have a similar size
+            ExhaustiveSearchNode shallowestNode = null;
+            for (ExhaustiveSearchNode node : expandableNodeQueue) {
+                if (shallowestNode == null || node.getDepth() <= shallowestNode.getDepth()) {
+                    shallowestNode = node;
+                }
+            }
+            phaseScope.removeExpandableNode(shallowestNode);
+            expandNode(phaseScope, shallowestNode);
+        }
+        List<ExhaustiveSearchNode> subtreeRootList = new ArrayList<>(expandableNodeQueue.size());
+        if (!terminated) {
+            while (!expandableNodeQueue.isEmpty()) {
+                subtreeRootList.add(phaseScope.removeLastExpandableNode());
+            }
+        }
+        phaseScope.clearExpandableNodes();
+        restoreStartNode(phaseScope, 0);
+        return subtreeRootList;
+    }
+
+    protected void solveSubtrees(ExhaustiveSearchPhaseScope<Solution_> phaseScope,
+            List<ExhaustiveSearchNode> subtreeRootList) {
+        DefaultSolverScope<Solution_> solverScope = phaseScope.getSolverScope();
+        Score bestPessimisticBound = phaseScope.getBestPessimisticBound();
+        AtomicReference<Score> sharedPessimisticBound = bestPessimisticBound == null ? null
+                : new AtomicReference<>(bestPessimisticBound);
+        AtomicInteger nextSubtreeIndex = new AtomicInteger(0);
+        // Unbounded, so a move thread never blocks on it
+        BlockingQueue<SubtreeThreadEvent<Solution_>> eventQueue = new LinkedBlockingQueue<>();
+        ChildThreadPlumbingTermination childThreadPlumbingTermination = new ChildThreadPlumbingTermination();
+        int layerCount = phaseScope.getLayerList().size();
+        ExecutorService executor = Executors.newFixedThreadPool(moveThreadCount, threadFactory);
+        List<SubtreeThreadRunner<Solution_>> subtreeThreadRunnerList = new ArrayList<>(moveThreadCount);
+        try {
+            for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+                // Clone the working solution in the solver thread, because it's not thread-safe to do it in a move thread
+                DefaultSolverScope<Solution_> childThreadSolverScope
+                        = solverScope.createChildThreadSolverScope(ChildThreadType.MOVE_THREAD);
+                // Only a better solution than the solver thread's best solution is worth relaying
+                childThreadSolverScope.setBestScore(solverScope.getBestScore());
+                DefaultExhaustiveSearchPhase<Solution_> childThreadPhase = buildChildThreadPhase(
+                        moveThreadIndex, solverScope, childThreadPlumbingTermination, eventQueue);
+                SubtreeThreadRunner<Solution_> subtreeThreadRunner = new SubtreeThreadRunner<>(
+                        moveThreadIndex, childThreadPhase, childThreadSolverScope,
+                        subtreeRootList, nextSubtreeIndex, sharedPessimisticBound, layerCount, eventQueue);
+                subtreeThreadRunnerList.add(subtreeThreadRunner);
+                executor.submit(subtreeThreadRunner);
+            }
+            int finishedCount = 0;
+            while (finishedCount < moveThreadCount) {
+                SubtreeThreadEvent<Solution_> event;
+                try {
+                    event = eventQueue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("The solver thread was interrupted"
+                            + " while waiting for a move thread.", e);
+                }
+                switch (event.getType()) {
+                    case BEST_SOLUTION:
+                        if (event.getBestScore().compareTo(solverScope.getBestScore()) > 0) {
+                            bestSolutionRecaller.updateBestSolution(solverScope, event.getBestSolution());
+                        }
+                        break;
+                    case FINISHED:
+                        finishedCount++;
+                        break;
+                    case EXCEPTION_THROWN:
+                        throw new IllegalStateException("The move thread with moveThreadIndex ("
+                                + event.getMoveThreadIndex() + ") has thrown an exception."
+                                + " Relayed here in the parent thread.",
+                                event.getThrowable());
+                    default:
+                        throw new IllegalStateException("The subtreeThreadEventType ("
+                                + event.getType() + ") is not implemented.");
+                }
+            }
+        } finally {
+            // If a move thread threw an exception, it is relayed here, but the other move threads
+            // are not aware of that failure and could continue solving for a long time, so terminate them.
+            // If no exception was thrown, all move threads have already finished and this does nothing.
+            childThreadPlumbingTermination.terminateChildren();
+            shutdownMoveThreads(executor);
+            long childThreadsScoreCalculationCount = 0L;
+            for (SubtreeThreadRunner<Solution_> subtreeThreadRunner : subtreeThreadRunnerList) {
+                childThreadsScoreCalculationCount += Math.max(0L, subtreeThreadRunner.getCalculationCount());
+            }
+            solverScope.addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
+        }
+    }
+
+    protected DefaultExhaustiveSearchPhase<Solution_> buildChildThreadPhase(int moveThreadIndex,
+            DefaultSolverScope<Solution_> solverScope, ChildThreadPlumbingTermination childThreadPlumbingTermination,
+            BlockingQueue<SubtreeThreadEvent<Solution_>> eventQueue) {
+        // The phase terminations are added again by the phaseConfig, so they apply per move thread
+        Termination childThreadTermination = new OrCompositeTermination(childThreadPlumbingTermination,
+                solverTermination.createChildThreadTermination(solverScope, ChildThreadType.MOVE_THREAD));
+        SubtreeBestSolutionRecaller<Solution_> subtreeBestSolutionRecaller
+                = new SubtreeBestSolutionRecaller<>(moveThreadIndex, eventQueue);
+        DefaultExhaustiveSearchPhase<Solution_> childThreadPhase = (DefaultExhaustiveSearchPhase<Solution_>)
+                phaseConfig.buildPhase(phaseIndex, childThreadConfigPolicy,
+                        subtreeBestSolutionRecaller, childThreadTermination);
+        childThreadPhase.setSolverPhaseLifecycleSupport(new PhaseLifecycleSupport<>());
+        return childThreadPhase;
+    }
+
+    protected void shutdownMoveThreads(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.warn("Multithreaded Exhaustive Search's move threads didn't stop within 1 second."
+                        + " Interrupting them now.");
+                executor.shutdownNow();
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+}
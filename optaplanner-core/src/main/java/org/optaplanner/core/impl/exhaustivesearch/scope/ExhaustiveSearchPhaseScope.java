@@ -16,9 +16,12 @@
 
 package org.optaplanner.core.impl.exhaustivesearch.scope;
 
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -34,7 +37,17 @@ public class ExhaustiveSearchPhaseScope<Solution_> extends AbstractPhaseScope<So
 
     private List<ExhaustiveSearchLayer> layerList;
     private SortedSet<ExhaustiveSearchNode> expandableNodeQueue;
+    /**
+     * The same nodes as {@link #expandableNodeQueue} that have an optimistic bound, worst optimistic bound first,
+     * so pruning doesn't need to iterate the entire {@link #expandableNodeQueue}.
+     */
+    private NavigableSet<ExhaustiveSearchNode> optimisticBoundNodeIndex;
     private Score bestPessimisticBound;
+    /**
+     * Null unless the subtrees are explored in parallel,
+     * in which case it's the best pessimistic bound of all move threads, only updated lock-free.
+     */
+    private AtomicReference<Score> sharedPessimisticBound = null;
 
     private ExhaustiveSearchStepScope<Solution_> lastCompletedStepScope;
 
@@ -57,6 +70,20 @@ public class ExhaustiveSearchPhaseScope<Solution_> extends AbstractPhaseScope<So
 
     public void setExpandableNodeQueue(SortedSet<ExhaustiveSearchNode> expandableNodeQueue) {
         this.expandableNodeQueue = expandableNodeQueue;
+        Comparator<? super ExhaustiveSearchNode> nodeComparator = expandableNodeQueue.comparator();
+        // Tie break with the nodeComparator, so 2 different nodes with the same optimistic bound are never equal
+        optimisticBoundNodeIndex = new TreeSet<>((a, b) -> {
+            int optimisticBoundComparison = a.getOptimisticBound().compareTo(b.getOptimisticBound());
+            if (optimisticBoundComparison != 0) {
+                return optimisticBoundComparison;
+            }
+            return nodeComparator.compare(a, b);
+        });
+        for (ExhaustiveSearchNode node : expandableNodeQueue) {
+            if (node.getOptimisticBound() != null) {
+                optimisticBoundNodeIndex.add(node);
+            }
+        }
     }
 
     public Score getBestPessimisticBound() {
@@ -67,6 +94,14 @@ public class ExhaustiveSearchPhaseScope<Solution_> extends AbstractPhaseScope<So
         this.bestPessimisticBound = bestPessimisticBound;
     }
 
+    public AtomicReference<Score> getSharedPessimisticBound() {
+        return sharedPessimisticBound;
+    }
+
+    public void setSharedPessimisticBound(AtomicReference<Score> sharedPessimisticBound) {
+        this.sharedPessimisticBound = sharedPessimisticBound;
+    }
+
     @Override
     public ExhaustiveSearchStepScope<Solution_> getLastCompletedStepScope() {
         return lastCompletedStepScope;
@@ -76,7 +111,6 @@ public class ExhaustiveSearchPhaseScope<Solution_> extends AbstractPhaseScope<So
         this.lastCompletedStepScope = lastCompletedStepScope;
     }
 
-
     // ************************************************************************
     // Calculated methods
     // ************************************************************************
@@ -86,22 +120,78 @@ public class ExhaustiveSearchPhaseScope<Solution_> extends AbstractPhaseScope<So
     }
 
     public void registerPessimisticBound(Score pessimisticBound) {
+        if (sharedPessimisticBound != null) {
+            pessimisticBound = shareBestPessimisticBound(pessimisticBound);
+        }
         if (pessimisticBound.compareTo(bestPessimisticBound) > 0) {
             bestPessimisticBound = pessimisticBound;
-            // TODO optimize this because expandableNodeQueue is too long to iterate
-            for (Iterator<ExhaustiveSearchNode> iterator = expandableNodeQueue.iterator(); iterator.hasNext(); ) {
+            // Only visit the nodes that are pruned, each node is pruned at most once
+            while (!optimisticBoundNodeIndex.isEmpty()
+                    && optimisticBoundNodeIndex.first().getOptimisticBound().compareTo(bestPessimisticBound) <= 0) {
                 // Prune it
-                ExhaustiveSearchNode node = iterator.next();
-                if (node.getOptimisticBound().compareTo(bestPessimisticBound) <= 0) {
-                    iterator.remove();
-                }
+                ExhaustiveSearchNode node = optimisticBoundNodeIndex.pollFirst();
+                expandableNodeQueue.remove(node);
             }
         }
     }
 
+    /**
+     * Lock-free.
+     * @param pessimisticBound never null
+     * @return never null, the best of the pessimisticBound and the {@link #sharedPessimisticBound}
+     */
+    private Score shareBestPessimisticBound(Score pessimisticBound) {
+        while (true) {
+            Score sharedBound = sharedPessimisticBound.get();
+            if (sharedBound != null && sharedBound.compareTo(pessimisticBound) >= 0) {
+                return sharedBound;
+            }
+            if (sharedPessimisticBound.compareAndSet(sharedBound, pessimisticBound)) {
+                return pessimisticBound;
+            }
+        }
+    }
+
+    /**
+     * Prunes with the pessimistic bounds registered by the other move threads in the meantime.
+     * Does nothing if the subtrees aren't explored in parallel.
+     */
+    public void refreshSharedPessimisticBound() {
+        if (sharedPessimisticBound != null && bestPessimisticBound != null) {
+            registerPessimisticBound(bestPessimisticBound);
+        }
+    }
+
     public void addExpandableNode(ExhaustiveSearchNode moveNode) {
         expandableNodeQueue.add(moveNode);
+        if (moveNode.getOptimisticBound() != null) {
+            optimisticBoundNodeIndex.add(moveNode);
+        }
         moveNode.setExpandable(true);
     }
 
+    /**
+     * @return never null, the node that {@link SortedSet#last() ranks highest} in the {@link #expandableNodeQueue}
+     */
+    public ExhaustiveSearchNode removeLastExpandableNode() {
+        ExhaustiveSearchNode node = expandableNodeQueue.last();
+        removeExpandableNode(node);
+        return node;
+    }
+
+    /**
+     * @param node never null, in the {@link #expandableNodeQueue}
+     */
+    public void removeExpandableNode(ExhaustiveSearchNode node) {
+        expandableNodeQueue.remove(node);
+        if (node.getOptimisticBound() != null) {
+            optimisticBoundNodeIndex.remove(node);
+        }
+    }
+
+    public void clearExpandableNodes() {
+        expandableNodeQueue.clear();
+        optimisticBoundNodeIndex.clear();
+    }
+
 }
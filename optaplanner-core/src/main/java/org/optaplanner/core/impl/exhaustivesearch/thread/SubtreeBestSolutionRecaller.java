@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.exhaustivesearch.thread;
+
+import java.util.concurrent.BlockingQueue;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+
+/**
+ * Remembers the best solution of 1 move thread and relays it to the solver thread,
+ * instead of firing a best solution changed event on the move thread.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class SubtreeBestSolutionRecaller<Solution_> extends BestSolutionRecaller<Solution_> {
+
+    protected final int moveThreadIndex;
+    protected final BlockingQueue<SubtreeThreadEvent<Solution_>> eventQueue;
+
+    public SubtreeBestSolutionRecaller(int moveThreadIndex, BlockingQueue<SubtreeThreadEvent<Solution_>> eventQueue) {
+        this.moveThreadIndex = moveThreadIndex;
+        this.eventQueue = eventQueue;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void updateBestSolution(DefaultSolverScope<Solution_> solverScope, Solution_ solution) {
+        Score score = solverScope.getSolutionDescriptor().getScore(solution);
+        solverScope.setBestSolution(solution);
+        solverScope.setBestScore(score);
+        solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
+        solverScope.setBestSolutionGrantedTimeMillis(solverScope.calculateGrantedTimeMillisUpToNow());
+        // The eventQueue is unbounded, so this never blocks the move thread
+        eventQueue.add(new SubtreeThreadEvent<>(moveThreadIndex, solution, score));
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.exhaustivesearch.thread;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+
+/**
+ * Immutable.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public final class SubtreeThreadEvent<Solution_> {
+
+    private final int moveThreadIndex;
+    private final SubtreeThreadEventType type;
+    private final Solution_ bestSolution;
+    private final Score bestScore;
+    private final Throwable throwable;
+
+    public SubtreeThreadEvent(int moveThreadIndex) {
+        this.moveThreadIndex = moveThreadIndex;
+        type = SubtreeThreadEventType.FINISHED;
+        bestSolution = null;
+        bestScore = null;
+        throwable = null;
+    }
+
+    public SubtreeThreadEvent(int moveThreadIndex, Solution_ bestSolution, Score bestScore) {
+        this.moveThreadIndex = moveThreadIndex;
+        type = SubtreeThreadEventType.BEST_SOLUTION;
+        this.bestSolution = bestSolution;
+        this.bestScore = bestScore;
+        throwable = null;
+    }
+
+    public SubtreeThreadEvent(int moveThreadIndex, Throwable throwable) {
+        this.moveThreadIndex = moveThreadIndex;
+        type = SubtreeThreadEventType.EXCEPTION_THROWN;
+        bestSolution = null;
+        bestScore = null;
+        this.throwable = throwable;
+    }
+
+    public int getMoveThreadIndex() {
+        return moveThreadIndex;
+    }
+
+    public SubtreeThreadEventType getType() {
+        return type;
+    }
+
+    public Solution_ getBestSolution() {
+        return bestSolution;
+    }
+
+    public Score getBestScore() {
+        return bestScore;
+    }
+
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    @Override
+    public String toString() {
+        return type + "-" + moveThreadIndex + (bestScore == null ? "" : "(" + bestScore + ")");
+    }
+
+    public enum SubtreeThreadEventType {
+        BEST_SOLUTION,
+        FINISHED,
+        EXCEPTION_THROWN;
+    }
+
+}
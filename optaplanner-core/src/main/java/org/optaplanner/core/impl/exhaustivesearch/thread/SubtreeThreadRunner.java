@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.exhaustivesearch.thread;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.exhaustivesearch.DefaultExhaustiveSearchPhase;
+import org.optaplanner.core.impl.exhaustivesearch.node.ExhaustiveSearchNode;
+import org.optaplanner.core.impl.exhaustivesearch.scope.ExhaustiveSearchPhaseScope;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Solves the subtrees claimed from a list shared by all move threads,
+ * on its own {@link InnerScoreDirector}, which is a child of the solver thread's one.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class SubtreeThreadRunner<Solution_> implements Runnable {
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final int moveThreadIndex;
+    private final DefaultExhaustiveSearchPhase<Solution_> phase;
+    private final DefaultSolverScope<Solution_> solverScope;
+    private final List<ExhaustiveSearchNode> subtreeRootList;
+    private final AtomicInteger nextSubtreeIndex;
+    private final AtomicReference<Score> sharedPessimisticBound;
+    private final int layerCount;
+    private final BlockingQueue<SubtreeThreadEvent<Solution_>> eventQueue;
+
+    private volatile long calculationCount = -1L;
+
+    /**
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param phase never null, only used by this move thread
+     * @param solverScope never null, created by the solver thread
+     * with {@link DefaultSolverScope#createChildThreadSolverScope}
+     * @param subtreeRootList never null, shared by all move threads, the nodes of the solver thread
+     * @param nextSubtreeIndex never null, shared by all move threads
+     * @param sharedPessimisticBound null if the score bounder is disabled, shared by all move threads
+     * @param layerCount the size of the solver thread's layer list
+     * @param eventQueue never null, shared by all move threads
+     */
+    public SubtreeThreadRunner(int moveThreadIndex, DefaultExhaustiveSearchPhase<Solution_> phase,
+            DefaultSolverScope<Solution_> solverScope,
+            List<ExhaustiveSearchNode> subtreeRootList, AtomicInteger nextSubtreeIndex,
+            AtomicReference<Score> sharedPessimisticBound, int layerCount,
+            BlockingQueue<SubtreeThreadEvent<Solution_>> eventQueue) {
+        this.moveThreadIndex = moveThreadIndex;
+        this.phase = phase;
+        this.solverScope = solverScope;
+        this.subtreeRootList = subtreeRootList;
+        this.nextSubtreeIndex = nextSubtreeIndex;
+        this.sharedPessimisticBound = sharedPessimisticBound;
+        this.layerCount = layerCount;
+        this.eventQueue = eventQueue;
+    }
+
+    @Override
+    public void run() {
+        InnerScoreDirector<Solution_> scoreDirector = solverScope.getScoreDirector();
+        try {
+            phase.solvingStarted(solverScope);
+            ExhaustiveSearchPhaseScope<Solution_> phaseScope = phase.createPhaseScope(solverScope);
+            phaseScope.setSharedPessimisticBound(sharedPessimisticBound);
+            phase.phaseStarted(phaseScope);
+            if (phaseScope.getLayerList().size() != layerCount) {
+                throw new IllegalStateException("Impossible situation: the move thread (" + moveThreadIndex
+                        + ")'s layerList size (" + phaseScope.getLayerList().size()
+                        + ") differs from the solver thread's layerList size (" + layerCount + ").");
+            }
+            if (sharedPessimisticBound != null) {
+                phaseScope.setBestPessimisticBound(sharedPessimisticBound.get());
+            }
+            Termination termination = phase.getTermination();
+            while (!termination.isPhaseTerminated(phaseScope)) {
+                int subtreeIndex = nextSubtreeIndex.getAndIncrement();
+                if (subtreeIndex >= subtreeRootList.size()) {
+                    break;
+                }
+                ExhaustiveSearchNode subtreeRoot = subtreeRootList.get(subtreeIndex);
+                if (isPruned(subtreeRoot)) {
+                    logger.trace("            Move thread ({}) pruned subtree ({}).",
+                            moveThreadIndex, subtreeRoot.getTreeId());
+                    continue;
+                }
+                logger.trace("            Move thread ({}) solving subtree ({}).",
+                        moveThreadIndex, subtreeRoot.getTreeId());
+                Move[] undoMoves = doSubtreeRootPath(subtreeRoot);
+                phase.solveSubtree(phaseScope, subtreeRoot.getDepth());
+                for (int i = undoMoves.length - 1; i >= 0; i--) {
+                    undoMoves[i].doMove(scoreDirector);
+                }
+            }
+            phase.phaseEnded(phaseScope);
+            phase.solvingEnded(solverScope);
+            logger.trace("            Move thread ({}) finished.", moveThreadIndex);
+            eventQueue.add(new SubtreeThreadEvent<>(moveThreadIndex));
+        } catch (RuntimeException | Error throwable) {
+            // Any Exception or even Error that happens here (on a move thread) must be stored
+            // in the eventQueue in order to be propagated to the solver thread.
+            logger.trace("            Move thread ({}) exception that will be propagated to the solver thread.",
+                    moveThreadIndex, throwable);
+            eventQueue.add(new SubtreeThreadEvent<>(moveThreadIndex, throwable));
+        } finally {
+            calculationCount = scoreDirector.getCalculationCount();
+            scoreDirector.dispose();
+        }
+    }
+
+    private boolean isPruned(ExhaustiveSearchNode subtreeRoot) {
+        if (sharedPessimisticBound == null || subtreeRoot.getOptimisticBound() == null) {
+            return false;
+        }
+        return subtreeRoot.getOptimisticBound().compareTo(sharedPessimisticBound.get()) <= 0;
+    }
+
+    /**
+     * Rebases and does the moves of the subtree root and its ancestors, from the top layer down.
+     * @param subtreeRoot never null, a node of the solver thread
+     * @return never null, the undo moves, in the same order as the moves were done
+     */
+    private Move[] doSubtreeRootPath(ExhaustiveSearchNode subtreeRoot) {
+        InnerScoreDirector<Solution_> scoreDirector = solverScope.getScoreDirector();
+        Move[] moves = new Move[subtreeRoot.getDepth()];
+        ExhaustiveSearchNode node = subtreeRoot;
+        while (node.getDepth() > 0) {
+            moves[node.getDepth() - 1] = node.getMove().rebase(scoreDirector);
+            node = node.getParent();
+        }
+        Move[] undoMoves = new Move[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            undoMoves[i] = moves[i].createUndoMove(scoreDirector);
+            moves[i].doMove(scoreDirector);
+        }
+        return undoMoves;
+    }
+
+    /**
+     * This method is thread-safe, but only returns a meaningful value after the move thread has stopped.
+     * @return at least -1, -1 if the move thread has not stopped yet
+     */
+    public long getCalculationCount() {
+        return calculationCount;
+    }
+
+}
@@ -16,6 +16,9 @@
 
 package org.optaplanner.core.impl.heuristic.move;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -42,4 +45,37 @@ public abstract class AbstractMove implements Move {
      */
     protected abstract void doMoveOnGenuineVariables(ScoreDirector scoreDirector);
 
+    // ************************************************************************
+    // Util methods
+    // ************************************************************************
+
+    /**
+     * @param externalObjectList never null
+     * @param destinationScoreDirector never null
+     * @param <E> the entity or fact type
+     * @return never null, a new list with the working objects
+     * @see ScoreDirector#lookUpWorkingObject(Object)
+     */
+    public static <E> List<E> rebaseList(List<E> externalObjectList, ScoreDirector destinationScoreDirector) {
+        List<E> rebasedObjectList = new ArrayList<>(externalObjectList.size());
+        for (E entity : externalObjectList) {
+            rebasedObjectList.add((E) destinationScoreDirector.lookUpWorkingObject(entity));
+        }
+        return rebasedObjectList;
+    }
+
+    /**
+     * @param externalObjects never null
+     * @param destinationScoreDirector never null
+     * @return never null, a new array with the working objects
+     * @see ScoreDirector#lookUpWorkingObject(Object)
+     */
+    public static Object[] rebaseArray(Object[] externalObjects, ScoreDirector destinationScoreDirector) {
+        Object[] rebasedObjects = new Object[externalObjects.length];
+        for (int i = 0; i < externalObjects.length; i++) {
+            rebasedObjects[i] = destinationScoreDirector.lookUpWorkingObject(externalObjects[i]);
+        }
+        return rebasedObjects;
+    }
+
 }
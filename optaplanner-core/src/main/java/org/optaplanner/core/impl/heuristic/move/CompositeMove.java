@@ -102,6 +102,15 @@ public class CompositeMove implements Move {
         return new CompositeMove(undoMoves);
     }
 
+    @Override
+    public CompositeMove rebase(ScoreDirector destinationScoreDirector) {
+        Move[] rebasedMoves = new Move[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            rebasedMoves[i] = moves[i].rebase(destinationScoreDirector);
+        }
+        return new CompositeMove(rebasedMoves);
+    }
+
     @Override
     public void doMove(ScoreDirector scoreDirector) {
         for (Move move : moves) {
@@ -85,6 +85,33 @@ public interface Move {
      */
     void doMove(ScoreDirector scoreDirector);
 
+    /**
+     * Rebases a move from an origin {@link ScoreDirector} to another destination {@link ScoreDirector}
+     * which is usually on another {@link Thread}.
+     * It is necessary for multithreaded solving to function.
+     * <p>
+     * The new move returned by this method translates the entities and problem facts
+     * to the destination {@link PlanningSolution} of the destination {@link ScoreDirector}.
+     * That destination {@link PlanningSolution} is a deep planning clone (or an even deeper clone)
+     * of the origin {@link PlanningSolution} that this move has been generated from.
+     * <p>
+     * That new move does the exact same change as this move,
+     * resulting in the same {@link PlanningSolution} state,
+     * presuming that destination {@link PlanningSolution} was in the same state
+     * as the original {@link PlanningSolution} to begin with.
+     * <p>
+     * Generally used by moveThreadCount, but not by partitioned search
+     * (because it does not need to rebase moves between partitions).
+     * @param destinationScoreDirector never null, the {@link ScoreDirector#getWorkingSolution()}
+     * that the new move should change the planning entity instances of.
+     * @return never null, a new move that does the same change as this move on another solution instance
+     * @see ScoreDirector#lookUpWorkingObject(Object)
+     */
+    default Move rebase(ScoreDirector destinationScoreDirector) {
+        throw new UnsupportedOperationException("The custom move class (" + getClass()
+                + ") doesn't implement the rebase() method, so multithreaded solving is impossible.");
+    }
+
     // ************************************************************************
     // Introspection methods
     // ************************************************************************
@@ -36,6 +36,11 @@ public class NoChangeMove extends AbstractMove {
         return new NoChangeMove();
     }
 
+    @Override
+    public NoChangeMove rebase(ScoreDirector destinationScoreDirector) {
+        return new NoChangeMove();
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         // do nothing
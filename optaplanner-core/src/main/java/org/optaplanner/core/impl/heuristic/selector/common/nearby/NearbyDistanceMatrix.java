@@ -16,26 +16,108 @@
 
 package org.optaplanner.core.impl.heuristic.selector.common.nearby;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
+/**
+ * Holds for each origin its destinations, sorted by ascending nearby distance.
+ * <p>
+ * The destinations of an origin are either added eagerly (in bulk, optionally in parallel)
+ * or calculated lazily when that origin is used for the first time.
+ * <p>
+ * This class is not thread-safe, except for {@link #addAllOrigins(Iterator, boolean)} with parallel true,
+ * which requires a thread-safe {@link NearbyDistanceMeter} and destination iterators instead.
+ */
 public final class NearbyDistanceMatrix {
 
     private final NearbyDistanceMeter nearbyDistanceMeter;
     private final Map<Object, Object[]> originToDestinationsMap;
+    private Function<Object, Iterator<Object>> destinationIteratorProvider;
+    private ToIntFunction<Object> destinationSizeFunction;
 
     public NearbyDistanceMatrix(NearbyDistanceMeter nearbyDistanceMeter, int originSize) {
+        this(nearbyDistanceMeter, originSize, null, null);
+    }
+
+    /**
+     * @param nearbyDistanceMeter never null
+     * @param originSize {@code >= 0}, the expected number of origins
+     * @param destinationIteratorProvider sometimes null, if not null it calculates
+     * the destinations of an origin that hasn't been added yet
+     * @param destinationSizeFunction null if destinationIteratorProvider is null,
+     * the number of nearest destinations to remember for an origin
+     */
+    public NearbyDistanceMatrix(NearbyDistanceMeter nearbyDistanceMeter, int originSize,
+            Function<Object, Iterator<Object>> destinationIteratorProvider,
+            ToIntFunction<Object> destinationSizeFunction) {
         this.nearbyDistanceMeter = nearbyDistanceMeter;
         originToDestinationsMap = new HashMap<>(originSize);
+        this.destinationIteratorProvider = destinationIteratorProvider;
+        this.destinationSizeFunction = destinationSizeFunction;
+    }
+
+    /**
+     * Used when the matrix is reused by another selector (for example in a later phase),
+     * because the old destinationIteratorProvider might depend on a selector that is no longer in use.
+     * @param destinationIteratorProvider never null
+     * @param destinationSizeFunction never null
+     */
+    public void replaceDestinationProviders(Function<Object, Iterator<Object>> destinationIteratorProvider,
+            ToIntFunction<Object> destinationSizeFunction) {
+        this.destinationIteratorProvider = destinationIteratorProvider;
+        this.destinationSizeFunction = destinationSizeFunction;
     }
 
     public void addAllDestinations(Object origin, Iterator<Object> destinationIterator, int destinationSize) {
+        originToDestinationsMap.put(origin, calculateDestinations(origin, destinationIterator, destinationSize));
+    }
+
+    /**
+     * Eagerly calculates the destinations of every origin,
+     * through the destinationIteratorProvider and destinationSizeFunction.
+     * @param originIterator never null
+     * @param parallel true to calculate the origins in parallel on the common fork/join pool,
+     * in which case the {@link NearbyDistanceMeter} and the destination iterators must be thread-safe
+     */
+    public void addAllOrigins(Iterator<Object> originIterator, boolean parallel) {
+        if (destinationIteratorProvider == null) {
+            throw new IllegalStateException("The nearbyDistanceMatrix has no destinationIteratorProvider ("
+                    + destinationIteratorProvider + ") to add all origins.");
+        }
+        if (!parallel) {
+            while (originIterator.hasNext()) {
+                Object origin = originIterator.next();
+                originToDestinationsMap.put(origin, calculateDestinations(origin));
+            }
+        } else {
+            List<Object> originList = new ArrayList<>();
+            originIterator.forEachRemaining(originList::add);
+            Object[][] destinationsArray = originList.parallelStream()
+                    .map(this::calculateDestinations)
+                    .toArray(Object[][]::new);
+            for (int i = 0; i < destinationsArray.length; i++) {
+                originToDestinationsMap.put(originList.get(i), destinationsArray[i]);
+            }
+        }
+    }
+
+    private Object[] calculateDestinations(Object origin) {
+        return calculateDestinations(origin, destinationIteratorProvider.apply(origin),
+                destinationSizeFunction.applyAsInt(origin));
+    }
+
+    private Object[] calculateDestinations(Object origin, Iterator<Object> destinationIterator,
+            int destinationSize) {
         Object[] destinations = new Object[destinationSize];
         double[] distances = new double[destinationSize];
         int size = 0;
-        Double highestDistance = Double.MAX_VALUE;
+        double highestDistance = Double.MAX_VALUE;
         while (destinationIterator.hasNext()) {
             Object destination = destinationIterator.next();
             double distance = nearbyDistanceMeter.getNearbyDistance(origin, destination);
@@ -64,11 +146,19 @@ public final class NearbyDistanceMatrix {
             throw new IllegalStateException("The destinationIterator's size (" + size
                     + ") differs from the expected destinationSize (" + destinationSize + ").");
         }
-        originToDestinationsMap.put(origin, destinations);
+        return destinations;
     }
 
     public Object getDestination(Object origin, int nearbyIndex) {
         Object[] destinations = originToDestinationsMap.get(origin);
+        if (destinations == null) {
+            if (destinationIteratorProvider == null) {
+                throw new IllegalStateException("The nearbyDistanceMatrix has no destinations for the origin ("
+                        + origin + ").");
+            }
+            destinations = calculateDestinations(origin);
+            originToDestinationsMap.put(origin, destinations);
+        }
         return destinations[nearbyIndex];
     }
 
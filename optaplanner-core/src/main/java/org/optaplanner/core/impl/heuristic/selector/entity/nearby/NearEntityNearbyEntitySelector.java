@@ -16,9 +16,14 @@
 
 package org.optaplanner.core.impl.heuristic.selector.entity.nearby;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.SelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
@@ -27,6 +32,7 @@ import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyRandom;
 import org.optaplanner.core.impl.heuristic.selector.entity.AbstractEntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
 
@@ -35,21 +41,41 @@ public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
     protected final NearbyDistanceMeter nearbyDistanceMeter;
     protected final NearbyRandom nearbyRandom;
     protected final boolean randomSelection;
+    protected final SelectionCacheType nearbyDistanceMatrixCacheType;
+    protected final boolean nearbyDistanceMatrixLazy;
+    protected final boolean nearbyDistanceMatrixParallel;
     protected final boolean discardNearbyIndexZero = true; // TODO deactivate me when appropriate
 
     protected NearbyDistanceMatrix nearbyDistanceMatrix = null;
 
     public NearEntityNearbyEntitySelector(EntitySelector childEntitySelector, EntitySelector originEntitySelector,
             NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection) {
+        this(childEntitySelector, originEntitySelector, nearbyDistanceMeter, nearbyRandom, randomSelection,
+                SelectionCacheType.PHASE, false, false);
+    }
+
+    public NearEntityNearbyEntitySelector(EntitySelector childEntitySelector, EntitySelector originEntitySelector,
+            NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection,
+            SelectionCacheType nearbyDistanceMatrixCacheType,
+            boolean nearbyDistanceMatrixLazy, boolean nearbyDistanceMatrixParallel) {
         this.childEntitySelector = childEntitySelector;
         this.originEntitySelector = originEntitySelector;
         this.nearbyDistanceMeter = nearbyDistanceMeter;
         this.nearbyRandom = nearbyRandom;
         this.randomSelection = randomSelection;
+        this.nearbyDistanceMatrixCacheType = nearbyDistanceMatrixCacheType;
+        this.nearbyDistanceMatrixLazy = nearbyDistanceMatrixLazy;
+        this.nearbyDistanceMatrixParallel = nearbyDistanceMatrixParallel;
         if (randomSelection && nearbyRandom == null) {
             throw new IllegalArgumentException("The entitySelector (" + this
                     + ") with randomSelection (" + randomSelection + ") has no nearbyRandom (" + nearbyRandom + ").");
         }
+        if (nearbyDistanceMatrixCacheType != SelectionCacheType.PHASE
+                && nearbyDistanceMatrixCacheType != SelectionCacheType.SOLVER) {
+            throw new IllegalArgumentException("The entitySelector (" + this
+                    + ") has a nearbyDistanceMatrixCacheType (" + nearbyDistanceMatrixCacheType
+                    + ") that is not " + SelectionCacheType.PHASE + " or " + SelectionCacheType.SOLVER + ".");
+        }
         // TODO Remove this limitation
         if (!childEntitySelector.getEntityDescriptor().getEntityClass().isAssignableFrom(
                 originEntitySelector.getEntityDescriptor().getEntityClass())) {
@@ -90,11 +116,37 @@ public class NearEntityNearbyEntitySelector extends AbstractEntitySelector {
                 destinationSize = overallSizeMaximum;
             }
         }
-        nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
-        for (Iterator originIt = originEntitySelector.endingIterator(); originIt.hasNext(); ) {
-            final Object origin =  originIt.next();
-            nearbyDistanceMatrix.addAllDestinations(origin, childEntitySelector.endingIterator(), destinationSize);
+        int resolvedDestinationSize = destinationSize;
+        Function<Object, Iterator<Object>> destinationIteratorProvider = origin -> childEntitySelector.endingIterator();
+        ToIntFunction<Object> destinationSizeFunction = origin -> resolvedDestinationSize;
+        if (nearbyDistanceMatrixCacheType == SelectionCacheType.SOLVER) {
+            DefaultSolverScope solverScope = phaseScope.getSolverScope();
+            List<Object> nearbyDistanceMatrixKey = Arrays.asList(getClass(), nearbyDistanceMeter.getClass(),
+                    childEntitySelector.getEntityDescriptor(), originEntitySelector.getEntityDescriptor(),
+                    resolvedDestinationSize);
+            nearbyDistanceMatrix = solverScope.getNearbyDistanceMatrix(nearbyDistanceMatrixKey);
+            if (nearbyDistanceMatrix != null) {
+                nearbyDistanceMatrix.replaceDestinationProviders(destinationIteratorProvider, destinationSizeFunction);
+                return;
+            }
+            nearbyDistanceMatrix = buildNearbyDistanceMatrix(originSize,
+                    destinationIteratorProvider, destinationSizeFunction);
+            solverScope.putNearbyDistanceMatrix(nearbyDistanceMatrixKey, nearbyDistanceMatrix);
+        } else {
+            nearbyDistanceMatrix = buildNearbyDistanceMatrix(originSize,
+                    destinationIteratorProvider, destinationSizeFunction);
+        }
+    }
+
+    private NearbyDistanceMatrix buildNearbyDistanceMatrix(long originSize,
+            Function<Object, Iterator<Object>> destinationIteratorProvider,
+            ToIntFunction<Object> destinationSizeFunction) {
+        NearbyDistanceMatrix matrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize,
+                destinationIteratorProvider, destinationSizeFunction);
+        if (!nearbyDistanceMatrixLazy) {
+            matrix.addAllOrigins(originEntitySelector.endingIterator(), nearbyDistanceMatrixParallel);
         }
+        return matrix;
     }
 
     @Override
@@ -18,15 +18,19 @@ package org.optaplanner.core.impl.heuristic.selector.entity.pillar;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
 import org.optaplanner.core.impl.heuristic.selector.AbstractSelector;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleBridge;
 import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecycleListener;
@@ -34,9 +38,17 @@ import org.optaplanner.core.impl.heuristic.selector.common.iterator.CachedListRa
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.UpcomingSelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.value.chained.DefaultSubChainSelector;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 /**
+ * The pillars are indexed once per phase (at the first step) and then patched at every next step,
+ * only for the entities with a variable change since the previous step,
+ * as reported by a {@link PillarIndexVariableListener}.
+ * A pillar {@link List} that has been selected is never changed afterwards, it's replaced instead.
+ * <p>
+ * The entitySelector is only iterated at the first step of a phase,
+ * so a filter on it must not depend on the planning variables.
  * @see PillarSelector
  */
 public class DefaultPillarSelector extends AbstractSelector
@@ -58,6 +70,16 @@ public class DefaultPillarSelector extends AbstractSelector
 
     protected List<List<Object>> cachedBasePillarList = null;
 
+    // Pillar index, built at the first step of a phase and patched at every next step: null if it needs to be built
+    protected Map<Object, IndexedEntity> indexedEntityMap = null;
+    protected Map<List<Object>, List<Object>> valueStateToPillarMap = null;
+    /** Sorts the pillars in the same order as a full rebuild: the selection order of their first entity */
+    protected NavigableMap<Integer, List<Object>> firstOrdinalToPillarMap = null;
+    protected List<List<Object>> basePillarList = null;
+    /** The entities that might have changed since the pillar index was last patched, in a reproducible order */
+    protected final List<Object> changedEntityList = new ArrayList<>();
+    protected final Map<Object, Boolean> changedEntityMap = new IdentityHashMap<>();
+
     public DefaultPillarSelector(EntitySelector entitySelector,
             Collection<GenuineVariableDescriptor> variableDescriptors, boolean randomSelection,
             boolean subPillarEnabled, int minimumSubPillarSize, int maximumSubPillarSize) {
@@ -128,34 +150,193 @@ public class DefaultPillarSelector extends AbstractSelector
     // Cache lifecycle methods
     // ************************************************************************
 
+    @Override
+    public void solvingStarted(DefaultSolverScope solverScope) {
+        super.solvingStarted(solverScope);
+        SupplyManager supplyManager = solverScope.getScoreDirector().getSupplyManager();
+        for (GenuineVariableDescriptor variableDescriptor : variableDescriptors) {
+            supplyManager.demand(new PillarIndexDemand(this, variableDescriptor));
+        }
+    }
+
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
+        if (indexedEntityMap == null) {
+            buildPillarIndex();
+        } else {
+            patchPillarIndex();
+        }
+        cachedBasePillarList = basePillarList;
+    }
+
+    @Override
+    public void disposeCache(DefaultSolverScope solverScope) {
+        // Keep the pillar index for the next step
+        cachedBasePillarList = null;
+    }
+
+    @Override
+    public void phaseEnded(AbstractPhaseScope phaseScope) {
+        super.phaseEnded(phaseScope);
+        invalidatePillarIndex();
+    }
+
+    protected void buildPillarIndex() {
         long entitySize = entitySelector.getSize();
         if (entitySize > (long) Integer.MAX_VALUE) {
             throw new IllegalStateException("The selector (" + this + ") has an entitySelector ("
                     + entitySelector + ") with entitySize (" + entitySize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        Map<List<Object>, List<Object>> valueStateToPillarMap = new LinkedHashMap<>((int) entitySize);
+        indexedEntityMap = new IdentityHashMap<>((int) entitySize);
+        valueStateToPillarMap = new HashMap<>((int) entitySize);
+        firstOrdinalToPillarMap = new TreeMap<>();
+        int ordinal = 0;
         for (Object entity : entitySelector) {
-            List<Object> valueState = new ArrayList<>(variableDescriptors.size());
-            for (GenuineVariableDescriptor variableDescriptor : variableDescriptors) {
-                Object value = variableDescriptor.getValue(entity);
-                valueState.add(value);
-            }
+            List<Object> valueState = extractValueState(entity);
+            indexedEntityMap.put(entity, new IndexedEntity(ordinal, valueState));
             List<Object> pillar = valueStateToPillarMap.get(valueState);
             if (pillar == null) {
                 pillar = new ArrayList<>();
                 valueStateToPillarMap.put(valueState, pillar);
+                firstOrdinalToPillarMap.put(ordinal, pillar);
             }
             pillar.add(entity);
+            ordinal++;
         }
-        cachedBasePillarList = new ArrayList<>(valueStateToPillarMap.values());
+        clearChangedEntities();
+        basePillarList = new ArrayList<>(firstOrdinalToPillarMap.values());
     }
 
-    @Override
-    public void disposeCache(DefaultSolverScope solverScope) {
-        cachedBasePillarList = null;
+    protected void patchPillarIndex() {
+        // A pillar that has been selected before is copied before it's changed
+        Map<List<Object>, Boolean> writablePillarMap = new IdentityHashMap<>();
+        boolean changed = false;
+        for (Object entity : changedEntityList) {
+            IndexedEntity indexedEntity = indexedEntityMap.get(entity);
+            if (indexedEntity == null) {
+                // Not selected by the entitySelector
+                continue;
+            }
+            List<Object> valueState = extractValueState(entity);
+            if (valueState.equals(indexedEntity.valueState)) {
+                // For example a move that was undone
+                continue;
+            }
+            removeFromPillar(indexedEntity, entity, writablePillarMap);
+            indexedEntity.valueState = valueState;
+            addToPillar(indexedEntity, entity, writablePillarMap);
+            changed = true;
+        }
+        clearChangedEntities();
+        if (changed) {
+            basePillarList = new ArrayList<>(firstOrdinalToPillarMap.values());
+        }
+    }
+
+    private void removeFromPillar(IndexedEntity indexedEntity, Object entity,
+            Map<List<Object>, Boolean> writablePillarMap) {
+        List<Object> pillar = valueStateToPillarMap.get(indexedEntity.valueState);
+        firstOrdinalToPillarMap.remove(indexedEntityMap.get(pillar.get(0)).ordinal);
+        if (pillar.size() == 1) {
+            valueStateToPillarMap.remove(indexedEntity.valueState);
+            return;
+        }
+        pillar = findWritablePillar(indexedEntity.valueState, pillar, writablePillarMap);
+        int index = binarySearchPillar(pillar, indexedEntity.ordinal);
+        if (index < 0 || pillar.get(index) != entity) {
+            throw new IllegalStateException("The selector (" + this + ")'s pillar index is corrupted,"
+                    + " because the entity (" + entity + ") is not in its pillar.");
+        }
+        pillar.remove(index);
+        firstOrdinalToPillarMap.put(indexedEntityMap.get(pillar.get(0)).ordinal, pillar);
+    }
+
+    private void addToPillar(IndexedEntity indexedEntity, Object entity,
+            Map<List<Object>, Boolean> writablePillarMap) {
+        List<Object> pillar = valueStateToPillarMap.get(indexedEntity.valueState);
+        if (pillar == null) {
+            pillar = new ArrayList<>();
+            writablePillarMap.put(pillar, Boolean.TRUE);
+            valueStateToPillarMap.put(indexedEntity.valueState, pillar);
+        } else {
+            firstOrdinalToPillarMap.remove(indexedEntityMap.get(pillar.get(0)).ordinal);
+            pillar = findWritablePillar(indexedEntity.valueState, pillar, writablePillarMap);
+        }
+        int index = -binarySearchPillar(pillar, indexedEntity.ordinal) - 1;
+        pillar.add(index, entity);
+        firstOrdinalToPillarMap.put(indexedEntityMap.get(pillar.get(0)).ordinal, pillar);
+    }
+
+    private List<Object> findWritablePillar(List<Object> valueState, List<Object> pillar,
+            Map<List<Object>, Boolean> writablePillarMap) {
+        if (writablePillarMap.containsKey(pillar)) {
+            return pillar;
+        }
+        List<Object> writablePillar = new ArrayList<>(pillar);
+        writablePillarMap.put(writablePillar, Boolean.TRUE);
+        valueStateToPillarMap.put(valueState, writablePillar);
+        return writablePillar;
+    }
+
+    /**
+     * @return the index of the entity with that ordinal, or {@code -(insertionPoint) - 1}
+     * @see java.util.Collections#binarySearch(List, Object)
+     */
+    private int binarySearchPillar(List<Object> pillar, int ordinal) {
+        int low = 0;
+        int high = pillar.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleOrdinal = indexedEntityMap.get(pillar.get(middle)).ordinal;
+            if (middleOrdinal < ordinal) {
+                low = middle + 1;
+            } else if (middleOrdinal > ordinal) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private List<Object> extractValueState(Object entity) {
+        List<Object> valueState = new ArrayList<>(variableDescriptors.size());
+        for (GenuineVariableDescriptor variableDescriptor : variableDescriptors) {
+            Object value = variableDescriptor.getValue(entity);
+            valueState.add(value);
+        }
+        return valueState;
+    }
+
+    /**
+     * Called by {@link PillarIndexVariableListener} before a variable of the entity changes.
+     * @param entity never null
+     */
+    protected void entityChanged(Object entity) {
+        if (indexedEntityMap == null) {
+            return;
+        }
+        if (changedEntityMap.put(entity, Boolean.TRUE) == null) {
+            changedEntityList.add(entity);
+        }
+    }
+
+    /**
+     * Called by {@link PillarIndexVariableListener} when the pillar index can no longer be patched,
+     * for example because the working solution has been replaced or an entity has been added or removed.
+     */
+    protected void invalidatePillarIndex() {
+        indexedEntityMap = null;
+        valueStateToPillarMap = null;
+        firstOrdinalToPillarMap = null;
+        basePillarList = null;
+        clearChangedEntities();
+    }
+
+    private void clearChangedEntities() {
+        changedEntityList.clear();
+        changedEntityMap.clear();
     }
 
     // ************************************************************************
@@ -244,6 +425,19 @@ public class DefaultPillarSelector extends AbstractSelector
         return getClass().getSimpleName() + "(" + entitySelector + ")";
     }
 
+    private static final class IndexedEntity {
+
+        /** The position of the entity in the entitySelector's selection when the pillar index was built */
+        private final int ordinal;
+        private List<Object> valueState;
+
+        public IndexedEntity(int ordinal, List<Object> valueState) {
+            this.ordinal = ordinal;
+            this.valueState = valueState;
+        }
+
+    }
+
     private class RandomSubPillarIterator extends UpcomingSelectionIterator<List<Object>> {
 
         public RandomSubPillarIterator() {
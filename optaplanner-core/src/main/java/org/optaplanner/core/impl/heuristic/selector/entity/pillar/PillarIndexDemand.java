@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.entity.pillar;
+
+import java.io.Serializable;
+
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.supply.Demand;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Every {@link DefaultPillarSelector} has its own {@link PillarIndexVariableListener} per variable,
+ * because the pillars depend on the entities selected by its entitySelector.
+ */
+public class PillarIndexDemand implements Demand<PillarIndexVariableListener>, Serializable {
+
+    private static final int CLASS_NAME_HASH_CODE = PillarIndexDemand.class.getName().hashCode() * 37;
+
+    protected final transient DefaultPillarSelector pillarSelector;
+    protected final VariableDescriptor sourceVariableDescriptor;
+
+    public PillarIndexDemand(DefaultPillarSelector pillarSelector, VariableDescriptor sourceVariableDescriptor) {
+        this.pillarSelector = pillarSelector;
+        this.sourceVariableDescriptor = sourceVariableDescriptor;
+    }
+
+    public VariableDescriptor getSourceVariableDescriptor() {
+        return sourceVariableDescriptor;
+    }
+
+    // ************************************************************************
+    // Creation method
+    // ************************************************************************
+
+    @Override
+    public PillarIndexVariableListener createExternalizedSupply(InnerScoreDirector scoreDirector) {
+        return new PillarIndexVariableListener(pillarSelector, sourceVariableDescriptor);
+    }
+
+    // ************************************************************************
+    // Equals/hashCode method
+    // ************************************************************************
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PillarIndexDemand)) {
+            return false;
+        }
+        PillarIndexDemand other = (PillarIndexDemand) o;
+        if (pillarSelector != other.pillarSelector) {
+            return false;
+        }
+        if (!sourceVariableDescriptor.equals(other.sourceVariableDescriptor)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return (CLASS_NAME_HASH_CODE + System.identityHashCode(pillarSelector)) * 37
+                + sourceVariableDescriptor.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + sourceVariableDescriptor.getSimpleEntityAndVariableName() + ")";
+    }
+
+}
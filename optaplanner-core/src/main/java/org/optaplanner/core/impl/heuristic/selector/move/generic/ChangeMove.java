@@ -68,6 +68,12 @@ public class ChangeMove extends AbstractMove {
         return new ChangeMove(entity, variableDescriptor, oldValue);
     }
 
+    @Override
+    public ChangeMove rebase(ScoreDirector destinationScoreDirector) {
+        return new ChangeMove(destinationScoreDirector.lookUpWorkingObject(entity), variableDescriptor,
+                destinationScoreDirector.lookUpWorkingObject(toPlanningValue));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         scoreDirector.beforeVariableChanged(variableDescriptor, entity);
@@ -91,6 +91,12 @@ public class PillarChangeMove<Solution_> extends AbstractMove {
         return new PillarChangeMove<>(pillar, variableDescriptor, oldValue);
     }
 
+    @Override
+    public PillarChangeMove<Solution_> rebase(ScoreDirector destinationScoreDirector) {
+        return new PillarChangeMove<>(rebaseList(pillar, destinationScoreDirector), variableDescriptor,
+                destinationScoreDirector.lookUpWorkingObject(toPlanningValue));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         for (Object entity : pillar) {
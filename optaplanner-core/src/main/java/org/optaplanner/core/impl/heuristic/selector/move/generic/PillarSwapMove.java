@@ -104,6 +104,13 @@ public class PillarSwapMove<Solution_> extends AbstractMove {
         return new PillarSwapMove<>(variableDescriptorList, rightPillar, leftPillar);
     }
 
+    @Override
+    public PillarSwapMove<Solution_> rebase(ScoreDirector destinationScoreDirector) {
+        return new PillarSwapMove<>(variableDescriptorList,
+                rebaseList(leftPillar, destinationScoreDirector),
+                rebaseList(rightPillar, destinationScoreDirector));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         for (GenuineVariableDescriptor<Solution_> variableDescriptor : variableDescriptorList) {
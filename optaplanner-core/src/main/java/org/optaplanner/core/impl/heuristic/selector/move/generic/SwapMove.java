@@ -99,6 +99,13 @@ public class SwapMove<Solution_> extends AbstractMove {
         return new SwapMove<>(variableDescriptorList, rightEntity, leftEntity);
     }
 
+    @Override
+    public SwapMove<Solution_> rebase(ScoreDirector destinationScoreDirector) {
+        return new SwapMove<>(variableDescriptorList,
+                destinationScoreDirector.lookUpWorkingObject(leftEntity),
+                destinationScoreDirector.lookUpWorkingObject(rightEntity));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         for (GenuineVariableDescriptor variableDescriptor : variableDescriptorList) {
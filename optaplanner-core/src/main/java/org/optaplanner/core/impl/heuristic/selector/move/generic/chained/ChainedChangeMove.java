@@ -19,9 +19,11 @@ package org.optaplanner.core.impl.heuristic.selector.move.generic.chained;
 import java.util.Objects;
 
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 public class ChainedChangeMove extends ChangeMove {
@@ -50,6 +52,14 @@ public class ChainedChangeMove extends ChangeMove {
         return new ChainedChangeMove(entity, variableDescriptor, inverseVariableSupply, oldValue);
     }
 
+    @Override
+    public ChainedChangeMove rebase(ScoreDirector destinationScoreDirector) {
+        return new ChainedChangeMove(destinationScoreDirector.lookUpWorkingObject(entity), variableDescriptor,
+                ((InnerScoreDirector) destinationScoreDirector).getSupplyManager()
+                        .demand(new SingletonInverseVariableDemand(variableDescriptor)),
+                destinationScoreDirector.lookUpWorkingObject(toPlanningValue));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         Object oldValue = variableDescriptor.getValue(entity);
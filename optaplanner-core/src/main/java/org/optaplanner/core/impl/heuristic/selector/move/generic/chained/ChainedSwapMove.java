@@ -16,14 +16,17 @@
 
 package org.optaplanner.core.impl.heuristic.selector.move.generic.chained;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.move.generic.SwapMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -48,6 +51,19 @@ public class ChainedSwapMove<Solution_> extends SwapMove<Solution_> {
         return new ChainedSwapMove<>(variableDescriptorList, inverseVariableSupplyList, rightEntity, leftEntity);
     }
 
+    @Override
+    public ChainedSwapMove<Solution_> rebase(ScoreDirector destinationScoreDirector) {
+        List<SingletonInverseVariableSupply> rebasedInverseVariableSupplyList
+                = new ArrayList<>(variableDescriptorList.size());
+        for (GenuineVariableDescriptor<Solution_> variableDescriptor : variableDescriptorList) {
+            rebasedInverseVariableSupplyList.add(((InnerScoreDirector) destinationScoreDirector).getSupplyManager()
+                    .demand(new SingletonInverseVariableDemand(variableDescriptor)));
+        }
+        return new ChainedSwapMove<>(variableDescriptorList, rebasedInverseVariableSupplyList,
+                destinationScoreDirector.lookUpWorkingObject(leftEntity),
+                destinationScoreDirector.lookUpWorkingObject(rightEntity));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         for (int i = 0; i < variableDescriptorList.size(); i++) {
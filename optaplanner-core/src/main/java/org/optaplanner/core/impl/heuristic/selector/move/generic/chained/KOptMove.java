@@ -23,11 +23,14 @@ import java.util.List;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.optaplanner.core.impl.domain.variable.anchor.AnchorVariableDemand;
 import org.optaplanner.core.impl.domain.variable.anchor.AnchorVariableSupply;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
 import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 public class KOptMove extends AbstractMove {
@@ -115,6 +118,17 @@ public class KOptMove extends AbstractMove {
                 entity, undoValues);
     }
 
+    @Override
+    public KOptMove rebase(ScoreDirector destinationScoreDirector) {
+        return new KOptMove(variableDescriptor,
+                ((InnerScoreDirector) destinationScoreDirector).getSupplyManager()
+                        .demand(new SingletonInverseVariableDemand(variableDescriptor)),
+                ((InnerScoreDirector) destinationScoreDirector).getSupplyManager()
+                        .demand(new AnchorVariableDemand(variableDescriptor)),
+                destinationScoreDirector.lookUpWorkingObject(entity),
+                rebaseArray(values, destinationScoreDirector));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         Object firstValue = variableDescriptor.getValue(entity);
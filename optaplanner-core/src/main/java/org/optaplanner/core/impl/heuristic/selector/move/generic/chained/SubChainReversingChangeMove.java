@@ -23,10 +23,12 @@ import java.util.Objects;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.value.chained.SubChain;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 public class SubChainReversingChangeMove extends AbstractMove {
@@ -75,6 +77,14 @@ public class SubChainReversingChangeMove extends AbstractMove {
         return new SubChainReversingChangeMove(subChain.reverse(), variableDescriptor, inverseVariableSupply, oldFirstValue);
     }
 
+    @Override
+    public SubChainReversingChangeMove rebase(ScoreDirector destinationScoreDirector) {
+        return new SubChainReversingChangeMove(subChain.rebase(destinationScoreDirector), variableDescriptor,
+                ((InnerScoreDirector) destinationScoreDirector).getSupplyManager()
+                        .demand(new SingletonInverseVariableDemand(variableDescriptor)),
+                destinationScoreDirector.lookUpWorkingObject(toPlanningValue));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         Object firstEntity = subChain.getFirstEntity();
@@ -23,10 +23,12 @@ import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
 import org.optaplanner.core.impl.heuristic.move.AbstractMove;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.value.chained.SubChain;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -77,6 +79,15 @@ public class SubChainReversingSwapMove extends AbstractMove {
                 rightSubChain.reverse(), leftSubChain.reverse());
     }
 
+    @Override
+    public SubChainReversingSwapMove rebase(ScoreDirector destinationScoreDirector) {
+        return new SubChainReversingSwapMove(variableDescriptor,
+                ((InnerScoreDirector) destinationScoreDirector).getSupplyManager()
+                        .demand(new SingletonInverseVariableDemand(variableDescriptor)),
+                leftSubChain.rebase(destinationScoreDirector),
+                rightSubChain.rebase(destinationScoreDirector));
+    }
+
     @Override
     protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
         Object leftFirstEntity = leftSubChain.getFirstEntity();
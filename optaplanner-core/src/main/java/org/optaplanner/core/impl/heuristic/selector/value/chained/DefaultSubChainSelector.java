@@ -18,12 +18,18 @@ package org.optaplanner.core.impl.heuristic.selector.value.chained;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 
 import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
+import org.optaplanner.core.impl.domain.variable.anchor.AnchorVariableDemand;
+import org.optaplanner.core.impl.domain.variable.anchor.AnchorVariableSupply;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
 import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
@@ -34,12 +40,16 @@ import org.optaplanner.core.impl.heuristic.selector.common.SelectionCacheLifecyc
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.UpcomingSelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.entity.pillar.DefaultPillarSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.EntityIndependentValueSelector;
-import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.solver.random.RandomUtils;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 /**
  * This is the common {@link SubChainSelector} implementation.
+ * <p>
+ * The anchor chains are indexed once per phase (at the first step) and then patched at every next step,
+ * only walking the chains of the entities with a variable change since the previous step,
+ * as reported by a {@link SubChainIndexVariableListener}.
  */
 public class DefaultSubChainSelector extends AbstractSelector
         implements SubChainSelector, SelectionCacheLifecycleListener {
@@ -50,6 +60,7 @@ public class DefaultSubChainSelector extends AbstractSelector
     protected final boolean randomSelection;
 
     protected SingletonInverseVariableSupply inverseVariableSupply;
+    protected AnchorVariableSupply anchorVariableSupply;
 
     /**
      * Unlike {@link DefaultPillarSelector#minimumSubPillarSize} and {@link DefaultPillarSelector#maximumSubPillarSize},
@@ -60,6 +71,15 @@ public class DefaultSubChainSelector extends AbstractSelector
 
     protected List<SubChain> anchorTrailingChainList = null;
 
+    // Anchor chain index, built at the first step of a phase and patched at every next step: null if it needs to be built
+    protected List<Object> anchorList = null;
+    protected Map<Object, List<Object>> anchorToChainMap = null;
+    protected Map<Object, ChainPosition> entityToChainPositionMap = null;
+    protected List<SubChain> indexedAnchorTrailingChainList = null;
+    /** The entities that might have changed since the chain index was last patched, in a reproducible order */
+    protected final List<Object> changedEntityList = new ArrayList<>();
+    protected final Map<Object, Boolean> changedEntityMap = new IdentityHashMap<>();
+
     public DefaultSubChainSelector(EntityIndependentValueSelector valueSelector, boolean randomSelection,
             int minimumSubChainSize, int maximumSubChainSize) {
         this.valueSelector = valueSelector;
@@ -106,12 +126,21 @@ public class DefaultSubChainSelector extends AbstractSelector
         SupplyManager supplyManager = solverScope.getScoreDirector().getSupplyManager();
         GenuineVariableDescriptor variableDescriptor = valueSelector.getVariableDescriptor();
         inverseVariableSupply = supplyManager.demand(new SingletonInverseVariableDemand(variableDescriptor));
+        anchorVariableSupply = supplyManager.demand(new AnchorVariableDemand(variableDescriptor));
+        supplyManager.demand(new SubChainIndexDemand(this, variableDescriptor));
+    }
+
+    @Override
+    public void phaseEnded(AbstractPhaseScope phaseScope) {
+        super.phaseEnded(phaseScope);
+        invalidateChainIndex();
     }
 
     @Override
     public void solvingEnded(DefaultSolverScope solverScope) {
         super.solvingEnded(solverScope);
         inverseVariableSupply = null;
+        anchorVariableSupply = null;
     }
 
     // ************************************************************************
@@ -120,7 +149,21 @@ public class DefaultSubChainSelector extends AbstractSelector
 
     @Override
     public void constructCache(DefaultSolverScope solverScope) {
-        InnerScoreDirector scoreDirector = solverScope.getScoreDirector();
+        if (anchorToChainMap == null) {
+            buildChainIndex();
+        } else {
+            patchChainIndex();
+        }
+        anchorTrailingChainList = indexedAnchorTrailingChainList;
+    }
+
+    @Override
+    public void disposeCache(DefaultSolverScope solverScope) {
+        // Keep the chain index for the next step
+        anchorTrailingChainList = null;
+    }
+
+    protected void buildChainIndex() {
         GenuineVariableDescriptor variableDescriptor = valueSelector.getVariableDescriptor();
         long valueSize = valueSelector.getSize();
         // Fail-fast when anchorTrailingChainList.size() could ever be too big
@@ -130,30 +173,128 @@ public class DefaultSubChainSelector extends AbstractSelector
                     + ") with valueSize (" + valueSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        List<Object> anchorList = new ArrayList<>();
+        anchorList = new ArrayList<>();
         for (Object value : valueSelector) {
             if (variableDescriptor.isValuePotentialAnchor(value)) {
                 anchorList.add(value);
             }
         }
-        anchorTrailingChainList = new ArrayList<>(anchorList.size());
+        anchorToChainMap = new IdentityHashMap<>(anchorList.size());
+        entityToChainPositionMap = new IdentityHashMap<>((int) valueSize);
         int anchorChainInitialCapacity = ((int) valueSize / anchorList.size()) + 1;
         for (Object anchor : anchorList) {
-            List<Object> anchorChain = new ArrayList<>(anchorChainInitialCapacity);
-            Object trailingEntity = inverseVariableSupply.getInverseSingleton(anchor);
-            while (trailingEntity != null) {
-                anchorChain.add(trailingEntity);
-                trailingEntity = inverseVariableSupply.getInverseSingleton(trailingEntity);
+            anchorToChainMap.put(anchor, walkAnchorChain(anchor, anchorChainInitialCapacity));
+        }
+        clearChangedEntities();
+        indexedAnchorTrailingChainList = buildAnchorTrailingChainList();
+    }
+
+    protected void patchChainIndex() {
+        GenuineVariableDescriptor variableDescriptor = valueSelector.getVariableDescriptor();
+        // Reproducible order
+        Set<Object> changedAnchorSet = new LinkedHashSet<>();
+        for (Object entity : changedEntityList) {
+            ChainPosition position = entityToChainPositionMap.get(entity);
+            Object previousValue = variableDescriptor.getValue(entity);
+            if (position != null) {
+                List<Object> chain = anchorToChainMap.get(position.anchor);
+                Object indexedPreviousValue = (position.index == 0) ? position.anchor : chain.get(position.index - 1);
+                if (previousValue == indexedPreviousValue) {
+                    // For example a move that was undone
+                    continue;
+                }
+                changedAnchorSet.add(position.anchor);
+            }
+            if (previousValue != null) {
+                Object anchor = anchorVariableSupply.getAnchor(entity);
+                if (anchorToChainMap.containsKey(anchor)) {
+                    changedAnchorSet.add(anchor);
+                }
             }
+        }
+        clearChangedEntities();
+        if (changedAnchorSet.isEmpty()) {
+            return;
+        }
+        for (Object anchor : changedAnchorSet) {
+            for (Object entity : anchorToChainMap.get(anchor)) {
+                ChainPosition position = entityToChainPositionMap.get(entity);
+                if (position != null && position.anchor == anchor) {
+                    entityToChainPositionMap.remove(entity);
+                }
+            }
+        }
+        for (Object anchor : changedAnchorSet) {
+            // Never change a chain in place, because SubChains of previous steps are views of it
+            int anchorChainInitialCapacity = anchorToChainMap.get(anchor).size() + 1;
+            anchorToChainMap.put(anchor, walkAnchorChain(anchor, anchorChainInitialCapacity));
+        }
+        indexedAnchorTrailingChainList = buildAnchorTrailingChainList();
+    }
+
+    private List<Object> walkAnchorChain(Object anchor, int anchorChainInitialCapacity) {
+        List<Object> anchorChain = new ArrayList<>(anchorChainInitialCapacity);
+        Object trailingEntity = inverseVariableSupply.getInverseSingleton(anchor);
+        while (trailingEntity != null) {
+            entityToChainPositionMap.put(trailingEntity, new ChainPosition(anchor, anchorChain.size()));
+            anchorChain.add(trailingEntity);
+            trailingEntity = inverseVariableSupply.getInverseSingleton(trailingEntity);
+        }
+        return anchorChain;
+    }
+
+    private List<SubChain> buildAnchorTrailingChainList() {
+        List<SubChain> anchorTrailingChainList = new ArrayList<>(anchorList.size());
+        for (Object anchor : anchorList) {
+            List<Object> anchorChain = anchorToChainMap.get(anchor);
             if (anchorChain.size() >= minimumSubChainSize) {
                 anchorTrailingChainList.add(new SubChain(anchorChain));
             }
         }
+        return anchorTrailingChainList;
     }
 
-    @Override
-    public void disposeCache(DefaultSolverScope solverScope) {
-        anchorTrailingChainList = null;
+    /**
+     * Called by {@link SubChainIndexVariableListener} before the chained variable of the entity changes.
+     * @param entity never null
+     */
+    protected void entityChanged(Object entity) {
+        if (anchorToChainMap == null) {
+            return;
+        }
+        if (changedEntityMap.put(entity, Boolean.TRUE) == null) {
+            changedEntityList.add(entity);
+        }
+    }
+
+    /**
+     * Called by {@link SubChainIndexVariableListener} when the chain index can no longer be patched,
+     * for example because the working solution has been replaced or an entity has been added or removed.
+     */
+    protected void invalidateChainIndex() {
+        anchorList = null;
+        anchorToChainMap = null;
+        entityToChainPositionMap = null;
+        indexedAnchorTrailingChainList = null;
+        clearChangedEntities();
+    }
+
+    private void clearChangedEntities() {
+        changedEntityList.clear();
+        changedEntityMap.clear();
+    }
+
+    private static final class ChainPosition {
+
+        private final Object anchor;
+        /** The index of the entity in its anchor chain, 0 if its chained variable references the anchor */
+        private final int index;
+
+        public ChainPosition(Object anchor, int index) {
+            this.anchor = anchor;
+            this.index = index;
+        }
+
     }
 
     // ************************************************************************
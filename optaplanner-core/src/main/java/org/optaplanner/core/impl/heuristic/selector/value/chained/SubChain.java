@@ -21,6 +21,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
 /**
  * A subList out of a single chain.
  * <p>
@@ -70,6 +73,10 @@ public class SubChain implements Serializable {
         return new SubChain(entityList.subList(fromIndex, toIndex));
     }
 
+    public SubChain rebase(ScoreDirector destinationScoreDirector) {
+        return new SubChain(AbstractMove.rebaseList(entityList, destinationScoreDirector));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.selector.value.chained;
+
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.listener.StatefulVariableListener;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
+/**
+ * Tells a {@link DefaultSubChainSelector} which anchor chains to patch in its chain index.
+ * @see SubChainIndexDemand
+ */
+public class SubChainIndexVariableListener implements StatefulVariableListener<Object> {
+
+    protected final DefaultSubChainSelector subChainSelector;
+    protected final VariableDescriptor sourceVariableDescriptor;
+
+    public SubChainIndexVariableListener(DefaultSubChainSelector subChainSelector,
+            VariableDescriptor sourceVariableDescriptor) {
+        this.subChainSelector = subChainSelector;
+        this.sourceVariableDescriptor = sourceVariableDescriptor;
+    }
+
+    @Override
+    public VariableDescriptor getSourceVariableDescriptor() {
+        return sourceVariableDescriptor;
+    }
+
+    @Override
+    public void resetWorkingSolution(ScoreDirector scoreDirector) {
+        subChainSelector.invalidateChainIndex();
+    }
+
+    @Override
+    public void clearWorkingSolution(ScoreDirector scoreDirector) {
+        subChainSelector.invalidateChainIndex();
+    }
+
+    @Override
+    public void beforeEntityAdded(ScoreDirector scoreDirector, Object entity) {
+        subChainSelector.invalidateChainIndex();
+    }
+
+    @Override
+    public void afterEntityAdded(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    @Override
+    public void beforeVariableChanged(ScoreDirector scoreDirector, Object entity) {
+        subChainSelector.entityChanged(entity);
+    }
+
+    @Override
+    public void afterVariableChanged(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+    @Override
+    public void beforeEntityRemoved(ScoreDirector scoreDirector, Object entity) {
+        subChainSelector.invalidateChainIndex();
+    }
+
+    @Override
+    public void afterEntityRemoved(ScoreDirector scoreDirector, Object entity) {
+        // Do nothing
+    }
+
+}
@@ -16,8 +16,13 @@
 
 package org.optaplanner.core.impl.heuristic.selector.value.nearby;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.heuristic.selector.common.iterator.SelectionIterator;
 import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
@@ -27,6 +32,7 @@ import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.heuristic.selector.value.AbstractValueSelector;
 import org.optaplanner.core.impl.heuristic.selector.value.ValueSelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 public class NearEntityNearbyValueSelector extends AbstractValueSelector {
 
@@ -35,21 +41,41 @@ public class NearEntityNearbyValueSelector extends AbstractValueSelector {
     protected final NearbyDistanceMeter nearbyDistanceMeter;
     protected final NearbyRandom nearbyRandom;
     protected final boolean randomSelection;
+    protected final SelectionCacheType nearbyDistanceMatrixCacheType;
+    protected final boolean nearbyDistanceMatrixLazy;
+    protected final boolean nearbyDistanceMatrixParallel;
     protected final boolean discardNearbyIndexZero;
 
     protected NearbyDistanceMatrix nearbyDistanceMatrix = null;
 
     public NearEntityNearbyValueSelector(ValueSelector childValueSelector, EntitySelector originEntitySelector,
             NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection) {
+        this(childValueSelector, originEntitySelector, nearbyDistanceMeter, nearbyRandom, randomSelection,
+                SelectionCacheType.PHASE, false, false);
+    }
+
+    public NearEntityNearbyValueSelector(ValueSelector childValueSelector, EntitySelector originEntitySelector,
+            NearbyDistanceMeter nearbyDistanceMeter, NearbyRandom nearbyRandom, boolean randomSelection,
+            SelectionCacheType nearbyDistanceMatrixCacheType,
+            boolean nearbyDistanceMatrixLazy, boolean nearbyDistanceMatrixParallel) {
         this.childValueSelector = childValueSelector;
         this.originEntitySelector = originEntitySelector;
         this.nearbyDistanceMeter = nearbyDistanceMeter;
         this.nearbyRandom = nearbyRandom;
         this.randomSelection = randomSelection;
+        this.nearbyDistanceMatrixCacheType = nearbyDistanceMatrixCacheType;
+        this.nearbyDistanceMatrixLazy = nearbyDistanceMatrixLazy;
+        this.nearbyDistanceMatrixParallel = nearbyDistanceMatrixParallel;
         if (randomSelection && nearbyRandom == null) {
             throw new IllegalArgumentException("The valueSelector (" + this
                     + ") with randomSelection (" + randomSelection + ") has no nearbyRandom (" + nearbyRandom + ").");
         }
+        if (nearbyDistanceMatrixCacheType != SelectionCacheType.PHASE
+                && nearbyDistanceMatrixCacheType != SelectionCacheType.SOLVER) {
+            throw new IllegalArgumentException("The valueSelector (" + this
+                    + ") has a nearbyDistanceMatrixCacheType (" + nearbyDistanceMatrixCacheType
+                    + ") that is not " + SelectionCacheType.PHASE + " or " + SelectionCacheType.SOLVER + ".");
+        }
         discardNearbyIndexZero = childValueSelector.getVariableDescriptor().getVariablePropertyType().isAssignableFrom(
                 originEntitySelector.getEntityDescriptor().getEntityClass());
         phaseLifecycleSupport.addEventListener(childValueSelector);
@@ -71,28 +97,57 @@ public class NearEntityNearbyValueSelector extends AbstractValueSelector {
                     + ") has an entitySize (" + originSize
                     + ") which is higher than Integer.MAX_VALUE.");
         }
-        nearbyDistanceMatrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize);
-        for (Iterator originIt = originEntitySelector.endingIterator(); originIt.hasNext(); ) {
-            final Object origin =  originIt.next();
-            long childSize = childValueSelector.getSize(origin);
-            if (childSize > (long) Integer.MAX_VALUE) {
-                throw new IllegalStateException("The childEntitySelector (" + childValueSelector
-                        + ") has an entitySize (" + childSize
-                        + ") which is higher than Integer.MAX_VALUE.");
+        Function<Object, Iterator<Object>> destinationIteratorProvider = childValueSelector::endingIterator;
+        ToIntFunction<Object> destinationSizeFunction = this::calculateDestinationSize;
+        if (nearbyDistanceMatrixCacheType == SelectionCacheType.SOLVER) {
+            DefaultSolverScope solverScope = phaseScope.getSolverScope();
+            List<Object> nearbyDistanceMatrixKey = Arrays.asList(getClass(), nearbyDistanceMeter.getClass(),
+                    childValueSelector.getVariableDescriptor(), originEntitySelector.getEntityDescriptor(),
+                    randomSelection ? nearbyRandom.getOverallSizeMaximum() : Integer.MAX_VALUE);
+            nearbyDistanceMatrix = solverScope.getNearbyDistanceMatrix(nearbyDistanceMatrixKey);
+            if (nearbyDistanceMatrix != null) {
+                nearbyDistanceMatrix.replaceDestinationProviders(destinationIteratorProvider, destinationSizeFunction);
+                return;
+            }
+            nearbyDistanceMatrix = buildNearbyDistanceMatrix(originSize,
+                    destinationIteratorProvider, destinationSizeFunction);
+            solverScope.putNearbyDistanceMatrix(nearbyDistanceMatrixKey, nearbyDistanceMatrix);
+        } else {
+            nearbyDistanceMatrix = buildNearbyDistanceMatrix(originSize,
+                    destinationIteratorProvider, destinationSizeFunction);
+        }
+    }
+
+    private NearbyDistanceMatrix buildNearbyDistanceMatrix(long originSize,
+            Function<Object, Iterator<Object>> destinationIteratorProvider,
+            ToIntFunction<Object> destinationSizeFunction) {
+        NearbyDistanceMatrix matrix = new NearbyDistanceMatrix(nearbyDistanceMeter, (int) originSize,
+                destinationIteratorProvider, destinationSizeFunction);
+        if (!nearbyDistanceMatrixLazy) {
+            matrix.addAllOrigins(originEntitySelector.endingIterator(), nearbyDistanceMatrixParallel);
+        }
+        return matrix;
+    }
+
+    private int calculateDestinationSize(Object origin) {
+        long childSize = childValueSelector.getSize(origin);
+        if (childSize > (long) Integer.MAX_VALUE) {
+            throw new IllegalStateException("The childEntitySelector (" + childValueSelector
+                    + ") has an entitySize (" + childSize
+                    + ") which is higher than Integer.MAX_VALUE.");
+        }
+        int destinationSize = (int) childSize;
+        if (randomSelection) {
+            // Reduce RAM memory usage by reducing destinationSize if nearbyRandom will never select a higher value
+            int overallSizeMaximum = nearbyRandom.getOverallSizeMaximum();
+            if (discardNearbyIndexZero && overallSizeMaximum < Integer.MAX_VALUE) {
+                overallSizeMaximum++;
             }
-            int destinationSize = (int) childSize;
-            if (randomSelection) {
-                // Reduce RAM memory usage by reducing destinationSize if nearbyRandom will never select a higher value
-                int overallSizeMaximum = nearbyRandom.getOverallSizeMaximum();
-                if (discardNearbyIndexZero && overallSizeMaximum < Integer.MAX_VALUE) {
-                    overallSizeMaximum++;
-                }
-                if (destinationSize > overallSizeMaximum) {
-                    destinationSize = overallSizeMaximum;
-                }
+            if (destinationSize > overallSizeMaximum) {
+                destinationSize = overallSizeMaximum;
             }
-            nearbyDistanceMatrix.addAllDestinations(origin, childValueSelector.endingIterator(origin), destinationSize);
         }
+        return destinationSize;
     }
 
     @Override
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MoveResult<Solution_> {
+
+    private final int moveThreadIndex;
+    private final int stepIndex;
+    private final int moveIndex;
+    private final Move move;
+    private final boolean moveDoable;
+    private final Score score;
+    private final Throwable throwable;
+
+    public MoveResult(int moveThreadIndex, int stepIndex, int moveIndex, Move move, boolean moveDoable, Score score) {
+        this.moveThreadIndex = moveThreadIndex;
+        this.stepIndex = stepIndex;
+        this.moveIndex = moveIndex;
+        this.move = move;
+        this.moveDoable = moveDoable;
+        this.score = score;
+        this.throwable = null;
+    }
+
+    public MoveResult(int moveThreadIndex, Throwable throwable) {
+        this.moveThreadIndex = moveThreadIndex;
+        this.stepIndex = -1;
+        this.moveIndex = -1;
+        this.move = null;
+        this.moveDoable = false;
+        this.score = null;
+        this.throwable = throwable;
+    }
+
+    public int getMoveThreadIndex() {
+        return moveThreadIndex;
+    }
+
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
+    public int getMoveIndex() {
+        return moveIndex;
+    }
+
+    /**
+     * @return the original move of the solver thread (so not the rebased move of the move thread)
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    public boolean isMoveDoable() {
+        return moveDoable;
+    }
+
+    public Score getScore() {
+        return score;
+    }
+
+    public boolean hasThrownException() {
+        return throwable != null;
+    }
+
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates moves on its own {@link InnerScoreDirector}, which is a child of the solver thread's one.
+ * <p>
+ * Move threads do not yield: they are not capped by the activeThreadSemaphore or a {@code SolverThreadScheduler},
+ * only the solver thread that feeds them is.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MoveThreadRunner<Solution_> implements Runnable {
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final int moveThreadIndex;
+    private final InnerScoreDirector<Solution_> scoreDirector;
+    private final BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    private final OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    private final CyclicBarrier moveThreadBarrier;
+
+    private final boolean assertMoveScoreFromScratch;
+    private final boolean assertExpectedUndoMoveScore;
+    private final boolean assertStepScoreFromScratch;
+    private final boolean assertExpectedStepScore;
+    private final boolean assertShadowVariablesAreNotStaleAfterStep;
+
+    private SolverMetricRegistry metricRegistry = null;
+
+    private volatile long calculationCount = -1L;
+
+    /**
+     * @param moveThreadIndex {@code 0 <= moveThreadIndex < moveThreadCount}
+     * @param scoreDirector never null, created by the solver thread
+     * with {@link InnerScoreDirector#createChildThreadScoreDirector}
+     * @param operationQueue never null, shared by all move threads
+     * @param resultQueue never null, shared by all move threads
+     * @param moveThreadBarrier never null, shared by all move threads
+     * @param assertMoveScoreFromScratch see {@link org.optaplanner.core.config.solver.EnvironmentMode}
+     * @param assertExpectedUndoMoveScore see {@link org.optaplanner.core.config.solver.EnvironmentMode}
+     * @param assertStepScoreFromScratch see {@link org.optaplanner.core.config.solver.EnvironmentMode}
+     * @param assertExpectedStepScore see {@link org.optaplanner.core.config.solver.EnvironmentMode}
+     * @param assertShadowVariablesAreNotStaleAfterStep see {@link org.optaplanner.core.config.solver.EnvironmentMode}
+     */
+    public MoveThreadRunner(int moveThreadIndex, InnerScoreDirector<Solution_> scoreDirector,
+            BlockingQueue<MoveThreadOperation<Solution_>> operationQueue,
+            OrderByMoveIndexBlockingQueue<Solution_> resultQueue, CyclicBarrier moveThreadBarrier,
+            boolean assertMoveScoreFromScratch, boolean assertExpectedUndoMoveScore,
+            boolean assertStepScoreFromScratch, boolean assertExpectedStepScore,
+            boolean assertShadowVariablesAreNotStaleAfterStep) {
+        this.moveThreadIndex = moveThreadIndex;
+        this.scoreDirector = scoreDirector;
+        this.operationQueue = operationQueue;
+        this.resultQueue = resultQueue;
+        this.moveThreadBarrier = moveThreadBarrier;
+        this.assertMoveScoreFromScratch = assertMoveScoreFromScratch;
+        this.assertExpectedUndoMoveScore = assertExpectedUndoMoveScore;
+        this.assertStepScoreFromScratch = assertStepScoreFromScratch;
+        this.assertExpectedStepScore = assertExpectedStepScore;
+        this.assertShadowVariablesAreNotStaleAfterStep = assertShadowVariablesAreNotStaleAfterStep;
+    }
+
+    /**
+     * Must be called before this runner is submitted to its move thread.
+     * @param metricRegistry null if the hot path metrics are not recorded
+     */
+    public void setMetricRegistry(SolverMetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void run() {
+        try {
+            int stepIndex = 0;
+            Score lastStepScore = scoreDirector.calculateScore();
+            while (true) {
+                MoveThreadOperation<Solution_> operation;
+                try {
+                    operation = operationQueue.take();
+                } catch (InterruptedException e) {
+                    // The solver thread has stopped the move threads (most likely due to an exception)
+                    logger.debug("            Move thread ({}) interrupted.", moveThreadIndex);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (operation instanceof DestroyOperation) {
+                    logger.trace("            Move thread ({}) destroy.", moveThreadIndex);
+                    break;
+                } else if (operation instanceof ApplyStepOperation) {
+                    ApplyStepOperation<Solution_> applyStepOperation = (ApplyStepOperation<Solution_>) operation;
+                    if (stepIndex + 1 != applyStepOperation.getStepIndex()) {
+                        throw new IllegalStateException("Impossible situation: the moveThread's stepIndex ("
+                                + stepIndex + ") is not followed by the operation's stepIndex ("
+                                + applyStepOperation.getStepIndex() + ").");
+                    }
+                    stepIndex = applyStepOperation.getStepIndex();
+                    Move step = applyStepOperation.getStep().rebase(scoreDirector);
+                    Score score = applyStepOperation.getScore();
+                    step.doMove(scoreDirector);
+                    predictWorkingStepScore(step, score);
+                    lastStepScore = score;
+                    logger.trace("            Move thread ({}) step: step index ({}), score ({}).",
+                            moveThreadIndex, stepIndex, lastStepScore);
+                    try {
+                        // Every move thread must apply the same step once, so wait until they all took theirs
+                        moveThreadBarrier.await();
+                    } catch (InterruptedException | BrokenBarrierException e) {
+                        logger.debug("            Move thread ({}) interrupted during step barrier.", moveThreadIndex);
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                } else if (operation instanceof MoveEvaluationOperation) {
+                    MoveEvaluationOperation<Solution_> moveEvaluationOperation
+                            = (MoveEvaluationOperation<Solution_>) operation;
+                    int moveIndex = moveEvaluationOperation.getMoveIndex();
+                    if (stepIndex != moveEvaluationOperation.getStepIndex()) {
+                        throw new IllegalStateException("Impossible situation: the moveThread's stepIndex ("
+                                + stepIndex + ") differs from the operation's stepIndex ("
+                                + moveEvaluationOperation.getStepIndex() + ") with moveIndex ("
+                                + moveIndex + ").");
+                    }
+                    Move originalMove = moveEvaluationOperation.getMove();
+                    Move move = originalMove.rebase(scoreDirector);
+                    if (!move.isMoveDoable(scoreDirector)) {
+                        logger.trace("            Move thread ({}) evaluation: step index ({}), move index ({}),"
+                                + " not doable.", moveThreadIndex, stepIndex, moveIndex);
+                        resultQueue.addUndoableMove(moveThreadIndex, stepIndex, moveIndex, originalMove);
+                    } else {
+                        Score score = evaluateMove(move, lastStepScore);
+                        logger.trace("            Move thread ({}) evaluation: step index ({}), move index ({}),"
+                                + " score ({}).", moveThreadIndex, stepIndex, moveIndex, score);
+                        resultQueue.addMove(moveThreadIndex, stepIndex, moveIndex, originalMove, score);
+                    }
+                } else {
+                    throw new IllegalStateException("Unknown operation (" + operation + ").");
+                }
+            }
+            logger.trace("            Move thread ({}) finished.", moveThreadIndex);
+        } catch (RuntimeException | Error throwable) {
+            // Any Exception or even Error that happens here (on a move thread) must be stored
+            // in the resultQueue in order to be propagated to the solver thread.
+            logger.trace("            Move thread ({}) exception that will be propagated to the solver thread.",
+                    moveThreadIndex, throwable);
+            resultQueue.addExceptionThrown(moveThreadIndex, throwable);
+        } finally {
+            calculationCount = scoreDirector.getCalculationCount();
+            scoreDirector.dispose();
+        }
+    }
+
+    protected Score evaluateMove(Move move, Score lastStepScore) {
+        scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(true);
+        Move undoMove = move.createUndoMove(scoreDirector);
+        move.doMove(scoreDirector);
+        Score score;
+        if (metricRegistry == null) {
+            score = scoreDirector.calculateScore();
+        } else {
+            long startingNanoTime = System.nanoTime();
+            score = scoreDirector.calculateScore();
+            metricRegistry.recordTime(SolverTimerType.SCORE_CALCULATION, System.nanoTime() - startingNanoTime);
+        }
+        if (assertMoveScoreFromScratch) {
+            scoreDirector.assertWorkingScoreFromScratch(score, move);
+        }
+        undoMove.doMove(scoreDirector);
+        if (assertExpectedUndoMoveScore) {
+            scoreDirector.assertExpectedWorkingScore(lastStepScore, undoMove);
+        }
+        scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(false);
+        return score;
+    }
+
+    protected void predictWorkingStepScore(Move step, Score score) {
+        // There is no need to recalculate the score, but we still need to set it
+        scoreDirector.getSolutionDescriptor().setScore(scoreDirector.getWorkingSolution(), score);
+        if (assertStepScoreFromScratch) {
+            scoreDirector.assertWorkingScoreFromScratch(score, step);
+        }
+        if (assertExpectedStepScore) {
+            scoreDirector.assertExpectedWorkingScore(score, step);
+        }
+        if (assertShadowVariablesAreNotStaleAfterStep) {
+            scoreDirector.assertShadowVariablesAreNotStale(score, step);
+        }
+    }
+
+    /**
+     * This method is thread-safe, but only returns a meaningful value after the move thread has stopped.
+     * @return at least -1, -1 if the move thread has not stopped yet
+     */
+    public long getCalculationCount() {
+        return calculationCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveThreadRunner-" + moveThreadIndex;
+    }
+
+}
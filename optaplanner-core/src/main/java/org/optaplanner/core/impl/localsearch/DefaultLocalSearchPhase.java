@@ -17,12 +17,14 @@
 package org.optaplanner.core.impl.localsearch;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.localsearch.decider.LocalSearchDecider;
 import org.optaplanner.core.impl.localsearch.event.LocalSearchPhaseLifecycleListener;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
 import org.optaplanner.core.impl.phase.AbstractPhase;
+import org.optaplanner.core.impl.solver.ProblemFactChangeProcessor;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 /**
@@ -34,6 +36,9 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
 
     protected LocalSearchDecider<Solution_> decider;
 
+    /** Null if the problem fact changes restart the solver */
+    protected ProblemFactChangeProcessor<Solution_> inPlaceProblemFactChangeProcessor = null;
+
     public LocalSearchDecider<Solution_> getDecider() {
         return decider;
     }
@@ -60,6 +65,10 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
             LocalSearchStepScope<Solution_> stepScope = new LocalSearchStepScope<>(phaseScope);
             stepScope.setTimeGradient(termination.calculatePhaseTimeGradient(phaseScope));
             stepStarted(stepScope);
+            if (inPlaceProblemFactChangeProcessor != null
+                    && inPlaceProblemFactChangeProcessor.isProblemFactChangePending()) {
+                processProblemFactChangesInPlace(stepScope);
+            }
             decider.decideNextStep(stepScope);
             if (stepScope.getStep() == null) {
                 if (termination.isPhaseTerminated(phaseScope)) {
@@ -87,6 +96,29 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         phaseEnded(phaseScope);
     }
 
+    /**
+     * Done after {@link #stepStarted(LocalSearchStepScope)},
+     * so the working solution doesn't change while another thread clones the best solution.
+     * <p>
+     * If the working solution is worse than the best solution,
+     * the best solution is restored first through the score director (which is kept),
+     * so the problem fact changes never throw away the best solution.
+     * @param stepScope never null
+     */
+    private void processProblemFactChangesInPlace(LocalSearchStepScope<Solution_> stepScope) {
+        LocalSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        DefaultSolverScope<Solution_> solverScope = phaseScope.getSolverScope();
+        if (phaseScope.getLastCompletedStepScope().getScore().compareTo(solverScope.getBestScore()) < 0) {
+            bestSolutionRecaller.restoreBestSolutionInWorkingSolution(solverScope);
+        }
+        Score score = inPlaceProblemFactChangeProcessor.processProblemFactChanges(solverScope);
+        // The moves of this step must be compared with the score after the problem fact changes
+        LocalSearchStepScope<Solution_> lastCompletedStepScope = phaseScope.getLastCompletedStepScope();
+        lastCompletedStepScope.setScore(score);
+        phaseScope.setLastCompletedStepScope(lastCompletedStepScope);
+        decider.restartAfterProblemFactChanges(stepScope);
+    }
+
     private void doStep(LocalSearchStepScope<Solution_> stepScope) {
         Move nextStep = stepScope.getStep();
         nextStep.doMove(stepScope.getScoreDirector());
@@ -106,6 +138,10 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
         decider.phaseStarted(phaseScope);
         // TODO maybe this restriction should be lifted to allow LocalSearch to initialize a solution too?
         assertWorkingSolutionInitialized(phaseScope);
+        inPlaceProblemFactChangeProcessor = phaseScope.getSolverScope().getInPlaceProblemFactChangeProcessor();
+        if (inPlaceProblemFactChangeProcessor != null) {
+            inPlaceProblemFactChangeProcessor.setProblemFactChangesAppliedInPlace(true);
+        }
     }
 
     @Override
@@ -136,6 +172,11 @@ public class DefaultLocalSearchPhase<Solution_> extends AbstractPhase<Solution_>
     public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
         super.phaseEnded(phaseScope);
         decider.phaseEnded(phaseScope);
+        if (inPlaceProblemFactChangeProcessor != null) {
+            // A problem fact change that is still pending terminates the solver, so it restarts
+            inPlaceProblemFactChangeProcessor.setProblemFactChangesAppliedInPlace(false);
+            inPlaceProblemFactChangeProcessor = null;
+        }
         phaseScope.endingNow();
         logger.info("Local Search phase ({}) ended: time spent ({}), best score ({}),"
                         + " score calculation speed ({}/sec), step total ({}).",
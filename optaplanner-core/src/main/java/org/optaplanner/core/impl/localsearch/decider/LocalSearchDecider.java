@@ -18,6 +18,9 @@ package org.optaplanner.core.impl.localsearch.decider;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
@@ -25,6 +28,7 @@ import org.optaplanner.core.impl.localsearch.decider.forager.Forager;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
@@ -47,6 +51,12 @@ public class LocalSearchDecider<Solution_> {
     protected boolean assertMoveScoreFromScratch = false;
     protected boolean assertExpectedUndoMoveScore = false;
 
+    protected long[] packedMoveScore = null;
+    protected boolean rejectionThresholdSupported = false;
+    protected Score packedRejectionThresholdSource = null;
+    protected long[] packedRejectionThreshold = null;
+    protected SolverMetricRegistry metricRegistry = null;
+
     public Termination getTermination() {
         return termination;
     }
@@ -98,11 +108,31 @@ public class LocalSearchDecider<Solution_> {
     }
 
     public void phaseStarted(LocalSearchPhaseScope<Solution_> phaseScope) {
+        PackedScoreConverter packedScoreConverter = buildPackedScoreConverter(phaseScope);
+        phaseScope.setPackedScoreConverter(packedScoreConverter);
+        packedMoveScore = packedScoreConverter == null ? null : packedScoreConverter.createPackedScore();
+        rejectionThresholdSupported = phaseScope.getScoreDirector().isRejectionThresholdSupported();
+        packedRejectionThresholdSource = null;
+        packedRejectionThreshold = packedScoreConverter == null ? null : packedScoreConverter.createPackedScore();
+        metricRegistry = phaseScope.getSolverScope().getMetricRegistry();
         moveSelector.phaseStarted(phaseScope);
         acceptor.phaseStarted(phaseScope);
         forager.phaseStarted(phaseScope);
     }
 
+    /**
+     * Scoring the moves with a packed score avoids creating a {@link Score} instance for every move.
+     * @param phaseScope never null
+     * @return null if the moves should be scored with a {@link Score} instance
+     */
+    protected PackedScoreConverter buildPackedScoreConverter(LocalSearchPhaseScope<Solution_> phaseScope) {
+        InnerScoreDirector<Solution_> scoreDirector = phaseScope.getScoreDirector();
+        if (!scoreDirector.isPackedScoreSupported()) {
+            return null;
+        }
+        return PackedScoreConverter.build(scoreDirector.getScoreDefinition(), phaseScope.getStartingScore());
+    }
+
     public void stepStarted(LocalSearchStepScope<Solution_> stepScope) {
         moveSelector.stepStarted(stepScope);
         acceptor.stepStarted(stepScope);
@@ -114,7 +144,7 @@ public class LocalSearchDecider<Solution_> {
         scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(true);
         int moveIndex = 0;
         for (Move move : moveSelector) {
-            LocalSearchMoveScope<Solution_> moveScope = new LocalSearchMoveScope<>(stepScope);
+            LocalSearchMoveScope<Solution_> moveScope = stepScope.borrowMoveScope();
             moveScope.setMoveIndex(moveIndex);
             moveIndex++;
             moveScope.setMove(move);
@@ -127,12 +157,19 @@ public class LocalSearchDecider<Solution_> {
                     break;
                 }
             }
+            if (!moveScope.isRetained()) {
+                stepScope.releaseMoveScope(moveScope);
+            }
             stepScope.getPhaseScope().getSolverScope().checkYielding();
             if (termination.isPhaseTerminated(stepScope.getPhaseScope())) {
                 break;
             }
         }
         scoreDirector.setAllChangesWillBeUndoneBeforeStepEnds(false);
+        pickMove(stepScope);
+    }
+
+    protected void pickMove(LocalSearchStepScope<Solution_> stepScope) {
         LocalSearchMoveScope<Solution_> pickedMoveScope = forager.pickMove(stepScope);
         if (pickedMoveScope != null) {
             Move step = pickedMoveScope.getMove();
@@ -157,22 +194,96 @@ public class LocalSearchDecider<Solution_> {
             LocalSearchPhaseScope<Solution_> phaseScope = moveScope.getStepScope().getPhaseScope();
             phaseScope.assertExpectedUndoMoveScore(move, undoMove, phaseScope.getLastCompletedStepScope().getScore());
         }
-        logger.trace("        Move index ({}), score ({}), accepted ({}), move ({}).",
-                moveScope.getMoveIndex(), moveScope.getScore(), moveScope.getAccepted(),
-                moveScope.getMove());
+        if (metricRegistry != null) {
+            metricRegistry.recordMoveEvaluation(move.getClass(), moveScope.getAccepted());
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("        Move index ({}), score ({}), accepted ({}), move ({}).",
+                    moveScope.getMoveIndex(), moveScope.getScore(), moveScope.getAccepted(),
+                    moveScope.getMove());
+        }
     }
 
     private void processMove(LocalSearchMoveScope<Solution_> moveScope) {
-        Score score = moveScope.getStepScope().getPhaseScope().calculateScore();
+        boolean scoreCalculated;
+        if (metricRegistry == null) {
+            scoreCalculated = calculateMoveScore(moveScope);
+        } else {
+            long startingNanoTime = System.nanoTime();
+            scoreCalculated = calculateMoveScore(moveScope);
+            metricRegistry.recordTime(SolverTimerType.SCORE_CALCULATION, System.nanoTime() - startingNanoTime);
+        }
+        if (!scoreCalculated) {
+            abandonMove(moveScope);
+            return;
+        }
         if (assertMoveScoreFromScratch) {
-            moveScope.getStepScope().getPhaseScope().assertWorkingScoreFromScratch(score, moveScope.getMove());
+            // Unpacks a packed score, but assertions are slow anyway
+            moveScope.getStepScope().getPhaseScope()
+                    .assertWorkingScoreFromScratch(moveScope.getScore(), moveScope.getMove());
         }
-        moveScope.setScore(score);
         boolean accepted = acceptor.isAccepted(moveScope);
         moveScope.setAccepted(accepted);
         forager.addMove(moveScope);
     }
 
+    /**
+     * @param moveScope never null
+     * @return false if the score calculation has been abandoned below the rejection threshold
+     */
+    private boolean calculateMoveScore(LocalSearchMoveScope<Solution_> moveScope) {
+        LocalSearchPhaseScope<Solution_> phaseScope = moveScope.getStepScope().getPhaseScope();
+        InnerScoreDirector<Solution_> scoreDirector = phaseScope.getScoreDirector();
+        Score rejectionThreshold = determineRejectionThreshold(moveScope);
+        if (packedMoveScore != null) {
+            if (rejectionThreshold == null) {
+                scoreDirector.calculatePackedScore(packedMoveScore);
+            } else {
+                if (rejectionThreshold != packedRejectionThresholdSource) {
+                    // The threshold is usually the same instance for all moves of a step, so only pack it once
+                    phaseScope.getPackedScoreConverter().pack(rejectionThreshold, packedRejectionThreshold);
+                    packedRejectionThresholdSource = rejectionThreshold;
+                }
+                if (!scoreDirector.calculatePackedScore(packedMoveScore, packedRejectionThreshold)) {
+                    return false;
+                }
+            }
+            moveScope.setPackedScore(packedMoveScore);
+        } else {
+            Score score;
+            if (rejectionThreshold == null) {
+                score = phaseScope.calculateScore();
+            } else {
+                score = scoreDirector.calculateScore(rejectionThreshold);
+                if (score == null) {
+                    return false;
+                }
+            }
+            moveScope.setScore(score);
+        }
+        return true;
+    }
+
+    /**
+     * A rejection threshold is only useful if the forager ignores unaccepted moves,
+     * because the score of an abandoned move is unknown.
+     * @param moveScope never null
+     * @return null if the score calculation must not be abandoned
+     */
+    protected Score determineRejectionThreshold(LocalSearchMoveScope<Solution_> moveScope) {
+        if (!rejectionThresholdSupported || !forager.isUnacceptedMoveIgnored()) {
+            return null;
+        }
+        return acceptor.getRejectionThreshold(moveScope);
+    }
+
+    private void abandonMove(LocalSearchMoveScope<Solution_> moveScope) {
+        // The score is lower than the rejection threshold, so the acceptor would reject it anyway
+        moveScope.setScore(null);
+        moveScope.setAccepted(false);
+        forager.addMove(moveScope);
+    }
+
     public void stepEnded(LocalSearchStepScope<Solution_> stepScope) {
         moveSelector.stepEnded(stepScope);
         acceptor.stepEnded(stepScope);
@@ -183,6 +294,33 @@ public class LocalSearchDecider<Solution_> {
         moveSelector.phaseEnded(phaseScope);
         acceptor.phaseEnded(phaseScope);
         forager.phaseEnded(phaseScope);
+        packedMoveScore = null;
+        rejectionThresholdSupported = false;
+        packedRejectionThresholdSource = null;
+        packedRejectionThreshold = null;
+        metricRegistry = null;
+    }
+
+    /**
+     * Called after real-time problem fact changes have been applied in place on the working solution,
+     * right after {@link #stepStarted(LocalSearchStepScope)}.
+     * The move selector, acceptor and forager restart as if a new phase started,
+     * because their caches (even those with {@link SelectionCacheType#SOLVER})
+     * and their memory (such as a tabu list) might refer to planning entities or values that changed.
+     * Unlike a solver restart, the score director (and for example its Drools session) is kept.
+     * Move threads, if any, restart with a clone of the changed working solution.
+     * @param stepScope never null
+     */
+    public void restartAfterProblemFactChanges(LocalSearchStepScope<Solution_> stepScope) {
+        LocalSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        DefaultSolverScope<Solution_> solverScope = phaseScope.getSolverScope();
+        // The acceptor and forager don't get a stepEnded() because this step has no step move
+        moveSelector.stepEnded(stepScope);
+        phaseEnded(phaseScope);
+        moveSelector.solvingEnded(solverScope);
+        moveSelector.solvingStarted(solverScope);
+        phaseStarted(phaseScope);
+        stepStarted(stepScope);
     }
 
     public void solvingEnded(DefaultSolverScope<Solution_> solverScope) {
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.thread.ApplyStepOperation;
+import org.optaplanner.core.impl.heuristic.thread.DestroyOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveEvaluationOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveResult;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadOperation;
+import org.optaplanner.core.impl.heuristic.thread.MoveThreadRunner;
+import org.optaplanner.core.impl.heuristic.thread.OrderByMoveIndexBlockingQueue;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.ChildThreadType;
+
+/**
+ * Evaluates the selected moves in parallel on multiple move threads,
+ * each with its own {@link InnerScoreDirector} (and therefore its own working solution).
+ * <p>
+ * The moves are still selected, accepted and foraged on the solver thread, in the order of their move index,
+ * so the result is reproducible regardless of the moveThreadCount.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MultiThreadedLocalSearchDecider<Solution_> extends LocalSearchDecider<Solution_> {
+
+    protected final ThreadFactory threadFactory;
+    protected final int moveThreadCount;
+    protected final int selectedMoveBufferSize;
+
+    protected boolean assertStepScoreFromScratch = false;
+    protected boolean assertExpectedStepScore = false;
+    protected boolean assertShadowVariablesAreNotStaleAfterStep = false;
+
+    protected BlockingQueue<MoveThreadOperation<Solution_>> operationQueue;
+    protected OrderByMoveIndexBlockingQueue<Solution_> resultQueue;
+    protected CyclicBarrier moveThreadBarrier;
+    protected ExecutorService executor;
+    protected List<MoveThreadRunner<Solution_>> moveThreadRunnerList;
+
+    public MultiThreadedLocalSearchDecider(ThreadFactory threadFactory, int moveThreadCount,
+            int selectedMoveBufferSize) {
+        this.threadFactory = threadFactory;
+        this.moveThreadCount = moveThreadCount;
+        this.selectedMoveBufferSize = selectedMoveBufferSize;
+    }
+
+    public void setAssertStepScoreFromScratch(boolean assertStepScoreFromScratch) {
+        this.assertStepScoreFromScratch = assertStepScoreFromScratch;
+    }
+
+    public void setAssertExpectedStepScore(boolean assertExpectedStepScore) {
+        this.assertExpectedStepScore = assertExpectedStepScore;
+    }
+
+    public void setAssertShadowVariablesAreNotStaleAfterStep(boolean assertShadowVariablesAreNotStaleAfterStep) {
+        this.assertShadowVariablesAreNotStaleAfterStep = assertShadowVariablesAreNotStaleAfterStep;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void phaseStarted(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseStarted(phaseScope);
+        // Capacity: MoveEvaluationOperations + ApplyStepOperations + DestroyOperations
+        operationQueue = new ArrayBlockingQueue<>(selectedMoveBufferSize + moveThreadCount + moveThreadCount);
+        // Capacity: MoveResults + exceptions
+        resultQueue = new OrderByMoveIndexBlockingQueue<>(selectedMoveBufferSize + moveThreadCount);
+        moveThreadBarrier = new CyclicBarrier(moveThreadCount);
+        InnerScoreDirector<Solution_> scoreDirector = phaseScope.getScoreDirector();
+        executor = Executors.newFixedThreadPool(moveThreadCount, threadFactory);
+        moveThreadRunnerList = new ArrayList<>(moveThreadCount);
+        for (int moveThreadIndex = 0; moveThreadIndex < moveThreadCount; moveThreadIndex++) {
+            // Clone the working solution in the solver thread, because it's not thread-safe to do it in a move thread
+            InnerScoreDirector<Solution_> childThreadScoreDirector
+                    = scoreDirector.createChildThreadScoreDirector(ChildThreadType.MOVE_THREAD);
+            MoveThreadRunner<Solution_> moveThreadRunner = new MoveThreadRunner<>(
+                    moveThreadIndex, childThreadScoreDirector, operationQueue, resultQueue, moveThreadBarrier,
+                    assertMoveScoreFromScratch, assertExpectedUndoMoveScore,
+                    assertStepScoreFromScratch, assertExpectedStepScore, assertShadowVariablesAreNotStaleAfterStep);
+            moveThreadRunner.setMetricRegistry(metricRegistry);
+            moveThreadRunnerList.add(moveThreadRunner);
+            executor.submit(moveThreadRunner);
+        }
+    }
+
+    @Override
+    protected PackedScoreConverter buildPackedScoreConverter(LocalSearchPhaseScope<Solution_> phaseScope) {
+        // The move threads return a Score instance anyway
+        return null;
+    }
+
+    @Override
+    public void phaseEnded(LocalSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseEnded(phaseScope);
+        // Tell the move thread runners to stop
+        DestroyOperation<Solution_> destroyOperation = new DestroyOperation<>();
+        for (int i = 0; i < moveThreadCount; i++) {
+            operationQueue.add(destroyOperation);
+        }
+        shutdownMoveThreads();
+        long childThreadsScoreCalculationCount = 0L;
+        for (MoveThreadRunner<Solution_> moveThreadRunner : moveThreadRunnerList) {
+            childThreadsScoreCalculationCount += Math.max(0L, moveThreadRunner.getCalculationCount());
+        }
+        phaseScope.getSolverScope().addChildThreadsScoreCalculationCount(childThreadsScoreCalculationCount);
+        operationQueue = null;
+        resultQueue = null;
+        moveThreadRunnerList = null;
+    }
+
+    protected void shutdownMoveThreads() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.warn("Multithreaded Local Search's move threads didn't stop within 1 second."
+                        + " Interrupting them now.");
+                executor.shutdownNow();
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void decideNextStep(LocalSearchStepScope<Solution_> stepScope) {
+        int stepIndex = stepScope.getStepIndex();
+        resultQueue.startNextStep(stepIndex);
+        try {
+            int selectMoveIndex = 0;
+            int movesInPlay = 0;
+            Iterator<Move> moveIterator = moveSelector.iterator();
+            do {
+                boolean hasNextMove = moveIterator.hasNext();
+                // First fill the buffer so move evaluation can run freely in parallel
+                // For every move evaluation consumed, select exactly 1 new move
+                if (movesInPlay > 0 && (selectMoveIndex >= selectedMoveBufferSize || !hasNextMove)) {
+                    if (forageResult(stepScope, stepIndex)) {
+                        break;
+                    }
+                    movesInPlay--;
+                }
+                if (hasNextMove) {
+                    Move move = moveIterator.next();
+                    operationQueue.add(new MoveEvaluationOperation<>(stepIndex, selectMoveIndex, move));
+                    selectMoveIndex++;
+                    movesInPlay++;
+                }
+            } while (movesInPlay > 0);
+        } catch (RuntimeException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        // Do not evaluate the remaining selected moves of this step that haven't started evaluation yet
+        operationQueue.removeIf(operation -> operation instanceof MoveEvaluationOperation);
+        pickMove(stepScope);
+        // Start doing the step on every move thread. Don't wait for the stepEnded() event.
+        if (stepScope.getStep() != null) {
+            // The step isn't done yet on the solver thread, so the undo step is still correct
+            stepScope.setUndoStep(stepScope.getStep().createUndoMove(stepScope.getScoreDirector()));
+            // Increase stepIndex by 1, because it's a preliminary action
+            ApplyStepOperation<Solution_> stepOperation = new ApplyStepOperation<>(stepIndex + 1,
+                    stepScope.getStep(), stepScope.getScore());
+            for (int i = 0; i < moveThreadCount; i++) {
+                operationQueue.add(stepOperation);
+            }
+        }
+    }
+
+    private boolean forageResult(LocalSearchStepScope<Solution_> stepScope, int stepIndex) {
+        MoveResult<Solution_> result;
+        try {
+            result = resultQueue.take();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("The step index (" + stepIndex
+                    + ") has been interrupted while waiting for a move thread result.", e);
+        }
+        if (stepIndex != result.getStepIndex()) {
+            throw new IllegalStateException("Impossible situation: the solverThread's stepIndex (" + stepIndex
+                    + ") differs from the result's stepIndex (" + result.getStepIndex() + ").");
+        }
+        Move move = result.getMove();
+        LocalSearchMoveScope<Solution_> moveScope = stepScope.borrowMoveScope();
+        moveScope.setMoveIndex(result.getMoveIndex());
+        moveScope.setMove(move);
+        if (!result.isMoveDoable()) {
+            logger.trace("        Move index ({}) not doable, ignoring move ({}).", result.getMoveIndex(), move);
+        } else {
+            moveScope.setScore(result.getScore());
+            boolean accepted = acceptor.isAccepted(moveScope);
+            moveScope.setAccepted(accepted);
+            forager.addMove(moveScope);
+            if (metricRegistry != null) {
+                metricRegistry.recordMoveEvaluation(move.getClass(), accepted);
+            }
+            logger.trace("        Move index ({}), score ({}), accepted ({}), move ({}).",
+                    moveScope.getMoveIndex(), moveScope.getScore(), moveScope.getAccepted(), move);
+            if (forager.isQuitEarly()) {
+                return true;
+            }
+        }
+        if (!moveScope.isRetained()) {
+            stepScope.releaseMoveScope(moveScope);
+        }
+        stepScope.getPhaseScope().getSolverScope().checkYielding();
+        return termination.isPhaseTerminated(stepScope.getPhaseScope());
+    }
+
+}
@@ -16,7 +16,9 @@
 
 package org.optaplanner.core.impl.localsearch.decider.acceptor;
 
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.localsearch.event.LocalSearchPhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,4 +34,9 @@ public abstract class AbstractAcceptor extends LocalSearchPhaseLifecycleListener
     // Worker methods
     // ************************************************************************
 
+    @Override
+    public Score getRejectionThreshold(LocalSearchMoveScope moveScope) {
+        return null;
+    }
+
 }
@@ -16,6 +16,7 @@
 
 package org.optaplanner.core.impl.localsearch.decider.acceptor;
 
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.localsearch.decider.forager.Forager;
 import org.optaplanner.core.impl.localsearch.event.LocalSearchPhaseLifecycleListener;
@@ -34,4 +35,13 @@ public interface Acceptor extends LocalSearchPhaseLifecycleListener {
      */
     boolean isAccepted(LocalSearchMoveScope moveScope);
 
+    /**
+     * Called before the {@link Score} of the move is calculated,
+     * so the score calculation can be abandoned if the move will be rejected anyway.
+     * @param moveScope not null, its {@link LocalSearchMoveScope#getScore()} is still null
+     * @return null if there is no such threshold,
+     * otherwise {@link #isAccepted(LocalSearchMoveScope)} returns false for any score lower than it
+     */
+    Score getRejectionThreshold(LocalSearchMoveScope moveScope);
+
 }
@@ -28,9 +28,12 @@ public class HillClimbingAcceptor extends AbstractAcceptor {
 
     @Override
     public boolean isAccepted(LocalSearchMoveScope moveScope) {
-        Score moveScore = moveScope.getScore();
-        Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
-        return moveScore.compareTo(lastStepScore) >= 0;
+        return moveScope.compareScoreToLastStepScore() >= 0;
+    }
+
+    @Override
+    public Score getRejectionThreshold(LocalSearchMoveScope moveScope) {
+        return moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
     }
 
 }
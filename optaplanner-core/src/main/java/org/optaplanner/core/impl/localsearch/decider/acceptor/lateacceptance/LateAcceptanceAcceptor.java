@@ -21,6 +21,7 @@ import org.optaplanner.core.impl.localsearch.decider.acceptor.AbstractAcceptor;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
 
 public class LateAcceptanceAcceptor extends AbstractAcceptor {
 
@@ -30,6 +31,9 @@ public class LateAcceptanceAcceptor extends AbstractAcceptor {
     protected Score[] previousScores;
     protected int lateScoreIndex = -1;
 
+    protected PackedScoreConverter packedScoreConverter;
+    protected long[][] previousPackedScores;
+
     public void setLateAcceptanceSize(int lateAcceptanceSize) {
         this.lateAcceptanceSize = lateAcceptanceSize;
     }
@@ -51,6 +55,14 @@ public class LateAcceptanceAcceptor extends AbstractAcceptor {
         for (int i = 0; i < previousScores.length; i++) {
             previousScores[i] = initialScore;
         }
+        packedScoreConverter = phaseScope.getPackedScoreConverter();
+        if (packedScoreConverter != null) {
+            previousPackedScores = new long[lateAcceptanceSize][];
+            for (int i = 0; i < previousPackedScores.length; i++) {
+                previousPackedScores[i] = packedScoreConverter.createPackedScore();
+                packedScoreConverter.pack(initialScore, previousPackedScores[i]);
+            }
+        }
         lateScoreIndex = 0;
     }
 
@@ -63,6 +75,13 @@ public class LateAcceptanceAcceptor extends AbstractAcceptor {
 
     @Override
     public boolean isAccepted(LocalSearchMoveScope moveScope) {
+        long[] packedMoveScore = moveScope.getPackedScore();
+        if (packedMoveScore != null) {
+            if (PackedScoreConverter.compare(packedMoveScore, previousPackedScores[lateScoreIndex]) >= 0) {
+                return true;
+            }
+            return hillClimbingEnabled && moveScope.compareScoreToLastStepScore() >= 0;
+        }
         Score moveScore = moveScope.getScore();
         Score lateScore = previousScores[lateScoreIndex];
         if (moveScore.compareTo(lateScore) >= 0) {
@@ -77,10 +96,25 @@ public class LateAcceptanceAcceptor extends AbstractAcceptor {
         return false;
     }
 
+    @Override
+    public Score getRejectionThreshold(LocalSearchMoveScope moveScope) {
+        Score lateScore = previousScores[lateScoreIndex];
+        if (hillClimbingEnabled) {
+            Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
+            if (lastStepScore.compareTo(lateScore) < 0) {
+                return lastStepScore;
+            }
+        }
+        return lateScore;
+    }
+
     @Override
     public void stepEnded(LocalSearchStepScope stepScope) {
         super.stepEnded(stepScope);
         previousScores[lateScoreIndex] = stepScope.getScore();
+        if (packedScoreConverter != null) {
+            packedScoreConverter.pack(stepScope.getScore(), previousPackedScores[lateScoreIndex]);
+        }
         lateScoreIndex = (lateScoreIndex + 1) % lateAcceptanceSize;
     }
 
@@ -89,6 +123,8 @@ public class LateAcceptanceAcceptor extends AbstractAcceptor {
         super.phaseEnded(phaseScope);
         previousScores = null;
         lateScoreIndex = -1;
+        packedScoreConverter = null;
+        previousPackedScores = null;
     }
 
 }
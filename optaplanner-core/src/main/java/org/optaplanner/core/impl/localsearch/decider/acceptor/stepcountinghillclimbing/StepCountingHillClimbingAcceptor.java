@@ -66,6 +66,12 @@ public class StepCountingHillClimbingAcceptor extends AbstractAcceptor {
         return moveScore.compareTo(thresholdScore) >= 0;
     }
 
+    @Override
+    public Score getRejectionThreshold(LocalSearchMoveScope moveScope) {
+        Score lastStepScore = moveScope.getStepScope().getPhaseScope().getLastCompletedStepScope().getScore();
+        return lastStepScore.compareTo(thresholdScore) < 0 ? lastStepScore : thresholdScore;
+    }
+
     @Override
     public void stepEnded(LocalSearchStepScope stepScope) {
         super.stepEnded(stepScope);
@@ -16,13 +16,12 @@
 
 package org.optaplanner.core.impl.localsearch.decider.acceptor.tabu;
 
-import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.AbstractAcceptor;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.tabu.size.TabuSizeStrategy;
@@ -42,8 +41,11 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
 
     protected boolean assertTabuHashCodeCorrectness = false;
 
-    protected Map<Object, Integer> tabuToStepIndexMap;
-    protected Deque<Object> tabuSequenceDeque;
+    /**
+     * In insertion order, so the oldest tabu is first: re-adding a tabu removes it first to put it last.
+     * Refreshing and evicting a tabu is therefore O(1) instead of O(n).
+     */
+    protected Map<Object, TabuStepIndex> tabuToStepIndexMap;
 
     protected int workingTabuSize = -1;
     protected int workingFadingTabuSize = -1;
@@ -76,15 +78,13 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
         workingTabuSize = tabuSizeStrategy == null ? 0 : tabuSizeStrategy.determineTabuSize(lastCompletedStepScope);
         workingFadingTabuSize = fadingTabuSizeStrategy == null ? 0 : fadingTabuSizeStrategy.determineTabuSize(lastCompletedStepScope);
         int totalTabuListSize = workingTabuSize + workingFadingTabuSize; // is at least 1
-        tabuToStepIndexMap = new HashMap<>(totalTabuListSize);
-        tabuSequenceDeque = new ArrayDeque<>();
+        tabuToStepIndexMap = new LinkedHashMap<>(totalTabuListSize);
     }
 
     @Override
     public void phaseEnded(LocalSearchPhaseScope phaseScope) {
         super.phaseEnded(phaseScope);
         tabuToStepIndexMap = null;
-        tabuSequenceDeque = null;
         workingTabuSize = -1;
         workingFadingTabuSize = -1;
     }
@@ -101,31 +101,35 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
     protected void adjustTabuList(int tabuStepIndex, Collection<? extends Object> tabus) {
         int totalTabuListSize = workingTabuSize + workingFadingTabuSize; // is at least 1
         // Remove the oldest tabu(s)
-        for (Iterator<Object> it = tabuSequenceDeque.iterator(); it.hasNext();) {
-            Object oldTabu = it.next();
-            Integer oldTabuStepIndexInteger = tabuToStepIndexMap.get(oldTabu);
-            if (oldTabuStepIndexInteger == null) {
+        for (Iterator<Map.Entry<Object, TabuStepIndex>> it = tabuToStepIndexMap.entrySet().iterator();
+                it.hasNext();) {
+            Map.Entry<Object, TabuStepIndex> entry = it.next();
+            int oldTabuStepCount = tabuStepIndex - entry.getValue().stepIndex; // at least 1
+            if (oldTabuStepCount < totalTabuListSize) {
+                break;
+            }
+            Object oldTabu = entry.getKey();
+            if (!tabuToStepIndexMap.containsKey(oldTabu)) {
                 throw new IllegalStateException("HashCode stability violation: the hashCode() of tabu ("
                         + oldTabu + ") of class (" + oldTabu.getClass()
                         + ") changed during planning, since it was inserted in the tabu Map or Set.");
             }
-            int oldTabuStepCount = tabuStepIndex - oldTabuStepIndexInteger; // at least 1
-            if (oldTabuStepCount < totalTabuListSize) {
-                break;
-            }
             it.remove();
-            tabuToStepIndexMap.remove(oldTabu);
         }
         // Add the new tabu(s)
         for (Object tabu : tabus) {
-            // Push tabu to the end of the line
-            if (tabuToStepIndexMap.containsKey(tabu)) {
-                tabuToStepIndexMap.remove(tabu);
-                tabuSequenceDeque.remove(tabu);
-            }
-            tabuToStepIndexMap.put(tabu, tabuStepIndex);
-            tabuSequenceDeque.add(tabu);
+            addTabu(tabu, tabuStepIndex);
+        }
+    }
+
+    protected void addTabu(Object tabu, int tabuStepIndex) {
+        // Push tabu to the end of the line
+        TabuStepIndex tabuStepIndexHolder = tabuToStepIndexMap.remove(tabu);
+        if (tabuStepIndexHolder == null) {
+            tabuStepIndexHolder = new TabuStepIndex();
         }
+        tabuStepIndexHolder.stepIndex = tabuStepIndex;
+        tabuToStepIndexMap.put(tabu, tabuStepIndexHolder);
     }
 
     @Override
@@ -161,16 +165,32 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
         return accepted;
     }
 
+    @Override
+    public Score getRejectionThreshold(LocalSearchMoveScope moveScope) {
+        int maximumTabuStepIndex = locateMaximumTabStepIndex(moveScope);
+        if (maximumTabuStepIndex < 0) {
+            return null;
+        }
+        int tabuStepCount = moveScope.getStepScope().getStepIndex() - maximumTabuStepIndex; // at least 1
+        if (tabuStepCount > workingTabuSize) {
+            // Fading tabu might accept it regardless of its score
+            return null;
+        }
+        // Only aspiration can accept it, which requires a score higher than the best score.
+        // Without aspiration, it's rejected anyway, so the best score is a safe threshold too.
+        return moveScope.getStepScope().getPhaseScope().getBestScore();
+    }
+
     private int locateMaximumTabStepIndex(LocalSearchMoveScope moveScope) {
         Collection<? extends Object> checkingTabus = findTabu(moveScope);
         int maximumTabuStepIndex = -1;
         for (Object checkingTabu : checkingTabus) {
-            Integer tabuStepIndexInteger = tabuToStepIndexMap.get(checkingTabu);
-            if (tabuStepIndexInteger != null) {
-                maximumTabuStepIndex = Math.max(tabuStepIndexInteger, maximumTabuStepIndex);
+            TabuStepIndex tabuStepIndexHolder = tabuToStepIndexMap.get(checkingTabu);
+            if (tabuStepIndexHolder != null) {
+                maximumTabuStepIndex = Math.max(tabuStepIndexHolder.stepIndex, maximumTabuStepIndex);
             }
             if (assertTabuHashCodeCorrectness) {
-                for (Object tabu : tabuSequenceDeque) {
+                for (Object tabu : tabuToStepIndexMap.keySet()) {
                     if (tabu.equals(checkingTabu)) {
                         if (tabu.hashCode() != checkingTabu.hashCode()) {
                             throw new IllegalStateException("HashCode/equals contract violation: tabu (" + tabu
@@ -178,7 +198,7 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
                                     + ") and checkingTabu (" + checkingTabu
                                     + ") are equals() but have a different hashCode().");
                         }
-                        if (tabuStepIndexInteger == null) {
+                        if (tabuStepIndexHolder == null) {
                             throw new IllegalStateException("HashCode stability violation: the hashCode() of tabu ("
                                     + tabu + ") of class (" + tabu.getClass()
                                     + ") changed during planning, since it was inserted in the tabu Map or Set.");
@@ -204,4 +224,13 @@ public abstract class AbstractTabuAcceptor extends AbstractAcceptor {
 
     protected abstract Collection<? extends Object> findNewTabu(LocalSearchStepScope stepScope);
 
+    /**
+     * Mutable, so refreshing a tabu doesn't box a new {@link Integer}.
+     */
+    protected static final class TabuStepIndex {
+
+        private int stepIndex;
+
+    }
+
 }
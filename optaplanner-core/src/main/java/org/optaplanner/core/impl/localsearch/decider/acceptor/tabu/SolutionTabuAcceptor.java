@@ -23,8 +23,18 @@ import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
 
+/**
+ * The tabu is the {@link SolutionZobristHasher#getHash() hash} of the planning variable assignment,
+ * instead of a planning clone of the working solution,
+ * so it costs O(1) time and memory per move and per step.
+ * <p>
+ * {@link #isAccepted(LocalSearchMoveScope)} must be called while the move is done on the working solution,
+ * so it doesn't support move threads (which evaluate the move on another solution).
+ */
 public class SolutionTabuAcceptor extends AbstractTabuAcceptor {
 
+    protected SolutionZobristHasher hasher = null;
+
     public SolutionTabuAcceptor() {
         // Disable aspiration by default because it's useless on solution tabu
         aspirationEnabled = false;
@@ -35,23 +45,32 @@ public class SolutionTabuAcceptor extends AbstractTabuAcceptor {
     // ************************************************************************
 
     @Override
-    protected Collection<? extends Object> findTabu(LocalSearchMoveScope moveScope) {
-        return Collections.singletonList(moveScope.getWorkingSolution());
+    public void phaseStarted(LocalSearchPhaseScope phaseScope) {
+        super.phaseStarted(phaseScope);
+        hasher = new SolutionZobristHasher();
+        hasher.resetWorkingSolution(phaseScope.getSolutionDescriptor(), phaseScope.getWorkingSolution());
+        phaseScope.getScoreDirector().addWorkingVariableChangeListener(hasher);
+        // Add the starting solution to the tabu list
+        addTabu(hasher.getHash(), 0); // TODO should -1 when AbstractTabuAcceptor can handle that
     }
 
     @Override
-    protected Collection<? extends Object> findNewTabu(LocalSearchStepScope stepScope) {
-        // TODO this should be better done in stepEnded
-        return Collections.singletonList(stepScope.createOrGetClonedSolution());
+    public void phaseEnded(LocalSearchPhaseScope phaseScope) {
+        super.phaseEnded(phaseScope);
+        phaseScope.getScoreDirector().removeWorkingVariableChangeListener(hasher);
+        hasher = null;
     }
 
     @Override
-    public void phaseStarted(LocalSearchPhaseScope phaseScope) {
-        super.phaseStarted(phaseScope);
-        // Add the starting solution to the tabu list
-        Object tabu = phaseScope.getScoreDirector().cloneWorkingSolution();
-        tabuToStepIndexMap.put(tabu, 0); // TODO should -1 when AbstractTabuAcceptor can handle that
-        tabuSequenceDeque.add(tabu);
+    protected Collection<? extends Object> findTabu(LocalSearchMoveScope moveScope) {
+        // The LocalSearchDecider calls this before undoing the move,
+        // so the hash is the hash of the solution after the move
+        return Collections.singletonList(hasher.getHash());
+    }
+
+    @Override
+    protected Collection<? extends Object> findNewTabu(LocalSearchStepScope stepScope) {
+        return Collections.singletonList(hasher.getHash());
     }
 
 }
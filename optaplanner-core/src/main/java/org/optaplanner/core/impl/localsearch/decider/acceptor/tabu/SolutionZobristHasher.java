@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider.acceptor.tabu;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.score.director.WorkingVariableChangeListener;
+
+/**
+ * Incrementally maintains a 64-bit Zobrist hash of the genuine planning variable assignment
+ * of the {@link PlanningSolution working solution}.
+ * Every (entity, variable, value) combination has a pseudo random key
+ * and the hash is the XOR of the keys of all assignments, so a variable change costs O(1).
+ * Shadow variables are ignored, because they are derived from the genuine variables.
+ * <p>
+ * Two different assignments have the same hash with a chance of about 1 in 2^64,
+ * which is negligible for a tabu list.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class SolutionZobristHasher<Solution_> implements WorkingVariableChangeListener<Solution_> {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    protected final Map<Object, Long> entityKeyMap = new IdentityHashMap<>();
+    protected final Map<VariableDescriptor<Solution_>, Long> variableKeyMap = new IdentityHashMap<>();
+    // Values such as Integer are compared by equals(), not by identity
+    protected final Map<Object, Long> valueKeyMap = new HashMap<>();
+    protected long keySequence = 0L;
+
+    protected long hash = 0L;
+
+    /**
+     * @return the hash of the current genuine planning variable assignment
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Calculates the hash from scratch.
+     * Must be called before the working solution changes for the first time.
+     * @param solutionDescriptor never null
+     * @param workingSolution never null
+     */
+    public void resetWorkingSolution(SolutionDescriptor<Solution_> solutionDescriptor, Solution_ workingSolution) {
+        hash = 0L;
+        for (Iterator<Object> it = solutionDescriptor.extractAllEntitiesIterator(workingSolution); it.hasNext(); ) {
+            Object entity = it.next();
+            EntityDescriptor<Solution_> entityDescriptor = solutionDescriptor.findEntityDescriptorOrFail(entity.getClass());
+            for (GenuineVariableDescriptor<Solution_> variableDescriptor
+                    : entityDescriptor.getGenuineVariableDescriptors()) {
+                hash ^= calculateAssignmentKey(variableDescriptor, entity);
+            }
+        }
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void beforeVariableChanged(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+        if (variableDescriptor instanceof GenuineVariableDescriptor) {
+            // XOR removes the key of the old value
+            hash ^= calculateAssignmentKey(variableDescriptor, entity);
+        }
+    }
+
+    @Override
+    public void afterVariableChanged(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+        if (variableDescriptor instanceof GenuineVariableDescriptor) {
+            hash ^= calculateAssignmentKey(variableDescriptor, entity);
+        }
+    }
+
+    protected long calculateAssignmentKey(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+        Object value = variableDescriptor.getValue(entity);
+        if (value == null) {
+            return 0L;
+        }
+        long entityKey = entityKeyMap.computeIfAbsent(entity, key -> nextKey());
+        long variableKey = variableKeyMap.computeIfAbsent(variableDescriptor, key -> nextKey());
+        long valueKey = valueKeyMap.computeIfAbsent(value, key -> nextKey());
+        return mix(mix(entityKey ^ variableKey) ^ valueKey);
+    }
+
+    /**
+     * Deterministic (so it doesn't consume the working random) SplitMix64 sequence.
+     * @return a pseudo random key
+     */
+    protected long nextKey() {
+        keySequence += GOLDEN_GAMMA;
+        return mix(keySequence);
+    }
+
+    protected static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -104,14 +104,12 @@ public class AcceptedForager extends AbstractForager {
             case FIRST_BEST_SCORE_IMPROVING:
                 Score bestScore = moveScope.getStepScope().getPhaseScope().getBestScore();
                 if (moveScope.getScore().compareTo(bestScore) > 0) {
-                    earlyPickedMoveScope = moveScope;
+                    pickEarly(moveScope);
                 }
                 break;
             case FIRST_LAST_STEP_SCORE_IMPROVING:
-                Score lastStepScore = moveScope.getStepScope().getPhaseScope()
-                        .getLastCompletedStepScope().getScore();
-                if (moveScope.getScore().compareTo(lastStepScore) > 0) {
-                    earlyPickedMoveScope = moveScope;
+                if (moveScope.compareScoreToLastStepScore() > 0) {
+                    pickEarly(moveScope);
                 }
                 break;
             default:
@@ -119,6 +117,17 @@ public class AcceptedForager extends AbstractForager {
         }
     }
 
+    protected void pickEarly(LocalSearchMoveScope moveScope) {
+        moveScope.setRetained(true);
+        earlyPickedMoveScope = moveScope;
+    }
+
+    @Override
+    public boolean isUnacceptedMoveIgnored() {
+        // Once a move is accepted, the finalist podium ignores unaccepted moves
+        return acceptedMoveCount > 0L;
+    }
+
     @Override
     public boolean isQuitEarly() {
         return earlyPickedMoveScope != null || acceptedMoveCount >= acceptedCountLimit;
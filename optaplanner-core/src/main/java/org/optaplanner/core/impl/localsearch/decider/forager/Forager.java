@@ -38,6 +38,12 @@ public interface Forager extends LocalSearchPhaseLifecycleListener {
      */
     void addMove(LocalSearchMoveScope moveScope);
 
+    /**
+     * @return true if {@link #addMove(LocalSearchMoveScope)} ignores any further move that isn't accepted
+     * for this step, so the score of such a move is irrelevant.
+     */
+    boolean isUnacceptedMoveIgnored();
+
     /**
      * @return true if no further moves should be selected (and evaluated) for this step.
      */
@@ -37,11 +37,34 @@ public abstract class AbstractFinalistPodium extends LocalSearchPhaseLifecycleLi
     protected boolean finalistIsAccepted;
     protected List<LocalSearchMoveScope> finalistList;
 
+    @Override
+    public void phaseStarted(LocalSearchPhaseScope phaseScope) {
+        super.phaseStarted(phaseScope);
+        finalistList = new ArrayList<>(1024);
+    }
+
     @Override
     public void stepStarted(LocalSearchStepScope stepScope) {
         super.stepStarted(stepScope);
         finalistIsAccepted = false;
-        finalistList = new ArrayList<>(1024);
+        // Reuse the list, the finalists of the previous step are no longer needed
+        finalistList.clear();
+    }
+
+    protected void addFinalist(LocalSearchMoveScope moveScope) {
+        moveScope.setRetained(true);
+        finalistList.add(moveScope);
+    }
+
+    /**
+     * Releases the current finalists, so their move scopes can be reused for the next moves of this step.
+     */
+    protected void clearFinalistList() {
+        for (LocalSearchMoveScope finalist : finalistList) {
+            finalist.setRetained(false);
+            finalist.getStepScope().releaseMoveScope(finalist);
+        }
+        finalistList.clear();
     }
 
     @Override
@@ -20,6 +20,7 @@ import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
 
 /**
  * Default implementation of {@link FinalistPodium}.
@@ -28,6 +29,14 @@ import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
 public class HighestScoreFinalistPodium extends AbstractFinalistPodium {
 
     protected Score finalistScore;
+    protected long[] finalistPackedScore;
+
+    @Override
+    public void phaseStarted(LocalSearchPhaseScope phaseScope) {
+        super.phaseStarted(phaseScope);
+        PackedScoreConverter packedScoreConverter = phaseScope.getPackedScoreConverter();
+        finalistPackedScore = packedScoreConverter == null ? null : packedScoreConverter.createPackedScore();
+    }
 
     @Override
     public void stepStarted(LocalSearchStepScope stepScope) {
@@ -45,28 +54,38 @@ public class HighestScoreFinalistPodium extends AbstractFinalistPodium {
             finalistIsAccepted = true;
             finalistScore = null;
         }
-        Score moveScore = moveScope.getScore();
-        int scoreComparison = doComparison(moveScore);
+        long[] packedMoveScore = moveScope.getPackedScore();
+        int scoreComparison = doComparison(moveScope, packedMoveScore);
         if (scoreComparison > 0) {
-            finalistScore = moveScore;
-            finalistList.clear();
-            finalistList.add(moveScope);
+            if (packedMoveScore != null) {
+                // Copy the packed score first, because getScore() unpacks it
+                System.arraycopy(packedMoveScore, 0, finalistPackedScore, 0, packedMoveScore.length);
+            }
+            finalistScore = moveScope.getScore();
+            clearFinalistList();
+            addFinalist(moveScope);
         } else if (scoreComparison == 0) {
-            finalistList.add(moveScope);
+            // Unpack the score, because the packed score array is reused by the next move
+            moveScope.getScore();
+            addFinalist(moveScope);
         }
     }
 
-    private int doComparison(Score moveScore) {
+    private int doComparison(LocalSearchMoveScope moveScope, long[] packedMoveScore) {
         if (finalistScore == null) {
             return 1;
         }
-        return moveScore.compareTo(finalistScore);
+        if (packedMoveScore != null) {
+            return PackedScoreConverter.compare(packedMoveScore, finalistPackedScore);
+        }
+        return moveScope.getScore().compareTo(finalistScore);
     }
 
     @Override
     public void phaseEnded(LocalSearchPhaseScope phaseScope) {
         super.phaseEnded(phaseScope);
         finalistScore = null;
+        finalistPackedScore = null;
     }
 
 }
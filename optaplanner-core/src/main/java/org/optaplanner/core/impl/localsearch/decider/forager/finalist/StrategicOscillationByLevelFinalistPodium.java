@@ -65,10 +65,10 @@ public class StrategicOscillationByLevelFinalistPodium extends AbstractFinalistP
         if (comparison > 0) {
             finalistScore = moveScore;
             finalistLevelNumbers = moveLevelNumbers;
-            finalistList.clear();
-            finalistList.add(moveScope);
+            clearFinalistList();
+            addFinalist(moveScope);
         } else if (comparison == 0) {
-            finalistList.add(moveScope);
+            addFinalist(moveScope);
         }
     }
 
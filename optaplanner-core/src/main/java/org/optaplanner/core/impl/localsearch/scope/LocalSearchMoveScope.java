@@ -21,6 +21,7 @@ import java.util.Random;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
@@ -34,7 +35,9 @@ public class LocalSearchMoveScope<Solution_> {
     private Move move = null;
     private Move undoMove = null;
     private Score score = null;
+    private long[] packedScore = null;
     private Boolean accepted = null;
+    private boolean retained = false;
 
     public LocalSearchMoveScope(LocalSearchStepScope<Solution_> stepScope) {
         this.stepScope = stepScope;
@@ -68,12 +71,38 @@ public class LocalSearchMoveScope<Solution_> {
         this.undoMove = undoMove;
     }
 
+    /**
+     * If the score is packed, this unpacks it, so it no longer depends on the reused packed score array.
+     * @return sometimes null
+     */
     public Score getScore() {
+        if (score == null && packedScore != null) {
+            score = stepScope.getPhaseScope().getPackedScoreConverter().unpack(packedScore);
+            packedScore = null;
+        }
         return score;
     }
 
     public void setScore(Score score) {
         this.score = score;
+        this.packedScore = null;
+    }
+
+    /**
+     * @return null if the score is not packed or if it has been unpacked by {@link #getScore()}
+     */
+    public long[] getPackedScore() {
+        return packedScore;
+    }
+
+    /**
+     * The packedScore array is reused for the next move,
+     * so call {@link #getScore()} before retaining this move scope after this move.
+     * @param packedScore never null
+     */
+    public void setPackedScore(long[] packedScore) {
+        this.score = null;
+        this.packedScore = packedScore;
     }
 
     public Boolean getAccepted() {
@@ -84,10 +113,46 @@ public class LocalSearchMoveScope<Solution_> {
         this.accepted = accepted;
     }
 
+    /**
+     * A retained move scope is referenced after its move has been evaluated (for example as a finalist),
+     * so it must not be released to {@link LocalSearchStepScope#releaseMoveScope(LocalSearchMoveScope)}.
+     * @return true if it must not be reused for another move
+     */
+    public boolean isRetained() {
+        return retained;
+    }
+
+    public void setRetained(boolean retained) {
+        this.retained = retained;
+    }
+
     // ************************************************************************
     // Calculated methods
     // ************************************************************************
 
+    void reset() {
+        moveIndex = -1;
+        move = null;
+        undoMove = null;
+        score = null;
+        packedScore = null;
+        accepted = null;
+        retained = false;
+    }
+
+    /**
+     * Avoids unpacking a packed score.
+     * @return same as {@link Score#compareTo(Object)} of {@link #getScore()}
+     * and the score of {@link LocalSearchPhaseScope#getLastCompletedStepScope()}
+     */
+    public int compareScoreToLastStepScore() {
+        LocalSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        if (packedScore != null) {
+            return PackedScoreConverter.compare(packedScore, phaseScope.getPackedLastCompletedStepScore());
+        }
+        return getScore().compareTo(phaseScope.getLastCompletedStepScope().getScore());
+    }
+
     public ScoreDirector<Solution_> getScoreDirector() {
         return stepScope.getScoreDirector();
     }
@@ -18,6 +18,7 @@ package org.optaplanner.core.impl.localsearch.scope;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 /**
@@ -27,6 +28,9 @@ public class LocalSearchPhaseScope<Solution_> extends AbstractPhaseScope<Solutio
 
     private LocalSearchStepScope<Solution_> lastCompletedStepScope;
 
+    private PackedScoreConverter packedScoreConverter = null;
+    private long[] packedLastCompletedStepScore = null;
+
     public LocalSearchPhaseScope(DefaultSolverScope<Solution_> solverScope) {
         super(solverScope);
         lastCompletedStepScope = new LocalSearchStepScope(this, -1);
@@ -40,6 +44,37 @@ public class LocalSearchPhaseScope<Solution_> extends AbstractPhaseScope<Solutio
 
     public void setLastCompletedStepScope(LocalSearchStepScope<Solution_> lastCompletedStepScope) {
         this.lastCompletedStepScope = lastCompletedStepScope;
+        if (packedScoreConverter != null) {
+            packedScoreConverter.pack(lastCompletedStepScope.getScore(), packedLastCompletedStepScore);
+        }
+    }
+
+    /**
+     * @return null if the moves are not scored with a packed score
+     */
+    public PackedScoreConverter getPackedScoreConverter() {
+        return packedScoreConverter;
+    }
+
+    /**
+     * Must be called after {@link #reset()}, because it packs the score of the {@link #getLastCompletedStepScope()}.
+     * @param packedScoreConverter null if the moves are not scored with a packed score
+     */
+    public void setPackedScoreConverter(PackedScoreConverter packedScoreConverter) {
+        this.packedScoreConverter = packedScoreConverter;
+        if (packedScoreConverter == null) {
+            packedLastCompletedStepScore = null;
+        } else {
+            packedLastCompletedStepScore = packedScoreConverter.createPackedScore();
+            packedScoreConverter.pack(lastCompletedStepScope.getScore(), packedLastCompletedStepScore);
+        }
+    }
+
+    /**
+     * @return null if {@link #getPackedScoreConverter()} is null
+     */
+    public long[] getPackedLastCompletedStepScore() {
+        return packedLastCompletedStepScore;
     }
 
     // ************************************************************************
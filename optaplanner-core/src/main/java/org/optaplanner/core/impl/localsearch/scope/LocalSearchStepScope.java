@@ -16,6 +16,9 @@
 
 package org.optaplanner.core.impl.localsearch.scope;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
@@ -34,6 +37,8 @@ public class LocalSearchStepScope<Solution_> extends AbstractStepScope<Solution_
     private Long selectedMoveCount = null;
     private Long acceptedMoveCount = null;
 
+    private final Deque<LocalSearchMoveScope<Solution_>> moveScopePool = new ArrayDeque<>();
+
     public LocalSearchStepScope(LocalSearchPhaseScope<Solution_> phaseScope) {
         this(phaseScope, phaseScope.getNextStepIndex());
     }
@@ -48,6 +53,25 @@ public class LocalSearchStepScope<Solution_> extends AbstractStepScope<Solution_
         return phaseScope;
     }
 
+    /**
+     * Reuses a {@link LocalSearchMoveScope} of this step that has been released, to avoid creating one per move.
+     * @return never null
+     * @see #releaseMoveScope(LocalSearchMoveScope)
+     */
+    public LocalSearchMoveScope<Solution_> borrowMoveScope() {
+        LocalSearchMoveScope<Solution_> moveScope = moveScopePool.pollFirst();
+        return moveScope == null ? new LocalSearchMoveScope<>(this) : moveScope;
+    }
+
+    /**
+     * @param moveScope never null, not {@link LocalSearchMoveScope#isRetained() retained},
+     * must not be used by the caller afterwards
+     */
+    public void releaseMoveScope(LocalSearchMoveScope<Solution_> moveScope) {
+        moveScope.reset();
+        moveScopePool.addFirst(moveScope);
+    }
+
     public double getTimeGradient() {
         return timeGradient;
     }
@@ -17,30 +17,46 @@
 package org.optaplanner.core.impl.partitionedsearch;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.config.heuristic.policy.HeuristicConfigPolicy;
 import org.optaplanner.core.config.phase.PhaseConfig;
 import org.optaplanner.core.config.solver.recaller.BestSolutionRecallerConfig;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.partitionedsearch.event.PartitionedSearchPhaseLifecycleListener;
 import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
+import org.optaplanner.core.impl.partitionedsearch.queue.PartitionQueue;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionedSearchPhaseScope;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionedSearchStepScope;
 import org.optaplanner.core.impl.phase.AbstractPhase;
 import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.solver.ChildThreadPlumbingTermination;
 import org.optaplanner.core.impl.solver.ChildThreadType;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.solver.termination.OrCompositeTermination;
 import org.optaplanner.core.impl.solver.termination.Termination;
 
 /**
  * Default implementation of {@link PartitionedSearchPhase}.
+ * <p>
+ * Every new best solution of a part is applied on the parent working solution as a step,
+ * so the parent {@link BestSolutionRecaller} (and therefore the solver's event listeners)
+ * picks up the improvements while the parts are still solving.
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
  */
 public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solution_>
-        implements PartitionedSearchPhase<Solution_> {
+        implements PartitionedSearchPhase<Solution_>, PartitionedSearchPhaseLifecycleListener<Solution_> {
 
     protected ThreadPoolExecutor threadPoolExecutor;
     protected Integer activeThreadCount;
@@ -53,6 +69,10 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
         this.threadPoolExecutor = threadPoolExecutor;
     }
 
+    public void setActiveThreadCount(Integer activeThreadCount) {
+        this.activeThreadCount = activeThreadCount;
+    }
+
     public void setSolutionPartitioner(SolutionPartitioner<Solution_> solutionPartitioner) {
         this.solutionPartitioner = solutionPartitioner;
     }
@@ -76,10 +96,11 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
 
     @Override
     public void solve(DefaultSolverScope<Solution_> solverScope) {
-//        PartitionedSearchPhaseScope<Solution_> phaseScope = new PartitionedSearchPhaseScope<>(solverScope);
-//        phaseStarted(phaseScope);
+        PartitionedSearchPhaseScope<Solution_> phaseScope = new PartitionedSearchPhaseScope<>(solverScope);
         List<Solution_> partList = solutionPartitioner.splitWorkingSolution(solverScope.getScoreDirector());
         int partCount = partList.size();
+        phaseScope.setPartCount(partCount);
+        phaseStarted(phaseScope);
         if (threadPoolExecutor.getMaximumPoolSize() < partCount) {
             throw new IllegalStateException(
                     "The threadPoolExecutor's maximumPoolSize (" + threadPoolExecutor.getMaximumPoolSize()
@@ -88,56 +109,106 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
                     + " Use activeThreadCount (" + activeThreadCount
                     + ") instead to avoid CPU hogging and live locks.");
         }
-        List<Future> futureList = new ArrayList<>(partCount);
+        assertPartsReferenceWorkingEntities(solverScope, partList);
+        PartitionQueue<Solution_> partitionQueue = new PartitionQueue<>(partCount);
         Semaphore activeThreadSemaphore = activeThreadCount == null ? null : new Semaphore(activeThreadCount);
+        ChildThreadPlumbingTermination childThreadPlumbingTermination = new ChildThreadPlumbingTermination();
+        List<Future<?>> futureList = new ArrayList<>(partCount);
+        int partIndex = 0;
         for (Solution_ part : partList) {
-            PartitionSolver<Solution_> partitionSolver = buildPartitionSolver(activeThreadSemaphore, solverScope);
-            Future<?> future = threadPoolExecutor.submit(() -> partitionSolver.solve(part));
+            final int partIndex_ = partIndex;
+            PartitionSolver<Solution_> partitionSolver = buildPartitionSolver(
+                    childThreadPlumbingTermination, activeThreadSemaphore, solverScope);
+            // Clone in the solver thread, because the parent working solution changes during this phase
+            Solution_ partClone = solverScope.getSolutionDescriptor().getSolutionCloner().cloneSolution(part);
+            partitionSolver.addEventListener(event -> {
+                // Called on the partition thread when that part has a new best solution,
+                // so its working solution is the new best solution
+                PartitionChangeMove<Solution_> move = PartitionChangeMove.createMove(
+                        partitionSolver.getScoreDirector(), partIndex_, part);
+                partitionQueue.addMove(partIndex_, move);
+            });
+            Future<?> future = threadPoolExecutor.submit(() -> {
+                try {
+                    partitionSolver.solve(partClone);
+                    partitionQueue.addFinish(partIndex_, partitionSolver.getScoreCalculationCount());
+                } catch (Throwable throwable) {
+                    // Any Exception or even Error that happens here (on a partition thread) must be stored
+                    // in the partitionQueue in order to be propagated to the solver thread.
+                    partitionQueue.addExceptionThrown(partIndex_, throwable);
+                    throw throwable;
+                }
+            });
             futureList.add(future);
+            partIndex++;
         }
-        for (Future future : futureList) {
+        try {
+            for (PartitionChangeMove<Solution_> step : partitionQueue) {
+                PartitionedSearchStepScope<Solution_> stepScope = new PartitionedSearchStepScope<>(phaseScope);
+                stepStarted(stepScope);
+                stepScope.setStep(step);
+                if (logger.isDebugEnabled()) {
+                    stepScope.setStepString(step.toString());
+                }
+                doStep(stepScope);
+                stepEnded(stepScope);
+                phaseScope.setLastCompletedStepScope(stepScope);
+            }
+            solverScope.addChildThreadsScoreCalculationCount(partitionQueue.getPartsCalculationCount());
+        } finally {
+            // If a partition thread threw an exception, it is relayed here, but the other partition threads
+            // are not aware of that failure and could continue solving for a long time, so terminate them.
+            // If no exception was thrown, all partition threads have already finished and this does nothing.
+            childThreadPlumbingTermination.terminateChildren();
+            awaitPartitionThreads(futureList);
+        }
+        phaseEnded(phaseScope);
+    }
+
+    private void awaitPartitionThreads(List<Future<?>> futureList) {
+        for (Future<?> future : futureList) {
             try {
                 future.get();
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace(); // TODO remove
+            } catch (InterruptedException e) {
+                logger.warn("The solver thread was interrupted while waiting for the partition threads to end.", e);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Already relayed through the partitionQueue
+                logger.trace("    A partition thread ended with an exception.", e);
             }
         }
-//        phaseEnded(phaseScope);
-
-//
-//        while (!termination.isPhaseTerminated(phaseScope)) {
-//            PartitionedSearchStepScope<Solution_> stepScope = new PartitionedSearchStepScope<>(phaseScope);
-//            stepScope.setTimeGradient(termination.calculatePhaseTimeGradient(phaseScope));
-//            stepStarted(stepScope);
-//            decider.decideNextStep(stepScope);
-//            if (stepScope.getStep() == null) {
-//                if (termination.isPhaseTerminated(phaseScope)) {
-//                    logger.trace("    Step index ({}), time spent ({}) terminated without picking a nextStep.",
-//                            stepScope.getStepIndex(),
-//                            stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow());
-//                } else if (stepScope.getSelectedMoveCount() == 0L) {
-//                    logger.warn("    No doable selected move at step index ({}), time spent ({})."
-//                            + " Terminating phase early.",
-//                            stepScope.getStepIndex(),
-//                            stepScope.getPhaseScope().calculateSolverTimeMillisSpentUpToNow());
-//                } else {
-//                    throw new IllegalStateException("The step index (" + stepScope.getStepIndex()
-//                            + ") has accepted/selected move count (" + stepScope.getAcceptedMoveCount() + "/"
-//                            + stepScope.getSelectedMoveCount()
-//                            + ") but failed to pick a nextStep (" + stepScope.getStep() + ").");
-//                }
-//                // Although stepStarted has been called, stepEnded is not called for this step
-//                break;
-//            }
-//            doStep(stepScope);
-//            stepEnded(stepScope);
-//            phaseScope.setLastCompletedStepScope(stepScope);
-//        }
     }
 
-    public PartitionSolver<Solution_> buildPartitionSolver(Semaphore activeThreadSemaphore,
+    protected void assertPartsReferenceWorkingEntities(DefaultSolverScope<Solution_> solverScope,
+            List<Solution_> partList) {
+        SolutionDescriptor<Solution_> solutionDescriptor = solverScope.getSolutionDescriptor();
+        Solution_ workingSolution = solverScope.getWorkingSolution();
+        Map<Object, Object> workingEntityMap = new IdentityHashMap<>(
+                solutionDescriptor.getEntityCount(workingSolution));
+        for (Iterator<Object> it = solutionDescriptor.extractAllEntitiesIterator(workingSolution); it.hasNext();) {
+            Object entity = it.next();
+            workingEntityMap.put(entity, entity);
+        }
+        for (Solution_ part : partList) {
+            for (Iterator<Object> it = solutionDescriptor.extractAllEntitiesIterator(part); it.hasNext();) {
+                Object partEntity = it.next();
+                if (!workingEntityMap.containsKey(partEntity)) {
+                    throw new IllegalStateException("The solutionPartitioner (" + solutionPartitioner
+                            + ") returned a part with an entity (" + partEntity
+                            + ") that is not an entity instance of the working solution.\n"
+                            + "  Maybe the solutionPartitioner copies the entities instead of"
+                            + " adding the original instances to the part.");
+                }
+            }
+        }
+    }
+
+    public PartitionSolver<Solution_> buildPartitionSolver(
+            ChildThreadPlumbingTermination childThreadPlumbingTermination, Semaphore activeThreadSemaphore,
             DefaultSolverScope<Solution_> solverScope) {
-        Termination partTermination = termination.createChildThreadTermination(solverScope, ChildThreadType.PART_THREAD);
+        Termination partTermination = new OrCompositeTermination(childThreadPlumbingTermination,
+                termination.createChildThreadTermination(solverScope, ChildThreadType.PART_THREAD));
         BestSolutionRecaller<Solution_> bestSolutionRecaller = new BestSolutionRecallerConfig()
                 .buildBestSolutionRecaller(configPolicy.getEnvironmentMode());
         List<Phase<Solution_>> phaseList = new ArrayList<>(phaseConfigList.size());
@@ -152,73 +223,59 @@ public class DefaultPartitionedSearchPhase<Solution_> extends AbstractPhase<Solu
         return new PartitionSolver<>(partTermination, bestSolutionRecaller, phaseList, partSolverScope);
     }
 
-    public void setActiveThreadCount(Integer activeThreadCount) {
-        this.activeThreadCount = activeThreadCount;
+    protected void doStep(PartitionedSearchStepScope<Solution_> stepScope) {
+        PartitionedSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        PartitionChangeMove nextStep = stepScope.getStep();
+        nextStep.doMove(stepScope.getScoreDirector());
+        Score score = phaseScope.calculateScore();
+        if (assertStepScoreFromScratch) {
+            phaseScope.assertWorkingScoreFromScratch(score, nextStep);
+        }
+        if (assertShadowVariablesAreNotStaleAfterStep) {
+            phaseScope.assertShadowVariablesAreNotStale(score, nextStep);
+        }
+        stepScope.setScore(score);
+        bestSolutionRecaller.processWorkingSolutionDuringStep(stepScope);
+    }
+
+    @Override
+    public void phaseStarted(PartitionedSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseStarted(phaseScope);
     }
 
-    //    private void doStep(PartitionedSearchStepScope<Solution_> stepScope) {
-//        Move nextStep = stepScope.getStep();
-//        nextStep.doMove(stepScope.getScoreDirector());
-//        predictWorkingStepScore(stepScope, nextStep);
-//        bestSolutionRecaller.processWorkingSolutionDuringStep(stepScope);
-//    }
-//
-//    @Override
-//    public void solvingStarted(DefaultSolverScope<Solution_> solverScope) {
-//        super.solvingStarted(solverScope);
-//        decider.solvingStarted(solverScope);
-//    }
-//
-//    @Override
-//    public void phaseStarted(PartitionedSearchPhaseScope<Solution_> phaseScope) {
-//        super.phaseStarted(phaseScope);
-//        decider.phaseStarted(phaseScope);
-//        // TODO maybe this restriction should be lifted to allow PartitionedSearch to initialize a solution too?
-//        assertWorkingSolutionInitialized(phaseScope);
-//    }
-//
-//    @Override
-//    public void stepStarted(PartitionedSearchStepScope<Solution_> stepScope) {
-//        super.stepStarted(stepScope);
-//        decider.stepStarted(stepScope);
-//    }
-//
-//    @Override
-//    public void stepEnded(PartitionedSearchStepScope<Solution_> stepScope) {
-//        super.stepEnded(stepScope);
-//        decider.stepEnded(stepScope);
-//        PartitionedSearchPhaseScope phaseScope = stepScope.getPhaseScope();
-//        if (logger.isDebugEnabled()) {
-//            logger.debug("    LS step ({}), time spent ({}), score ({}), {} best score ({})," +
-//                    " accepted/selected move count ({}/{}), picked move ({}).",
-//                    stepScope.getStepIndex(),
-//                    phaseScope.calculateSolverTimeMillisSpentUpToNow(),
-//                    stepScope.getScore(),
-//                    (stepScope.getBestScoreImproved() ? "new" : "   "), phaseScope.getBestScore(),
-//                    stepScope.getAcceptedMoveCount(),
-//                    stepScope.getSelectedMoveCount(),
-//                    stepScope.getStepString());
-//        }
-//    }
-//
-//    @Override
-//    public void phaseEnded(PartitionedSearchPhaseScope<Solution_> phaseScope) {
-//        super.phaseEnded(phaseScope);
-//        decider.phaseEnded(phaseScope);
-//        phaseScope.endingNow();
-//        logger.info("Local Search phase ({}) ended: time spent ({}), best score ({}),"
-//                        + " score calculation speed ({}/sec), step total ({}).",
-//                phaseIndex,
-//                phaseScope.calculateSolverTimeMillisSpentUpToNow(),
-//                phaseScope.getBestScore(),
-//                phaseScope.getPhaseScoreCalculationSpeed(),
-//                phaseScope.getNextStepIndex());
-//    }
-//
-//    @Override
-//    public void solvingEnded(DefaultSolverScope<Solution_> solverScope) {
-//        super.solvingEnded(solverScope);
-//        decider.solvingEnded(solverScope);
-//    }
+    @Override
+    public void stepStarted(PartitionedSearchStepScope<Solution_> stepScope) {
+        super.stepStarted(stepScope);
+    }
+
+    @Override
+    public void stepEnded(PartitionedSearchStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        PartitionedSearchPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        if (logger.isDebugEnabled()) {
+            logger.debug("    PS step ({}), time spent ({}), score ({}), {} best score ({}), picked move ({}).",
+                    stepScope.getStepIndex(),
+                    phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                    stepScope.getScore(),
+                    (stepScope.getBestScoreImproved() ? "new" : "   "), phaseScope.getBestScore(),
+                    stepScope.getStepString());
+        }
+    }
+
+    @Override
+    public void phaseEnded(PartitionedSearchPhaseScope<Solution_> phaseScope) {
+        super.phaseEnded(phaseScope);
+        phaseScope.endingNow();
+        logger.info("Partitioned Search phase ({}) ended: time spent ({}), best score ({}),"
+                        + " score calculation speed ({}/sec), step total ({}), partCount ({}),"
+                        + " activeThreadCount ({}).",
+                phaseIndex,
+                phaseScope.calculateSolverTimeMillisSpentUpToNow(),
+                phaseScope.getBestScore(),
+                phaseScope.getPhaseScoreCalculationSpeed(),
+                phaseScope.getNextStepIndex(),
+                phaseScope.getPartCount(),
+                activeThreadCount);
+    }
 
 }
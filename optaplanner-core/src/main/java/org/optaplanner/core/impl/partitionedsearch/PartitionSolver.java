@@ -16,11 +16,14 @@
 
 package org.optaplanner.core.impl.partitionedsearch;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
 import org.optaplanner.core.impl.phase.Phase;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
 import org.optaplanner.core.impl.solver.AbstractSolver;
 import org.optaplanner.core.impl.solver.ProblemFactChange;
@@ -50,6 +53,10 @@ public class PartitionSolver<Solution_> extends AbstractSolver<Solution_> {
         return solverScope.getScoreDirector().getScoreDirectorFactory();
     }
 
+    public InnerScoreDirector<Solution_> getScoreDirector() {
+        return solverScope.getScoreDirector();
+    }
+
     // ************************************************************************
     // Complex getters
     // ************************************************************************
@@ -73,6 +80,10 @@ public class PartitionSolver<Solution_> extends AbstractSolver<Solution_> {
         return endingSystemTimeMillis - solverScope.getStartingSystemTimeMillis();
     }
 
+    public long getScoreCalculationCount() {
+        return solverScope.getScoreCalculationCount();
+    }
+
     @Override
     public boolean isSolving() {
         throw new UnsupportedOperationException();
@@ -93,11 +104,33 @@ public class PartitionSolver<Solution_> extends AbstractSolver<Solution_> {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean addProblemFactChanges(
+            Collection<? extends ProblemFactChange<Solution_>> problemFactChangeCollection) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getPendingProblemFactChangeCount() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public boolean isEveryProblemFactChangeProcessed() {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public SolverMetricRegistry getMetricRegistry() {
+        return solverScope.getMetricRegistry();
+    }
+
+    @Override
+    public void setMetricRegistry(SolverMetricRegistry metricRegistry) {
+        // The metricRegistry is inherited from the parent solver
+        throw new UnsupportedOperationException();
+    }
+
     // ************************************************************************
     // Worker methods
     // ************************************************************************
@@ -118,11 +151,7 @@ public class PartitionSolver<Solution_> extends AbstractSolver<Solution_> {
         }
     }
 
-    public void solvingStarted(DefaultSolverScope<Solution_> solverScope) {
-        solverScope.setWorkingSolutionFromBestSolution();
-        super.solvingStarted(solverScope);
-    }
-
+    @Override
     public void solvingEnded(DefaultSolverScope<Solution_> solverScope) {
         super.solvingEnded(solverScope);
         solverScope.endingNow();
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.partitioner;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.common.accessor.MemberAccessor;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Abstract superclass for the built-in {@link SolutionPartitioner} implementations,
+ * which only decide which {@link PlanningEntity planning entities} belong together.
+ * <p>
+ * Every part is a shallow copy of the working solution (so it shares all problem facts),
+ * except that its entity properties only contain the entities of that part.
+ * Therefore the solution class needs a no-arg constructor
+ * and every entity (collection) property needs a setter.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see SolutionPartitioner
+ */
+public abstract class AbstractSolutionPartitioner<Solution_> implements SolutionPartitioner<Solution_> {
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final SolutionDescriptor<Solution_> solutionDescriptor;
+    protected final Integer partCount;
+
+    /**
+     * @param solutionDescriptor never null
+     * @param partCount null if every entity group becomes a part on its own,
+     * otherwise the entity groups are balanced over at most that many parts
+     */
+    public AbstractSolutionPartitioner(SolutionDescriptor<Solution_> solutionDescriptor, Integer partCount) {
+        this.solutionDescriptor = solutionDescriptor;
+        this.partCount = partCount;
+        if (partCount != null && partCount < 1) {
+            throw new IllegalArgumentException("The partitioner (" + getClass().getSimpleName()
+                    + ") has a partCount (" + partCount + ") which is lower than 1.");
+        }
+        for (EntityDescriptor<Solution_> entityDescriptor : solutionDescriptor.getGenuineEntityDescriptors()) {
+            if (entityDescriptor.hasAnyChainedGenuineVariables()) {
+                // The entities of a chain would have to be kept together, including its anchor
+                throw new IllegalArgumentException("The partitioner (" + getClass().getSimpleName()
+                        + ") does not support the entityClass (" + entityDescriptor.getEntityClass()
+                        + ") because it has a chained planning variable.\n"
+                        + "Maybe configure a custom solutionPartitionerClass instead.");
+            }
+        }
+        assertSetterSupport(solutionDescriptor.getEntityMemberAccessorMap().values());
+        assertSetterSupport(solutionDescriptor.getEntityCollectionMemberAccessorMap().values());
+    }
+
+    private void assertSetterSupport(Collection<MemberAccessor> memberAccessors) {
+        for (MemberAccessor memberAccessor : memberAccessors) {
+            if (!memberAccessor.supportSetter()) {
+                throw new IllegalArgumentException("The partitioner (" + getClass().getSimpleName()
+                        + ") cannot build parts for the solutionClass (" + solutionDescriptor.getSolutionClass()
+                        + ") because its entity property (" + memberAccessor.getName() + ") has no setter.");
+            }
+        }
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public List<Solution_> splitWorkingSolution(ScoreDirector<Solution_> scoreDirector) {
+        Solution_ workingSolution = scoreDirector.getWorkingSolution();
+        List<Object> entityList = solutionDescriptor.getEntityList(workingSolution);
+        List<List<Object>> entityGroupList = groupEntities(workingSolution, entityList);
+        List<List<Object>> partEntityListList = partCount == null ? entityGroupList
+                : balanceEntityGroups(entityGroupList, partCount);
+        List<Solution_> partList = new ArrayList<>(partEntityListList.size());
+        for (List<Object> partEntityList : partEntityListList) {
+            partList.add(buildPart(workingSolution, partEntityList));
+        }
+        logger.debug("    Split working solution ({} entities) into {} parts by {} entity groups.",
+                entityList.size(), partList.size(), entityGroupList.size());
+        return partList;
+    }
+
+    /**
+     * Entities of the same group always end up in the same part.
+     * @param workingSolution never null
+     * @param entityList never null, all the {@link PlanningEntity planning entities} of the working solution
+     * @return never null, every entity is in exactly 1 group, no group is empty
+     */
+    protected abstract List<List<Object>> groupEntities(Solution_ workingSolution, List<Object> entityList);
+
+    /**
+     * Merges the entity groups into at most partCount parts, without splitting up a group.
+     * Largest groups are assigned first, each to the part with the least entities so far.
+     * @param entityGroupList never null
+     * @param partCount {@code >= 1}
+     * @return never null, no part is empty
+     */
+    protected List<List<Object>> balanceEntityGroups(List<List<Object>> entityGroupList, int partCount) {
+        if (entityGroupList.size() <= partCount) {
+            return entityGroupList;
+        }
+        List<List<Object>> sortedEntityGroupList = new ArrayList<>(entityGroupList);
+        // Stable sort, so the result is reproducible
+        sortedEntityGroupList.sort(Comparator.comparingInt((List<Object> entityGroup) -> entityGroup.size())
+                .reversed());
+        List<List<Object>> partEntityListList = new ArrayList<>(partCount);
+        PriorityQueue<Integer> partIndexQueue = new PriorityQueue<>(partCount,
+                Comparator.comparingInt((Integer partIndex) -> partEntityListList.get(partIndex).size())
+                        .thenComparingInt(partIndex -> partIndex));
+        for (int partIndex = 0; partIndex < partCount; partIndex++) {
+            partEntityListList.add(new ArrayList<>());
+            partIndexQueue.add(partIndex);
+        }
+        for (List<Object> entityGroup : sortedEntityGroupList) {
+            Integer partIndex = partIndexQueue.poll();
+            partEntityListList.get(partIndex).addAll(entityGroup);
+            partIndexQueue.add(partIndex);
+        }
+        return partEntityListList;
+    }
+
+    protected Solution_ buildPart(Solution_ workingSolution, List<Object> partEntityList) {
+        Class<Solution_> solutionClass = (Class<Solution_>) workingSolution.getClass();
+        Solution_ part = constructPart(solutionClass);
+        copyFields(solutionClass, workingSolution, part);
+        Set<Object> partEntitySet = Collections.newSetFromMap(new IdentityHashMap<>(partEntityList.size()));
+        partEntitySet.addAll(partEntityList);
+        for (MemberAccessor entityMemberAccessor : solutionDescriptor.getEntityMemberAccessorMap().values()) {
+            Object entity = entityMemberAccessor.executeGetter(workingSolution);
+            if (entity != null && !partEntitySet.contains(entity)) {
+                entityMemberAccessor.executeSetter(part, null);
+            }
+        }
+        for (MemberAccessor entityCollectionMemberAccessor
+                : solutionDescriptor.getEntityCollectionMemberAccessorMap().values()) {
+            Collection<Object> entityCollection = (Collection<Object>)
+                    entityCollectionMemberAccessor.executeGetter(workingSolution);
+            Collection<Object> partEntityCollection = entityCollection instanceof Set
+                    ? new LinkedHashSet<>() : new ArrayList<>();
+            for (Object entity : entityCollection) {
+                if (partEntitySet.contains(entity)) {
+                    partEntityCollection.add(entity);
+                }
+            }
+            entityCollectionMemberAccessor.executeSetter(part, partEntityCollection);
+        }
+        solutionDescriptor.setScore(part, null);
+        return part;
+    }
+
+    private Solution_ constructPart(Class<Solution_> solutionClass) {
+        try {
+            Constructor<Solution_> constructor = solutionClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The solutionClass (" + solutionClass
+                    + ") should have a no-arg constructor to create a part.", e);
+        }
+    }
+
+    private void copyFields(Class<?> clazz, Solution_ workingSolution, Solution_ part) {
+        for (Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                try {
+                    field.set(part, field.get(workingSolution));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("The class (" + clazz + ")'s field (" + field.getName()
+                            + ") cannot be copied to create a part.", e);
+                }
+            }
+        }
+        Class<?> superclass = clazz.getSuperclass();
+        if (superclass != null) {
+            copyFields(superclass, workingSolution, part);
+        }
+    }
+
+}
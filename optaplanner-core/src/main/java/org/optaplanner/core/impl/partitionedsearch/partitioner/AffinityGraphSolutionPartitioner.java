@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.partitioner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
+
+/**
+ * Splits a {@link PlanningSolution} over an affinity graph of its {@link PlanningEntity planning entities}:
+ * 2 entities are connected if their {@link NearbyDistanceMeter#getNearbyDistance(Object, Object) nearby distance}
+ * is not above the maximumAffinityDistance.
+ * <p>
+ * Every connected component becomes an entity group, so entities that are connected never end up in different parts.
+ * If there is a partCount, every connected component that is bigger than an even share of the entities
+ * is cut into pieces of that size, each grown nearest first from a seed entity,
+ * so only few affinity edges cross a part boundary.
+ * Then those groups are balanced over at most partCount parts.
+ * <p>
+ * Building the graph measures the distance of every entity pair once,
+ * so its time complexity is quadratic in the number of entities.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class AffinityGraphSolutionPartitioner<Solution_> extends AbstractSolutionPartitioner<Solution_> {
+
+    protected final NearbyDistanceMeter<Object, Object> affinityMeter;
+    protected final double maximumAffinityDistance;
+
+    public AffinityGraphSolutionPartitioner(SolutionDescriptor<Solution_> solutionDescriptor, Integer partCount,
+            NearbyDistanceMeter<Object, Object> affinityMeter, double maximumAffinityDistance) {
+        super(solutionDescriptor, partCount);
+        this.affinityMeter = affinityMeter;
+        this.maximumAffinityDistance = maximumAffinityDistance;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    protected List<List<Object>> groupEntities(Solution_ workingSolution, List<Object> entityList) {
+        int entityCount = entityList.size();
+        List<List<AffinityEdge>> adjacencyListList = buildAdjacencyListList(entityList);
+        int maximumGroupSize = partCount == null ? Integer.MAX_VALUE : (entityCount + partCount - 1) / partCount;
+        List<List<Object>> entityGroupList = new ArrayList<>();
+        boolean[] grouped = new boolean[entityCount];
+        for (int seedIndex = 0; seedIndex < entityCount; seedIndex++) {
+            if (grouped[seedIndex]) {
+                continue;
+            }
+            // Grow nearest first, so when a connected component is cut, its pieces stay compact
+            List<Object> entityGroup = new ArrayList<>();
+            PriorityQueue<AffinityEdge> frontierQueue = new PriorityQueue<>(AffinityEdge.DISTANCE_COMPARATOR);
+            frontierQueue.add(new AffinityEdge(seedIndex, 0.0));
+            while (!frontierQueue.isEmpty() && entityGroup.size() < maximumGroupSize) {
+                AffinityEdge edge = frontierQueue.poll();
+                int index = edge.getTargetIndex();
+                if (grouped[index]) {
+                    continue;
+                }
+                grouped[index] = true;
+                entityGroup.add(entityList.get(index));
+                for (AffinityEdge neighbourEdge : adjacencyListList.get(index)) {
+                    if (!grouped[neighbourEdge.getTargetIndex()]) {
+                        frontierQueue.add(neighbourEdge);
+                    }
+                }
+            }
+            entityGroupList.add(entityGroup);
+        }
+        logger.trace("        Affinity graph of {} entities resulted in {} entity groups.",
+                entityCount, entityGroupList.size());
+        return entityGroupList;
+    }
+
+    private List<List<AffinityEdge>> buildAdjacencyListList(List<Object> entityList) {
+        int entityCount = entityList.size();
+        List<List<AffinityEdge>> adjacencyListList = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            adjacencyListList.add(new ArrayList<>());
+        }
+        for (int i = 0; i < entityCount; i++) {
+            Object origin = entityList.get(i);
+            for (int j = i + 1; j < entityCount; j++) {
+                Object destination = entityList.get(j);
+                // Distances can be asymmetrical, but an affinity edge is not
+                double distance = Math.min(affinityMeter.getNearbyDistance(origin, destination),
+                        affinityMeter.getNearbyDistance(destination, origin));
+                if (distance <= maximumAffinityDistance) {
+                    adjacencyListList.get(i).add(new AffinityEdge(j, distance));
+                    adjacencyListList.get(j).add(new AffinityEdge(i, distance));
+                }
+            }
+        }
+        return adjacencyListList;
+    }
+
+    private static final class AffinityEdge {
+
+        private static final Comparator<AffinityEdge> DISTANCE_COMPARATOR
+                = Comparator.comparingDouble(AffinityEdge::getDistance)
+                .thenComparingInt(AffinityEdge::getTargetIndex);
+
+        private final int targetIndex;
+        private final double distance;
+
+        public AffinityEdge(int targetIndex, double distance) {
+            this.targetIndex = targetIndex;
+            this.distance = distance;
+        }
+
+        public int getTargetIndex() {
+            return targetIndex;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+    }
+
+}
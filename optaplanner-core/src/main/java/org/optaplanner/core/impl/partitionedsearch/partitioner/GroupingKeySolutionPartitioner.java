@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.partitioner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+
+/**
+ * Splits a {@link PlanningSolution} by a user declared grouping key:
+ * all {@link PlanningEntity planning entities} with the same key end up in the same part.
+ * <p>
+ * If there is a partCount, the groups are balanced over at most that many parts.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see PartitionGroupingKeyExtractor
+ */
+public class GroupingKeySolutionPartitioner<Solution_> extends AbstractSolutionPartitioner<Solution_> {
+
+    protected final PartitionGroupingKeyExtractor<Solution_> groupingKeyExtractor;
+
+    public GroupingKeySolutionPartitioner(SolutionDescriptor<Solution_> solutionDescriptor, Integer partCount,
+            PartitionGroupingKeyExtractor<Solution_> groupingKeyExtractor) {
+        super(solutionDescriptor, partCount);
+        this.groupingKeyExtractor = groupingKeyExtractor;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    protected List<List<Object>> groupEntities(Solution_ workingSolution, List<Object> entityList) {
+        // LinkedHashMap to keep the part order reproducible
+        Map<Object, List<Object>> groupingKeyToEntityListMap = new LinkedHashMap<>();
+        for (Object entity : entityList) {
+            Object groupingKey = groupingKeyExtractor.extractGroupingKey(workingSolution, entity);
+            if (groupingKey == null) {
+                throw new IllegalStateException("The groupingKeyExtractor (" + groupingKeyExtractor
+                        + ") returned a null groupingKey for the entity (" + entity + ").");
+            }
+            groupingKeyToEntityListMap.computeIfAbsent(groupingKey, key -> new ArrayList<>()).add(entity);
+        }
+        return new ArrayList<>(groupingKeyToEntityListMap.values());
+    }
+
+}
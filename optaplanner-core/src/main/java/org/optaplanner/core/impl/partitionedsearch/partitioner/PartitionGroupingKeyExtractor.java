@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.partitioner;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+
+/**
+ * Extracts the key that decides in which part a {@link PlanningEntity} ends up
+ * when the {@link GroupingKeySolutionPartitioner} splits a {@link PlanningSolution}.
+ * <p>
+ * Entities with an {@link Object#equals(Object) equal} grouping key always end up in the same part,
+ * so a good grouping key makes sure no constraint matches entities of different groups.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see GroupingKeySolutionPartitioner
+ */
+public interface PartitionGroupingKeyExtractor<Solution_> {
+
+    /**
+     * @param solution never null, the {@link PlanningSolution} to which the entity belongs
+     * @param entity never null, a {@link PlanningEntity}
+     * @return never null, with a proper {@link Object#equals(Object)} and {@link Object#hashCode()}
+     */
+    Object extractGroupingKey(Solution_ solution, Object entity);
+
+}
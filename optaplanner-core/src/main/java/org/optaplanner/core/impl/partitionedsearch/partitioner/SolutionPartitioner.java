@@ -18,14 +18,32 @@ package org.optaplanner.core.impl.partitionedsearch.partitioner;
 
 import java.util.List;
 
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.partitionedsearch.DefaultPartitionedSearchPhase;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 
 /**
+ * Splits one {@link PlanningSolution solution} into multiple parts, which are solved independently
+ * by the {@link DefaultPartitionedSearchPhase}.
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
  */
 public interface SolutionPartitioner<Solution_> {
 
+    /**
+     * Returns a list of part {@link PlanningSolution solutions}
+     * for which each {@link PlanningEntity planning entity} is in exactly 1 of those parts.
+     * <p>
+     * A part must reference the original planning entity and problem fact instances of the working solution
+     * (not copies of them), but in its own collections.
+     * Every part is planning cloned before it is solved, so the working solution itself is never changed
+     * by a partition thread.
+     * A genuine planning variable of an entity in a part must only point to a value that is in that same part
+     * (or a problem fact that is not partitioned).
+     * @param scoreDirector never null, the {@link ScoreDirector}
+     * which has the {@link ScoreDirector#getWorkingSolution()} that needs to be split up
+     * @return never null, {@link List#size()} of at least 1.
+     */
     List<Solution_> splitWorkingSolution(ScoreDirector<Solution_> scoreDirector);
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.scope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.partitionedsearch.DefaultPartitionedSearchPhase;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+
+/**
+ * Applies a new best solution from a partition child solver into the global working solution of the parent solver.
+ * <p>
+ * The move is created on the partition thread, but it only references the original entities and values
+ * of the parent working solution, so it can be done on the parent solver thread.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see DefaultPartitionedSearchPhase
+ */
+public final class PartitionChangeMove<Solution_> extends AbstractMove {
+
+    /**
+     * @param partScoreDirector never null, the {@link ScoreDirector} of the partition solver
+     * @param partIndex {@code 0 <= partIndex < partCount}
+     * @param originalPart never null, the part as returned by the {@link SolutionPartitioner},
+     * so it references the entities of the parent working solution
+     * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+     * @return never null
+     */
+    public static <Solution_> PartitionChangeMove<Solution_> createMove(InnerScoreDirector<Solution_> partScoreDirector,
+            int partIndex, Solution_ originalPart) {
+        SolutionDescriptor<Solution_> solutionDescriptor = partScoreDirector.getSolutionDescriptor();
+        Solution_ workingSolution = partScoreDirector.getWorkingSolution();
+        int entityCount = solutionDescriptor.getEntityCount(workingSolution);
+        // The part's working solution is a planning clone of the original part, so the entity order is the same
+        Map<Object, Object> partToOriginalMap = new IdentityHashMap<>(entityCount);
+        Iterator<Object> originalIt = solutionDescriptor.extractAllEntitiesIterator(originalPart);
+        for (Iterator<Object> it = solutionDescriptor.extractAllEntitiesIterator(workingSolution); it.hasNext();) {
+            Object entity = it.next();
+            if (!originalIt.hasNext()) {
+                throw new IllegalStateException("The part's working solution has more entities than the original"
+                        + " part (" + originalPart + ").");
+            }
+            partToOriginalMap.put(entity, originalIt.next());
+        }
+        Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> changeMap = new LinkedHashMap<>(
+                solutionDescriptor.getEntityDescriptors().size() * 3);
+        for (EntityDescriptor<Solution_> entityDescriptor : solutionDescriptor.getEntityDescriptors()) {
+            for (GenuineVariableDescriptor<Solution_> variableDescriptor
+                    : entityDescriptor.getDeclaredGenuineVariableDescriptors()) {
+                changeMap.put(variableDescriptor, new ArrayList<>(entityCount));
+            }
+        }
+        for (Iterator<Object> it = solutionDescriptor.extractAllEntitiesIterator(workingSolution); it.hasNext();) {
+            Object entity = it.next();
+            EntityDescriptor<Solution_> entityDescriptor = solutionDescriptor.findEntityDescriptorOrFail(
+                    entity.getClass());
+            if (entityDescriptor.isMovable(partScoreDirector, entity)) {
+                Object originalEntity = partToOriginalMap.get(entity);
+                for (GenuineVariableDescriptor<Solution_> variableDescriptor
+                        : entityDescriptor.getGenuineVariableDescriptors()) {
+                    Object value = variableDescriptor.getValue(entity);
+                    // A value that isn't an entity (so a problem fact) is shared with the parent working solution
+                    Object originalValue = value == null ? null : partToOriginalMap.getOrDefault(value, value);
+                    changeMap.get(variableDescriptor).add(Pair.of(originalEntity, originalValue));
+                }
+            }
+        }
+        return new PartitionChangeMove<>(changeMap, partIndex);
+    }
+
+    private final Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> changeMap;
+    private final int partIndex;
+
+    public PartitionChangeMove(Map<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> changeMap,
+            int partIndex) {
+        this.changeMap = changeMap;
+        this.partIndex = partIndex;
+    }
+
+    public int getPartIndex() {
+        return partIndex;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector scoreDirector) {
+        return true;
+    }
+
+    @Override
+    public Move createUndoMove(ScoreDirector scoreDirector) {
+        throw new UnsupportedOperationException("Impossible state: undo move on " + getClass().getSimpleName()
+                + " is not supported.");
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector scoreDirector) {
+        for (Map.Entry<GenuineVariableDescriptor<Solution_>, List<Pair<Object, Object>>> entry
+                : changeMap.entrySet()) {
+            GenuineVariableDescriptor<Solution_> variableDescriptor = entry.getKey();
+            for (Pair<Object, Object> pair : entry.getValue()) {
+                Object entity = pair.getKey();
+                Object value = pair.getValue();
+                scoreDirector.changeVariableFacade(variableDescriptor, entity, value);
+            }
+        }
+    }
+
+    // ************************************************************************
+    // Introspection methods
+    // ************************************************************************
+
+    @Override
+    public Collection<? extends Object> getPlanningEntities() {
+        Set<Object> entitySet = new LinkedHashSet<>();
+        for (List<Pair<Object, Object>> pairList : changeMap.values()) {
+            for (Pair<Object, Object> pair : pairList) {
+                entitySet.add(pair.getKey());
+            }
+        }
+        return entitySet;
+    }
+
+    @Override
+    public Collection<? extends Object> getPlanningValues() {
+        Set<Object> valueSet = new LinkedHashSet<>();
+        for (List<Pair<Object, Object>> pairList : changeMap.values()) {
+            for (Pair<Object, Object> pair : pairList) {
+                valueSet.add(pair.getValue());
+            }
+        }
+        return valueSet;
+    }
+
+    @Override
+    public String toString() {
+        int changeCount = 0;
+        for (List<Pair<Object, Object>> pairList : changeMap.values()) {
+            changeCount += pairList.size();
+        }
+        return "part-" + partIndex + " {" + changeCount + " variables changed}";
+    }
+
+}
@@ -28,6 +28,7 @@ import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.solver.thread.SolverThreadTicket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +42,7 @@ public abstract class AbstractPhaseScope<Solution_> {
     protected final DefaultSolverScope<Solution_> solverScope;
 
     protected Long startingSystemTimeMillis;
+    protected long startingGrantedTimeMillis;
     protected Long startingScoreCalculationCount;
     protected Score startingScore;
     protected Long endingSystemTimeMillis;
@@ -93,12 +95,14 @@ public abstract class AbstractPhaseScope<Solution_> {
 
     public void startingNow() {
         startingSystemTimeMillis = System.currentTimeMillis();
-        startingScoreCalculationCount = getScoreDirector().getCalculationCount();
+        SolverThreadTicket threadTicket = solverScope.getThreadTicket();
+        startingGrantedTimeMillis = threadTicket == null ? 0L : threadTicket.calculateGrantedTimeMillisUpToNow();
+        startingScoreCalculationCount = getSolverScope().getScoreCalculationCount();
     }
 
     public void endingNow() {
         endingSystemTimeMillis = System.currentTimeMillis();
-        endingScoreCalculationCount = getScoreDirector().getCalculationCount();
+        endingScoreCalculationCount = getSolverScope().getScoreCalculationCount();
     }
 
     public SolutionDescriptor<Solution_> getSolutionDescriptor() {
@@ -118,6 +122,18 @@ public abstract class AbstractPhaseScope<Solution_> {
         return now - startingSystemTimeMillis;
     }
 
+    /**
+     * @return at least 0
+     * @see DefaultSolverScope#calculateGrantedTimeMillisSpentUpToNow()
+     */
+    public long calculatePhaseGrantedTimeMillisSpentUpToNow() {
+        SolverThreadTicket threadTicket = solverScope.getThreadTicket();
+        if (threadTicket == null) {
+            return calculatePhaseTimeMillisSpentUpToNow();
+        }
+        return threadTicket.calculateGrantedTimeMillisUpToNow() - startingGrantedTimeMillis;
+    }
+
     public long getPhaseTimeMillisSpent() {
         return endingSystemTimeMillis - startingSystemTimeMillis;
     }
@@ -215,6 +231,21 @@ public abstract class AbstractPhaseScope<Solution_> {
         return bestSolutionTimeMillis;
     }
 
+    /**
+     * @return comparable with {@link DefaultSolverScope#calculateGrantedTimeMillisUpToNow()}
+     * @see #getPhaseBestSolutionTimeMillis()
+     */
+    public long getPhaseBestSolutionGrantedTimeMillis() {
+        long bestSolutionGrantedTimeMillis = solverScope.getBestSolutionGrantedTimeMillis();
+        long phaseStartingGrantedTimeMillis = solverScope.getThreadTicket() == null
+                ? startingSystemTimeMillis : startingGrantedTimeMillis;
+        // If the termination is explicitly phase configured, previous phases must not affect it
+        if (bestSolutionGrantedTimeMillis < phaseStartingGrantedTimeMillis) {
+            bestSolutionGrantedTimeMillis = phaseStartingGrantedTimeMillis;
+        }
+        return bestSolutionGrantedTimeMillis;
+    }
+
     public int getNextStepIndex() {
         return getLastCompletedStepScope().getStepIndex() + 1;
     }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.definition.ScoreDefinition;
+
+/**
+ * Converts a {@link Score} with only int or long levels to a packed {@code long[]} and back.
+ * The packed score is {@code [initScore, level0, level1, ...]},
+ * so comparing it lexicographically is the same as {@link Score#compareTo(Object)}.
+ * <p>
+ * This allows comparing scores in the hot path without creating a {@link Score} instance per move.
+ */
+public final class PackedScoreConverter {
+
+    /**
+     * @param scoreDefinition never null
+     * @param templateScore never null, any score of the scoreDefinition, to determine the level types
+     * @return null if the score type has a level that isn't an int or a long
+     */
+    public static PackedScoreConverter build(ScoreDefinition scoreDefinition, Score templateScore) {
+        Number[] levelNumbers = templateScore.toLevelNumbers();
+        boolean[] longLevels = new boolean[levelNumbers.length];
+        for (int i = 0; i < levelNumbers.length; i++) {
+            Number levelNumber = levelNumbers[i];
+            if (levelNumber instanceof Long) {
+                longLevels[i] = true;
+            } else if (!(levelNumber instanceof Integer)) {
+                return null;
+            }
+        }
+        return new PackedScoreConverter(scoreDefinition, longLevels);
+    }
+
+    /**
+     * @param packedScore never null
+     * @param otherPackedScore never null, same length as packedScore
+     * @return same as {@link Score#compareTo(Object)} on the unpacked scores
+     */
+    public static int compare(long[] packedScore, long[] otherPackedScore) {
+        for (int i = 0; i < packedScore.length; i++) {
+            if (packedScore[i] != otherPackedScore[i]) {
+                return packedScore[i] < otherPackedScore[i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private final ScoreDefinition scoreDefinition;
+    private final boolean[] longLevels;
+
+    private PackedScoreConverter(ScoreDefinition scoreDefinition, boolean[] longLevels) {
+        this.scoreDefinition = scoreDefinition;
+        this.longLevels = longLevels;
+    }
+
+    /**
+     * @return never null, a new array that fits a packed score
+     */
+    public long[] createPackedScore() {
+        return new long[longLevels.length + 1];
+    }
+
+    /**
+     * @param score never null
+     * @param packedScore never null, see {@link #createPackedScore()}
+     */
+    public void pack(Score score, long[] packedScore) {
+        packedScore[0] = score.getInitScore();
+        Number[] levelNumbers = score.toLevelNumbers();
+        for (int i = 0; i < levelNumbers.length; i++) {
+            packedScore[i + 1] = levelNumbers[i].longValue();
+        }
+    }
+
+    /**
+     * @param packedScore never null, see {@link #createPackedScore()}
+     * @return never null
+     */
+    public Score unpack(long[] packedScore) {
+        Number[] levelNumbers = new Number[longLevels.length];
+        for (int i = 0; i < levelNumbers.length; i++) {
+            long level = packedScore[i + 1];
+            levelNumbers[i] = longLevels[i] ? (Number) level : (Number) (int) level;
+        }
+        return scoreDefinition.fromLevelNumbers((int) packedScore[0], levelNumbers);
+    }
+
+}
@@ -31,6 +31,8 @@ import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
@@ -66,8 +68,12 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     protected Solution_ workingSolution;
     protected long workingEntityListRevision = 0L;
     protected Integer workingInitScore = null;
+    /** Only used by a move thread {@link ScoreDirector}, see {@link #lookUpWorkingObject(Object)}. */
+    protected Map<Object, Object> workingObjectLookUpMap = null;
 
     protected boolean allChangesWillBeUndoneBeforeStepEnds = false;
+    protected final List<WorkingVariableChangeListener<Solution_>> workingVariableChangeListenerList = new ArrayList<>(2);
+    protected SolverMetricRegistry metricRegistry = null;
 
     protected long calculationCount = 0L;
 
@@ -121,6 +127,50 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         this.allChangesWillBeUndoneBeforeStepEnds = allChangesWillBeUndoneBeforeStepEnds;
     }
 
+    @Override
+    public void addWorkingVariableChangeListener(
+            WorkingVariableChangeListener<Solution_> workingVariableChangeListener) {
+        workingVariableChangeListenerList.add(workingVariableChangeListener);
+    }
+
+    @Override
+    public void removeWorkingVariableChangeListener(
+            WorkingVariableChangeListener<Solution_> workingVariableChangeListener) {
+        workingVariableChangeListenerList.remove(workingVariableChangeListener);
+    }
+
+    @Override
+    public void setMetricRegistry(SolverMetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public boolean isPackedScoreSupported() {
+        return false;
+    }
+
+    @Override
+    public void calculatePackedScore(long[] packedScore) {
+        throw new UnsupportedOperationException("The scoreDirector (" + getClass().getSimpleName()
+                + ") does not support packed score calculation.");
+    }
+
+    @Override
+    public boolean isRejectionThresholdSupported() {
+        return false;
+    }
+
+    @Override
+    public Score calculateScore(Score rejectionThreshold) {
+        return calculateScore();
+    }
+
+    @Override
+    public boolean calculatePackedScore(long[] packedScore, long[] packedRejectionThreshold) {
+        calculatePackedScore(packedScore);
+        return true;
+    }
+
     @Override
     public long getCalculationCount() {
         return calculationCount;
@@ -144,6 +194,7 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     public void setWorkingSolution(Solution_ workingSolution) {
         this.workingSolution = workingSolution;
         workingInitScore = - getSolutionDescriptor().countUninitializedVariables(workingSolution);
+        workingObjectLookUpMap = null;
         variableListenerSupport.resetWorkingSolution();
         setWorkingEntityListDirty();
     }
@@ -166,7 +217,14 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     public Solution_ cloneSolution(Solution_ originalSolution) {
         SolutionDescriptor<Solution_> solutionDescriptor = getSolutionDescriptor();
         Score originalScore = solutionDescriptor.getScore(originalSolution);
-        Solution_ cloneSolution = solutionDescriptor.getSolutionCloner().cloneSolution(originalSolution);
+        Solution_ cloneSolution;
+        if (metricRegistry == null) {
+            cloneSolution = solutionDescriptor.getSolutionCloner().cloneSolution(originalSolution);
+        } else {
+            long startingNanoTime = System.nanoTime();
+            cloneSolution = solutionDescriptor.getSolutionCloner().cloneSolution(originalSolution);
+            metricRegistry.recordTime(SolverTimerType.SOLUTION_CLONE, System.nanoTime() - startingNanoTime);
+        }
         Score cloneScore = solutionDescriptor.getScore(cloneSolution);
         if (scoreDirectorFactory.isAssertClonedSolution()) {
             if (!Objects.equals(originalScore, cloneScore)) {
@@ -211,7 +269,13 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
 
     @Override
     public void triggerVariableListeners() {
-        variableListenerSupport.triggerVariableListenersInNotificationQueues();
+        if (metricRegistry == null) {
+            variableListenerSupport.triggerVariableListenersInNotificationQueues();
+        } else {
+            long startingNanoTime = System.nanoTime();
+            variableListenerSupport.triggerVariableListenersInNotificationQueues();
+            metricRegistry.recordTime(SolverTimerType.VARIABLE_LISTENER, System.nanoTime() - startingNanoTime);
+        }
     }
 
     protected void setCalculatedScore(Score score) {
@@ -251,20 +315,67 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
     public InnerScoreDirector<Solution_> createChildThreadScoreDirector(ChildThreadType childThreadType) {
         AbstractScoreDirector<Solution_, Factory_> childThreadScoreDirector = (AbstractScoreDirector<Solution_, Factory_>)
                 scoreDirectorFactory.buildScoreDirector(constraintMatchEnabledPreference);
+        childThreadScoreDirector.metricRegistry = metricRegistry;
         if (childThreadType == ChildThreadType.PART_THREAD) {
             // ScoreCalculationCountTermination takes into account previous phases
             // but the calculationCount of partitions is maxed, not summed.
             childThreadScoreDirector.calculationCount = calculationCount;
+        } else if (childThreadType == ChildThreadType.MOVE_THREAD) {
+            Solution_ childWorkingSolution = cloneWorkingSolution();
+            childThreadScoreDirector.setWorkingSolution(childWorkingSolution);
+            childThreadScoreDirector.workingObjectLookUpMap
+                    = buildWorkingObjectLookUpMap(workingSolution, childWorkingSolution);
         } else {
             throw new IllegalStateException("The childThreadType (" + childThreadType + ") is not implemented.");
         }
         return childThreadScoreDirector;
     }
 
+    /**
+     * A planning clone preserves the order of the planning entities,
+     * so the entities of the original and its clone are matched by position.
+     * @param originalSolution never null
+     * @param cloneSolution never null, a planning clone of the originalSolution
+     * @return never null
+     */
+    protected Map<Object, Object> buildWorkingObjectLookUpMap(Solution_ originalSolution, Solution_ cloneSolution) {
+        SolutionDescriptor<Solution_> solutionDescriptor = getSolutionDescriptor();
+        Map<Object, Object> lookUpMap = new IdentityHashMap<>(solutionDescriptor.getEntityCount(originalSolution));
+        Iterator<Object> cloneIt = solutionDescriptor.extractAllEntitiesIterator(cloneSolution);
+        for (Iterator<Object> originalIt = solutionDescriptor.extractAllEntitiesIterator(originalSolution);
+                originalIt.hasNext();) {
+            Object originalEntity = originalIt.next();
+            Object cloneEntity = cloneIt.hasNext() ? cloneIt.next() : null;
+            if (cloneEntity == null || originalEntity.getClass() != cloneEntity.getClass()) {
+                throw new IllegalStateException("Cloning corruption: "
+                        + "the original entity (" + originalEntity
+                        + ") does not match the clone entity (" + cloneEntity + ") at the same position.\n"
+                        + "Check the " + SolutionCloner.class.getSimpleName() + ".");
+            }
+            lookUpMap.put(originalEntity, cloneEntity);
+        }
+        return lookUpMap;
+    }
+
+    @Override
+    public <E> E lookUpWorkingObject(E externalObject) {
+        if (workingObjectLookUpMap == null) {
+            throw new IllegalStateException("The scoreDirector (" + this
+                    + ") does not support lookUpWorkingObject() because it is not a move thread scoreDirector.");
+        }
+        if (externalObject == null) {
+            return null;
+        }
+        E workingObject = (E) workingObjectLookUpMap.get(externalObject);
+        // Problem facts are not planning cloned
+        return workingObject == null ? externalObject : workingObject;
+    }
+
     @Override
     public void dispose() {
         workingSolution = null;
         workingInitScore = null;
+        workingObjectLookUpMap = null;
         variableListenerSupport.clearWorkingSolution();
     }
 
@@ -323,6 +434,10 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         if (variableDescriptor.isGenuineAndUninitialized(entity)) {
             workingInitScore++;
         }
+        // Indexed loop to avoid creating an Iterator per variable change
+        for (int i = 0; i < workingVariableChangeListenerList.size(); i++) {
+            workingVariableChangeListenerList.get(i).beforeVariableChanged(variableDescriptor, entity);
+        }
         variableListenerSupport.beforeVariableChanged(variableDescriptor, entity);
     }
 
@@ -331,6 +446,9 @@ public abstract class AbstractScoreDirector<Solution_, Factory_ extends Abstract
         if (variableDescriptor.isGenuineAndUninitialized(entity)) {
             workingInitScore--;
         }
+        for (int i = 0; i < workingVariableChangeListenerList.size(); i++) {
+            workingVariableChangeListenerList.get(i).afterVariableChanged(variableDescriptor, entity);
+        }
         variableListenerSupport.afterVariableChanged(variableDescriptor, entity);
     }
 
@@ -21,9 +21,11 @@ import java.util.List;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatch;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import org.optaplanner.core.impl.domain.variable.listener.VariableListener;
 import org.optaplanner.core.impl.domain.variable.supply.SupplyManager;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.solver.ChildThreadType;
 
@@ -94,6 +96,45 @@ public interface InnerScoreDirector<Solution_> extends ScoreDirector<Solution_>
      */
     int getWorkingValueCount();
 
+    /**
+     * @return true if {@link #calculatePackedScore(long[])} is supported
+     */
+    boolean isPackedScoreSupported();
+
+    /**
+     * Like {@link #calculateScore()}, but writes the {@link Score} in a packed array instead,
+     * so no {@link Score} instance is created.
+     * Unlike {@link #calculateScore()}, this does not set the score of the {@link PlanningSolution working solution}.
+     * <p>
+     * Only call this if {@link #isPackedScoreSupported()} returns true.
+     * @param packedScore never null, see {@link PackedScoreConverter#createPackedScore()}
+     */
+    void calculatePackedScore(long[] packedScore);
+
+    /**
+     * @return true if {@link #calculateScore(Score)} and {@link #calculatePackedScore(long[], long[])}
+     * can abandon a calculation
+     */
+    boolean isRejectionThresholdSupported();
+
+    /**
+     * Like {@link #calculateScore()}, but it might abandon the calculation
+     * if the {@link Score} is certainly lower than the rejectionThreshold.
+     * @param rejectionThreshold never null
+     * @return null if the calculation was abandoned, in which case the score of the
+     * {@link PlanningSolution working solution} is not set
+     */
+    Score calculateScore(Score rejectionThreshold);
+
+    /**
+     * Like {@link #calculatePackedScore(long[])}, but it might abandon the calculation
+     * if the score is certainly lower than the packedRejectionThreshold.
+     * @param packedScore never null, see {@link PackedScoreConverter#createPackedScore()}
+     * @param packedRejectionThreshold never null, same format as packedScore
+     * @return false if the calculation was abandoned, in which case packedScore is undefined
+     */
+    boolean calculatePackedScore(long[] packedScore, long[] packedRejectionThreshold);
+
     /**
      * @return at least 0L
      */
@@ -124,6 +165,24 @@ public interface InnerScoreDirector<Solution_> extends ScoreDirector<Solution_>
      */
     void setAllChangesWillBeUndoneBeforeStepEnds(boolean allChangesWillBeUndoneBeforeStepEnds);
 
+    /**
+     * Not copied by {@link #clone()} or {@link #createChildThreadScoreDirector(ChildThreadType)}.
+     * @param workingVariableChangeListener never null
+     */
+    void addWorkingVariableChangeListener(WorkingVariableChangeListener<Solution_> workingVariableChangeListener);
+
+    /**
+     * @param workingVariableChangeListener never null
+     */
+    void removeWorkingVariableChangeListener(WorkingVariableChangeListener<Solution_> workingVariableChangeListener);
+
+    /**
+     * Records the duration of the planning clones and the variable listeners.
+     * Copied by {@link #createChildThreadScoreDirector(ChildThreadType)}, but not by {@link #clone()}.
+     * @param metricRegistry null if the hot path metrics are not recorded
+     */
+    void setMetricRegistry(SolverMetricRegistry metricRegistry);
+
     /**
      * Asserts that if the {@link Score} is calculated for the current {@link PlanningSolution working solution}
      * in the current {@link ScoreDirector} (with possibly incremental calculation residue),
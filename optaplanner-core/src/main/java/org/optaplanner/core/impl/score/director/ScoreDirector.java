@@ -26,6 +26,8 @@ import org.optaplanner.core.api.score.constraint.ConstraintMatch;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.solver.ChildThreadType;
 
 /**
  * The ScoreDirector holds the {@link PlanningSolution working solution}
@@ -120,6 +122,22 @@ public interface ScoreDirector<Solution_> {
 
     void afterProblemFactRemoved(Object problemFact);
 
+    /**
+     * Translates an entity or fact instance (often from another {@link Thread} or JVM)
+     * to this {@link ScoreDirector}'s internal working instance.
+     * Useful for {@link Move#rebase(ScoreDirector)}.
+     * <p>
+     * Only planning entities are translated: problem facts are shared between planning clones,
+     * so a problem fact is returned as is.
+     * Only supported on a {@link ScoreDirector} that was built for a move thread
+     * (see {@link InnerScoreDirector#createChildThreadScoreDirector(ChildThreadType)}).
+     * @param externalObject sometimes null
+     * @return null if externalObject is null
+     * @throws IllegalStateException if this {@link ScoreDirector} doesn't support look ups
+     * @param <E> the object type
+     */
+    <E> E lookUpWorkingObject(E externalObject);
+
     /**
      * Needs to be called after use because some implementations needs to clean up their resources.
      */
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.listener.VariableListener;
+
+/**
+ * Notified before and after any genuine or shadow variable of the {@link PlanningSolution working solution} changes,
+ * including changes that are undone before the step ends.
+ * Unlike a {@link VariableListener}, it can't change the working solution.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see InnerScoreDirector#addWorkingVariableChangeListener(WorkingVariableChangeListener)
+ */
+public interface WorkingVariableChangeListener<Solution_> {
+
+    /**
+     * @param variableDescriptor never null
+     * @param entity never null, still has the old value
+     */
+    void beforeVariableChanged(VariableDescriptor<Solution_> variableDescriptor, Object entity);
+
+    /**
+     * @param variableDescriptor never null
+     * @param entity never null, already has the new value
+     */
+    default void afterVariableChanged(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+    }
+
+}
@@ -23,6 +23,7 @@ import org.kie.api.runtime.rule.FactHandle;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.score.holder.PackedScoreHolder;
 import org.optaplanner.core.api.score.holder.ScoreHolder;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
@@ -89,6 +90,19 @@ public class DroolsScoreDirector<Solution_>
         return score;
     }
 
+    @Override
+    public boolean isPackedScoreSupported() {
+        return workingScoreHolder instanceof PackedScoreHolder;
+    }
+
+    @Override
+    public void calculatePackedScore(long[] packedScore) {
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        kieSession.fireAllRules();
+        ((PackedScoreHolder) workingScoreHolder).extractPackedScore(workingInitScore, packedScore);
+        calculationCount++;
+    }
+
     @Override
     public boolean isConstraintMatchEnabled() {
         return workingScoreHolder.isConstraintMatchEnabled();
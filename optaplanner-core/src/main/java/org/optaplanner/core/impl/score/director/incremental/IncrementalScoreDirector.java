@@ -72,6 +72,53 @@ public class IncrementalScoreDirector<Solution_>
         return score;
     }
 
+    @Override
+    public boolean isPackedScoreSupported() {
+        return incrementalScoreCalculator instanceof PackedIncrementalScoreCalculator;
+    }
+
+    @Override
+    public void calculatePackedScore(long[] packedScore) {
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        ((PackedIncrementalScoreCalculator<Solution_>) incrementalScoreCalculator)
+                .calculatePackedScore(workingInitScore, packedScore);
+        calculationCount++;
+    }
+
+    @Override
+    public boolean isRejectionThresholdSupported() {
+        return incrementalScoreCalculator instanceof LazyIncrementalScoreCalculator;
+    }
+
+    @Override
+    public Score calculateScore(Score rejectionThreshold) {
+        if (!isRejectionThresholdSupported()) {
+            return calculateScore();
+        }
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        Score score = ((LazyIncrementalScoreCalculator<Solution_>) incrementalScoreCalculator)
+                .calculateScore(workingInitScore, rejectionThreshold);
+        if (score == null) {
+            calculationCount++;
+            return null;
+        }
+        setCalculatedScore(score);
+        return score;
+    }
+
+    @Override
+    public boolean calculatePackedScore(long[] packedScore, long[] packedRejectionThreshold) {
+        if (!isRejectionThresholdSupported()) {
+            calculatePackedScore(packedScore);
+            return true;
+        }
+        variableListenerSupport.assertNotificationQueuesAreEmpty();
+        boolean completed = ((PackedIncrementalScoreCalculator<Solution_>) incrementalScoreCalculator)
+                .calculatePackedScore(workingInitScore, packedScore, packedRejectionThreshold);
+        calculationCount++;
+        return completed;
+    }
+
     @Override
     public boolean isConstraintMatchEnabled() {
         return constraintMatchEnabledPreference
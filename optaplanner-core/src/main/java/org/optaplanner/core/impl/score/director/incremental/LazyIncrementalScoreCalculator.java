@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.incremental;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
+
+/**
+ * An {@link IncrementalScoreCalculator} that can abandon a {@link Score} calculation
+ * as soon as it knows that the {@link Score} is lower than a rejection threshold,
+ * because such a move will be rejected by the {@link Acceptor} anyway.
+ * <p>
+ * For example, if the hard constraints are cheap and the soft constraints are expensive,
+ * it can calculate the hard score first and skip the soft constraints
+ * if the hard score is already lower than the hard score of the rejection threshold.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see PackedIncrementalScoreCalculator#calculatePackedScore(int, long[], long[])
+ */
+public interface LazyIncrementalScoreCalculator<Solution_> extends IncrementalScoreCalculator<Solution_> {
+
+    /**
+     * Like {@link #calculateScore(int)}, but it is allowed to return null
+     * if the {@link Score} is certainly lower than the rejectionThreshold.
+     * @param initScore {@code <= 0}, managed by OptaPlanner, needed as a parameter in the {@link Score}'s creation
+     * method, see {@link Score#getInitScore()}
+     * @param rejectionThreshold never null, compare it with {@link Score#compareTo(Object)} semantics
+     * @return null if the calculation was abandoned, because the score is lower than the rejectionThreshold
+     */
+    Score calculateScore(int initScore, Score rejectionThreshold);
+
+}
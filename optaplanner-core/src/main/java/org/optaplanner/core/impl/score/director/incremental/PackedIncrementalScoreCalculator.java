@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score.director.incremental;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
+
+/**
+ * An {@link IncrementalScoreCalculator} that can also calculate its {@link Score} without creating a {@link Score}
+ * instance, so Local Search can evaluate a move without any garbage.
+ * Only supported for score types that have int or long levels.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @see PackedScoreConverter
+ */
+public interface PackedIncrementalScoreCalculator<Solution_> extends IncrementalScoreCalculator<Solution_> {
+
+    /**
+     * Like {@link #calculateScore(int)}, but writes the score in a packed array instead,
+     * as {@code [initScore, level0, level1, ...]}.
+     * Bendable scores write all hard levels before all soft levels.
+     * @param initScore {@code <= 0}, managed by OptaPlanner, see {@link Score#getInitScore()}
+     * @param packedScore never null, its length is the number of levels plus 1
+     */
+    void calculatePackedScore(int initScore, long[] packedScore);
+
+    /**
+     * Like {@link #calculatePackedScore(int, long[])}, but it is allowed to abandon the calculation
+     * if the score is certainly lower than the packedRejectionThreshold.
+     * Only called if this is also a {@link LazyIncrementalScoreCalculator}.
+     * <p>
+     * Defaults to never abandoning.
+     * @param initScore {@code <= 0}, managed by OptaPlanner, see {@link Score#getInitScore()}
+     * @param packedScore never null, its length is the number of levels plus 1
+     * @param packedRejectionThreshold never null, same format as packedScore
+     * @return false if the calculation was abandoned, in which case packedScore is undefined
+     * @see PackedScoreConverter#compare(long[], long[])
+     */
+    default boolean calculatePackedScore(int initScore, long[] packedScore, long[] packedRejectionThreshold) {
+        calculatePackedScore(initScore, packedScore);
+        return true;
+    }
+
+}
@@ -19,8 +19,10 @@ package org.optaplanner.core.impl.solver;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.api.solver.manager.SolverManager;
 import org.optaplanner.core.config.SolverConfigContext;
 import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.manager.SolverManagerConfig;
 
 /**
  * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
@@ -57,6 +59,21 @@ public class AbstractSolverFactory<Solution_> extends SolverFactory<Solution_> {
         return solverConfig.buildSolver(solverConfigContext);
     }
 
+    @Override
+    public <ProblemId_> SolverManager<Solution_, ProblemId_> buildSolverManager() {
+        return buildSolverManager(new SolverManagerConfig());
+    }
+
+    @Override
+    public <ProblemId_> SolverManager<Solution_, ProblemId_> buildSolverManager(
+            SolverManagerConfig solverManagerConfig) {
+        if (solverConfig == null) {
+            throw new IllegalStateException("The solverConfig (" + solverConfig + ") is null," +
+                    " call configure(...) first.");
+        }
+        return solverManagerConfig.buildSolverManager(solverConfigContext, solverConfig);
+    }
+
     @Override
     public SolverFactory<Solution_> cloneSolverFactory() {
         if (solverConfig == null) {
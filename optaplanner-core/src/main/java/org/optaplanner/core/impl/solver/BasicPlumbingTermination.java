@@ -16,7 +16,9 @@
 
 package org.optaplanner.core.impl.solver;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -34,12 +36,23 @@ public class BasicPlumbingTermination extends AbstractTermination {
     protected final boolean daemon;
 
     protected boolean terminatedEarly = false;
-    protected BlockingQueue<ProblemFactChange> problemFactChangeQueue = new LinkedBlockingQueue<>();
+    protected final BlockingQueue<ProblemFactChange> problemFactChangeQueue;
 
     protected boolean problemFactChangesBeingProcessed = false;
+    /** True while a phase applies the problem fact changes in place, so they don't terminate the solver */
+    protected boolean problemFactChangesAppliedInPlace = false;
 
     public BasicPlumbingTermination(boolean daemon) {
+        this(daemon, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param daemon true if {@link #waitForRestartSolverDecision()} blocks
+     * @param problemFactChangeQueueCapacity {@code >= 1}
+     */
+    public BasicPlumbingTermination(boolean daemon, int problemFactChangeQueueCapacity) {
         this.daemon = daemon;
+        problemFactChangeQueue = new LinkedBlockingQueue<>(problemFactChangeQueueCapacity);
     }
 
     // ************************************************************************
@@ -101,9 +114,40 @@ public class BasicPlumbingTermination extends AbstractTermination {
         return added;
     }
 
-    public synchronized BlockingQueue<ProblemFactChange> startProblemFactChangesProcessing() {
+    /**
+     * Adds all of them or none of them, so they are processed together.
+     * <p>
+     * Concurrency note: unblocks {@link #waitForRestartSolverDecision()}.
+     * @param problemFactChangeCollection never null
+     * @return as specified by {@link Collection#addAll}
+     * @throws IllegalStateException if the queue doesn't have enough remaining capacity for all of them
+     */
+    public synchronized boolean addProblemFactChanges(
+            Collection<? extends ProblemFactChange> problemFactChangeCollection) {
+        int remainingCapacity = problemFactChangeQueue.remainingCapacity();
+        if (problemFactChangeCollection.size() > remainingCapacity) {
+            throw new IllegalStateException("The problemFactChangeCollection's size ("
+                    + problemFactChangeCollection.size() + ") exceeds the remainingCapacity ("
+                    + remainingCapacity + ") of the problemFactChangeQueue with size ("
+                    + problemFactChangeQueue.size() + ").\n"
+                    + "Maybe wait until fewer problem fact changes are pending,"
+                    + " see getPendingProblemFactChangeCount().");
+        }
+        boolean added = problemFactChangeQueue.addAll(problemFactChangeCollection);
+        notifyAll();
+        return added;
+    }
+
+    /**
+     * Drains the queue while holding this monitor,
+     * so a batch added by {@link #addProblemFactChanges(Collection)} is never split.
+     * @return never null, the pending problem fact changes in order, possibly empty
+     */
+    public synchronized List<ProblemFactChange> startProblemFactChangesProcessing() {
         problemFactChangesBeingProcessed = true;
-        return problemFactChangeQueue;
+        List<ProblemFactChange> problemFactChangeList = new ArrayList<>(problemFactChangeQueue.size());
+        problemFactChangeQueue.drainTo(problemFactChangeList);
+        return problemFactChangeList;
     }
 
     public synchronized void endProblemFactChangesProcessing() {
@@ -114,6 +158,25 @@ public class BasicPlumbingTermination extends AbstractTermination {
         return problemFactChangeQueue.isEmpty() && !problemFactChangesBeingProcessed;
     }
 
+    public synchronized boolean isProblemFactChangePending() {
+        return !problemFactChangeQueue.isEmpty();
+    }
+
+    /**
+     * @return {@code >= 0}, the number of problem fact changes that are still waiting to be processed
+     */
+    public synchronized int getPendingProblemFactChangeCount() {
+        return problemFactChangeQueue.size();
+    }
+
+    /**
+     * @param problemFactChangesAppliedInPlace true if the problem fact changes are applied in place
+     * by the running phase instead of terminating the solver so it restarts
+     */
+    public synchronized void setProblemFactChangesAppliedInPlace(boolean problemFactChangesAppliedInPlace) {
+        this.problemFactChangesAppliedInPlace = problemFactChangesAppliedInPlace;
+    }
+
     // ************************************************************************
     // Termination worker methods
     // ************************************************************************
@@ -125,7 +188,7 @@ public class BasicPlumbingTermination extends AbstractTermination {
             logger.info("The solver thread got interrupted, so this solver is terminating early.");
             terminatedEarly = true;
         }
-        return terminatedEarly || !problemFactChangeQueue.isEmpty();
+        return terminatedEarly || (!problemFactChangesAppliedInPlace && !problemFactChangeQueue.isEmpty());
     }
 
     @Override
@@ -16,15 +16,17 @@
 
 package org.optaplanner.core.impl.solver;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.event.SolverEventListener;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
 import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.impl.phase.Phase;
 import org.optaplanner.core.impl.phase.event.PhaseLifecycleListener;
@@ -33,10 +35,13 @@ import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
 import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
 import org.optaplanner.core.impl.solver.event.SolverEventSupport;
+import org.optaplanner.core.impl.solver.metric.MetricRecordingPhaseLifecycleListener;
 import org.optaplanner.core.impl.solver.random.RandomFactory;
 import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.SolverThreadScheduler;
+import org.optaplanner.core.impl.solver.thread.SolverThreadTicket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,11 +58,17 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
     protected RandomFactory randomFactory;
 
     protected BasicPlumbingTermination basicPlumbingTermination;
+    protected final ProblemFactChangeProcessor<Solution_> problemFactChangeProcessor;
 
     protected final AtomicBoolean solving = new AtomicBoolean(false);
 
     protected final DefaultSolverScope<Solution_> solverScope;
 
+    protected MetricRecordingPhaseLifecycleListener<Solution_> metricRecordingListener = null;
+
+    protected SolverThreadScheduler threadScheduler = null;
+    protected int threadSchedulerWeight = SolverThreadScheduler.DEFAULT_WEIGHT;
+
     // ************************************************************************
     // Constructors and simple getters/setters
     // ************************************************************************
@@ -71,6 +82,7 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         this.randomFactory = randomFactory;
         this.basicPlumbingTermination = basicPlumbingTermination;
         this.solverScope = solverScope;
+        problemFactChangeProcessor = new ProblemFactChangeProcessor<>(basicPlumbingTermination, bestSolutionRecaller);
     }
 
     public EnvironmentMode getEnvironmentMode() {
@@ -98,6 +110,81 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         return solverScope;
     }
 
+    /**
+     * @param threadFactory never null
+     * @param throttleMillis {@code >= 0}
+     * @see SolverEventSupport#setAsyncDelivery(ThreadFactory, long)
+     */
+    public void setAsyncBestSolutionEvents(ThreadFactory threadFactory, long throttleMillis) {
+        solverEventSupport.setAsyncDelivery(threadFactory, throttleMillis);
+    }
+
+    public boolean isInPlaceProblemFactChanges() {
+        return solverScope.getInPlaceProblemFactChangeProcessor() != null;
+    }
+
+    /**
+     * If true, a running Local Search phase applies the {@link ProblemFactChange}s in place in between 2 steps,
+     * instead of terminating the solver so it restarts from the best solution.
+     * The score director and the working solution are kept,
+     * but the move selectors, acceptor and forager of that phase are restarted.
+     * <b>If the working solution is worse than the best solution</b>,
+     * the best solution is restored first, so the changes are applied on the best solution.
+     * That changes the variables back through the score director, so its Drools session is still patched in place.
+     * Other phases still restart the solver.
+     * @param inPlaceProblemFactChanges true to apply the problem fact changes in place
+     */
+    public void setInPlaceProblemFactChanges(boolean inPlaceProblemFactChanges) {
+        solverScope.setInPlaceProblemFactChangeProcessor(inPlaceProblemFactChanges ? problemFactChangeProcessor : null);
+    }
+
+    public SolverThreadScheduler getThreadScheduler() {
+        return threadScheduler;
+    }
+
+    /**
+     * Shares the CPU with the other solvers of the same {@link SolverThreadScheduler}:
+     * the solver thread only solves while it holds an active thread of that scheduler
+     * and the time spent terminations only count that time.
+     * @param threadScheduler null to not share the CPU
+     * @param weight at least 1, relative to the weight of the other solvers of that scheduler
+     */
+    public void setThreadScheduler(SolverThreadScheduler threadScheduler, int weight) {
+        if (solving.get()) {
+            throw new IllegalStateException("The threadScheduler (" + threadScheduler
+                    + ") cannot be changed while the solver is solving.");
+        }
+        if (weight < 1) {
+            throw new IllegalArgumentException("The threadScheduler (" + threadScheduler
+                    + ")'s weight (" + weight + ") cannot be lower than 1.");
+        }
+        this.threadScheduler = threadScheduler;
+        this.threadSchedulerWeight = weight;
+    }
+
+    @Override
+    public SolverMetricRegistry getMetricRegistry() {
+        return solverScope.getMetricRegistry();
+    }
+
+    @Override
+    public void setMetricRegistry(SolverMetricRegistry metricRegistry) {
+        if (solving.get()) {
+            throw new IllegalStateException("The metricRegistry (" + metricRegistry
+                    + ") cannot be changed while the solver is solving.");
+        }
+        if (metricRecordingListener != null) {
+            removePhaseLifecycleListener(metricRecordingListener);
+            metricRecordingListener = null;
+        }
+        solverScope.setMetricRegistry(metricRegistry);
+        solverScope.getScoreDirector().setMetricRegistry(metricRegistry);
+        if (metricRegistry != null) {
+            metricRecordingListener = new MetricRecordingPhaseLifecycleListener<>(metricRegistry);
+            addPhaseLifecycleListener(metricRecordingListener);
+        }
+    }
+
     // ************************************************************************
     // Complex getters
     // ************************************************************************
@@ -128,7 +215,13 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
 
     @Override
     public boolean terminateEarly() {
-        return basicPlumbingTermination.terminateEarly();
+        boolean terminationEarlySuccessful = basicPlumbingTermination.terminateEarly();
+        SolverThreadTicket threadTicket = solverScope.getThreadTicket();
+        if (threadTicket != null) {
+            // Don't wait for an active thread just to terminate
+            threadTicket.abortWaiting();
+        }
+        return terminationEarlySuccessful;
     }
 
     @Override
@@ -141,6 +234,17 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         return basicPlumbingTermination.addProblemFactChange(problemFactChange);
     }
 
+    @Override
+    public boolean addProblemFactChanges(
+            Collection<? extends ProblemFactChange<Solution_>> problemFactChangeCollection) {
+        return basicPlumbingTermination.addProblemFactChanges(problemFactChangeCollection);
+    }
+
+    @Override
+    public int getPendingProblemFactChangeCount() {
+        return basicPlumbingTermination.getPendingProblemFactChangeCount();
+    }
+
     @Override
     public boolean isEveryProblemFactChangeProcessed() {
         return basicPlumbingTermination.isEveryProblemFactChangeProcessed();
@@ -158,12 +262,28 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         }
         solverScope.setBestSolution(planningProblem);
         outerSolvingStarted(solverScope);
-        boolean restartSolver = true;
-        while (restartSolver) {
-            solvingStarted(solverScope);
-            runPhases();
-            solvingEnded(solverScope);
-            restartSolver = checkProblemFactChanges();
+        if (threadScheduler != null) {
+            solverScope.setThreadTicket(threadScheduler.createTicket(threadSchedulerWeight));
+        }
+        try {
+            boolean restartSolver = false;
+            do {
+                solverScope.initializeYielding();
+                try {
+                    if (restartSolver) {
+                        processProblemFactChanges();
+                    }
+                    solvingStarted(solverScope);
+                    runPhases();
+                    solvingEnded(solverScope);
+                } finally {
+                    // Don't hold an active thread while waiting for the restart decision (which blocks in daemon mode)
+                    solverScope.destroyYielding();
+                }
+                restartSolver = basicPlumbingTermination.waitForRestartSolverDecision();
+            } while (restartSolver);
+        } finally {
+            solverScope.setThreadTicket(null);
         }
         outerSolvingEnded(solverScope);
         return solverScope.getBestSolution();
@@ -174,6 +294,7 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         basicPlumbingTermination.resetTerminateEarly();
         solverScope.setStartingSolverCount(0);
         solverScope.setWorkingRandom(randomFactory.createRandom());
+        solverEventSupport.solvingStarted();
     }
 
     public void solvingStarted(DefaultSolverScope<Solution_> solverScope) {
@@ -208,6 +329,7 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
     }
 
     public void outerSolvingEnded(DefaultSolverScope<Solution_> solverScope) {
+        solverEventSupport.solvingEnded();
         // Must be kept open for doProblemFactChange
         solverScope.getScoreDirector().dispose();
         logger.info("Solving ended: time spent ({}), best score ({}), score calculation speed ({}/sec),"
@@ -220,36 +342,9 @@ public class DefaultSolver<Solution_> extends AbstractSolver<Solution_> {
         solving.set(false);
     }
 
-    private boolean checkProblemFactChanges() {
-        boolean restartSolver = basicPlumbingTermination.waitForRestartSolverDecision();
-        if (!restartSolver) {
-            return false;
-        } else {
-            BlockingQueue<ProblemFactChange> problemFactChangeQueue
-                    = basicPlumbingTermination.startProblemFactChangesProcessing();
-            solverScope.setWorkingSolutionFromBestSolution();
-            Score score = null;
-            int stepIndex = 0;
-            ProblemFactChange<Solution_> problemFactChange = problemFactChangeQueue.poll();
-            while (problemFactChange != null) {
-                score = doProblemFactChange(problemFactChange, stepIndex);
-                stepIndex++;
-                problemFactChange = problemFactChangeQueue.poll();
-            }
-            basicPlumbingTermination.endProblemFactChangesProcessing();
-            Solution_ newBestSolution = solverScope.getScoreDirector().cloneWorkingSolution();
-            bestSolutionRecaller.updateBestSolution(solverScope, newBestSolution);
-            logger.info("Real-time problem fact changes done: step total ({}), new best score ({}).",
-                    stepIndex, score);
-            return true;
-        }
-    }
-
-    private Score doProblemFactChange(ProblemFactChange<Solution_> problemFactChange, int stepIndex) {
-        problemFactChange.doChange(solverScope.getScoreDirector());
-        Score score = solverScope.calculateScore();
-        logger.debug("    Step index ({}), new score ({}) for real-time problem fact change.", stepIndex, score);
-        return score;
+    private void processProblemFactChanges() {
+        solverScope.setWorkingSolutionFromBestSolution();
+        problemFactChangeProcessor.processProblemFactChanges(solverScope);
     }
 
 }
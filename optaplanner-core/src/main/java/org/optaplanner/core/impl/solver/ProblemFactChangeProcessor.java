@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver;
+
+import java.util.List;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the queued {@link ProblemFactChange}s on the {@link PlanningSolution working solution}
+ * and makes a clone of the result the new best solution.
+ * <p>
+ * Used by {@link DefaultSolver} before it restarts
+ * and, if enabled, by a running Local Search phase in between 2 steps,
+ * so the score director and the working solution are kept.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class ProblemFactChangeProcessor<Solution_> {
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final BasicPlumbingTermination basicPlumbingTermination;
+    protected final BestSolutionRecaller<Solution_> bestSolutionRecaller;
+
+    public ProblemFactChangeProcessor(BasicPlumbingTermination basicPlumbingTermination,
+            BestSolutionRecaller<Solution_> bestSolutionRecaller) {
+        this.basicPlumbingTermination = basicPlumbingTermination;
+        this.bestSolutionRecaller = bestSolutionRecaller;
+    }
+
+    public boolean isProblemFactChangePending() {
+        return basicPlumbingTermination.isProblemFactChangePending();
+    }
+
+    /**
+     * @param problemFactChangesAppliedInPlace true while a phase calls {@link #processProblemFactChanges}
+     * in between its steps, so a pending {@link ProblemFactChange} doesn't terminate it
+     * @see BasicPlumbingTermination#setProblemFactChangesAppliedInPlace(boolean)
+     */
+    public void setProblemFactChangesAppliedInPlace(boolean problemFactChangesAppliedInPlace) {
+        basicPlumbingTermination.setProblemFactChangesAppliedInPlace(problemFactChangesAppliedInPlace);
+    }
+
+    /**
+     * Coalesces all pending {@link ProblemFactChange}s into a single batch:
+     * the score is only calculated once, after the last one.
+     * In between 2 of them, only the variable listeners are triggered,
+     * so a {@link ProblemFactChange} sees the shadow variables updated by the previous ones.
+     * @param solverScope never null
+     * @return the score of the working solution after the last {@link ProblemFactChange},
+     * null if there was no {@link ProblemFactChange}
+     */
+    public Score processProblemFactChanges(DefaultSolverScope<Solution_> solverScope) {
+        List<ProblemFactChange> problemFactChangeList = basicPlumbingTermination.startProblemFactChangesProcessing();
+        InnerScoreDirector<Solution_> scoreDirector = solverScope.getScoreDirector();
+        int stepIndex = 0;
+        for (ProblemFactChange<Solution_> problemFactChange : problemFactChangeList) {
+            if (stepIndex > 0) {
+                scoreDirector.triggerVariableListeners();
+            }
+            problemFactChange.doChange(scoreDirector);
+            logger.debug("    Step index ({}), real-time problem fact change ({}) done.",
+                    stepIndex, problemFactChange);
+            stepIndex++;
+        }
+        Score score = stepIndex == 0 ? null : solverScope.calculateScore();
+        basicPlumbingTermination.endProblemFactChangesProcessing();
+        // The planning entities and planning values might have changed
+        solverScope.clearNearbyDistanceMatrices();
+        Solution_ newBestSolution = scoreDirector.cloneWorkingSolution();
+        bestSolutionRecaller.updateBestSolution(solverScope, newBestSolution);
+        logger.info("Real-time problem fact changes done: step total ({}), new best score ({}).",
+                stepIndex, score);
+        return score;
+    }
+
+}
@@ -16,7 +16,13 @@
 
 package org.optaplanner.core.impl.solver.event;
 
-import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
@@ -25,6 +31,8 @@ import org.optaplanner.core.api.solver.event.BestSolutionChangedEvent;
 import org.optaplanner.core.api.solver.event.SolverEventListener;
 import org.optaplanner.core.impl.solver.DefaultSolver;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Internal API.
@@ -32,22 +40,144 @@ import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
  */
 public class SolverEventSupport<Solution_> extends AbstractEventSupport<SolverEventListener<Solution_>> {
 
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
     private Solver<Solution_> solver;
 
+    /** Null if the events are delivered synchronously on the solver thread */
+    private ThreadFactory asyncThreadFactory = null;
+    private long asyncThrottleNanos = 0L;
+
+    private ScheduledExecutorService asyncExecutor = null;
+    /** The latest event that hasn't been delivered yet, older undelivered events are dropped */
+    private final AtomicReference<BestSolutionChangedEvent<Solution_>> pendingEvent = new AtomicReference<>();
+    private volatile long lastAsyncDeliveryNanos = 0L;
+
     public SolverEventSupport(Solver<Solution_> solver) {
         this.solver = solver;
     }
 
+    /**
+     * Delivers the {@link BestSolutionChangedEvent}s on a separate thread, so the solver thread never waits
+     * for a slow {@link SolverEventListener}.
+     * If a new event is fired before the previous one has been delivered, only the latest one is delivered.
+     * @param asyncThreadFactory never null
+     * @param asyncThrottleMillis {@code >= 0}, the minimum time between the delivery of 2 events,
+     * 0 to only drop events when the listeners can't keep up
+     */
+    public void setAsyncDelivery(ThreadFactory asyncThreadFactory, long asyncThrottleMillis) {
+        if (asyncThrottleMillis < 0L) {
+            throw new IllegalArgumentException("The asyncThrottleMillis (" + asyncThrottleMillis
+                    + ") cannot be negative.");
+        }
+        this.asyncThreadFactory = asyncThreadFactory;
+        this.asyncThrottleNanos = TimeUnit.MILLISECONDS.toNanos(asyncThrottleMillis);
+    }
+
+    public boolean isAsyncDelivery() {
+        return asyncThreadFactory != null;
+    }
+
+    // ************************************************************************
+    // Lifecycle methods
+    // ************************************************************************
+
+    public void solvingStarted() {
+        if (asyncThreadFactory != null) {
+            asyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = asyncThreadFactory.newThread(runnable);
+                // Don't keep the JVM alive if the solver thread crashes before solvingEnded()
+                thread.setDaemon(true);
+                return thread;
+            });
+            lastAsyncDeliveryNanos = System.nanoTime() - asyncThrottleNanos;
+        }
+    }
+
+    /**
+     * Blocks until the last pending event has been delivered,
+     * so every listener has seen the final best solution before {@link Solver#solve(Object)} returns.
+     */
+    public void solvingEnded() {
+        if (asyncExecutor != null) {
+            try {
+                // The executor is single threaded, so this runs after any delivery in progress
+                asyncExecutor.submit(this::deliverPendingEvent).get();
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while waiting for the last best solution event to be delivered.", e);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Delivering the last best solution event failed.", e.getCause());
+            } finally {
+                asyncExecutor.shutdownNow();
+                asyncExecutor = null;
+                pendingEvent.set(null);
+            }
+        }
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
     public void fireBestSolutionChanged(DefaultSolverScope<Solution_> solverScope, Solution_ newBestSolution) {
-        final Iterator<SolverEventListener<Solution_>> it = eventListenerSet.iterator();
+        if (eventListenerSet.isEmpty()) {
+            return;
+        }
         long timeMillisSpent = solverScope.calculateTimeMillisSpentUpToNow();
         Score newBestScore = solverScope.getSolutionDescriptor().getScore(newBestSolution);
-        if (it.hasNext()) {
-            final BestSolutionChangedEvent<Solution_> event = new BestSolutionChangedEvent<>(solver,
-                    timeMillisSpent, newBestSolution, newBestScore);
-            do {
-                it.next().bestSolutionChanged(event);
-            } while (it.hasNext());
+        fireBestSolutionChanged(new BestSolutionChangedEvent<>(solver,
+                timeMillisSpent, newBestSolution, newBestScore));
+    }
+
+    /**
+     * Unlike {@link #fireBestSolutionChanged(DefaultSolverScope, Object)},
+     * the new best solution is only created if a listener asks for it.
+     * @param solverScope never null
+     * @param newBestSolutionSupplier never null
+     * @param newBestScore never null
+     */
+    public void fireBestSolutionChanged(DefaultSolverScope<Solution_> solverScope,
+            Supplier<Solution_> newBestSolutionSupplier, Score newBestScore) {
+        if (eventListenerSet.isEmpty()) {
+            return;
+        }
+        long timeMillisSpent = solverScope.calculateTimeMillisSpentUpToNow();
+        fireBestSolutionChanged(new BestSolutionChangedEvent<>(solver,
+                timeMillisSpent, newBestSolutionSupplier, newBestScore));
+    }
+
+    protected void fireBestSolutionChanged(BestSolutionChangedEvent<Solution_> event) {
+        if (asyncExecutor == null) {
+            deliver(event);
+            return;
+        }
+        // If an event is already pending, its delivery is already scheduled and it will pick up this event instead
+        if (pendingEvent.getAndSet(event) == null) {
+            long delayNanos = lastAsyncDeliveryNanos + asyncThrottleNanos - System.nanoTime();
+            asyncExecutor.schedule(this::deliverPendingEvent, Math.max(delayNanos, 0L), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void deliverPendingEvent() {
+        if (pendingEvent.get() == null) {
+            return;
+        }
+        // Set before taking the event, so a new event fired during this delivery is throttled correctly
+        lastAsyncDeliveryNanos = System.nanoTime();
+        BestSolutionChangedEvent<Solution_> event = pendingEvent.getAndSet(null);
+        try {
+            deliver(event);
+        } catch (RuntimeException e) {
+            // Don't kill the async thread: the next event might be delivered just fine
+            logger.error("A solverEventListener threw an exception for the new best score ("
+                    + event.getNewBestScore() + ").", e);
+        }
+    }
+
+    private void deliver(BestSolutionChangedEvent<Solution_> event) {
+        for (SolverEventListener<Solution_> eventListener : eventListenerSet) {
+            eventListener.bestSolutionChanged(event);
         }
     }
 
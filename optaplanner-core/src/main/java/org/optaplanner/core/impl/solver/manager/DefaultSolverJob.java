@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.manager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.manager.SolverJob;
+import org.optaplanner.core.api.solver.manager.SolverStatus;
+
+/**
+ * Runs on a solver thread of the {@link DefaultSolverManager}.
+ * While scheduled, it is ordered by {@link #compareTo(DefaultSolverJob)}.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <ProblemId_> the ID type of a submitted problem
+ */
+public class DefaultSolverJob<Solution_, ProblemId_> implements SolverJob<Solution_, ProblemId_>, Runnable,
+        Comparable<DefaultSolverJob<Solution_, ProblemId_>> {
+
+    private final DefaultSolverManager<Solution_, ProblemId_> solverManager;
+    private final ProblemId_ problemId;
+    private final Solution_ planningProblem;
+    private final int priority;
+    private final int cpuWeight;
+    private final long submissionIndex;
+    private final Long timeMillisSpentLimit;
+
+    private final FutureTask<Solution_> futureTask = new FutureTask<>(this::solve);
+
+    private volatile SolverStatus solverStatus = SolverStatus.SOLVING_SCHEDULED;
+    // Guarded by this
+    private Solver<Solution_> solver = null;
+    private boolean terminatedEarly = false;
+    private Solution_ finalBestSolution = null;
+
+    public DefaultSolverJob(DefaultSolverManager<Solution_, ProblemId_> solverManager,
+            ProblemId_ problemId, Solution_ planningProblem,
+            int priority, int cpuWeight, long submissionIndex, Long timeMillisSpentLimit) {
+        this.solverManager = solverManager;
+        this.problemId = problemId;
+        this.planningProblem = planningProblem;
+        this.priority = priority;
+        this.cpuWeight = cpuWeight;
+        this.submissionIndex = submissionIndex;
+        this.timeMillisSpentLimit = timeMillisSpentLimit;
+    }
+
+    @Override
+    public ProblemId_ getProblemId() {
+        return problemId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getCpuWeight() {
+        return cpuWeight;
+    }
+
+    public long getSubmissionIndex() {
+        return submissionIndex;
+    }
+
+    public Long getTimeMillisSpentLimit() {
+        return timeMillisSpentLimit;
+    }
+
+    @Override
+    public SolverStatus getSolverStatus() {
+        return solverStatus;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void run() {
+        futureTask.run();
+    }
+
+    private Solution_ solve() {
+        Solution_ finalBestSolution_ = planningProblem;
+        try {
+            Solver<Solution_> solver_;
+            synchronized (this) {
+                if (terminatedEarly) {
+                    return planningProblem;
+                }
+                solver_ = solverManager.buildSolver(cpuWeight, timeMillisSpentLimit);
+                solver = solver_;
+                solverStatus = SolverStatus.SOLVING_ACTIVE;
+            }
+            finalBestSolution_ = solver_.solve(planningProblem);
+            return finalBestSolution_;
+        } finally {
+            // Before the status flips, so a client that sees NOT_SOLVING can solve the same problemId again
+            solverManager.solvingEnded(this);
+            synchronized (this) {
+                // Release the solver, so a finished job retains only its best solution
+                finalBestSolution = finalBestSolution_;
+                solver = null;
+                solverStatus = SolverStatus.NOT_SOLVING;
+            }
+        }
+    }
+
+    @Override
+    public Solution_ getBestSolution() {
+        Solver<Solution_> solver_;
+        synchronized (this) {
+            if (finalBestSolution != null) {
+                return finalBestSolution;
+            }
+            solver_ = solver;
+        }
+        if (solver_ == null) {
+            return planningProblem;
+        }
+        Solution_ bestSolution = solver_.getBestSolution();
+        // The solver thread might not have set the best solution yet
+        return bestSolution == null ? planningProblem : bestSolution;
+    }
+
+    @Override
+    public Score getBestScore() {
+        Solver<Solution_> solver_;
+        synchronized (this) {
+            if (finalBestSolution != null) {
+                return solverManager.extractScore(finalBestSolution);
+            }
+            solver_ = solver;
+        }
+        return solver_ == null ? null : solver_.getBestScore();
+    }
+
+    @Override
+    public Solution_ getFinalBestSolution() throws InterruptedException, ExecutionException {
+        return futureTask.get();
+    }
+
+    @Override
+    public boolean terminateEarly() {
+        synchronized (this) {
+            if (solverStatus == SolverStatus.NOT_SOLVING) {
+                return false;
+            }
+            if (solver != null) {
+                return solver.terminateEarly();
+            }
+            terminatedEarly = true;
+        }
+        if (solverManager.unschedule(this)) {
+            // No solver thread will ever run it, so end it now (which returns the planningProblem)
+            run();
+        }
+        return true;
+    }
+
+    /**
+     * A higher priority comes first. Within the same priority, the first submitted comes first,
+     * so a steady stream of new problems never starves an older problem.
+     * @param other never null
+     * @return negative if this job must start before the other job
+     */
+    @Override
+    public int compareTo(DefaultSolverJob<Solution_, ProblemId_> other) {
+        if (priority != other.priority) {
+            return priority > other.priority ? -1 : 1;
+        }
+        return Long.compare(submissionIndex, other.submissionIndex);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + problemId + ")";
+    }
+
+}
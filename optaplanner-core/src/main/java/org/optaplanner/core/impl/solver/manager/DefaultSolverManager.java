@@ -0,0 +1,223 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.manager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.manager.SolverJob;
+import org.optaplanner.core.api.solver.manager.SolverManager;
+import org.optaplanner.core.api.solver.manager.SolverStatus;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.core.impl.solver.thread.SolverThreadScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation for {@link SolverManager}.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ * @param <ProblemId_> the ID type of a submitted problem
+ */
+public class DefaultSolverManager<Solution_, ProblemId_> implements SolverManager<Solution_, ProblemId_> {
+
+    public static final int DEFAULT_PRIORITY = 0;
+
+    protected final transient Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final SolverConfig solverConfig;
+    protected final InnerScoreDirectorFactory<Solution_> scoreDirectorFactory;
+    protected final ThreadPoolExecutor solverThreadPool;
+    protected final SolverThreadScheduler threadScheduler;
+
+    protected final ConcurrentMap<ProblemId_, DefaultSolverJob<Solution_, ProblemId_>> problemIdToSolverJobMap
+            = new ConcurrentHashMap<>();
+    protected final AtomicLong submissionSequence = new AtomicLong(0L);
+
+    /**
+     * @param solverConfig never null, must not be changed afterwards
+     * @param scoreDirectorFactory never null, built by {@link SolverConfig#buildScoreDirectorFactory}
+     * @param parallelSolverCount at least 1
+     * @param threadFactory never null
+     * @param threadScheduler null if the solver threads don't share the CPU cooperatively
+     */
+    public DefaultSolverManager(SolverConfig solverConfig, InnerScoreDirectorFactory<Solution_> scoreDirectorFactory,
+            int parallelSolverCount, ThreadFactory threadFactory, SolverThreadScheduler threadScheduler) {
+        this.solverConfig = solverConfig;
+        this.scoreDirectorFactory = scoreDirectorFactory;
+        this.threadScheduler = threadScheduler;
+        // The PriorityBlockingQueue orders the scheduled jobs with DefaultSolverJob.compareTo()
+        solverThreadPool = new ThreadPoolExecutor(parallelSolverCount, parallelSolverCount,
+                0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), threadFactory);
+    }
+
+    public int getParallelSolverCount() {
+        return solverThreadPool.getMaximumPoolSize();
+    }
+
+    /**
+     * @return null if the solver threads don't share the CPU cooperatively
+     */
+    public SolverThreadScheduler getThreadScheduler() {
+        return threadScheduler;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public SolverJob<Solution_, ProblemId_> solve(ProblemId_ problemId, Solution_ planningProblem) {
+        return solve(problemId, planningProblem, DEFAULT_PRIORITY, null);
+    }
+
+    @Override
+    public SolverJob<Solution_, ProblemId_> solve(ProblemId_ problemId, Solution_ planningProblem,
+            int priority, Long timeMillisSpentLimit) {
+        return solve(problemId, planningProblem, priority, SolverThreadScheduler.DEFAULT_WEIGHT, timeMillisSpentLimit);
+    }
+
+    @Override
+    public SolverJob<Solution_, ProblemId_> solve(ProblemId_ problemId, Solution_ planningProblem,
+            int priority, int cpuWeight, Long timeMillisSpentLimit) {
+        if (problemId == null) {
+            throw new IllegalArgumentException("The problemId (" + problemId + ") cannot be null.");
+        }
+        if (timeMillisSpentLimit != null && timeMillisSpentLimit < 0L) {
+            throw new IllegalArgumentException("The problemId (" + problemId
+                    + ")'s timeMillisSpentLimit (" + timeMillisSpentLimit + ") cannot be negative.");
+        }
+        if (cpuWeight < 1) {
+            throw new IllegalArgumentException("The problemId (" + problemId
+                    + ")'s cpuWeight (" + cpuWeight + ") cannot be lower than 1.");
+        }
+        DefaultSolverJob<Solution_, ProblemId_> solverJob = new DefaultSolverJob<>(this, problemId, planningProblem,
+                priority, cpuWeight, submissionSequence.getAndIncrement(), timeMillisSpentLimit);
+        if (problemIdToSolverJobMap.putIfAbsent(problemId, solverJob) != null) {
+            throw new IllegalStateException("The problemId (" + problemId + ") is already scheduled or solving.");
+        }
+        try {
+            solverThreadPool.execute(solverJob);
+        } catch (RejectedExecutionException e) {
+            problemIdToSolverJobMap.remove(problemId, solverJob);
+            throw new IllegalStateException("The problemId (" + problemId
+                    + ") cannot be solved because the solverManager is shut down.", e);
+        }
+        logger.debug("Scheduled problemId ({}) with priority ({}) and timeMillisSpentLimit ({}).",
+                problemId, priority, timeMillisSpentLimit);
+        return solverJob;
+    }
+
+    @Override
+    public SolverJob<Solution_, ProblemId_> getSolverJob(ProblemId_ problemId) {
+        return problemIdToSolverJobMap.get(problemId);
+    }
+
+    @Override
+    public SolverStatus getSolverStatus(ProblemId_ problemId) {
+        SolverJob<Solution_, ProblemId_> solverJob = problemIdToSolverJobMap.get(problemId);
+        return solverJob == null ? SolverStatus.NOT_SOLVING : solverJob.getSolverStatus();
+    }
+
+    @Override
+    public Solution_ getBestSolution(ProblemId_ problemId) {
+        SolverJob<Solution_, ProblemId_> solverJob = problemIdToSolverJobMap.get(problemId);
+        return solverJob == null ? null : solverJob.getBestSolution();
+    }
+
+    @Override
+    public Score getBestScore(ProblemId_ problemId) {
+        SolverJob<Solution_, ProblemId_> solverJob = problemIdToSolverJobMap.get(problemId);
+        return solverJob == null ? null : solverJob.getBestScore();
+    }
+
+    @Override
+    public boolean terminateEarly(ProblemId_ problemId) {
+        SolverJob<Solution_, ProblemId_> solverJob = problemIdToSolverJobMap.get(problemId);
+        return solverJob != null && solverJob.terminateEarly();
+    }
+
+    @Override
+    public void shutdown() {
+        solverThreadPool.shutdown();
+        for (DefaultSolverJob<Solution_, ProblemId_> solverJob : problemIdToSolverJobMap.values()) {
+            solverJob.terminateEarly();
+        }
+    }
+
+    /**
+     * Called from the solver thread, so the {@link SolverConfig} building cost is spread over the solver threads
+     * and a scheduled problem holds no {@link Solver} instance.
+     * @param cpuWeight at least 1, ignored if there is no {@link #getThreadScheduler()}
+     * @param timeMillisSpentLimit null if there is no time budget
+     * @return never null
+     */
+    protected Solver<Solution_> buildSolver(int cpuWeight, Long timeMillisSpentLimit) {
+        SolverConfig solverConfig_ = solverConfig;
+        if (timeMillisSpentLimit != null) {
+            solverConfig_ = new SolverConfig(solverConfig);
+            TerminationConfig terminationConfig = solverConfig_.getTerminationConfig();
+            if (terminationConfig == null) {
+                terminationConfig = new TerminationConfig();
+                solverConfig_.setTerminationConfig(terminationConfig);
+            }
+            terminationConfig.shortenTimeMillisSpentLimit(timeMillisSpentLimit);
+        }
+        DefaultSolver<Solution_> solver = (DefaultSolver<Solution_>) solverConfig_.buildSolver(scoreDirectorFactory);
+        if (threadScheduler != null) {
+            solver.setThreadScheduler(threadScheduler, cpuWeight);
+        }
+        return solver;
+    }
+
+    /**
+     * @param solution never null
+     * @return sometimes null
+     */
+    protected Score extractScore(Solution_ solution) {
+        return scoreDirectorFactory.getSolutionDescriptor().getScore(solution);
+    }
+
+    /**
+     * @param solverJob never null
+     * @return true if it was still scheduled, so it will never be run by the solver thread pool
+     */
+    protected boolean unschedule(DefaultSolverJob<Solution_, ProblemId_> solverJob) {
+        return solverThreadPool.remove(solverJob);
+    }
+
+    /**
+     * Called when the solverJob ends, before its {@link SolverStatus} becomes {@link SolverStatus#NOT_SOLVING}
+     * and before its final best solution is available.
+     * @param solverJob never null
+     */
+    protected void solvingEnded(DefaultSolverJob<Solution_, ProblemId_> solverJob) {
+        problemIdToSolverJobMap.remove(solverJob.getProblemId(), solverJob);
+    }
+
+}
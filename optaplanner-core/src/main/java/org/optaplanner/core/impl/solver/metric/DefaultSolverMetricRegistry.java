@@ -0,0 +1,196 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.metric;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+/**
+ * Keeps the metrics in memory, so they can be read (for example by a monitoring endpoint) while the solver runs.
+ * <p>
+ * The counters are {@link LongAdder}s, so the move threads and partition threads don't contend on them.
+ * The getters are thread-safe, but a read during solving is not an atomic snapshot across counters.
+ */
+public class DefaultSolverMetricRegistry implements SolverMetricRegistry {
+
+    protected final ConcurrentMap<Class<? extends Move>, MoveCounter> moveCounterMap = new ConcurrentHashMap<>();
+    protected final LongAdder[] timerCounts;
+    protected final LongAdder[] timerTotalNanos;
+    protected final List<BestScoreRecord> bestScoreRecordList = new ArrayList<>();
+
+    public DefaultSolverMetricRegistry() {
+        SolverTimerType[] timerTypes = SolverTimerType.values();
+        timerCounts = new LongAdder[timerTypes.length];
+        timerTotalNanos = new LongAdder[timerTypes.length];
+        for (int i = 0; i < timerTypes.length; i++) {
+            timerCounts[i] = new LongAdder();
+            timerTotalNanos[i] = new LongAdder();
+        }
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void recordMoveEvaluation(Class<? extends Move> moveClass, boolean accepted) {
+        MoveCounter moveCounter = moveCounterMap.get(moveClass);
+        if (moveCounter == null) {
+            // Avoid computeIfAbsent() for every move, because it locks even if the key is present
+            moveCounter = moveCounterMap.computeIfAbsent(moveClass, key -> new MoveCounter());
+        }
+        moveCounter.evaluatedCount.increment();
+        if (accepted) {
+            moveCounter.acceptedCount.increment();
+        }
+    }
+
+    @Override
+    public void recordTime(SolverTimerType timerType, long durationNanos) {
+        int ordinal = timerType.ordinal();
+        timerCounts[ordinal].increment();
+        timerTotalNanos[ordinal].add(durationNanos);
+    }
+
+    @Override
+    public void recordBestScore(long timeMillisSpent, Score bestScore) {
+        synchronized (bestScoreRecordList) {
+            bestScoreRecordList.add(new BestScoreRecord(timeMillisSpent, bestScore));
+        }
+    }
+
+    /**
+     * Clears all metrics, for example between 2 {@link org.optaplanner.core.api.solver.Solver#solve(Object)} calls.
+     * Not atomic if the solver is solving.
+     */
+    public void reset() {
+        moveCounterMap.clear();
+        for (int i = 0; i < timerCounts.length; i++) {
+            timerCounts[i].reset();
+            timerTotalNanos[i].reset();
+        }
+        synchronized (bestScoreRecordList) {
+            bestScoreRecordList.clear();
+        }
+    }
+
+    // ************************************************************************
+    // Getters
+    // ************************************************************************
+
+    /**
+     * @return never null, the move types evaluated so far
+     */
+    public Set<Class<? extends Move>> getMoveClassSet() {
+        return Collections.unmodifiableSet(moveCounterMap.keySet());
+    }
+
+    /**
+     * @param moveClass never null
+     * @return {@code >= 0}
+     */
+    public long getMoveEvaluatedCount(Class<? extends Move> moveClass) {
+        MoveCounter moveCounter = moveCounterMap.get(moveClass);
+        return moveCounter == null ? 0L : moveCounter.evaluatedCount.sum();
+    }
+
+    /**
+     * @param moveClass never null
+     * @return {@code >= 0}
+     */
+    public long getMoveAcceptedCount(Class<? extends Move> moveClass) {
+        MoveCounter moveCounter = moveCounterMap.get(moveClass);
+        return moveCounter == null ? 0L : moveCounter.acceptedCount.sum();
+    }
+
+    /**
+     * @param timerType never null
+     * @return {@code >= 0}, the number of recorded durations
+     */
+    public long getTimerCount(SolverTimerType timerType) {
+        return timerCounts[timerType.ordinal()].sum();
+    }
+
+    /**
+     * @param timerType never null
+     * @return {@code >= 0}, the sum of the recorded durations
+     */
+    public long getTimerTotalNanos(SolverTimerType timerType) {
+        return timerTotalNanos[timerType.ordinal()].sum();
+    }
+
+    /**
+     * @param timerType never null
+     * @return {@code >= 0}, 0 if nothing has been recorded yet
+     */
+    public long getTimerAverageNanos(SolverTimerType timerType) {
+        long count = getTimerCount(timerType);
+        return count == 0L ? 0L : getTimerTotalNanos(timerType) / count;
+    }
+
+    /**
+     * @return never null, a copy, in the order they were recorded
+     */
+    public List<BestScoreRecord> getBestScoreRecordList() {
+        synchronized (bestScoreRecordList) {
+            return new ArrayList<>(bestScoreRecordList);
+        }
+    }
+
+    protected static class MoveCounter {
+
+        private final LongAdder evaluatedCount = new LongAdder();
+        private final LongAdder acceptedCount = new LongAdder();
+
+    }
+
+    public static class BestScoreRecord {
+
+        private final long timeMillisSpent;
+        private final Score bestScore;
+
+        public BestScoreRecord(long timeMillisSpent, Score bestScore) {
+            this.timeMillisSpent = timeMillisSpent;
+            this.bestScore = bestScore;
+        }
+
+        public long getTimeMillisSpent() {
+            return timeMillisSpent;
+        }
+
+        public Score getBestScore() {
+            return bestScore;
+        }
+
+        @Override
+        public String toString() {
+            return bestScore + " at " + timeMillisSpent + "ms";
+        }
+
+    }
+
+}
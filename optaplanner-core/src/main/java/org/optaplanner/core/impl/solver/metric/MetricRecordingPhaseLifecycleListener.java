@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.metric;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+
+/**
+ * Records the step durations and the best score progression of 1 solver (but not of its partitions).
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class MetricRecordingPhaseLifecycleListener<Solution_> extends PhaseLifecycleListenerAdapter<Solution_> {
+
+    protected final SolverMetricRegistry metricRegistry;
+
+    protected long stepStartingNanoTime = 0L;
+
+    public MetricRecordingPhaseLifecycleListener(SolverMetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    public SolverMetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    // ************************************************************************
+    // Lifecycle methods
+    // ************************************************************************
+
+    @Override
+    public void solvingStarted(DefaultSolverScope<Solution_> solverScope) {
+        metricRegistry.recordBestScore(solverScope.calculateTimeMillisSpentUpToNow(), solverScope.getBestScore());
+    }
+
+    @Override
+    public void stepStarted(AbstractStepScope<Solution_> stepScope) {
+        stepStartingNanoTime = System.nanoTime();
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+        metricRegistry.recordTime(SolverTimerType.STEP, System.nanoTime() - stepStartingNanoTime);
+        if (Boolean.TRUE.equals(stepScope.getBestScoreImproved())) {
+            DefaultSolverScope<Solution_> solverScope = stepScope.getPhaseScope().getSolverScope();
+            metricRegistry.recordBestScore(solverScope.calculateTimeMillisSpentUpToNow(),
+                    solverScope.getBestScore());
+        }
+    }
+
+}
@@ -16,9 +16,18 @@
 
 package org.optaplanner.core.impl.solver.recaller;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.domain.solution.cloner.DeepPlanningClone;
+import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
 import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
@@ -69,6 +78,7 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
         Score score = scoreDirector.calculateScore();
         solverScope.setBestScore(score);
         solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
+        solverScope.setBestSolutionGrantedTimeMillis(solverScope.calculateGrantedTimeMillisUpToNow());
         // The original bestSolution might be the final bestSolution and should have an accurate Score
         solverScope.getSolutionDescriptor().setScore(solverScope.getBestSolution(), score);
         if (score.isSolutionInitialized()) {
@@ -131,7 +141,65 @@ public class BestSolutionRecaller<Solution_> extends PhaseLifecycleListenerAdapt
         solverScope.setBestSolution(solution);
         solverScope.setBestScore(score);
         solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
+        solverScope.setBestSolutionGrantedTimeMillis(solverScope.calculateGrantedTimeMillisUpToNow());
         solverEventSupport.fireBestSolutionChanged(solverScope, solution);
     }
 
+    /**
+     * Changes the genuine variables of the {@link PlanningSolution working solution} back to their best value
+     * through the {@link InnerScoreDirector}, so the score director (and for example its Drools session)
+     * is kept and only patched incrementally.
+     * <p>
+     * Maps every entity of the best solution to the working entity at the same position,
+     * so the entity collections must be iterated in the same order in the best solution.
+     * Other planning values are reused as is, so they must be shared with the best solution,
+     * like the problem facts are (see {@link SolutionCloner}).
+     * @param solverScope never null
+     */
+    public void restoreBestSolutionInWorkingSolution(DefaultSolverScope<Solution_> solverScope) {
+        InnerScoreDirector<Solution_> scoreDirector = solverScope.getScoreDirector();
+        SolutionDescriptor<Solution_> solutionDescriptor = solverScope.getSolutionDescriptor();
+        List<Object> workingEntityList = solutionDescriptor.getEntityList(scoreDirector.getWorkingSolution());
+        List<Object> bestEntityList = solutionDescriptor.getEntityList(solverScope.getBestSolution());
+        if (workingEntityList.size() != bestEntityList.size()) {
+            throw new IllegalStateException("The working solution's entity count (" + workingEntityList.size()
+                    + ") differs from the best solution's entity count (" + bestEntityList.size() + ").");
+        }
+        Map<Object, Object> bestToWorkingEntityMap = new IdentityHashMap<>(workingEntityList.size());
+        for (int i = 0; i < workingEntityList.size(); i++) {
+            Object workingEntity = workingEntityList.get(i);
+            Object bestEntity = bestEntityList.get(i);
+            if (workingEntity.getClass() != bestEntity.getClass()) {
+                throw new IllegalStateException("The working entity (" + workingEntity
+                        + ") has another class than the best entity (" + bestEntity + ") at the same index (" + i
+                        + ").\n"
+                        + "Maybe an entity collection of the solution class ("
+                        + solutionDescriptor.getSolutionClass() + ") doesn't have a stable iteration order.");
+            }
+            bestToWorkingEntityMap.put(bestEntity, workingEntity);
+        }
+        for (int i = 0; i < workingEntityList.size(); i++) {
+            Object workingEntity = workingEntityList.get(i);
+            Object bestEntity = bestEntityList.get(i);
+            EntityDescriptor<Solution_> entityDescriptor
+                    = solutionDescriptor.findEntityDescriptorOrFail(workingEntity.getClass());
+            for (GenuineVariableDescriptor<Solution_> variableDescriptor
+                    : entityDescriptor.getGenuineVariableDescriptors()) {
+                Object bestValue = variableDescriptor.getValue(bestEntity);
+                Object workingBestValue = bestToWorkingEntityMap.getOrDefault(bestValue, bestValue);
+                if (workingBestValue == bestValue && bestValue != null
+                        && bestValue.getClass().isAnnotationPresent(DeepPlanningClone.class)) {
+                    throw new IllegalStateException("The best entity (" + bestEntity
+                            + ") has a variable (" + variableDescriptor.getVariableName()
+                            + ") with a value (" + bestValue + ") which is a deep planning clone,"
+                            + " so it can't be restored in the working solution.");
+                }
+                if (variableDescriptor.getValue(workingEntity) != workingBestValue) {
+                    scoreDirector.changeVariableFacade(variableDescriptor, workingEntity, workingBestValue);
+                }
+            }
+        }
+        scoreDirector.triggerVariableListeners();
+    }
+
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.recaller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.event.BestSolutionChangedEvent;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.VariableDescriptor;
+import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.WorkingVariableChangeListener;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+
+/**
+ * A {@link BestSolutionRecaller} that doesn't clone the {@link PlanningSolution working solution}
+ * every time the best score improves during a step.
+ * Instead, it remembers the best value of every variable that changed since the last best solution
+ * and only clones the best solution when it is asked for,
+ * for example by {@link Solver#getBestSolution()} or {@link BestSolutionChangedEvent#getNewBestSolution()}.
+ * <p>
+ * A new best solution costs O(n) with n the number of variables that changed since the previous one,
+ * instead of a full clone, but every variable change during move evaluation costs a map lookup.
+ * <p>
+ * Assumes that the working solution is equal to the best solution
+ * at the start of every phase and whenever {@link #updateBestSolution(DefaultSolverScope, Object)} is called.
+ * @param <Solution_> the solution type, the class with the {@link PlanningSolution} annotation
+ */
+public class DeltaBestSolutionRecaller<Solution_> extends BestSolutionRecaller<Solution_>
+        implements WorkingVariableChangeListener<Solution_> {
+
+    /**
+     * Held by the solver thread during every step, so another thread can only clone the best solution
+     * in between 2 steps, when the working solution isn't half way a move.
+     * Fair, so such another thread doesn't starve.
+     */
+    protected final ReentrantLock stepLock = new ReentrantLock(true);
+
+    protected DefaultSolverScope<Solution_> solverScope = null;
+    /**
+     * For every entity with a variable that changed since the last best solution,
+     * the value of that variable in the last best solution.
+     */
+    protected final Map<Object, Map<VariableDescriptor<Solution_>, Object>> bestValueMap = new IdentityHashMap<>();
+    protected Score bestScore = null;
+    /** Null if the best solution hasn't been cloned yet */
+    protected Solution_ materializedBestSolution = null;
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    @Override
+    public void solvingStarted(DefaultSolverScope<Solution_> solverScope) {
+        super.solvingStarted(solverScope);
+        this.solverScope = solverScope;
+        bestValueMap.clear();
+        bestScore = solverScope.getBestScore();
+        materializedBestSolution = solverScope.getBestSolution();
+        solverScope.getScoreDirector().addWorkingVariableChangeListener(this);
+    }
+
+    @Override
+    public void phaseStarted(AbstractPhaseScope<Solution_> phaseScope) {
+        super.phaseStarted(phaseScope);
+        // The working solution has been reset to the best solution (which is therefore materialized)
+        bestValueMap.clear();
+    }
+
+    @Override
+    public void stepStarted(AbstractStepScope<Solution_> stepScope) {
+        super.stepStarted(stepScope);
+        if (!stepLock.isHeldByCurrentThread()) {
+            stepLock.lock();
+        }
+    }
+
+    @Override
+    public void stepEnded(AbstractStepScope<Solution_> stepScope) {
+        super.stepEnded(stepScope);
+        unlockStepLock();
+    }
+
+    @Override
+    public void phaseEnded(AbstractPhaseScope<Solution_> phaseScope) {
+        super.phaseEnded(phaseScope);
+        // The last step of a phase might not have ended
+        unlockStepLock();
+    }
+
+    @Override
+    public void solvingEnded(DefaultSolverScope<Solution_> solverScope) {
+        super.solvingEnded(solverScope);
+        // Clone the best solution while the working solution is still alive, because the solver disposes it next
+        solverScope.setBestSolution(materializeBestSolution());
+        solverScope.getScoreDirector().removeWorkingVariableChangeListener(this);
+        unlockStepLock();
+    }
+
+    private void unlockStepLock() {
+        while (stepLock.isHeldByCurrentThread()) {
+            stepLock.unlock();
+        }
+    }
+
+    @Override
+    public void beforeVariableChanged(VariableDescriptor<Solution_> variableDescriptor, Object entity) {
+        Map<VariableDescriptor<Solution_>, Object> entityBestValueMap = bestValueMap.get(entity);
+        if (entityBestValueMap == null) {
+            entityBestValueMap = new HashMap<>(4);
+            bestValueMap.put(entity, entityBestValueMap);
+        }
+        // Only the first change since the last best solution still knows the best value
+        if (!entityBestValueMap.containsKey(variableDescriptor)) {
+            Object bestValue = variableDescriptor.getValue(entity);
+            if (bestValue instanceof Collection) {
+                // For example a collection inverse relation shadow variable, which is changed in place
+                bestValue = new CollectionSnapshot((Collection<?>) bestValue);
+            }
+            entityBestValueMap.put(variableDescriptor, bestValue);
+        }
+    }
+
+    @Override
+    public void processWorkingSolutionDuringStep(AbstractStepScope<Solution_> stepScope) {
+        AbstractPhaseScope<Solution_> phaseScope = stepScope.getPhaseScope();
+        Score score = stepScope.getScore();
+        DefaultSolverScope<Solution_> solverScope = phaseScope.getSolverScope();
+        boolean bestScoreImproved = score.compareTo(solverScope.getBestScore()) > 0;
+        stepScope.setBestScoreImproved(bestScoreImproved);
+        if (bestScoreImproved) {
+            phaseScope.setBestSolutionStepIndex(stepScope.getStepIndex());
+            updateBestSolutionLazily(solverScope, score);
+        } else if (assertBestScoreIsUnmodified) {
+            solverScope.assertScoreFromScratch(solverScope.getBestSolution());
+        }
+    }
+
+    protected void updateBestSolutionLazily(DefaultSolverScope<Solution_> solverScope, Score score) {
+        stepLock.lock();
+        try {
+            // The working solution is the new best solution
+            bestValueMap.clear();
+            bestScore = score;
+            materializedBestSolution = null;
+        } finally {
+            stepLock.unlock();
+        }
+        if (score.isSolutionInitialized()) {
+            if (!solverScope.isBestSolutionInitialized()) {
+                solverScope.setStartingInitializedScore(score);
+            }
+        }
+        solverScope.setLazyBestSolution(this::materializeBestSolution);
+        solverScope.setBestScore(score);
+        solverScope.setBestSolutionTimeMillis(System.currentTimeMillis());
+        solverScope.setBestSolutionGrantedTimeMillis(solverScope.calculateGrantedTimeMillisUpToNow());
+        solverEventSupport.fireBestSolutionChanged(solverScope, this::materializeBestSolution, score);
+    }
+
+    @Override
+    public void updateBestSolution(DefaultSolverScope<Solution_> solverScope, Solution_ solution) {
+        stepLock.lock();
+        try {
+            // The solution is a clone of the working solution
+            bestValueMap.clear();
+            bestScore = solverScope.getSolutionDescriptor().getScore(solution);
+            materializedBestSolution = solution;
+        } finally {
+            stepLock.unlock();
+        }
+        super.updateBestSolution(solverScope, solution);
+    }
+
+    /**
+     * Only changes the genuine variables that changed since the last best solution.
+     * @param solverScope never null
+     */
+    @Override
+    public void restoreBestSolutionInWorkingSolution(DefaultSolverScope<Solution_> solverScope) {
+        InnerScoreDirector<Solution_> scoreDirector = solverScope.getScoreDirector();
+        stepLock.lock();
+        try {
+            // Copied first, because the score director notifies this listener of the changes below
+            List<Object> entityList = new ArrayList<>(bestValueMap.size());
+            List<GenuineVariableDescriptor<Solution_>> variableDescriptorList = new ArrayList<>(bestValueMap.size());
+            List<Object> bestValueList = new ArrayList<>(bestValueMap.size());
+            for (Map.Entry<Object, Map<VariableDescriptor<Solution_>, Object>> entry : bestValueMap.entrySet()) {
+                for (Map.Entry<VariableDescriptor<Solution_>, Object> variableEntry : entry.getValue().entrySet()) {
+                    // The shadow variables are restored by the variable listeners
+                    if (variableEntry.getKey() instanceof GenuineVariableDescriptor) {
+                        entityList.add(entry.getKey());
+                        variableDescriptorList.add((GenuineVariableDescriptor<Solution_>) variableEntry.getKey());
+                        bestValueList.add(variableEntry.getValue());
+                    }
+                }
+            }
+            for (int i = 0; i < entityList.size(); i++) {
+                scoreDirector.changeVariableFacade(variableDescriptorList.get(i), entityList.get(i),
+                        bestValueList.get(i));
+            }
+            scoreDirector.triggerVariableListeners();
+            // The working solution is the best solution again
+            bestValueMap.clear();
+        } finally {
+            stepLock.unlock();
+        }
+    }
+
+    /**
+     * Thread-safe.
+     * @return never null, the same instance until the best solution changes
+     */
+    protected Solution_ materializeBestSolution() {
+        stepLock.lock();
+        try {
+            if (materializedBestSolution == null) {
+                materializedBestSolution = cloneBestSolution();
+            }
+            return materializedBestSolution;
+        } finally {
+            stepLock.unlock();
+        }
+    }
+
+    /**
+     * Temporarily reverts the changed variables of the working solution to their best value,
+     * without notifying the {@link InnerScoreDirector}, to clone it.
+     * @return never null
+     */
+    protected Solution_ cloneBestSolution() {
+        InnerScoreDirector<Solution_> scoreDirector = solverScope.getScoreDirector();
+        List<Object> workingValueList = new ArrayList<>(bestValueMap.size());
+        for (Map.Entry<Object, Map<VariableDescriptor<Solution_>, Object>> entry : bestValueMap.entrySet()) {
+            Object entity = entry.getKey();
+            for (Map.Entry<VariableDescriptor<Solution_>, Object> variableEntry : entry.getValue().entrySet()) {
+                workingValueList.add(revertValue(variableEntry.getKey(), entity, variableEntry.getValue()));
+            }
+        }
+        Solution_ bestSolution;
+        SolverMetricRegistry metricRegistry = solverScope.getMetricRegistry();
+        long startingNanoTime = metricRegistry == null ? 0L : System.nanoTime();
+        try {
+            bestSolution = scoreDirector.getSolutionDescriptor().getSolutionCloner()
+                    .cloneSolution(scoreDirector.getWorkingSolution());
+        } finally {
+            int i = 0;
+            for (Map.Entry<Object, Map<VariableDescriptor<Solution_>, Object>> entry : bestValueMap.entrySet()) {
+                Object entity = entry.getKey();
+                for (VariableDescriptor<Solution_> variableDescriptor : entry.getValue().keySet()) {
+                    revertValue(variableDescriptor, entity, workingValueList.get(i));
+                    i++;
+                }
+            }
+        }
+        if (metricRegistry != null) {
+            metricRegistry.recordTime(SolverTimerType.SOLUTION_CLONE, System.nanoTime() - startingNanoTime);
+        }
+        scoreDirector.getSolutionDescriptor().setScore(bestSolution, bestScore);
+        return bestSolution;
+    }
+
+    /**
+     * @param variableDescriptor never null
+     * @param entity never null
+     * @param value sometimes null
+     * @return the value before it was reverted, in the same form as the value parameter
+     */
+    private Object revertValue(VariableDescriptor<Solution_> variableDescriptor, Object entity, Object value) {
+        Object oldValue = variableDescriptor.getValue(entity);
+        if (value instanceof CollectionSnapshot) {
+            Collection<Object> collection = (Collection<Object>) oldValue;
+            CollectionSnapshot oldSnapshot = new CollectionSnapshot(collection);
+            collection.clear();
+            collection.addAll(((CollectionSnapshot) value).elementList);
+            return oldSnapshot;
+        }
+        variableDescriptor.setValue(entity, value);
+        return oldValue;
+    }
+
+    private static final class CollectionSnapshot {
+
+        private final List<Object> elementList;
+
+        public CollectionSnapshot(Collection<?> collection) {
+            elementList = new ArrayList<>(collection);
+        }
+
+    }
+
+}
@@ -16,21 +16,30 @@
 
 package org.optaplanner.core.impl.solver.scope;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.metric.SolverMetricRegistry;
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMatrix;
 import org.optaplanner.core.impl.partitionedsearch.PartitionSolver;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.score.ScoreUtils;
 import org.optaplanner.core.impl.score.definition.ScoreDefinition;
 import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.ChildThreadType;
+import org.optaplanner.core.impl.solver.ProblemFactChangeProcessor;
 import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.solver.thread.SolverThreadScheduler;
+import org.optaplanner.core.impl.solver.thread.SolverThreadTicket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,15 +55,33 @@ public class DefaultSolverScope<Solution_> {
     protected InnerScoreDirector<Solution_> scoreDirector;
     /** Used for capping CPU power usage in multi-threaded scenario's */
     protected Semaphore activeThreadSemaphore = null;
+    /** Used for sharing the CPU with other solvers, null if it is not shared by a {@link SolverThreadScheduler} */
+    protected volatile SolverThreadTicket threadTicket = null;
+    /** Shared with the child threads, null if the hot path metrics are not recorded */
+    protected SolverMetricRegistry metricRegistry = null;
+    /** Not shared with the child threads, null if the problem fact changes restart the solver */
+    protected ProblemFactChangeProcessor<Solution_> inPlaceProblemFactChangeProcessor = null;
+    /** Score calculations done by child threads that have already been stopped */
+    protected long childThreadsScoreCalculationCount = 0L;
+    /**
+     * The {@link NearbyDistanceMatrix} instances shared by the phases of 1 solving run,
+     * see {@link SelectionCacheType#SOLVER}.
+     */
+    protected final Map<Object, NearbyDistanceMatrix> nearbyDistanceMatrixMap = new HashMap<>();
 
     protected Long startingSystemTimeMillis;
     protected Long endingSystemTimeMillis;
+    protected long startingGrantedTimeMillis = 0L;
 
     protected Score startingInitializedScore; // TODO after initialization => ambiguous with solve()'s planningProblem
 
     protected volatile Solution_ bestSolution;
+    /** Used instead of {@link #bestSolution} when that is null, see {@link #setLazyBestSolution(Supplier)} */
+    protected volatile Supplier<Solution_> lazyBestSolutionSupplier = null;
     protected volatile Score bestScore; // TODO remove me by folding me into bestSolution.getScore()?
     protected Long bestSolutionTimeMillis;
+    /** See {@link #calculateGrantedTimeMillisUpToNow()} */
+    protected Long bestSolutionGrantedTimeMillis;
 
     // ************************************************************************
     // Constructors and simple getters/setters
@@ -88,6 +115,40 @@ public class DefaultSolverScope<Solution_> {
         this.activeThreadSemaphore = activeThreadSemaphore;
     }
 
+    /**
+     * @return null if the CPU is not shared by a {@link SolverThreadScheduler}
+     */
+    public SolverThreadTicket getThreadTicket() {
+        return threadTicket;
+    }
+
+    public void setThreadTicket(SolverThreadTicket threadTicket) {
+        this.threadTicket = threadTicket;
+    }
+
+    /**
+     * @return null if the hot path metrics are not recorded
+     */
+    public SolverMetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    public void setMetricRegistry(SolverMetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * @return null if the problem fact changes restart the solver instead of being applied in place
+     */
+    public ProblemFactChangeProcessor<Solution_> getInPlaceProblemFactChangeProcessor() {
+        return inPlaceProblemFactChangeProcessor;
+    }
+
+    public void setInPlaceProblemFactChangeProcessor(
+            ProblemFactChangeProcessor<Solution_> inPlaceProblemFactChangeProcessor) {
+        this.inPlaceProblemFactChangeProcessor = inPlaceProblemFactChangeProcessor;
+    }
+
     public Long getStartingSystemTimeMillis() {
         return startingSystemTimeMillis;
     }
@@ -149,10 +210,36 @@ public class DefaultSolverScope<Solution_> {
     }
 
     public long getScoreCalculationCount() {
-        return scoreDirector.getCalculationCount();
+        return scoreDirector.getCalculationCount() + childThreadsScoreCalculationCount;
+    }
+
+    public void addChildThreadsScoreCalculationCount(long addition) {
+        childThreadsScoreCalculationCount += addition;
+    }
+
+    public NearbyDistanceMatrix getNearbyDistanceMatrix(Object key) {
+        return nearbyDistanceMatrixMap.get(key);
+    }
+
+    public void putNearbyDistanceMatrix(Object key, NearbyDistanceMatrix nearbyDistanceMatrix) {
+        nearbyDistanceMatrixMap.put(key, nearbyDistanceMatrix);
+    }
+
+    /**
+     * For example because a problem fact change added or removed a planning entity or a planning value.
+     */
+    public void clearNearbyDistanceMatrices() {
+        nearbyDistanceMatrixMap.clear();
     }
 
     public Solution_ getBestSolution() {
+        Solution_ bestSolution = this.bestSolution;
+        if (bestSolution == null) {
+            Supplier<Solution_> lazyBestSolutionSupplier = this.lazyBestSolutionSupplier;
+            if (lazyBestSolutionSupplier != null) {
+                bestSolution = lazyBestSolutionSupplier.get();
+            }
+        }
         return bestSolution;
     }
 
@@ -163,6 +250,17 @@ public class DefaultSolverScope<Solution_> {
      */
     public void setBestSolution(Solution_ bestSolution) {
         this.bestSolution = bestSolution;
+        lazyBestSolutionSupplier = null;
+    }
+
+    /**
+     * Delays cloning the {@link PlanningSolution best solution} until {@link #getBestSolution()} is called.
+     * @param lazyBestSolutionSupplier never null, must be thread-safe and must never return the same instance
+     * as the {@link PlanningSolution working solution}
+     */
+    public void setLazyBestSolution(Supplier<Solution_> lazyBestSolutionSupplier) {
+        this.lazyBestSolutionSupplier = lazyBestSolutionSupplier;
+        bestSolution = null;
     }
 
     public Score getBestScore() {
@@ -181,6 +279,14 @@ public class DefaultSolverScope<Solution_> {
         this.bestSolutionTimeMillis = bestSolutionTimeMillis;
     }
 
+    public Long getBestSolutionGrantedTimeMillis() {
+        return bestSolutionGrantedTimeMillis;
+    }
+
+    public void setBestSolutionGrantedTimeMillis(Long bestSolutionGrantedTimeMillis) {
+        this.bestSolutionGrantedTimeMillis = bestSolutionGrantedTimeMillis;
+    }
+
     // ************************************************************************
     // Calculated methods
     // ************************************************************************
@@ -188,10 +294,15 @@ public class DefaultSolverScope<Solution_> {
     public void startingNow() {
         startingSystemTimeMillis = System.currentTimeMillis();
         endingSystemTimeMillis = null;
+        startingGrantedTimeMillis = threadTicket == null ? 0L : threadTicket.calculateGrantedTimeMillisUpToNow();
+        childThreadsScoreCalculationCount = 0L;
+        nearbyDistanceMatrixMap.clear();
     }
 
     public void endingNow() {
         endingSystemTimeMillis = System.currentTimeMillis();
+        // A restarted solver has other working entity instances
+        nearbyDistanceMatrixMap.clear();
     }
 
     public boolean isBestSolutionInitialized() {
@@ -207,6 +318,34 @@ public class DefaultSolverScope<Solution_> {
         return endingSystemTimeMillis - startingSystemTimeMillis;
     }
 
+    /**
+     * Unlike {@link #calculateTimeMillisSpentUpToNow()},
+     * this excludes the time spent waiting for the {@link SolverThreadScheduler} to grant an active thread,
+     * so a time spent {@link Termination} only counts the CPU time that this solver actually got.
+     * @return at least 0, same as {@link #calculateTimeMillisSpentUpToNow()} if the CPU is not shared
+     */
+    public long calculateGrantedTimeMillisSpentUpToNow() {
+        SolverThreadTicket threadTicket_ = threadTicket;
+        if (threadTicket_ == null) {
+            return calculateTimeMillisSpentUpToNow();
+        }
+        return threadTicket_.calculateGrantedTimeMillisUpToNow() - startingGrantedTimeMillis;
+    }
+
+    /**
+     * Only comparable with another granted time of the same solving run, such as
+     * {@link #getBestSolutionGrantedTimeMillis()}, because it doesn't advance while the solver thread waits
+     * for the {@link SolverThreadScheduler} to grant an active thread.
+     * @return {@link System#currentTimeMillis()} if the CPU is not shared
+     */
+    public long calculateGrantedTimeMillisUpToNow() {
+        SolverThreadTicket threadTicket_ = threadTicket;
+        if (threadTicket_ == null) {
+            return System.currentTimeMillis();
+        }
+        return threadTicket_.calculateGrantedTimeMillisUpToNow();
+    }
+
     /**
      * @return at least 0, per second
      */
@@ -218,7 +357,7 @@ public class DefaultSolverScope<Solution_> {
 
     public void setWorkingSolutionFromBestSolution() {
         // The workingSolution must never be the same instance as the bestSolution.
-        scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(bestSolution));
+        scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(getBestSolution()));
     }
 
     public DefaultSolverScope<Solution_> createChildThreadSolverScope(ChildThreadType childThreadType) {
@@ -228,16 +367,26 @@ public class DefaultSolverScope<Solution_> {
         // Experiments show that this trick to attain reproducibility doesn't break uniform distribution
         childThreadSolverScope.workingRandom = new Random(workingRandom.nextLong());
         childThreadSolverScope.scoreDirector = scoreDirector.createChildThreadScoreDirector(childThreadType);
+        childThreadSolverScope.metricRegistry = metricRegistry;
         childThreadSolverScope.startingSystemTimeMillis = startingSystemTimeMillis;
         childThreadSolverScope.endingSystemTimeMillis = endingSystemTimeMillis;
         childThreadSolverScope.startingInitializedScore = null;
         childThreadSolverScope.bestSolution = null;
         childThreadSolverScope.bestScore = null;
         childThreadSolverScope.bestSolutionTimeMillis = null;
+        childThreadSolverScope.bestSolutionGrantedTimeMillis = null;
         return childThreadSolverScope;
     }
 
     public void initializeYielding() {
+        if (threadTicket != null) {
+            try {
+                threadTicket.acquire();
+            } catch (InterruptedException e) {
+                // The BasicPlumbingTermination will terminate the solver.
+                Thread.currentThread().interrupt();
+            }
+        }
         if (activeThreadSemaphore != null) {
             try {
                 activeThreadSemaphore.acquire();
@@ -260,6 +409,14 @@ public class DefaultSolverScope<Solution_> {
      * Furthermore, this method will
      */
     public void checkYielding() {
+        if (threadTicket != null) {
+            try {
+                threadTicket.checkYielding();
+            } catch (InterruptedException e) {
+                // The BasicPlumbingTermination will terminate the solver.
+                Thread.currentThread().interrupt();
+            }
+        }
         if (activeThreadSemaphore != null) {
             activeThreadSemaphore.release();
             try {
@@ -272,6 +429,9 @@ public class DefaultSolverScope<Solution_> {
     }
 
     public void destroyYielding() {
+        if (threadTicket != null) {
+            threadTicket.release();
+        }
         if (activeThreadSemaphore != null) {
             activeThreadSemaphore.release();
         }
@@ -42,13 +42,13 @@ public class TimeMillisSpentTermination extends AbstractTermination {
 
     @Override
     public boolean isSolverTerminated(DefaultSolverScope solverScope) {
-        long solverTimeMillisSpent = solverScope.calculateTimeMillisSpentUpToNow();
+        long solverTimeMillisSpent = solverScope.calculateGrantedTimeMillisSpentUpToNow();
         return isTerminated(solverTimeMillisSpent);
     }
 
     @Override
     public boolean isPhaseTerminated(AbstractPhaseScope phaseScope) {
-        long phaseTimeMillisSpent = phaseScope.calculatePhaseTimeMillisSpentUpToNow();
+        long phaseTimeMillisSpent = phaseScope.calculatePhaseGrantedTimeMillisSpentUpToNow();
         return isTerminated(phaseTimeMillisSpent);
     }
 
@@ -62,13 +62,13 @@ public class TimeMillisSpentTermination extends AbstractTermination {
 
     @Override
     public double calculateSolverTimeGradient(DefaultSolverScope solverScope) {
-        long solverTimeMillisSpent = solverScope.calculateTimeMillisSpentUpToNow();
+        long solverTimeMillisSpent = solverScope.calculateGrantedTimeMillisSpentUpToNow();
         return calculateTimeGradient(solverTimeMillisSpent);
     }
 
     @Override
     public double calculatePhaseTimeGradient(AbstractPhaseScope phaseScope) {
-        long phaseTimeMillisSpent = phaseScope.calculatePhaseTimeMillisSpentUpToNow();
+        long phaseTimeMillisSpent = phaseScope.calculatePhaseGrantedTimeMillisSpentUpToNow();
         return calculateTimeGradient(phaseTimeMillisSpent);
     }
 
@@ -42,19 +42,18 @@ public class UnimprovedTimeMillisSpentTermination extends AbstractTermination {
 
     @Override
     public boolean isSolverTerminated(DefaultSolverScope solverScope) {
-        long bestSolutionTimeMillis = solverScope.getBestSolutionTimeMillis();
-        return isTerminated(bestSolutionTimeMillis);
+        long bestSolutionGrantedTimeMillis = solverScope.getBestSolutionGrantedTimeMillis();
+        return isTerminated(solverScope.calculateGrantedTimeMillisUpToNow() - bestSolutionGrantedTimeMillis);
     }
 
     @Override
     public boolean isPhaseTerminated(AbstractPhaseScope phaseScope) {
-        long bestSolutionTimeMillis = phaseScope.getPhaseBestSolutionTimeMillis();
-        return isTerminated(bestSolutionTimeMillis);
+        long bestSolutionGrantedTimeMillis = phaseScope.getPhaseBestSolutionGrantedTimeMillis();
+        return isTerminated(phaseScope.getSolverScope().calculateGrantedTimeMillisUpToNow()
+                - bestSolutionGrantedTimeMillis);
     }
 
-    protected boolean isTerminated(long bestSolutionTimeMillis) {
-        long now = System.currentTimeMillis();
-        long unimprovedTimeMillisSpent = now - bestSolutionTimeMillis;
+    protected boolean isTerminated(long unimprovedTimeMillisSpent) {
         return unimprovedTimeMillisSpent >= unimprovedTimeMillisSpentLimit;
     }
 
@@ -64,19 +63,18 @@ public class UnimprovedTimeMillisSpentTermination extends AbstractTermination {
 
     @Override
     public double calculateSolverTimeGradient(DefaultSolverScope solverScope) {
-        long bestSolutionTimeMillis = solverScope.getBestSolutionTimeMillis();
-        return calculateTimeGradient(bestSolutionTimeMillis);
+        long bestSolutionGrantedTimeMillis = solverScope.getBestSolutionGrantedTimeMillis();
+        return calculateTimeGradient(solverScope.calculateGrantedTimeMillisUpToNow() - bestSolutionGrantedTimeMillis);
     }
 
     @Override
     public double calculatePhaseTimeGradient(AbstractPhaseScope phaseScope) {
-        long bestSolutionTimeMillis = phaseScope.getPhaseBestSolutionTimeMillis();
-        return calculateTimeGradient(bestSolutionTimeMillis);
+        long bestSolutionGrantedTimeMillis = phaseScope.getPhaseBestSolutionGrantedTimeMillis();
+        return calculateTimeGradient(phaseScope.getSolverScope().calculateGrantedTimeMillisUpToNow()
+                - bestSolutionGrantedTimeMillis);
     }
 
-    protected double calculateTimeGradient(long bestSolutionTimeMillis) {
-        long now = System.currentTimeMillis();
-        long unimprovedTimeMillisSpent = now - bestSolutionTimeMillis;
+    protected double calculateTimeGradient(long unimprovedTimeMillisSpent) {
         double timeGradient = ((double) unimprovedTimeMillisSpent) / ((double) unimprovedTimeMillisSpentLimit);
         return Math.min(timeGradient, 1.0);
     }
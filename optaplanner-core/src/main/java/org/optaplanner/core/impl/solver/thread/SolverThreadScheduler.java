@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.thread;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+
+/**
+ * Shares a limited number of active threads between the solver threads of many {@link Solver}s,
+ * so they don't all compete for the CPU at the same time (which thrashes the CPU caches).
+ * <p>
+ * Each solver thread holds its active thread for at least a quantum of CPU time,
+ * before it yields it in {@link DefaultSolverScope#checkYielding()}.
+ * When an active thread frees up, the waiting solver thread with the lowest weighted granted time
+ * (the granted CPU time divided by its weight) gets it,
+ * so a solver with weight 2 gets twice as much CPU time as a solver with weight 1.
+ * <p>
+ * This class is thread-safe.
+ */
+public class SolverThreadScheduler {
+
+    public static final int DEFAULT_WEIGHT = 1;
+    public static final long DEFAULT_QUANTUM_MILLIS = 50L;
+
+    private final int activeThreadCount;
+    private final long quantumNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final PriorityQueue<SolverThreadTicket> waitingTicketQueue = new PriorityQueue<>(
+            Comparator.comparingLong(SolverThreadTicket::getWeightedGrantedNanos)
+                    .thenComparingLong(SolverThreadTicket::getWaitingIndex));
+    private int grantedCount = 0;
+    private long waitingSequence = 0L;
+    /** Given to new and waking tickets, so they cannot claim the CPU time they did not wait for */
+    private long minimumWeightedGrantedNanos = 0L;
+
+    /**
+     * @param activeThreadCount at least 1
+     * @param quantumMillis at least 1
+     */
+    public SolverThreadScheduler(int activeThreadCount, long quantumMillis) {
+        if (activeThreadCount < 1) {
+            throw new IllegalArgumentException("The activeThreadCount (" + activeThreadCount
+                    + ") cannot be lower than 1.");
+        }
+        if (quantumMillis < 1L) {
+            throw new IllegalArgumentException("The quantumMillis (" + quantumMillis
+                    + ") cannot be lower than 1.");
+        }
+        this.activeThreadCount = activeThreadCount;
+        this.quantumNanos = TimeUnit.MILLISECONDS.toNanos(quantumMillis);
+    }
+
+    public int getActiveThreadCount() {
+        return activeThreadCount;
+    }
+
+    public long getQuantumNanos() {
+        return quantumNanos;
+    }
+
+    /**
+     * @param weight at least 1, see {@link #DEFAULT_WEIGHT}
+     * @return never null, used by 1 solving run of 1 {@link Solver}
+     */
+    public SolverThreadTicket createTicket(int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("The weight (" + weight + ") cannot be lower than 1.");
+        }
+        return new SolverThreadTicket(this, weight, lock.newCondition());
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    /**
+     * @param ticket never null
+     * @return true if the ticket holds an active thread, false if its waiting was aborted
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean acquire(SolverThreadTicket ticket) throws InterruptedException {
+        lock.lock();
+        try {
+            if (ticket.aborted) {
+                return false;
+            }
+            ticket.weightedGrantedNanos = Math.max(ticket.weightedGrantedNanos, minimumWeightedGrantedNanos);
+            if (grantedCount < activeThreadCount && waitingTicketQueue.isEmpty()) {
+                grantedCount++;
+                return true;
+            }
+            return awaitGrant(ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands over the active thread to a waiting ticket that has had less weighted CPU time.
+     * @param ticket never null, holds an active thread
+     * @param sliceNanos at least 0, the CPU time since the ticket got or kept its active thread
+     * @return true if the ticket holds an active thread, false if its waiting was aborted
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean yield(SolverThreadTicket ticket, long sliceNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            ticket.weightedGrantedNanos += sliceNanos / ticket.getWeight();
+            SolverThreadTicket nextTicket = waitingTicketQueue.peek();
+            if (ticket.aborted || nextTicket == null
+                    || nextTicket.weightedGrantedNanos >= ticket.weightedGrantedNanos) {
+                return true;
+            }
+            waitingTicketQueue.poll();
+            grant(nextTicket);
+            return awaitGrant(ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param ticket never null, holds an active thread
+     * @param sliceNanos at least 0, the CPU time since the ticket got or kept its active thread
+     */
+    void release(SolverThreadTicket ticket, long sliceNanos) {
+        lock.lock();
+        try {
+            ticket.weightedGrantedNanos += sliceNanos / ticket.getWeight();
+            SolverThreadTicket nextTicket = waitingTicketQueue.poll();
+            if (nextTicket != null) {
+                grant(nextTicket);
+            } else {
+                grantedCount--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param ticket never null
+     */
+    void abortWaiting(SolverThreadTicket ticket) {
+        lock.lock();
+        try {
+            ticket.aborted = true;
+            ticket.grantedCondition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitGrant(SolverThreadTicket ticket) throws InterruptedException {
+        ticket.granted = false;
+        ticket.waitingIndex = waitingSequence++;
+        waitingTicketQueue.add(ticket);
+        try {
+            while (!ticket.granted && !ticket.aborted) {
+                ticket.grantedCondition.await();
+            }
+        } catch (InterruptedException e) {
+            if (!ticket.granted) {
+                waitingTicketQueue.remove(ticket);
+                throw e;
+            }
+            // Keep the active thread: the caller's termination will react to the interrupt
+            Thread.currentThread().interrupt();
+        }
+        if (!ticket.granted) {
+            waitingTicketQueue.remove(ticket);
+            return false;
+        }
+        return true;
+    }
+
+    private void grant(SolverThreadTicket ticket) {
+        ticket.granted = true;
+        minimumWeightedGrantedNanos = Math.max(minimumWeightedGrantedNanos, ticket.weightedGrantedNanos);
+        ticket.grantedCondition.signal();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + activeThreadCount + ")";
+    }
+
+}
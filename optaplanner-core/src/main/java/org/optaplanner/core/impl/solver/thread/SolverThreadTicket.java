@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.thread;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+import org.optaplanner.core.api.solver.Solver;
+
+/**
+ * The membership of 1 solving run of 1 {@link Solver} in a {@link SolverThreadScheduler}.
+ * <p>
+ * Except for {@link #abortWaiting()}, the methods must be called from the solver thread.
+ */
+public class SolverThreadTicket {
+
+    private final SolverThreadScheduler scheduler;
+    private final int weight;
+
+    // Guarded by the scheduler's lock
+    final Condition grantedCondition;
+    boolean granted = false;
+    boolean aborted = false;
+    long weightedGrantedNanos = 0L;
+    long waitingIndex = 0L;
+
+    // Only used by the solver thread
+    private boolean holding = false;
+    /** True while the solver thread is not waiting for an active thread, even if it does not hold one */
+    private boolean running = false;
+    private long sliceStartNanos = 0L;
+    private long grantedNanos = 0L;
+
+    SolverThreadTicket(SolverThreadScheduler scheduler, int weight, Condition grantedCondition) {
+        this.scheduler = scheduler;
+        this.weight = weight;
+        this.grantedCondition = grantedCondition;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    long getWeightedGrantedNanos() {
+        return weightedGrantedNanos;
+    }
+
+    long getWaitingIndex() {
+        return waitingIndex;
+    }
+
+    /**
+     * @return true if the solver thread currently holds an active thread
+     */
+    public boolean isHolding() {
+        return holding;
+    }
+
+    // ************************************************************************
+    // Worker methods
+    // ************************************************************************
+
+    /**
+     * Waits until the solver thread gets an active thread.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        try {
+            holding = scheduler.acquire(this);
+        } finally {
+            running = true;
+            sliceStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns immediately until the quantum is used up.
+     * Then it yields the active thread if another solver thread deserves it more and waits to get one again.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void checkYielding() throws InterruptedException {
+        if (!holding) {
+            return;
+        }
+        long now = System.nanoTime();
+        long sliceNanos = now - sliceStartNanos;
+        if (sliceNanos < scheduler.getQuantumNanos()) {
+            return;
+        }
+        grantedNanos += sliceNanos;
+        running = false;
+        // Stays false if interrupted while waiting
+        holding = false;
+        try {
+            holding = scheduler.yield(this, sliceNanos);
+        } finally {
+            running = true;
+            sliceStartNanos = System.nanoTime();
+        }
+    }
+
+    public void release() {
+        if (!running) {
+            return;
+        }
+        long sliceNanos = System.nanoTime() - sliceStartNanos;
+        grantedNanos += sliceNanos;
+        running = false;
+        if (holding) {
+            holding = false;
+            scheduler.release(this, sliceNanos);
+        }
+    }
+
+    /**
+     * Stops any current or future waiting for an active thread, for example because the solver terminates early.
+     * <p>
+     * This method is thread-safe.
+     */
+    public void abortWaiting() {
+        scheduler.abortWaiting(this);
+    }
+
+    /**
+     * @return at least 0, the time during which the solver thread was not waiting for an active thread
+     */
+    public long calculateGrantedTimeMillisUpToNow() {
+        long nanos = running ? grantedNanos + (System.nanoTime() - sliceStartNanos) : grantedNanos;
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + weight + ")";
+    }
+
+}
@@ -16,8 +16,10 @@
 
 package org.optaplanner.core.api.score.buildin.hardsoft;
 
+import org.drools.core.common.AgendaItem;
 import org.junit.Test;
 import org.kie.api.runtime.rule.RuleContext;
+import org.kie.internal.event.rule.ActivationUnMatchListener;
 import org.optaplanner.core.api.score.holder.AbstractScoreHolderTest;
 
 import static org.junit.Assert.*;
@@ -61,4 +63,20 @@ public class HardSoftScoreHolderTest extends AbstractScoreHolderTest {
         }
     }
 
+    @Test
+    public void addConstraintMatchReusesUnMatchListener() {
+        HardSoftScoreHolder scoreHolder = new HardSoftScoreHolder(false);
+        RuleContext ruleContext = mockRuleContext("scoreRule1");
+        AgendaItem agendaItem = (AgendaItem) ruleContext.getMatch();
+        scoreHolder.addHardConstraintMatch(ruleContext, -10);
+        ActivationUnMatchListener unMatchListener = agendaItem.getActivationUnMatchListener();
+        callUnMatch(ruleContext);
+        assertEquals(HardSoftScore.valueOf(0, 0, 0), scoreHolder.extractScore(0));
+
+        scoreHolder.addHardConstraintMatch(ruleContext, -20);
+        scoreHolder.addHardConstraintMatch(ruleContext, -30); // Overwrite existing
+        assertSame(unMatchListener, agendaItem.getActivationUnMatchListener());
+        assertEquals(HardSoftScore.valueOf(0, -30, 0), scoreHolder.extractScore(0));
+    }
+
 }
@@ -74,6 +74,36 @@ public class DefaultConstructionHeuristicPhaseTest {
         assertEquals(0, solution.getScore().getInitScore());
     }
 
+    @Test
+    public void solveWithMoveThreadsBreaksTiesLikeSingleThreaded() {
+        TestdataSolution singleThreadedSolution = solveWithMoveThreadCount(null);
+        TestdataSolution multiThreadedSolution = solveWithMoveThreadCount("2");
+        assertEquals(0, multiThreadedSolution.getScore().getInitScore());
+        for (int i = 0; i < singleThreadedSolution.getEntityList().size(); i++) {
+            TestdataEntity singleThreadedEntity = singleThreadedSolution.getEntityList().get(i);
+            TestdataEntity multiThreadedEntity = multiThreadedSolution.getEntityList().get(i);
+            assertCode(singleThreadedEntity.getCode(), multiThreadedEntity);
+            assertCode(singleThreadedEntity.getValue().getCode(), multiThreadedEntity.getValue());
+        }
+    }
+
+    private TestdataSolution solveWithMoveThreadCount(String moveThreadCount) {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setMoveThreadCount(moveThreadCount);
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(
+                new ConstructionHeuristicPhaseConfig()));
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(
+                new TestdataValue("v1"), new TestdataValue("v2"), new TestdataValue("v3")));
+        solution.setEntityList(Arrays.asList(
+                new TestdataEntity("e1"), new TestdataEntity("e2"), new TestdataEntity("e3"),
+                new TestdataEntity("e4"), new TestdataEntity("e5")));
+        return solver.solve(solution);
+    }
+
     @Test
     public void solveWithImmovableEntities() {
         SolverFactory<TestdataImmovableSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
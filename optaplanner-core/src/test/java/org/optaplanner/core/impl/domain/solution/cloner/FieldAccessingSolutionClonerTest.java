@@ -16,7 +16,28 @@
 
 package org.optaplanner.core.impl.domain.solution.cloner;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.domain.solution.cloner.FieldAccessingSolutionCloner.ClassCloningPlan;
+import org.optaplanner.core.impl.domain.solution.cloner.FieldAccessingSolutionCloner.FieldCloningPlan;
+import org.optaplanner.core.impl.domain.solution.cloner.FieldAccessingSolutionCloner.FieldCloningType;
 import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataObject;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.domain.extended.TestdataAnnotatedExtendedEntity;
+import org.optaplanner.core.impl.testdata.domain.extended.TestdataAnnotatedExtendedSolution;
+import org.optaplanner.core.impl.testdata.domain.primitive.TestdataPrimitiveEntity;
+import org.optaplanner.core.impl.testdata.domain.primitive.TestdataPrimitiveSolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertCode;
 
 public class FieldAccessingSolutionClonerTest extends AbstractSolutionClonerTest {
 
@@ -26,4 +47,113 @@ public class FieldAccessingSolutionClonerTest extends AbstractSolutionClonerTest
         return new FieldAccessingSolutionCloner<>(solutionDescriptor);
     }
 
+    @Test
+    public void clonePrimitiveFields() {
+        SolutionDescriptor solutionDescriptor = TestdataPrimitiveSolution.buildSolutionDescriptor();
+        FieldAccessingSolutionCloner<TestdataPrimitiveSolution> cloner = createSolutionCloner(solutionDescriptor);
+
+        TestdataValue val1 = new TestdataValue("1");
+        TestdataPrimitiveEntity a = new TestdataPrimitiveEntity("a", val1);
+        a.setBooleanField(true);
+        a.setByteField((byte) -7);
+        a.setShortField((short) 1234);
+        a.setCharField('x');
+        a.setIntField(123456);
+        a.setLongField(Long.MAX_VALUE);
+        a.setFloatField(1.5F);
+        a.setDoubleField(-2.25);
+
+        TestdataPrimitiveSolution original = new TestdataPrimitiveSolution("solution");
+        original.setValueList(Arrays.asList(val1));
+        original.setEntityList(Arrays.asList(a));
+
+        TestdataPrimitiveSolution clone = cloner.cloneSolution(original);
+
+        TestdataPrimitiveEntity cloneA = clone.getEntityList().get(0);
+        assertNotSame(a, cloneA);
+        assertCode("a", cloneA);
+        assertTrue(cloneA.isBooleanField());
+        assertEquals((byte) -7, cloneA.getByteField());
+        assertEquals((short) 1234, cloneA.getShortField());
+        assertEquals('x', cloneA.getCharField());
+        assertEquals(123456, cloneA.getIntField());
+        assertEquals(Long.MAX_VALUE, cloneA.getLongField());
+        assertEquals(1.5F, cloneA.getFloatField(), 0.0F);
+        assertEquals(-2.25, cloneA.getDoubleField(), 0.0);
+
+        a.setByteField((byte) 8);
+        a.setShortField((short) -1);
+        a.setCharField('y');
+        a.setFloatField(0.5F);
+        // Clone remains unchanged
+        assertEquals((byte) -7, cloneA.getByteField());
+        assertEquals((short) 1234, cloneA.getShortField());
+        assertEquals('x', cloneA.getCharField());
+        assertEquals(1.5F, cloneA.getFloatField(), 0.0F);
+
+        ClassCloningPlan cloningPlan = cloner.cloningPlanMap.get(TestdataPrimitiveEntity.class);
+        for (FieldCloningPlan fieldCloningPlan : cloningPlan.fieldCloningPlans) {
+            if (fieldCloningPlan.field.getType().isPrimitive()) {
+                assertEquals(fieldCloningPlan.field.getName(),
+                        FieldCloningType.PRIMITIVE, fieldCloningPlan.cloningType);
+            }
+        }
+    }
+
+    @Test
+    public void cloneFinalFieldType() throws NoSuchFieldException {
+        SolutionDescriptor solutionDescriptor = TestdataPrimitiveSolution.buildSolutionDescriptor();
+        FieldAccessingSolutionCloner<TestdataPrimitiveSolution> cloner = createSolutionCloner(solutionDescriptor);
+
+        // String is final and not deep cloned
+        assertEquals(FieldCloningType.SHALLOW, cloner.determineFieldCloningType(
+                TestdataObject.class.getDeclaredField("code"), TestdataPrimitiveEntity.class));
+        // TestdataPrimitiveEntity is final and an entity class
+        assertEquals(FieldCloningType.DEEP, cloner.determineFieldCloningType(
+                TestdataPrimitiveEntity.class.getDeclaredField("partner"), TestdataPrimitiveEntity.class));
+        // TestdataValue isn't final, so a subclass instance might be deep cloned
+        assertEquals(FieldCloningType.DEPENDS_ON_ACTUAL_VALUE_CLASS, cloner.determineFieldCloningType(
+                TestdataPrimitiveEntity.class.getDeclaredField("value"), TestdataPrimitiveEntity.class));
+
+        TestdataValue val1 = new TestdataValue("1");
+        TestdataPrimitiveEntity a = new TestdataPrimitiveEntity("a", val1);
+        TestdataPrimitiveEntity b = new TestdataPrimitiveEntity("b", val1);
+        a.setPartner(b);
+        b.setPartner(a);
+
+        TestdataPrimitiveSolution original = new TestdataPrimitiveSolution("solution");
+        original.setValueList(Arrays.asList(val1));
+        original.setEntityList(Arrays.asList(a, b));
+
+        TestdataPrimitiveSolution clone = cloner.cloneSolution(original);
+
+        TestdataPrimitiveEntity cloneA = clone.getEntityList().get(0);
+        TestdataPrimitiveEntity cloneB = clone.getEntityList().get(1);
+        assertNotSame(a, cloneA);
+        assertSame(a.getCode(), cloneA.getCode());
+        assertSame(val1, cloneA.getValue());
+        assertSame(cloneB, cloneA.getPartner());
+        assertSame(cloneA, cloneB.getPartner());
+    }
+
+    @Test
+    public void initializeCloningPlansOfExtendedEntity() {
+        SolutionDescriptor solutionDescriptor = TestdataAnnotatedExtendedSolution.buildExtendedSolutionDescriptor();
+        FieldAccessingSolutionCloner<TestdataAnnotatedExtendedSolution> cloner
+                = createSolutionCloner(solutionDescriptor);
+        cloner.initializeCloningPlans();
+
+        assertTrue(cloner.cloningPlanMap.containsKey(TestdataAnnotatedExtendedSolution.class));
+        assertTrue(cloner.cloningPlanMap.containsKey(TestdataEntity.class));
+        ClassCloningPlan cloningPlan = cloner.cloningPlanMap.get(TestdataAnnotatedExtendedEntity.class);
+        assertSame(TestdataAnnotatedExtendedEntity.class, cloningPlan.instanceClass);
+        Set<String> fieldNameSet = new HashSet<>();
+        for (FieldCloningPlan fieldCloningPlan : cloningPlan.fieldCloningPlans) {
+            fieldNameSet.add(fieldCloningPlan.field.getName());
+        }
+        // The fields of TestdataAnnotatedExtendedEntity, TestdataEntity and TestdataObject
+        assertEquals(new HashSet<>(Arrays.asList("subValue", "value", "code")), fieldNameSet);
+        assertEquals(3, cloningPlan.fieldCloningPlans.length);
+    }
+
 }
@@ -34,6 +34,7 @@ import org.optaplanner.core.impl.exhaustivesearch.scope.ExhaustiveSearchPhaseSco
 import org.optaplanner.core.impl.exhaustivesearch.scope.ExhaustiveSearchStepScope;
 import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
+import org.optaplanner.core.impl.score.TestdataValueConflictEasyScoreCalculator;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
@@ -148,6 +149,45 @@ public class DefaultExhaustiveSearchPhaseTest {
         assertEquals(0, solution.getScore().getInitScore());
     }
 
+    @Test
+    public void solveWithMoveThreads() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().getScoreDirectorFactoryConfig()
+                .setEasyScoreCalculatorClass(TestdataValueConflictEasyScoreCalculator.class);
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(
+                new ExhaustiveSearchPhaseConfig()));
+        TestdataSolution singleThreadedSolution = solverFactory.buildSolver().solve(buildMoveThreadsProblem());
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        TestdataSolution solution = solver.solve(buildMoveThreadsProblem());
+        assertNotNull(solution);
+        for (TestdataEntity solvedEntity : solution.getEntityList()) {
+            assertNotNull(solvedEntity.getValue());
+        }
+        assertCode("v1", solution.getEntityList().get(2).getValue());
+        assertEquals(0, solution.getScore().getInitScore());
+        // 3 entities on one value and 2 on the other
+        assertEquals(SimpleScore.valueOf(0, -4), singleThreadedSolution.getScore());
+        assertEquals(singleThreadedSolution.getScore(), solution.getScore());
+        assertSame(solution, solver.getBestSolution());
+    }
+
+    private TestdataSolution buildMoveThreadsProblem() {
+        TestdataSolution solution = new TestdataSolution("s1");
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(
+                new TestdataEntity("e1", null),
+                new TestdataEntity("e2", null),
+                new TestdataEntity("e3", v1),
+                new TestdataEntity("e4", null),
+                new TestdataEntity("e5", null)));
+        return solution;
+    }
+
     @Test
     public void solveWithImmovableEntities() {
         SolverFactory<TestdataImmovableSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
@@ -19,12 +19,13 @@ import java.util.TreeSet;
 
 import org.junit.Test;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.exhaustivesearch.node.ExhaustiveSearchNode;
 import org.optaplanner.core.impl.exhaustivesearch.node.comparator.AbstractNodeComparatorTest;
 import org.optaplanner.core.impl.exhaustivesearch.node.comparator.ScoreFirstNodeComparator;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class ExhaustiveSearchPhaseScopeTest extends AbstractNodeComparatorTest {
 
@@ -41,4 +42,27 @@ public class ExhaustiveSearchPhaseScopeTest extends AbstractNodeComparatorTest {
         assertEquals(1, phase.getExpandableNodeQueue().size());
     }
 
+    @Test
+    public void testNodePruningAfterRemoveLast() {
+        ExhaustiveSearchPhaseScope<TestdataSolution> phase
+                = new ExhaustiveSearchPhaseScope<TestdataSolution>(new DefaultSolverScope<TestdataSolution>());
+        phase.setExpandableNodeQueue(new TreeSet<>(new ScoreFirstNodeComparator(true)));
+        ExhaustiveSearchNode node0 = buildNode(0, "0", 0, 0);
+        ExhaustiveSearchNode node1 = buildNode(0, "1", 0, 0);
+        ExhaustiveSearchNode node2 = buildNode(0, "2", 0, 0);
+        ExhaustiveSearchNode node3 = buildNode(0, "3", 0, 0);
+        phase.addExpandableNode(node0);
+        phase.addExpandableNode(node1);
+        phase.addExpandableNode(node2);
+        phase.addExpandableNode(node3);
+        phase.setBestPessimisticBound(SimpleScore.valueOfInitialized(Integer.MIN_VALUE));
+        assertSame(node3, phase.removeLastExpandableNode());
+        phase.registerPessimisticBound(SimpleScore.valueOfInitialized(0));
+        assertEquals(2, phase.getExpandableNodeQueue().size());
+        phase.registerPessimisticBound(SimpleScore.valueOfInitialized(1));
+        assertEquals(1, phase.getExpandableNodeQueue().size());
+        assertSame(node2, phase.removeLastExpandableNode());
+        assertEquals(0, phase.getExpandableNodeQueue().size());
+    }
+
 }
@@ -18,6 +18,7 @@ package org.optaplanner.core.impl.heuristic.selector.common.nearby;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.optaplanner.core.impl.testdata.domain.TestdataObject;
@@ -94,6 +95,55 @@ public class NearbyDistanceMatrixTest {
         assertSame(c, nearbyDistanceMatrix.getDestination(d, 3));
     }
 
+    @Test
+    public void getDestinationLazily() {
+        final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[]{0.0, 4.0, 2.0, 6.0});
+        final MatrixTestdataObject b = new MatrixTestdataObject("b", 1, new double[]{4.0, 0.0, 5.0, 10.0});
+        final MatrixTestdataObject c = new MatrixTestdataObject("c", 2, new double[]{2.0, 5.0, 0.0, 7.0});
+        final MatrixTestdataObject d = new MatrixTestdataObject("d", 3, new double[]{6.0, 10.0, 7.0, 0.0});
+        List<Object> entityList = Arrays.<Object>asList(a, b, c, d);
+        AtomicInteger distanceCount = new AtomicInteger(0);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter = (origin, destination) -> {
+            distanceCount.incrementAndGet();
+            return origin.distances[destination.index];
+        };
+
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(meter, 4,
+                origin -> entityList.iterator(), origin -> 3);
+        assertEquals(0, distanceCount.get());
+        assertSame(c, nearbyDistanceMatrix.getDestination(a, 1));
+        assertEquals(4, distanceCount.get());
+        assertSame(b, nearbyDistanceMatrix.getDestination(a, 2));
+        assertEquals(4, distanceCount.get());
+        assertSame(a, nearbyDistanceMatrix.getDestination(d, 1));
+        assertSame(c, nearbyDistanceMatrix.getDestination(d, 2));
+        assertEquals(8, distanceCount.get());
+    }
+
+    @Test
+    public void addAllOriginsInParallel() {
+        final MatrixTestdataObject a = new MatrixTestdataObject("a", 0, new double[]{0.0, 4.0, 2.0, 6.0});
+        final MatrixTestdataObject b = new MatrixTestdataObject("b", 1, new double[]{4.0, 0.0, 5.0, 10.0});
+        final MatrixTestdataObject c = new MatrixTestdataObject("c", 2, new double[]{2.0, 5.0, 0.0, 7.0});
+        final MatrixTestdataObject d = new MatrixTestdataObject("d", 3, new double[]{6.0, 10.0, 7.0, 0.0});
+        List<Object> entityList = Arrays.<Object>asList(a, b, c, d);
+        NearbyDistanceMeter<MatrixTestdataObject, MatrixTestdataObject> meter
+                = (origin, destination) -> origin.distances[destination.index];
+
+        NearbyDistanceMatrix nearbyDistanceMatrix = new NearbyDistanceMatrix(meter, 4,
+                origin -> entityList.iterator(), origin -> 4);
+        nearbyDistanceMatrix.addAllOrigins(entityList.iterator(), true);
+
+        assertSame(c, nearbyDistanceMatrix.getDestination(a, 1));
+        assertSame(d, nearbyDistanceMatrix.getDestination(a, 3));
+        assertSame(a, nearbyDistanceMatrix.getDestination(b, 1));
+        assertSame(c, nearbyDistanceMatrix.getDestination(b, 2));
+        assertSame(a, nearbyDistanceMatrix.getDestination(c, 1));
+        assertSame(b, nearbyDistanceMatrix.getDestination(c, 2));
+        assertSame(c, nearbyDistanceMatrix.getDestination(d, 2));
+        assertSame(b, nearbyDistanceMatrix.getDestination(d, 3));
+    }
+
     private static class MatrixTestdataObject extends TestdataObject {
         private int index;
         private double[] distances;
@@ -25,9 +25,11 @@ import org.optaplanner.core.impl.heuristic.selector.SelectorTestUtils;
 import org.optaplanner.core.impl.heuristic.selector.entity.EntitySelector;
 import org.optaplanner.core.impl.phase.scope.AbstractPhaseScope;
 import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
@@ -98,7 +100,7 @@ public class DefaultPillarSelectorTest {
         DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
                 entitySelector, Arrays.asList(variableDescriptor), false, false, 1, Integer.MAX_VALUE);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        DefaultSolverScope solverScope = mockSolverScope(variableDescriptor);
         pillarSelector.solvingStarted(solverScope);
 
         AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
@@ -111,8 +113,9 @@ public class DefaultPillarSelectorTest {
         assertAllCodesOfPillarSelector(pillarSelector, "[a]", "[b, d]", "[c, e, f]");
         pillarSelector.stepEnded(stepScopeA1);
 
-        b.setValue(val3);
-        f.setValue(val4);
+        InnerScoreDirector scoreDirector = solverScope.getScoreDirector();
+        changeValue(scoreDirector, variableDescriptor, b, val3);
+        changeValue(scoreDirector, variableDescriptor, f, val4);
 
         AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
         when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
@@ -151,7 +154,7 @@ public class DefaultPillarSelectorTest {
         DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
                 entitySelector, Arrays.asList(variableDescriptor), false, false, 1, Integer.MAX_VALUE);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        DefaultSolverScope solverScope = mockSolverScope(variableDescriptor);
         pillarSelector.solvingStarted(solverScope);
 
         AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
@@ -212,7 +215,7 @@ public class DefaultPillarSelectorTest {
 
         Random workingRandom = mock(Random.class);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        DefaultSolverScope solverScope = mockSolverScope(variableDescriptor);
         when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
         pillarSelector.solvingStarted(solverScope);
 
@@ -233,8 +236,9 @@ public class DefaultPillarSelectorTest {
         assertCodesOfNeverEndingPillarSelector(pillarSelector, "[a]", "[c, e]", "[b]", "[d]");
         pillarSelector.stepEnded(stepScopeA1);
 
-        b.setValue(val3);
-        f.setValue(val4);
+        InnerScoreDirector scoreDirector = solverScope.getScoreDirector();
+        changeValue(scoreDirector, variableDescriptor, b, val3);
+        changeValue(scoreDirector, variableDescriptor, f, val4);
 
         AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
         when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
@@ -298,7 +302,7 @@ public class DefaultPillarSelectorTest {
 
         Random workingRandom = mock(Random.class);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        DefaultSolverScope solverScope = mockSolverScope(variableDescriptor);
         when(solverScope.getWorkingRandom()).thenReturn(workingRandom);
         pillarSelector.solvingStarted(solverScope);
 
@@ -338,7 +342,7 @@ public class DefaultPillarSelectorTest {
         DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
                 entitySelector, Arrays.asList(variableDescriptor), true, true, 1, Integer.MAX_VALUE);
 
-        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        DefaultSolverScope solverScope = mockSolverScope(variableDescriptor);
         pillarSelector.solvingStarted(solverScope);
 
         AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
@@ -376,6 +380,79 @@ public class DefaultPillarSelectorTest {
         verifyPhaseLifecycle(entitySelector, 1, 2, 3);
     }
 
+    @Test
+    public void originalNoSubsPatchedPillars() {
+        TestdataValue val1 = new TestdataValue("1");
+        TestdataValue val2 = new TestdataValue("2");
+        TestdataValue val3 = new TestdataValue("3");
+
+        final TestdataEntity a = new TestdataEntity("a", val1);
+        final TestdataEntity b = new TestdataEntity("b", val2);
+        final TestdataEntity c = new TestdataEntity("c", val1);
+        final TestdataEntity d = new TestdataEntity("d", val2);
+        final TestdataEntity e = new TestdataEntity("e", val1);
+
+        GenuineVariableDescriptor variableDescriptor = TestdataEntity.buildVariableDescriptorForValue();
+        EntitySelector entitySelector = SelectorTestUtils.mockEntitySelector(variableDescriptor.getEntityDescriptor(),
+                a, b, c, d, e);
+
+        DefaultPillarSelector pillarSelector = new DefaultPillarSelector(
+                entitySelector, Arrays.asList(variableDescriptor), false, false, 1, Integer.MAX_VALUE);
+
+        DefaultSolverScope solverScope = mockSolverScope(variableDescriptor);
+        InnerScoreDirector scoreDirector = solverScope.getScoreDirector();
+        pillarSelector.solvingStarted(solverScope);
+
+        AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
+        when(phaseScopeA.getSolverScope()).thenReturn(solverScope);
+        pillarSelector.phaseStarted(phaseScopeA);
+
+        AbstractStepScope stepScopeA1 = mock(AbstractStepScope.class);
+        when(stepScopeA1.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA1);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a, c, e]", "[b, d]");
+        // A move that is undone doesn't change the pillars
+        changeValue(scoreDirector, variableDescriptor, c, val3);
+        changeValue(scoreDirector, variableDescriptor, c, val1);
+        pillarSelector.stepEnded(stepScopeA1);
+
+        changeValue(scoreDirector, variableDescriptor, a, val2);
+
+        AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
+        when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA2);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a, b, d]", "[c, e]");
+        pillarSelector.stepEnded(stepScopeA2);
+
+        changeValue(scoreDirector, variableDescriptor, a, val1);
+        changeValue(scoreDirector, variableDescriptor, d, val3);
+
+        AbstractStepScope stepScopeA3 = mock(AbstractStepScope.class);
+        when(stepScopeA3.getPhaseScope()).thenReturn(phaseScopeA);
+        pillarSelector.stepStarted(stepScopeA3);
+        assertAllCodesOfPillarSelector(pillarSelector, "[a, c, e]", "[b]", "[d]");
+        pillarSelector.stepEnded(stepScopeA3);
+
+        pillarSelector.phaseEnded(phaseScopeA);
+
+        pillarSelector.solvingEnded(solverScope);
+
+        verifyPhaseLifecycle(entitySelector, 1, 1, 3);
+    }
+
+    private DefaultSolverScope mockSolverScope(GenuineVariableDescriptor variableDescriptor) {
+        InnerScoreDirector scoreDirector = PlannerTestUtils.mockScoreDirector(
+                variableDescriptor.getEntityDescriptor().getSolutionDescriptor());
+        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(scoreDirector);
+        return solverScope;
+    }
+
+    private void changeValue(InnerScoreDirector scoreDirector, GenuineVariableDescriptor variableDescriptor,
+            TestdataEntity entity, TestdataValue value) {
+        scoreDirector.changeVariableFacade(variableDescriptor, entity, value);
+    }
+
     private void assertAllCodesOfPillarSelector(PillarSelector pillarSelector, String... codes) {
         assertAllCodesOfIterator(pillarSelector.iterator(), codes);
         assertEquals(true, pillarSelector.isCountable());
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import org.junit.Test;
 import org.optaplanner.core.impl.domain.entity.descriptor.EntityDescriptor;
 import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
@@ -81,6 +82,48 @@ public class ChangeMoveTest {
         assertEquals(v2, a.getValue());
     }
 
+    @Test
+    public void rebase() {
+        EntityDescriptor entityDescriptor = TestdataEntity.buildEntityDescriptor();
+        GenuineVariableDescriptor variableDescriptor = entityDescriptor.getGenuineVariableDescriptor("value");
+
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity e1 = new TestdataEntity("e1", v1);
+        TestdataEntity e2 = new TestdataEntity("e2", null);
+        TestdataEntity e3 = new TestdataEntity("e3", v1);
+
+        TestdataValue destinationV1 = new TestdataValue("v1");
+        TestdataValue destinationV2 = new TestdataValue("v2");
+        TestdataEntity destinationE1 = new TestdataEntity("e1", destinationV1);
+        TestdataEntity destinationE2 = new TestdataEntity("e2", null);
+        TestdataEntity destinationE3 = new TestdataEntity("e3", destinationV1);
+
+        ScoreDirector destinationScoreDirector = mock(ScoreDirector.class);
+        when(destinationScoreDirector.lookUpWorkingObject(v1)).thenReturn(destinationV1);
+        when(destinationScoreDirector.lookUpWorkingObject(v2)).thenReturn(destinationV2);
+        when(destinationScoreDirector.lookUpWorkingObject(e1)).thenReturn(destinationE1);
+        when(destinationScoreDirector.lookUpWorkingObject(e2)).thenReturn(destinationE2);
+        when(destinationScoreDirector.lookUpWorkingObject(e3)).thenReturn(destinationE3);
+
+        assertSameProperties(destinationE1, null,
+                new ChangeMove(e1, variableDescriptor, null).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE1, destinationV1,
+                new ChangeMove(e1, variableDescriptor, v1).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE1, destinationV2,
+                new ChangeMove(e1, variableDescriptor, v2).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE2, destinationV1,
+                new ChangeMove(e2, variableDescriptor, v1).rebase(destinationScoreDirector));
+        assertSameProperties(destinationE3, destinationV2,
+                new ChangeMove(e3, variableDescriptor, v2).rebase(destinationScoreDirector));
+    }
+
+    private void assertSameProperties(Object destinationEntity, Object destinationToPlanningValue, Move move) {
+        ChangeMove changeMove = (ChangeMove) move;
+        assertSame(destinationEntity, changeMove.getEntity());
+        assertSame(destinationToPlanningValue, changeMove.getToPlanningValue());
+    }
+
     @Test
     public void getters() {
         ChangeMove move = new ChangeMove(new TestdataMultiVarEntity("a"),
@@ -177,6 +177,85 @@ public class DefaultSubChainSelectorTest {
         verifyPhaseLifecycle(valueSelector, 1, 2, 3);
     }
 
+    @Test
+    public void originalPatchedChainsAreNeverMutated() {
+        GenuineVariableDescriptor variableDescriptor = TestdataChainedEntity.buildVariableDescriptorForChainedObject();
+        InnerScoreDirector scoreDirector = PlannerTestUtils.mockScoreDirector(
+                variableDescriptor.getEntityDescriptor().getSolutionDescriptor());
+
+        TestdataChainedAnchor a0 = new TestdataChainedAnchor("a0");
+        TestdataChainedEntity a1 = new TestdataChainedEntity("a1", a0);
+        TestdataChainedEntity a2 = new TestdataChainedEntity("a2", a1);
+
+        TestdataChainedAnchor b0 = new TestdataChainedAnchor("b0");
+        TestdataChainedEntity b1 = new TestdataChainedEntity("b1", b0);
+
+        TestdataChainedSolution solution = new TestdataChainedSolution("solution");
+        solution.setChainedAnchorList(Arrays.asList(a0, b0));
+        solution.setChainedEntityList(Arrays.asList(a1, a2, b1));
+        scoreDirector.setWorkingSolution(solution);
+
+        EntityIndependentValueSelector valueSelector = SelectorTestUtils.mockEntityIndependentValueSelector(
+                variableDescriptor,
+                a0, a1, a2, b0, b1);
+
+        DefaultSubChainSelector subChainSelector = new DefaultSubChainSelector(
+                valueSelector, false, 1, Integer.MAX_VALUE);
+
+        DefaultSolverScope solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(scoreDirector);
+        subChainSelector.solvingStarted(solverScope);
+
+        AbstractPhaseScope phaseScopeA = mock(AbstractPhaseScope.class);
+        when(phaseScopeA.getSolverScope()).thenReturn(solverScope);
+        subChainSelector.phaseStarted(phaseScopeA);
+
+        AbstractStepScope stepScopeA1 = mock(AbstractStepScope.class);
+        when(stepScopeA1.getPhaseScope()).thenReturn(phaseScopeA);
+        subChainSelector.stepStarted(stepScopeA1);
+        Iterator<SubChain> iterator = subChainSelector.iterator();
+        SubChain a1SubChain = iterator.next();
+        SubChain a1a2SubChain = iterator.next();
+        assertCode("[a1]", a1SubChain);
+        assertCode("[a1, a2]", a1a2SubChain);
+        subChainSelector.stepEnded(stepScopeA1);
+
+        // A move that is undone
+        scoreDirector.changeVariableFacade(variableDescriptor, a2, b1);
+        scoreDirector.triggerVariableListeners();
+        scoreDirector.changeVariableFacade(variableDescriptor, a2, a1);
+        scoreDirector.triggerVariableListeners();
+
+        AbstractStepScope stepScopeA2 = mock(AbstractStepScope.class);
+        when(stepScopeA2.getPhaseScope()).thenReturn(phaseScopeA);
+        subChainSelector.stepStarted(stepScopeA2);
+        assertAllCodesOfSubChainSelector(subChainSelector,
+                "[a1]", "[a1, a2]",
+                "[a2]",
+                "[b1]");
+        subChainSelector.stepEnded(stepScopeA2);
+
+        scoreDirector.changeVariableFacade(variableDescriptor, a2, b1);
+        scoreDirector.triggerVariableListeners();
+
+        AbstractStepScope stepScopeA3 = mock(AbstractStepScope.class);
+        when(stepScopeA3.getPhaseScope()).thenReturn(phaseScopeA);
+        subChainSelector.stepStarted(stepScopeA3);
+        assertAllCodesOfSubChainSelector(subChainSelector,
+                "[a1]",
+                "[b1]", "[b1, a2]",
+                "[a2]");
+        // The sub chains selected during a previous step are unaffected
+        assertCode("[a1, a2]", a1a2SubChain);
+        subChainSelector.stepEnded(stepScopeA3);
+
+        subChainSelector.phaseEnded(phaseScopeA);
+
+        subChainSelector.solvingEnded(solverScope);
+
+        verifyPhaseLifecycle(valueSelector, 1, 1, 3);
+    }
+
     @Test
     public void emptyEntitySelectorOriginal() {
         GenuineVariableDescriptor variableDescriptor = TestdataChainedEntity.buildVariableDescriptorForChainedObject();
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.heuristic.thread;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.heuristic.move.DummyMove;
+import org.optaplanner.core.impl.heuristic.move.Move;
+
+import static org.junit.Assert.*;
+
+public class OrderByMoveIndexBlockingQueueTest {
+
+    @Test
+    public void addMove() throws InterruptedException {
+        OrderByMoveIndexBlockingQueue<Object> queue = new OrderByMoveIndexBlockingQueue<>(5);
+        queue.startNextStep(0);
+        Move a = new DummyMove("a");
+        Move b = new DummyMove("b");
+        Move c = new DummyMove("c");
+        Move d = new DummyMove("d");
+        // Add out of order
+        queue.addMove(1, 0, 2, c, SimpleScore.valueOfInitialized(-3));
+        queue.addMove(0, 0, 0, a, SimpleScore.valueOfInitialized(-1));
+        queue.addUndoableMove(0, 0, 3, d);
+        queue.addMove(1, 0, 1, b, SimpleScore.valueOfInitialized(-2));
+        assertResult(a, 0, SimpleScore.valueOfInitialized(-1), queue.take());
+        assertResult(b, 1, SimpleScore.valueOfInitialized(-2), queue.take());
+        assertResult(c, 2, SimpleScore.valueOfInitialized(-3), queue.take());
+        MoveResult<Object> result = queue.take();
+        assertSame(d, result.getMove());
+        assertEquals(3, result.getMoveIndex());
+        assertEquals(false, result.isMoveDoable());
+    }
+
+    @Test
+    public void addMoveOfPreviousStepIsDiscarded() throws InterruptedException {
+        OrderByMoveIndexBlockingQueue<Object> queue = new OrderByMoveIndexBlockingQueue<>(5);
+        queue.startNextStep(0);
+        Move a = new DummyMove("a");
+        Move b = new DummyMove("b");
+        queue.addMove(0, 0, 0, a, SimpleScore.valueOfInitialized(-1));
+        queue.startNextStep(1);
+        queue.addMove(0, 0, 1, a, SimpleScore.valueOfInitialized(-1));
+        queue.addMove(1, 1, 0, b, SimpleScore.valueOfInitialized(-2));
+        assertResult(b, 0, SimpleScore.valueOfInitialized(-2), queue.take());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addExceptionThrown() throws InterruptedException {
+        OrderByMoveIndexBlockingQueue<Object> queue = new OrderByMoveIndexBlockingQueue<>(5);
+        queue.startNextStep(0);
+        queue.addExceptionThrown(1, new IllegalArgumentException("Exception on a move thread."));
+        queue.take();
+    }
+
+    private void assertResult(Move expectedMove, int expectedMoveIndex, SimpleScore expectedScore,
+            MoveResult<Object> result) {
+        assertSame(expectedMove, result.getMove());
+        assertEquals(expectedMoveIndex, result.getMoveIndex());
+        assertEquals(true, result.isMoveDoable());
+        assertEquals(expectedScore, result.getScore());
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.Acceptor;
+import org.optaplanner.core.impl.localsearch.decider.forager.Forager;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.buildin.simple.SimpleScoreDefinition;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.solver.termination.Termination;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LocalSearchDeciderTest {
+
+    @Test
+    public void abandonMoveBelowRejectionThreshold() {
+        InnerScoreDirector<TestdataSolution> scoreDirector = mockScoreDirector(false);
+        Score rejectionThreshold = SimpleScore.valueOfInitialized(-10);
+        when(scoreDirector.calculateScore(rejectionThreshold)).thenReturn(null);
+        Acceptor acceptor = mock(Acceptor.class);
+        when(acceptor.getRejectionThreshold(any(LocalSearchMoveScope.class))).thenReturn(rejectionThreshold);
+        Forager forager = mockForager();
+        List<Object[]> addedMoveList = recordAddedMoves(forager);
+        LocalSearchDecider<TestdataSolution> decider = buildDecider(acceptor, forager);
+
+        LocalSearchStepScope<TestdataSolution> stepScope = startStep(decider, scoreDirector);
+        decider.decideNextStep(stepScope);
+
+        assertEquals(1, addedMoveList.size());
+        // The score of an abandoned move is unknown and it is never accepted
+        assertNull(addedMoveList.get(0)[0]);
+        assertEquals(false, addedMoveList.get(0)[1]);
+        verify(scoreDirector).calculateScore(rejectionThreshold);
+        verify(acceptor, never()).isAccepted(any(LocalSearchMoveScope.class));
+        assertNull(stepScope.getStep());
+    }
+
+    @Test
+    public void abandonPackedMoveBelowRejectionThreshold() {
+        InnerScoreDirector<TestdataSolution> scoreDirector = mockScoreDirector(true);
+        List<long[]> packedRejectionThresholdList = new ArrayList<>();
+        when(scoreDirector.calculatePackedScore(any(long[].class), any(long[].class))).thenAnswer(invocation -> {
+            packedRejectionThresholdList.add(((long[]) invocation.getArguments()[1]).clone());
+            return false;
+        });
+        Acceptor acceptor = mock(Acceptor.class);
+        when(acceptor.getRejectionThreshold(any(LocalSearchMoveScope.class)))
+                .thenReturn(SimpleScore.valueOfInitialized(-10));
+        Forager forager = mockForager();
+        List<Object[]> addedMoveList = recordAddedMoves(forager);
+        LocalSearchDecider<TestdataSolution> decider = buildDecider(acceptor, forager);
+
+        LocalSearchStepScope<TestdataSolution> stepScope = startStep(decider, scoreDirector);
+        decider.decideNextStep(stepScope);
+
+        assertEquals(1, packedRejectionThresholdList.size());
+        assertArrayEquals(new long[] {0L, -10L}, packedRejectionThresholdList.get(0));
+        assertEquals(1, addedMoveList.size());
+        // A packed score must not survive an abandoned move, because the move scope is reused
+        assertNull(addedMoveList.get(0)[0]);
+        assertEquals(false, addedMoveList.get(0)[1]);
+        verify(scoreDirector, never()).calculatePackedScore(any(long[].class));
+        verify(acceptor, never()).isAccepted(any(LocalSearchMoveScope.class));
+    }
+
+    private InnerScoreDirector<TestdataSolution> mockScoreDirector(boolean packedScoreSupported) {
+        InnerScoreDirector<TestdataSolution> scoreDirector = mock(InnerScoreDirector.class);
+        when(scoreDirector.isPackedScoreSupported()).thenReturn(packedScoreSupported);
+        when(scoreDirector.isRejectionThresholdSupported()).thenReturn(true);
+        when(scoreDirector.getScoreDefinition()).thenReturn(new SimpleScoreDefinition());
+        when(scoreDirector.calculateScore()).thenReturn(SimpleScore.valueOfInitialized(0));
+        return scoreDirector;
+    }
+
+    private Forager mockForager() {
+        Forager forager = mock(Forager.class);
+        when(forager.isUnacceptedMoveIgnored()).thenReturn(true);
+        return forager;
+    }
+
+    /**
+     * The move scope is released after the move, so its score and accepted are recorded when it is added.
+     */
+    private List<Object[]> recordAddedMoves(Forager forager) {
+        List<Object[]> addedMoveList = new ArrayList<>();
+        doAnswer(invocation -> {
+            LocalSearchMoveScope moveScope = (LocalSearchMoveScope) invocation.getArguments()[0];
+            addedMoveList.add(new Object[] {moveScope.getScore(), moveScope.getAccepted()});
+            return null;
+        }).when(forager).addMove(any(LocalSearchMoveScope.class));
+        return addedMoveList;
+    }
+
+    private LocalSearchDecider<TestdataSolution> buildDecider(Acceptor acceptor, Forager forager) {
+        Move move = mock(Move.class);
+        when(move.isMoveDoable(any())).thenReturn(true);
+        when(move.createUndoMove(any())).thenReturn(mock(Move.class));
+        MoveSelector moveSelector = mock(MoveSelector.class);
+        when(moveSelector.iterator()).thenReturn(Collections.singletonList(move).iterator());
+        LocalSearchDecider<TestdataSolution> decider = new LocalSearchDecider<>();
+        decider.setTermination(mock(Termination.class));
+        decider.setMoveSelector(moveSelector);
+        decider.setAcceptor(acceptor);
+        decider.setForager(forager);
+        return decider;
+    }
+
+    private LocalSearchStepScope<TestdataSolution> startStep(LocalSearchDecider<TestdataSolution> decider,
+            InnerScoreDirector<TestdataSolution> scoreDirector) {
+        DefaultSolverScope<TestdataSolution> solverScope = new DefaultSolverScope<>();
+        solverScope.setScoreDirector(scoreDirector);
+        LocalSearchPhaseScope<TestdataSolution> phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        phaseScope.reset();
+        decider.phaseStarted(phaseScope);
+        LocalSearchStepScope<TestdataSolution> stepScope = new LocalSearchStepScope<>(phaseScope);
+        decider.stepStarted(stepScope);
+        return stepScope;
+    }
+
+}
@@ -18,13 +18,17 @@ package org.optaplanner.core.impl.localsearch.decider.acceptor.lateacceptance;
 
 import org.junit.Test;
 import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.heuristic.move.Move;
 import org.optaplanner.core.impl.localsearch.decider.acceptor.AbstractAcceptorTest;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
 import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
+import org.optaplanner.core.impl.score.buildin.simple.SimpleScoreDefinition;
 import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 public class LateAcceptanceAcceptorTest extends AbstractAcceptorTest {
 
@@ -242,6 +246,114 @@ public class LateAcceptanceAcceptorTest extends AbstractAcceptorTest {
         acceptor.phaseEnded(phaseScope);
     }
 
+    @Test
+    public void rejectionThreshold() {
+        LateAcceptanceAcceptor acceptor = new LateAcceptanceAcceptor();
+        acceptor.setLateAcceptanceSize(2);
+        acceptor.setHillClimbingEnabled(true);
+
+        DefaultSolverScope solverScope = new DefaultSolverScope();
+        solverScope.setBestScore(SimpleScore.valueOfInitialized(-1000));
+        LocalSearchPhaseScope phaseScope = new LocalSearchPhaseScope(solverScope);
+        LocalSearchStepScope lastCompletedStepScope = new LocalSearchStepScope(phaseScope, -1);
+        lastCompletedStepScope.setScore(SimpleScore.valueOfInitialized(-1000));
+        phaseScope.setLastCompletedStepScope(lastCompletedStepScope);
+        acceptor.phaseStarted(phaseScope);
+
+        // lateScore = -1000, lastStepScore = -1000
+        LocalSearchStepScope stepScope0 = new LocalSearchStepScope(phaseScope);
+        LocalSearchMoveScope moveScope0 = buildMoveScope(stepScope0, -500);
+        assertEquals(SimpleScore.valueOfInitialized(-1000), acceptor.getRejectionThreshold(moveScope0));
+        stepScope0.setStep(moveScope0.getMove());
+        stepScope0.setScore(moveScope0.getScore());
+        acceptor.stepEnded(stepScope0);
+        phaseScope.setLastCompletedStepScope(stepScope0);
+
+        // lateScore = -1000, lastStepScore = -500
+        LocalSearchStepScope stepScope1 = new LocalSearchStepScope(phaseScope);
+        LocalSearchMoveScope moveScope1 = buildMoveScope(stepScope1, -2000);
+        assertEquals(SimpleScore.valueOfInitialized(-1000), acceptor.getRejectionThreshold(moveScope1));
+        stepScope1.setStep(moveScope1.getMove());
+        stepScope1.setScore(moveScope1.getScore());
+        acceptor.stepEnded(stepScope1);
+        phaseScope.setLastCompletedStepScope(stepScope1);
+
+        // lateScore = -500, lastStepScore = -2000
+        LocalSearchStepScope stepScope2 = new LocalSearchStepScope(phaseScope);
+        LocalSearchMoveScope moveScope2 = buildMoveScope(stepScope2, -600);
+        assertEquals(SimpleScore.valueOfInitialized(-2000), acceptor.getRejectionThreshold(moveScope2));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope2, -2001)));
+        acceptor.setHillClimbingEnabled(false);
+        assertEquals(SimpleScore.valueOfInitialized(-500), acceptor.getRejectionThreshold(moveScope2));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope2, -501)));
+        acceptor.phaseEnded(phaseScope);
+    }
+
+    @Test
+    public void packedScores() {
+        LateAcceptanceAcceptor acceptor = new LateAcceptanceAcceptor();
+        acceptor.setLateAcceptanceSize(2);
+        acceptor.setHillClimbingEnabled(true);
+
+        DefaultSolverScope solverScope = new DefaultSolverScope();
+        solverScope.setBestScore(SimpleScore.valueOfInitialized(-1000));
+        LocalSearchPhaseScope phaseScope = new LocalSearchPhaseScope(solverScope);
+        LocalSearchStepScope lastCompletedStepScope = new LocalSearchStepScope(phaseScope, -1);
+        lastCompletedStepScope.setScore(solverScope.getBestScore());
+        phaseScope.setLastCompletedStepScope(lastCompletedStepScope);
+        phaseScope.setPackedScoreConverter(PackedScoreConverter.build(
+                new SimpleScoreDefinition(), SimpleScore.valueOfInitialized(0)));
+        acceptor.phaseStarted(phaseScope);
+        // Like the LocalSearchDecider, every move writes its packed score in the same array
+        long[] packedMoveScore = phaseScope.getPackedScoreConverter().createPackedScore();
+
+        // lateScore = -1000, lastCompletedStepScore = -1000
+        LocalSearchStepScope stepScope0 = new LocalSearchStepScope(phaseScope);
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope0, packedMoveScore, -900)));
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope0, packedMoveScore, -1000)));
+        assertEquals(false, acceptor.isAccepted(buildPackedMoveScope(stepScope0, packedMoveScore, -2000)));
+        LocalSearchMoveScope moveScope0 = buildPackedMoveScope(stepScope0, packedMoveScore, -500);
+        assertEquals(true, acceptor.isAccepted(moveScope0));
+        stepScope0.setStep(moveScope0.getMove());
+        stepScope0.setScore(moveScope0.getScore());
+        solverScope.setBestScore(moveScope0.getScore());
+        acceptor.stepEnded(stepScope0);
+        phaseScope.setLastCompletedStepScope(stepScope0);
+
+        // lateScore = -1000, lastCompletedStepScore = -500
+        LocalSearchStepScope stepScope1 = new LocalSearchStepScope(phaseScope);
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope1, packedMoveScore, -1000)));
+        assertEquals(false, acceptor.isAccepted(buildPackedMoveScope(stepScope1, packedMoveScore, -1001)));
+        LocalSearchMoveScope moveScope1 = buildPackedMoveScope(stepScope1, packedMoveScore, -700);
+        assertEquals(true, acceptor.isAccepted(moveScope1));
+        stepScope1.setStep(moveScope1.getMove());
+        stepScope1.setScore(moveScope1.getScore());
+        // bestScore unchanged
+        acceptor.stepEnded(stepScope1);
+        phaseScope.setLastCompletedStepScope(stepScope1);
+
+        // lateScore = -500, lastCompletedStepScore = -700
+        LocalSearchStepScope stepScope2 = new LocalSearchStepScope(phaseScope);
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope2, packedMoveScore, -500)));
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope2, packedMoveScore, -600)));
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope2, packedMoveScore, -700)));
+        assertEquals(false, acceptor.isAccepted(buildPackedMoveScope(stepScope2, packedMoveScore, -701)));
+        acceptor.setHillClimbingEnabled(false);
+        assertEquals(true, acceptor.isAccepted(buildPackedMoveScope(stepScope2, packedMoveScore, -500)));
+        assertEquals(false, acceptor.isAccepted(buildPackedMoveScope(stepScope2, packedMoveScore, -501)));
+        acceptor.phaseEnded(phaseScope);
+    }
+
+    private LocalSearchMoveScope buildPackedMoveScope(LocalSearchStepScope stepScope, long[] packedMoveScore,
+            int score) {
+        LocalSearchMoveScope moveScope = new LocalSearchMoveScope(stepScope);
+        moveScope.setMove(mock(Move.class));
+        stepScope.getPhaseScope().getPackedScoreConverter().pack(SimpleScore.valueOfInitialized(score),
+                packedMoveScore);
+        moveScope.setPackedScore(packedMoveScore);
+        return moveScope;
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void zeroLateAcceptanceSize() {
         LateAcceptanceAcceptor acceptor = new LateAcceptanceAcceptor();
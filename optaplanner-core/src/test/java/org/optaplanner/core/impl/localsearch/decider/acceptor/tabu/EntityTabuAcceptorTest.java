@@ -214,6 +214,66 @@ public class EntityTabuAcceptorTest {
         acceptor.phaseEnded(phaseScope);
     }
 
+    @Test
+    public void tabuSizeWithRefreshedTabu() {
+        EntityTabuAcceptor acceptor = new EntityTabuAcceptor();
+        acceptor.setTabuSizeStrategy(new FixedTabuSizeStrategy(3));
+        acceptor.setAspirationEnabled(true);
+
+        TestdataEntity e0 = new TestdataEntity("e0");
+        TestdataEntity e1 = new TestdataEntity("e1");
+        TestdataEntity e2 = new TestdataEntity("e2");
+        TestdataEntity e3 = new TestdataEntity("e3");
+
+        DefaultSolverScope solverScope = new DefaultSolverScope();
+        solverScope.setBestScore(SimpleScore.valueOfInitialized(0));
+        LocalSearchPhaseScope phaseScope = new LocalSearchPhaseScope(solverScope);
+        acceptor.phaseStarted(phaseScope);
+
+        LocalSearchStepScope stepScope0 = new LocalSearchStepScope(phaseScope);
+        stepScope0.setStep(buildMoveScope(stepScope0, e0).getMove());
+        acceptor.stepEnded(stepScope0);
+        phaseScope.setLastCompletedStepScope(stepScope0);
+
+        LocalSearchStepScope stepScope1 = new LocalSearchStepScope(phaseScope);
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope1, e0)));
+        stepScope1.setStep(buildMoveScope(stepScope1, e1).getMove());
+        acceptor.stepEnded(stepScope1);
+        phaseScope.setLastCompletedStepScope(stepScope1);
+
+        LocalSearchStepScope stepScope2 = new LocalSearchStepScope(phaseScope);
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope2, e0)));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope2, e1)));
+        // Refreshes e0 while it is still tabu, which moves it behind e1
+        stepScope2.setStep(buildMoveScope(stepScope2, e0).getMove());
+        acceptor.stepEnded(stepScope2);
+        phaseScope.setLastCompletedStepScope(stepScope2);
+
+        LocalSearchStepScope stepScope3 = new LocalSearchStepScope(phaseScope);
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope3, e0)));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope3, e1)));
+        assertEquals(true, acceptor.isAccepted(buildMoveScope(stepScope3, e2)));
+        stepScope3.setStep(buildMoveScope(stepScope3, e2).getMove());
+        acceptor.stepEnded(stepScope3);
+        phaseScope.setLastCompletedStepScope(stepScope3);
+
+        LocalSearchStepScope stepScope4 = new LocalSearchStepScope(phaseScope);
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope4, e0)));
+        assertEquals(true, acceptor.isAccepted(buildMoveScope(stepScope4, e1)));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope4, e2)));
+        stepScope4.setStep(buildMoveScope(stepScope4, e3).getMove());
+        acceptor.stepEnded(stepScope4);
+        phaseScope.setLastCompletedStepScope(stepScope4);
+
+        LocalSearchStepScope stepScope5 = new LocalSearchStepScope(phaseScope);
+        assertEquals(true, acceptor.isAccepted(buildMoveScope(stepScope5, e0)));
+        assertEquals(true, acceptor.isAccepted(buildMoveScope(stepScope5, e1)));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope5, e2)));
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope5, e3)));
+
+        acceptor.phaseEnded(phaseScope);
+    }
+
     @Test
     public void aspiration() {
         EntityTabuAcceptor acceptor = new EntityTabuAcceptor();
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider.acceptor.tabu;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.tabu.size.FixedTabuSizeStrategy;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SolutionTabuAcceptorTest {
+
+    @Test
+    public void tabuSize() {
+        SolutionTabuAcceptor acceptor = new SolutionTabuAcceptor();
+        acceptor.setTabuSizeStrategy(new FixedTabuSizeStrategy(2));
+
+        SolutionDescriptor<TestdataSolution> solutionDescriptor = TestdataSolution.buildSolutionDescriptor();
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity a = new TestdataEntity("a", v1);
+        TestdataEntity b = new TestdataEntity("b", v2);
+        TestdataSolution solution = new TestdataSolution("solution");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(a, b));
+        GenuineVariableDescriptor<TestdataSolution> variableDescriptor
+                = solutionDescriptor.findGenuineVariableDescriptorOrFail(a, "value");
+
+        InnerScoreDirector<TestdataSolution> scoreDirector = mock(InnerScoreDirector.class);
+        when(scoreDirector.getSolutionDescriptor()).thenReturn(solutionDescriptor);
+        when(scoreDirector.getWorkingSolution()).thenReturn(solution);
+        DefaultSolverScope<TestdataSolution> solverScope = new DefaultSolverScope<>();
+        solverScope.setScoreDirector(scoreDirector);
+        solverScope.setBestScore(SimpleScore.valueOfInitialized(0));
+        LocalSearchPhaseScope<TestdataSolution> phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        acceptor.phaseStarted(phaseScope);
+        verify(scoreDirector).addWorkingVariableChangeListener(acceptor.hasher);
+
+        // The starting solution (a=v1, b=v2) is tabu
+        LocalSearchStepScope<TestdataSolution> stepScope0 = new LocalSearchStepScope<>(phaseScope);
+        assertEquals(false, acceptor.isAccepted(buildMoveScope(stepScope0)));
+        assertEquals(true, isAccepted(acceptor, variableDescriptor, stepScope0, a, v2));
+        assertEquals(true, isAccepted(acceptor, variableDescriptor, stepScope0, b, v1));
+        assertEquals(true, isAccepted(acceptor, variableDescriptor, stepScope0, a, v2)); // repeated call
+        doStep(acceptor, variableDescriptor, stepScope0, a, v2);
+
+        // The solution (a=v2, b=v2) is tabu
+        LocalSearchStepScope<TestdataSolution> stepScope1 = new LocalSearchStepScope<>(phaseScope);
+        assertEquals(false, isAccepted(acceptor, variableDescriptor, stepScope1, a, v1));
+        assertEquals(true, isAccepted(acceptor, variableDescriptor, stepScope1, b, v1));
+        doStep(acceptor, variableDescriptor, stepScope1, b, v1);
+
+        // The solution (a=v2, b=v1) is tabu
+        LocalSearchStepScope<TestdataSolution> stepScope2 = new LocalSearchStepScope<>(phaseScope);
+        assertEquals(false, isAccepted(acceptor, variableDescriptor, stepScope2, b, v2));
+        assertEquals(true, isAccepted(acceptor, variableDescriptor, stepScope2, a, v1));
+        doStep(acceptor, variableDescriptor, stepScope2, a, v1);
+
+        // The starting solution and the solution (a=v2, b=v2) are no longer tabu
+        LocalSearchStepScope<TestdataSolution> stepScope3 = new LocalSearchStepScope<>(phaseScope);
+        assertEquals(true, isAccepted(acceptor, variableDescriptor, stepScope3, b, v2));
+        assertEquals(false, isAccepted(acceptor, variableDescriptor, stepScope3, a, v2));
+        doStep(acceptor, variableDescriptor, stepScope3, b, v2);
+
+        SolutionZobristHasher hasher = acceptor.hasher;
+        acceptor.phaseEnded(phaseScope);
+        verify(scoreDirector).removeWorkingVariableChangeListener(hasher);
+    }
+
+    /**
+     * Does the move, calls {@link SolutionTabuAcceptor#isAccepted(LocalSearchMoveScope)} and undoes the move,
+     * like the {@link org.optaplanner.core.impl.localsearch.decider.LocalSearchDecider} does.
+     */
+    private boolean isAccepted(SolutionTabuAcceptor acceptor,
+            GenuineVariableDescriptor<TestdataSolution> variableDescriptor, LocalSearchStepScope<TestdataSolution> stepScope,
+            TestdataEntity entity, TestdataValue value) {
+        TestdataValue oldValue = entity.getValue();
+        changeValue(acceptor, variableDescriptor, entity, value);
+        boolean accepted = acceptor.isAccepted(buildMoveScope(stepScope));
+        changeValue(acceptor, variableDescriptor, entity, oldValue);
+        return accepted;
+    }
+
+    private void doStep(SolutionTabuAcceptor acceptor,
+            GenuineVariableDescriptor<TestdataSolution> variableDescriptor, LocalSearchStepScope<TestdataSolution> stepScope,
+            TestdataEntity entity, TestdataValue value) {
+        LocalSearchMoveScope<TestdataSolution> moveScope = buildMoveScope(stepScope);
+        stepScope.setStep(moveScope.getMove());
+        changeValue(acceptor, variableDescriptor, entity, value);
+        acceptor.stepEnded(stepScope);
+        stepScope.getPhaseScope().setLastCompletedStepScope(stepScope);
+    }
+
+    private void changeValue(SolutionTabuAcceptor acceptor,
+            GenuineVariableDescriptor<TestdataSolution> variableDescriptor, TestdataEntity entity, TestdataValue value) {
+        acceptor.hasher.beforeVariableChanged(variableDescriptor, entity);
+        entity.setValue(value);
+        acceptor.hasher.afterVariableChanged(variableDescriptor, entity);
+    }
+
+    private LocalSearchMoveScope<TestdataSolution> buildMoveScope(LocalSearchStepScope<TestdataSolution> stepScope) {
+        LocalSearchMoveScope<TestdataSolution> moveScope = new LocalSearchMoveScope<>(stepScope);
+        moveScope.setMove(mock(Move.class));
+        moveScope.setScore(SimpleScore.valueOfInitialized(0));
+        return moveScope;
+    }
+
+}
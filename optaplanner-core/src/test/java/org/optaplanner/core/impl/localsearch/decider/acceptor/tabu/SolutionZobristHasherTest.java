@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider.acceptor.tabu;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+
+public class SolutionZobristHasherTest {
+
+    @Test
+    public void incrementalHashEqualsFromScratchHash() {
+        SolutionDescriptor<TestdataSolution> solutionDescriptor = TestdataSolution.buildSolutionDescriptor();
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity a = new TestdataEntity("a", v1);
+        TestdataEntity b = new TestdataEntity("b", v2);
+        TestdataEntity c = new TestdataEntity("c", null);
+        TestdataSolution solution = new TestdataSolution("solution");
+        solution.setValueList(Arrays.asList(v1, v2));
+        solution.setEntityList(Arrays.asList(a, b, c));
+        GenuineVariableDescriptor<TestdataSolution> variableDescriptor
+                = solutionDescriptor.findGenuineVariableDescriptorOrFail(a, "value");
+
+        SolutionZobristHasher<TestdataSolution> hasher = new SolutionZobristHasher<>();
+        hasher.resetWorkingSolution(solutionDescriptor, solution);
+        long startingHash = hasher.getHash();
+
+        changeValue(hasher, variableDescriptor, a, v2);
+        long changedHash = hasher.getHash();
+        assertNotEquals(startingHash, changedHash);
+        changeValue(hasher, variableDescriptor, c, v1);
+        long incrementalHash = hasher.getHash();
+        assertNotEquals(changedHash, incrementalHash);
+        hasher.resetWorkingSolution(solutionDescriptor, solution);
+        assertEquals(incrementalHash, hasher.getHash());
+        changeValue(hasher, variableDescriptor, c, null);
+        assertEquals(changedHash, hasher.getHash());
+
+        // Swapping the values of a and b back and forth returns to an earlier hash
+        changeValue(hasher, variableDescriptor, a, v1);
+        assertEquals(startingHash, hasher.getHash());
+        changeValue(hasher, variableDescriptor, b, v1);
+        changeValue(hasher, variableDescriptor, a, v2);
+        long swappedHash = hasher.getHash();
+        assertNotEquals(startingHash, swappedHash);
+        changeValue(hasher, variableDescriptor, a, v1);
+        changeValue(hasher, variableDescriptor, b, v2);
+        assertEquals(startingHash, hasher.getHash());
+    }
+
+    private void changeValue(SolutionZobristHasher<TestdataSolution> hasher,
+            GenuineVariableDescriptor<TestdataSolution> variableDescriptor, TestdataEntity entity, TestdataValue value) {
+        hasher.beforeVariableChanged(variableDescriptor, entity);
+        entity.setValue(value);
+        hasher.afterVariableChanged(variableDescriptor, entity);
+    }
+
+}
@@ -223,6 +223,36 @@ public class AcceptedForagerTest {
         forager.phaseEnded(phaseScope);
     }
 
+    @Test
+    public void addMoveReleasesReplacedFinalists() {
+        // Setup
+        Forager forager = new AcceptedForager(new HighestScoreFinalistPodium(),
+                LocalSearchPickEarlyType.NEVER, Integer.MAX_VALUE, false);
+        LocalSearchPhaseScope phaseScope = createPhaseScope();
+        forager.phaseStarted(phaseScope);
+        LocalSearchStepScope stepScope = createStepScope(phaseScope);
+        forager.stepStarted(stepScope);
+        // Pre conditions
+        LocalSearchMoveScope a = createMoveScope(stepScope, SimpleScore.valueOfInitialized(-20), true);
+        LocalSearchMoveScope b = createMoveScope(stepScope, SimpleScore.valueOfInitialized(-20), true);
+        LocalSearchMoveScope c = createMoveScope(stepScope, SimpleScore.valueOfInitialized(-1), true);
+        // Do stuff
+        forager.addMove(a);
+        forager.addMove(b);
+        assertTrue(a.isRetained());
+        assertTrue(b.isRetained());
+        forager.addMove(c);
+        // Post conditions
+        assertFalse(a.isRetained());
+        assertFalse(b.isRetained());
+        assertTrue(c.isRetained());
+        assertNull(a.getScore());
+        LocalSearchMoveScope borrowedScope = stepScope.borrowMoveScope();
+        assertTrue(borrowedScope == a || borrowedScope == b);
+        assertSame(c, forager.pickMove(stepScope));
+        forager.phaseEnded(phaseScope);
+    }
+
     private LocalSearchPhaseScope createPhaseScope() {
         DefaultSolverScope solverScope = new DefaultSolverScope();
         LocalSearchPhaseScope phaseScope = new LocalSearchPhaseScope(solverScope);
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.localsearch.decider.forager.finalist;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
+import org.optaplanner.core.impl.score.buildin.hardsoft.HardSoftScoreDefinition;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.optaplanner.core.impl.testdata.util.PlannerAssert.*;
+
+public class HighestScoreFinalistPodiumTest {
+
+    @Test
+    public void addMove() {
+        HighestScoreFinalistPodium finalistPodium = new HighestScoreFinalistPodium();
+        LocalSearchPhaseScope phaseScope = buildPhaseScope();
+        finalistPodium.phaseStarted(phaseScope);
+
+        LocalSearchStepScope stepScope0 = new LocalSearchStepScope(phaseScope);
+        finalistPodium.stepStarted(stepScope0);
+        LocalSearchMoveScope moveScope0 = buildMoveScope(stepScope0, -100, -7000);
+        LocalSearchMoveScope moveScope1 = buildMoveScope(stepScope0, -100, -7000);
+        finalistPodium.addMove(buildMoveScope(stepScope0, -150, -2000));
+        finalistPodium.addMove(moveScope0);
+        finalistPodium.addMove(buildMoveScope(stepScope0, -100, -7100));
+        finalistPodium.addMove(moveScope1);
+        assertEquals(Arrays.asList(moveScope0, moveScope1), finalistPodium.getFinalistList());
+        finalistPodium.stepEnded(stepScope0);
+        finalistPodium.phaseEnded(phaseScope);
+    }
+
+    @Test
+    public void addPackedMove() {
+        HighestScoreFinalistPodium finalistPodium = new HighestScoreFinalistPodium();
+        LocalSearchPhaseScope phaseScope = buildPhaseScope();
+        PackedScoreConverter packedScoreConverter = PackedScoreConverter.build(
+                new HardSoftScoreDefinition(), HardSoftScore.valueOfInitialized(0, 0));
+        phaseScope.setPackedScoreConverter(packedScoreConverter);
+        finalistPodium.phaseStarted(phaseScope);
+        // Like the LocalSearchDecider, every move writes its packed score in the same array
+        long[] packedMoveScore = packedScoreConverter.createPackedScore();
+
+        LocalSearchStepScope stepScope0 = new LocalSearchStepScope(phaseScope);
+        finalistPodium.stepStarted(stepScope0);
+        LocalSearchMoveScope moveScope0 = buildPackedMoveScope(stepScope0, packedMoveScore, -100, -7000);
+        finalistPodium.addMove(moveScope0);
+        assertSame(moveScope0, extractSingleton(finalistPodium.getFinalistList()));
+        // A finalist no longer depends on the reused packed score array
+        assertNull(moveScope0.getPackedScore());
+        assertEquals(HardSoftScore.valueOfInitialized(-100, -7000), moveScope0.getScore());
+        // Compared with a copy of the finalist's packed score, not with the overwritten array
+        finalistPodium.addMove(buildPackedMoveScope(stepScope0, packedMoveScore, -150, -2000));
+        assertSame(moveScope0, extractSingleton(finalistPodium.getFinalistList()));
+
+        LocalSearchMoveScope moveScope1 = buildPackedMoveScope(stepScope0, packedMoveScore, -100, -7000);
+        finalistPodium.addMove(moveScope1);
+        assertEquals(Arrays.asList(moveScope0, moveScope1), finalistPodium.getFinalistList());
+        // A tied finalist is unpacked too
+        assertNull(moveScope1.getPackedScore());
+        assertEquals(HardSoftScore.valueOfInitialized(-100, -7000), moveScope1.getScore());
+
+        LocalSearchMoveScope moveScope2 = buildPackedMoveScope(stepScope0, packedMoveScore, -50, -9000);
+        finalistPodium.addMove(moveScope2);
+        assertSame(moveScope2, extractSingleton(finalistPodium.getFinalistList()));
+        finalistPodium.addMove(buildPackedMoveScope(stepScope0, packedMoveScore, -100, 0));
+        finalistPodium.addMove(buildPackedMoveScope(stepScope0, packedMoveScore, -50, -9001));
+        assertSame(moveScope2, extractSingleton(finalistPodium.getFinalistList()));
+        assertEquals(HardSoftScore.valueOfInitialized(-50, -9000), moveScope2.getScore());
+        finalistPodium.stepEnded(stepScope0);
+
+        // A new step doesn't compare with the finalist of the previous step
+        LocalSearchStepScope stepScope1 = new LocalSearchStepScope(phaseScope);
+        finalistPodium.stepStarted(stepScope1);
+        LocalSearchMoveScope moveScope3 = buildPackedMoveScope(stepScope1, packedMoveScore, -200, -9000);
+        finalistPodium.addMove(moveScope3);
+        assertSame(moveScope3, extractSingleton(finalistPodium.getFinalistList()));
+        finalistPodium.stepEnded(stepScope1);
+        finalistPodium.phaseEnded(phaseScope);
+    }
+
+    private LocalSearchPhaseScope buildPhaseScope() {
+        DefaultSolverScope solverScope = new DefaultSolverScope();
+        solverScope.setBestScore(HardSoftScore.valueOfInitialized(-200, -5000));
+        LocalSearchPhaseScope phaseScope = new LocalSearchPhaseScope(solverScope);
+        LocalSearchStepScope lastCompletedStepScope = new LocalSearchStepScope(phaseScope, -1);
+        lastCompletedStepScope.setScore(solverScope.getBestScore());
+        phaseScope.setLastCompletedStepScope(lastCompletedStepScope);
+        return phaseScope;
+    }
+
+    private LocalSearchMoveScope buildMoveScope(LocalSearchStepScope stepScope, int hardScore, int softScore) {
+        LocalSearchMoveScope moveScope = new LocalSearchMoveScope(stepScope);
+        moveScope.setAccepted(true);
+        moveScope.setMove(mock(Move.class));
+        moveScope.setScore(HardSoftScore.valueOfInitialized(hardScore, softScore));
+        return moveScope;
+    }
+
+    private LocalSearchMoveScope buildPackedMoveScope(LocalSearchStepScope stepScope, long[] packedMoveScore,
+            int hardScore, int softScore) {
+        LocalSearchMoveScope moveScope = new LocalSearchMoveScope(stepScope);
+        moveScope.setAccepted(true);
+        moveScope.setMove(mock(Move.class));
+        stepScope.getPhaseScope().getPackedScoreConverter().pack(
+                HardSoftScore.valueOfInitialized(hardScore, softScore), packedMoveScore);
+        moveScope.setPackedScore(packedMoveScore);
+        return moveScope;
+    }
+
+}
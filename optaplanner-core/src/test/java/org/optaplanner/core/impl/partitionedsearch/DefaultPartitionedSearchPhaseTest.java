@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
+
+import static org.junit.Assert.*;
+
+public class DefaultPartitionedSearchPhaseTest {
+
+    @Test
+    public void solve() {
+        Solver<TestdataSolution> solver = buildSolver(TestdataSolutionPartitioner.class);
+        TestdataSolution solution = buildSolution();
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertEquals(true, solution.getScore().isSolutionInitialized());
+        for (TestdataEntity entity : solution.getEntityList()) {
+            assertNotNull(entity.getValue());
+            assertTrue(solution.getValueList().contains(entity.getValue()));
+        }
+        assertSame(solution, solver.getBestSolution());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void solveWithCopyingPartitioner() {
+        Solver<TestdataSolution> solver = buildSolver(CopyingTestdataSolutionPartitioner.class);
+        solver.solve(buildSolution());
+    }
+
+    private Solver<TestdataSolution> buildSolver(Class<? extends SolutionPartitioner> solutionPartitionerClass) {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        PartitionedSearchPhaseConfig partitionedSearchPhaseConfig = new PartitionedSearchPhaseConfig();
+        partitionedSearchPhaseConfig.setSolutionPartitionerClass((Class<SolutionPartitioner>) solutionPartitionerClass);
+        List<PhaseConfig> partPhaseConfigList = new ArrayList<>(2);
+        partPhaseConfigList.add(new ConstructionHeuristicPhaseConfig());
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        TerminationConfig terminationConfig = new TerminationConfig();
+        terminationConfig.setStepCountLimit(10);
+        localSearchPhaseConfig.setTerminationConfig(terminationConfig);
+        partPhaseConfigList.add(localSearchPhaseConfig);
+        partitionedSearchPhaseConfig.setPhaseConfigList(partPhaseConfigList);
+        solverFactory.getSolverConfig().setPhaseConfigList(
+                Collections.singletonList(partitionedSearchPhaseConfig));
+        return solverFactory.buildSolver();
+    }
+
+    private TestdataSolution buildSolution() {
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2"),
+                new TestdataValue("v3")));
+        List<TestdataEntity> entityList = new ArrayList<>(8);
+        for (int i = 0; i < 8; i++) {
+            entityList.add(new TestdataEntity("e" + i));
+        }
+        solution.setEntityList(entityList);
+        return solution;
+    }
+
+    public static class TestdataSolutionPartitioner implements SolutionPartitioner<TestdataSolution> {
+
+        @Override
+        public List<TestdataSolution> splitWorkingSolution(ScoreDirector<TestdataSolution> scoreDirector) {
+            TestdataSolution workingSolution = scoreDirector.getWorkingSolution();
+            List<TestdataSolution> partList = new ArrayList<>(2);
+            for (int i = 0; i < 2; i++) {
+                TestdataSolution part = new TestdataSolution(workingSolution.getCode() + "-" + i);
+                part.setValueList(workingSolution.getValueList());
+                part.setEntityList(new ArrayList<>());
+                partList.add(part);
+            }
+            int partIndex = 0;
+            for (TestdataEntity entity : workingSolution.getEntityList()) {
+                partList.get(partIndex).getEntityList().add(entity);
+                partIndex = (partIndex + 1) % partList.size();
+            }
+            return partList;
+        }
+
+    }
+
+    public static class CopyingTestdataSolutionPartitioner implements SolutionPartitioner<TestdataSolution> {
+
+        @Override
+        public List<TestdataSolution> splitWorkingSolution(ScoreDirector<TestdataSolution> scoreDirector) {
+            TestdataSolution workingSolution = scoreDirector.getWorkingSolution();
+            TestdataSolution part = new TestdataSolution(workingSolution.getCode());
+            part.setValueList(workingSolution.getValueList());
+            List<TestdataEntity> entityList = new ArrayList<>(workingSolution.getEntityList().size());
+            for (TestdataEntity entity : workingSolution.getEntityList()) {
+                entityList.add(new TestdataEntity(entity.getCode(), entity.getValue()));
+            }
+            part.setEntityList(entityList);
+            return Collections.singletonList(part);
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.partitioner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+import static org.junit.Assert.*;
+import static org.optaplanner.core.impl.partitionedsearch.partitioner.GroupingKeySolutionPartitionerTest.*;
+
+public class AffinityGraphSolutionPartitionerTest {
+
+    @Test
+    public void connectedComponents() {
+        TestdataSolution solution = buildSolution(0, 1, 2, 10, 11, 20);
+        AffinityGraphSolutionPartitioner<TestdataSolution> partitioner = new AffinityGraphSolutionPartitioner<>(
+                TestdataSolution.buildSolutionDescriptor(), null, new CodeDistanceMeter(), 1.0);
+        List<TestdataSolution> partList = partitioner.splitWorkingSolution(mockScoreDirector(solution));
+        assertEquals(3, partList.size());
+        assertPartEntities(solution, partList.get(0), 0, 1, 2);
+        assertPartEntities(solution, partList.get(1), 3, 4);
+        assertPartEntities(solution, partList.get(2), 5);
+    }
+
+    @Test
+    public void connectedComponentsBalanced() {
+        TestdataSolution solution = buildSolution(0, 1, 2, 10, 11, 20);
+        AffinityGraphSolutionPartitioner<TestdataSolution> partitioner = new AffinityGraphSolutionPartitioner<>(
+                TestdataSolution.buildSolutionDescriptor(), 2, new CodeDistanceMeter(), 1.0);
+        List<TestdataSolution> partList = partitioner.splitWorkingSolution(mockScoreDirector(solution));
+        assertEquals(2, partList.size());
+        assertPartEntities(solution, partList.get(0), 0, 1, 2);
+        assertPartEntities(solution, partList.get(1), 3, 4, 5);
+    }
+
+    @Test
+    public void bigComponentIsCut() {
+        TestdataSolution solution = buildSolution(5, 0, 4, 1, 3, 2);
+        AffinityGraphSolutionPartitioner<TestdataSolution> partitioner = new AffinityGraphSolutionPartitioner<>(
+                TestdataSolution.buildSolutionDescriptor(), 2, new CodeDistanceMeter(), 2.0);
+        List<TestdataSolution> partList = partitioner.splitWorkingSolution(mockScoreDirector(solution));
+        assertEquals(2, partList.size());
+        // Grown nearest first from entity 5
+        assertPartEntities(solution, partList.get(0), 0, 2, 4);
+        assertPartEntities(solution, partList.get(1), 1, 3, 5);
+    }
+
+    private static TestdataSolution buildSolution(int... codes) {
+        TestdataSolution solution = GroupingKeySolutionPartitionerTest.buildSolution(0);
+        List<TestdataEntity> entityList = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            entityList.add(new TestdataEntity(String.valueOf(code)));
+        }
+        solution.setEntityList(entityList);
+        return solution;
+    }
+
+    public static class CodeDistanceMeter implements NearbyDistanceMeter<Object, Object> {
+
+        @Override
+        public double getNearbyDistance(Object origin, Object destination) {
+            return Math.abs(Integer.parseInt(((TestdataEntity) origin).getCode())
+                    - Integer.parseInt(((TestdataEntity) destination).getCode()));
+        }
+
+    }
+
+}
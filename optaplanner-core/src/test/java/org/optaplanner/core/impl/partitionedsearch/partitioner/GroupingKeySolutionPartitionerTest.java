@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.partitioner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class GroupingKeySolutionPartitionerTest {
+
+    @Test
+    public void splitWorkingSolutionWithoutPartCount() {
+        TestdataSolution solution = buildSolution(7);
+        GroupingKeySolutionPartitioner<TestdataSolution> partitioner = new GroupingKeySolutionPartitioner<>(
+                TestdataSolution.buildSolutionDescriptor(), null, new ModuloGroupingKeyExtractor());
+        List<TestdataSolution> partList = partitioner.splitWorkingSolution(mockScoreDirector(solution));
+        assertEquals(3, partList.size());
+        assertPartEntities(solution, partList.get(0), 0, 3, 6);
+        assertPartEntities(solution, partList.get(1), 1, 4);
+        assertPartEntities(solution, partList.get(2), 2, 5);
+        for (TestdataSolution part : partList) {
+            assertNotSame(solution, part);
+            assertSame(solution.getValueList(), part.getValueList());
+            assertEquals(solution.getCode(), part.getCode());
+            assertNull(part.getScore());
+        }
+    }
+
+    @Test
+    public void splitWorkingSolutionWithPartCount() {
+        TestdataSolution solution = buildSolution(7);
+        GroupingKeySolutionPartitioner<TestdataSolution> partitioner = new GroupingKeySolutionPartitioner<>(
+                TestdataSolution.buildSolutionDescriptor(), 2, new ModuloGroupingKeyExtractor());
+        List<TestdataSolution> partList = partitioner.splitWorkingSolution(mockScoreDirector(solution));
+        assertEquals(2, partList.size());
+        // The biggest group goes first, the 2 other groups are balanced over the parts with the least entities
+        assertPartEntities(solution, partList.get(0), 0, 3, 6);
+        assertPartEntities(solution, partList.get(1), 1, 2, 4, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void partCountTooLow() {
+        new GroupingKeySolutionPartitioner<>(
+                TestdataSolution.buildSolutionDescriptor(), 0, new ModuloGroupingKeyExtractor());
+    }
+
+    protected static TestdataSolution buildSolution(int entityCount) {
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2")));
+        List<TestdataEntity> entityList = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            entityList.add(new TestdataEntity(String.valueOf(i)));
+        }
+        solution.setEntityList(entityList);
+        return solution;
+    }
+
+    protected static InnerScoreDirector<TestdataSolution> mockScoreDirector(TestdataSolution solution) {
+        InnerScoreDirector<TestdataSolution> scoreDirector = mock(InnerScoreDirector.class);
+        when(scoreDirector.getWorkingSolution()).thenReturn(solution);
+        return scoreDirector;
+    }
+
+    protected static void assertPartEntities(TestdataSolution solution, TestdataSolution part,
+            int... entityIndexes) {
+        assertEquals(entityIndexes.length, part.getEntityList().size());
+        for (int i = 0; i < entityIndexes.length; i++) {
+            assertSame(solution.getEntityList().get(entityIndexes[i]), part.getEntityList().get(i));
+        }
+    }
+
+    public static class ModuloGroupingKeyExtractor implements PartitionGroupingKeyExtractor<TestdataSolution> {
+
+        @Override
+        public Object extractGroupingKey(TestdataSolution solution, Object entity) {
+            return Integer.parseInt(((TestdataEntity) entity).getCode()) % 3;
+        }
+
+    }
+
+}
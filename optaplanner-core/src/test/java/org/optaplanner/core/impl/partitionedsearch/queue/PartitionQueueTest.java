@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.partitionedsearch.queue;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.junit.Test;
+import org.optaplanner.core.impl.partitionedsearch.scope.PartitionChangeMove;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+import static org.junit.Assert.*;
+
+public class PartitionQueueTest {
+
+    @Test
+    public void addMoveAndFinish() {
+        PartitionQueue<TestdataSolution> queue = new PartitionQueue<>(3);
+        PartitionChangeMove<TestdataSolution> move01 = buildMove(0);
+        PartitionChangeMove<TestdataSolution> move02 = buildMove(0);
+        PartitionChangeMove<TestdataSolution> move11 = buildMove(1);
+        PartitionChangeMove<TestdataSolution> move21 = buildMove(2);
+        queue.addMove(0, move01);
+        queue.addMove(1, move11);
+        queue.addMove(0, move02);
+        queue.addFinish(1, 100L);
+        queue.addFinish(0, 200L);
+        queue.addMove(2, move21);
+        queue.addFinish(2, 300L);
+
+        Iterator<PartitionChangeMove<TestdataSolution>> it = queue.iterator();
+        // The first move of part 0 is skipped because a newer one is already available
+        assertSame(move02, it.next());
+        assertSame(move11, it.next());
+        assertSame(move21, it.next());
+        assertFalse(it.hasNext());
+        assertEquals(600L, queue.getPartsCalculationCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void iteratorTwice() {
+        PartitionQueue<TestdataSolution> queue = new PartitionQueue<>(1);
+        queue.iterator();
+        queue.iterator();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addExceptionThrown() {
+        PartitionQueue<TestdataSolution> queue = new PartitionQueue<>(2);
+        queue.addMove(0, buildMove(0));
+        queue.addExceptionThrown(1, new IllegalArgumentException("Exception on a partition thread."));
+        queue.addFinish(0, 100L);
+
+        Iterator<PartitionChangeMove<TestdataSolution>> it = queue.iterator();
+        assertNotNull(it.next());
+        it.next();
+    }
+
+    private PartitionChangeMove<TestdataSolution> buildMove(int partIndex) {
+        return new PartitionChangeMove<>(Collections.emptyMap(), partIndex);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.bendable.BendableScore;
+import org.optaplanner.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import org.optaplanner.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import org.optaplanner.core.impl.score.buildin.bendable.BendableScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.hardsoftlong.HardSoftLongScoreDefinition;
+
+import static org.junit.Assert.*;
+
+public class PackedScoreConverterTest {
+
+    @Test
+    public void buildWithBigDecimalLevels() {
+        assertNull(PackedScoreConverter.build(new HardSoftBigDecimalScoreDefinition(),
+                HardSoftBigDecimalScore.valueOfInitialized(BigDecimal.ZERO, BigDecimal.ZERO)));
+    }
+
+    @Test
+    public void packAndUnpackLong() {
+        PackedScoreConverter converter = PackedScoreConverter.build(new HardSoftLongScoreDefinition(),
+                HardSoftLongScore.valueOfInitialized(0L, 0L));
+        long[] packedScore = converter.createPackedScore();
+        assertEquals(3, packedScore.length);
+        HardSoftLongScore score = HardSoftLongScore.valueOf(-7, -20000000000L, -3L);
+        converter.pack(score, packedScore);
+        assertArrayEquals(new long[]{-7L, -20000000000L, -3L}, packedScore);
+        assertEquals(score, converter.unpack(packedScore));
+    }
+
+    @Test
+    public void packAndUnpackBendable() {
+        PackedScoreConverter converter = PackedScoreConverter.build(new BendableScoreDefinition(1, 2),
+                BendableScore.valueOfInitialized(new int[]{0}, new int[]{0, 0}));
+        long[] packedScore = converter.createPackedScore();
+        BendableScore score = BendableScore.valueOf(-1, new int[]{-2}, new int[]{-3, -4});
+        converter.pack(score, packedScore);
+        assertArrayEquals(new long[]{-1L, -2L, -3L, -4L}, packedScore);
+        assertEquals(score, converter.unpack(packedScore));
+    }
+
+    @Test
+    public void compare() {
+        PackedScoreConverter converter = PackedScoreConverter.build(new HardSoftLongScoreDefinition(),
+                HardSoftLongScore.valueOfInitialized(0L, 0L));
+        Score[] scores = {
+                HardSoftLongScore.valueOf(-1, 0L, 0L),
+                HardSoftLongScore.valueOfInitialized(-20L, 0L),
+                HardSoftLongScore.valueOfInitialized(-1L, -300L),
+                HardSoftLongScore.valueOfInitialized(-1L, -2L),
+                HardSoftLongScore.valueOfInitialized(0L, Long.MIN_VALUE),
+                HardSoftLongScore.valueOfInitialized(0L, 0L)};
+        for (Score a : scores) {
+            long[] packedA = converter.createPackedScore();
+            converter.pack(a, packedA);
+            for (Score b : scores) {
+                long[] packedB = converter.createPackedScore();
+                converter.pack(b, packedB);
+                assertEquals(Integer.signum(a.compareTo(b)), PackedScoreConverter.compare(packedA, packedB));
+            }
+        }
+    }
+
+}
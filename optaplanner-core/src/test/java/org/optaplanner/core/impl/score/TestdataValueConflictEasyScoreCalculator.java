@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.score;
+
+import java.util.List;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.score.director.easy.EasyScoreCalculator;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+/**
+ * Penalizes every pair of entities with the same value.
+ */
+public class TestdataValueConflictEasyScoreCalculator implements EasyScoreCalculator<TestdataSolution> {
+
+    @Override
+    public Score calculateScore(TestdataSolution solution, int initScore) {
+        List<TestdataEntity> entityList = solution.getEntityList();
+        int score = 0;
+        for (int i = 0; i < entityList.size(); i++) {
+            TestdataValue leftValue = entityList.get(i).getValue();
+            if (leftValue == null) {
+                continue;
+            }
+            for (int j = i + 1; j < entityList.size(); j++) {
+                if (leftValue == entityList.get(j).getValue()) {
+                    score--;
+                }
+            }
+        }
+        return SimpleScore.valueOf(initScore, score);
+    }
+
+}
@@ -117,6 +117,53 @@ public class IncrementalScoreDirectorTest {
         assertFalse(director.isConstraintMatchEnabled());
     }
 
+    @Test
+    public void calculateScoreBelowRejectionThreshold() {
+        LazyPackedIncrementalScoreCalculator incrementalScoreCalculator
+                = mock(LazyPackedIncrementalScoreCalculator.class);
+        IncrementalScoreDirector<Object> director
+                = new IncrementalScoreDirector<>(mockIncrementalScoreDirectorFactory(), false,
+                        incrementalScoreCalculator);
+        director.setWorkingSolution(new Object());
+        assertTrue(director.isRejectionThresholdSupported());
+        Score rejectionThreshold = SimpleScore.valueOfInitialized(-10);
+        when(incrementalScoreCalculator.calculateScore(anyInt(), same(rejectionThreshold))).thenReturn(null);
+
+        long calculationCount = director.getCalculationCount();
+        assertNull(director.calculateScore(rejectionThreshold));
+        assertEquals(calculationCount + 1L, director.getCalculationCount());
+        verify(incrementalScoreCalculator, never()).calculateScore(anyInt());
+
+        Score score = SimpleScore.valueOfInitialized(-5);
+        when(incrementalScoreCalculator.calculateScore(anyInt(), same(rejectionThreshold))).thenReturn(score);
+        assertSame(score, director.calculateScore(rejectionThreshold));
+        assertEquals(calculationCount + 2L, director.getCalculationCount());
+    }
+
+    @Test
+    public void calculatePackedScoreBelowRejectionThreshold() {
+        LazyPackedIncrementalScoreCalculator incrementalScoreCalculator
+                = mock(LazyPackedIncrementalScoreCalculator.class);
+        IncrementalScoreDirector<Object> director
+                = new IncrementalScoreDirector<>(mockIncrementalScoreDirectorFactory(), false,
+                        incrementalScoreCalculator);
+        director.setWorkingSolution(new Object());
+        long[] packedScore = new long[2];
+        long[] packedRejectionThreshold = new long[] {0L, -10L};
+        when(incrementalScoreCalculator.calculatePackedScore(anyInt(), same(packedScore),
+                same(packedRejectionThreshold))).thenReturn(false);
+
+        long calculationCount = director.getCalculationCount();
+        assertFalse(director.calculatePackedScore(packedScore, packedRejectionThreshold));
+        assertEquals(calculationCount + 1L, director.getCalculationCount());
+        verify(incrementalScoreCalculator, never()).calculatePackedScore(anyInt(), any(long[].class));
+
+        when(incrementalScoreCalculator.calculatePackedScore(anyInt(), same(packedScore),
+                same(packedRejectionThreshold))).thenReturn(true);
+        assertTrue(director.calculatePackedScore(packedScore, packedRejectionThreshold));
+        assertEquals(calculationCount + 2L, director.getCalculationCount());
+    }
+
     @SuppressWarnings("unchecked")
     private IncrementalScoreDirectorFactory<Object> mockIncrementalScoreDirectorFactory() {
         IncrementalScoreDirectorFactory<Object> factory = mock(IncrementalScoreDirectorFactory.class);
@@ -132,4 +179,8 @@ public class IncrementalScoreDirectorTest {
                 : mock(IncrementalScoreCalculator.class);
     }
 
+    interface LazyPackedIncrementalScoreCalculator
+            extends LazyIncrementalScoreCalculator<Object>, PackedIncrementalScoreCalculator<Object> {
+    }
+
 }
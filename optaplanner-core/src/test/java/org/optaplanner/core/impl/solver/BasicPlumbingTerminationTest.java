@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BasicPlumbingTerminationTest {
+
+    @Test
+    public void addProblemFactChanges() {
+        BasicPlumbingTermination termination = new BasicPlumbingTermination(false, 3);
+        assertEquals(0, termination.getPendingProblemFactChangeCount());
+        assertTrue(termination.isEveryProblemFactChangeProcessed());
+        assertTrue(termination.addProblemFactChanges(Arrays.asList(
+                mock(ProblemFactChange.class), mock(ProblemFactChange.class))));
+        assertEquals(2, termination.getPendingProblemFactChangeCount());
+        assertTrue(termination.isProblemFactChangePending());
+        assertFalse(termination.isEveryProblemFactChangeProcessed());
+        assertTrue(termination.waitForRestartSolverDecision());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addProblemFactChangesExceedsCapacity() {
+        BasicPlumbingTermination termination = new BasicPlumbingTermination(false, 3);
+        termination.addProblemFactChange(mock(ProblemFactChange.class));
+        termination.addProblemFactChanges(Arrays.asList(mock(ProblemFactChange.class),
+                mock(ProblemFactChange.class), mock(ProblemFactChange.class)));
+    }
+
+    @Test
+    public void problemFactChangesAppliedInPlace() {
+        BasicPlumbingTermination termination = new BasicPlumbingTermination(false);
+        termination.addProblemFactChange(mock(ProblemFactChange.class));
+        assertTrue(termination.isSolverTerminated(null));
+        termination.setProblemFactChangesAppliedInPlace(true);
+        assertFalse(termination.isSolverTerminated(null));
+        termination.terminateEarly();
+        assertTrue(termination.isSolverTerminated(null));
+    }
+
+}
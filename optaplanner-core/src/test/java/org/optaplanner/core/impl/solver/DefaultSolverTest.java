@@ -16,17 +16,33 @@
 
 package org.optaplanner.core.impl.solver;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
 import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.decider.acceptor.AcceptorConfig;
 import org.optaplanner.core.config.phase.custom.CustomPhaseConfig;
 import org.optaplanner.core.config.score.definition.ScoreDefinitionType;
+import org.optaplanner.core.config.solver.recaller.BestSolutionRecallerConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
 import org.optaplanner.core.impl.phase.custom.DummyCustomPhaseCommand;
+import org.optaplanner.core.impl.phase.event.PhaseLifecycleListenerAdapter;
+import org.optaplanner.core.impl.phase.scope.AbstractStepScope;
+import org.optaplanner.core.impl.score.TestdataValueConflictEasyScoreCalculator;
+import org.optaplanner.core.impl.score.director.ScoreDirector;
+import org.optaplanner.core.impl.solver.metric.DefaultSolverMetricRegistry;
 import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
 import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
 import org.optaplanner.core.impl.testdata.domain.TestdataValue;
@@ -34,6 +50,7 @@ import org.optaplanner.core.impl.testdata.domain.extended.legacysolution.Testdat
 import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
 
 import static org.junit.Assert.*;
+import static org.optaplanner.core.impl.testdata.util.PlannerAssert.assertCode;
 
 public class DefaultSolverTest {
 
@@ -53,6 +70,227 @@ public class DefaultSolverTest {
         assertSame(solution, solver.getBestSolution());
     }
 
+    @Test
+    public void solveWithMoveThreads() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().getScoreDirectorFactoryConfig()
+                .setEasyScoreCalculatorClass(TestdataValueConflictEasyScoreCalculator.class);
+        solverFactory.getSolverConfig().setRandomSeed(37L);
+        // The Local Search phase terminates on a step count limit, so both runs do the same number of steps
+        TestdataSolution singleThreadedSolution = solverFactory.buildSolver().solve(buildMoveThreadsProblem());
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        TestdataSolution solution = solver.solve(buildMoveThreadsProblem());
+        assertNotNull(solution);
+        assertEquals(true, solution.getScore().isSolutionInitialized());
+        assertSame(solution, solver.getBestSolution());
+        // Reproducible regardless of the moveThreadCount
+        assertEquals(singleThreadedSolution.getScore(), solution.getScore());
+        for (int i = 0; i < solution.getEntityList().size(); i++) {
+            TestdataEntity singleThreadedEntity = singleThreadedSolution.getEntityList().get(i);
+            TestdataEntity entity = solution.getEntityList().get(i);
+            assertCode(singleThreadedEntity.getCode(), entity);
+            assertCode(singleThreadedEntity.getValue().getCode(), entity.getValue());
+        }
+    }
+
+    private TestdataSolution buildMoveThreadsProblem() {
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2"),
+                new TestdataValue("v3")));
+        List<TestdataEntity> entityList = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            entityList.add(new TestdataEntity("e" + i));
+        }
+        solution.setEntityList(entityList);
+        return solution;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildWithMoveThreadsAndSolutionTabu() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setMoveThreadCount("2");
+        AcceptorConfig acceptorConfig = new AcceptorConfig();
+        acceptorConfig.setSolutionTabuSize(7);
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        localSearchPhaseConfig.setAcceptorConfig(acceptorConfig);
+        solverFactory.getSolverConfig().setPhaseConfigList(Arrays.asList(
+                new ConstructionHeuristicPhaseConfig(), localSearchPhaseConfig));
+        solverFactory.buildSolver();
+    }
+
+    @Test
+    public void solveWithMetricRegistry() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+        DefaultSolverMetricRegistry metricRegistry = new DefaultSolverMetricRegistry();
+        solver.setMetricRegistry(metricRegistry);
+        assertSame(metricRegistry, solver.getMetricRegistry());
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2")));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1"), new TestdataEntity("e2"),
+                new TestdataEntity("e3")));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertTrue(metricRegistry.getTimerCount(SolverTimerType.STEP) > 0L);
+        assertTrue(metricRegistry.getTimerCount(SolverTimerType.SCORE_CALCULATION) > 0L);
+        assertTrue(metricRegistry.getTimerCount(SolverTimerType.SOLUTION_CLONE) > 0L);
+        assertFalse(metricRegistry.getMoveClassSet().isEmpty());
+        for (Class<? extends Move> moveClass : metricRegistry.getMoveClassSet()) {
+            assertTrue(metricRegistry.getMoveEvaluatedCount(moveClass)
+                    >= metricRegistry.getMoveAcceptedCount(moveClass));
+        }
+        List<DefaultSolverMetricRegistry.BestScoreRecord> bestScoreRecordList
+                = metricRegistry.getBestScoreRecordList();
+        assertFalse(bestScoreRecordList.isEmpty());
+        assertEquals(solution.getScore(), bestScoreRecordList.get(bestScoreRecordList.size() - 1).getBestScore());
+    }
+
+    @Test
+    public void solveWithInPlaceProblemFactChanges() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setInPlaceProblemFactChanges(true);
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        assertTrue(solver.isInPlaceProblemFactChanges());
+        solver.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void stepEnded(AbstractStepScope<TestdataSolution> stepScope) {
+                if (stepScope instanceof LocalSearchStepScope && stepScope.getStepIndex() == 2) {
+                    solver.addProblemFactChange(scoreDirector -> {
+                        TestdataValue value = new TestdataValue("v3");
+                        scoreDirector.beforeProblemFactAdded(value);
+                        scoreDirector.getWorkingSolution().getValueList().add(value);
+                        scoreDirector.afterProblemFactAdded(value);
+                    });
+                }
+            }
+        });
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        solution.setValueList(new ArrayList<>(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2"))));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1"), new TestdataEntity("e2")));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertEquals(3, solution.getValueList().size());
+        assertTrue(solver.isEveryProblemFactChangeProcessed());
+        // Applied in place, so the solver didn't restart
+        assertEquals(1, solver.getSolverScope().getStartingSolverCount());
+    }
+
+    @Test
+    public void solveWithDeltaRecording() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().getScoreDirectorFactoryConfig()
+                .setEasyScoreCalculatorClass(TestdataValueConflictEasyScoreCalculator.class);
+        BestSolutionRecallerConfig bestSolutionRecallerConfig = new BestSolutionRecallerConfig();
+        bestSolutionRecallerConfig.setDeltaRecording(true);
+        solverFactory.getSolverConfig().setBestSolutionRecallerConfig(bestSolutionRecallerConfig);
+        // The last phase is a Local Search phase and nobody reads the best solution before solve() returns it
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        TerminationConfig terminationConfig = new TerminationConfig();
+        terminationConfig.setStepCountLimit(20);
+        localSearchPhaseConfig.setTerminationConfig(terminationConfig);
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(localSearchPhaseConfig));
+        Solver<TestdataSolution> solver = solverFactory.buildSolver();
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        TestdataValue v1 = new TestdataValue("v1");
+        solution.setValueList(Arrays.asList(v1, new TestdataValue("v2")));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1", v1), new TestdataEntity("e2", v1),
+                new TestdataEntity("e3", v1), new TestdataEntity("e4", v1), new TestdataEntity("e5", v1)));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertTrue(solution.getScore().compareTo(SimpleScore.valueOf(0, -10)) > 0);
+        for (TestdataEntity solvedEntity : solution.getEntityList()) {
+            assertNotNull(solvedEntity.getValue());
+        }
+        assertEquals(new TestdataValueConflictEasyScoreCalculator().calculateScore(solution, 0),
+                solution.getScore());
+        assertSame(solution, solver.getBestSolution());
+    }
+
+    @Test
+    public void solveWithInPlaceProblemFactChangesWhileWorkingSolutionIsWorse() {
+        solveWithInPlaceProblemFactChangesWhileWorkingSolutionIsWorse(false);
+    }
+
+    @Test
+    public void solveWithInPlaceProblemFactChangesWhileWorkingSolutionIsWorseAndDeltaRecording() {
+        solveWithInPlaceProblemFactChangesWhileWorkingSolutionIsWorse(true);
+    }
+
+    private void solveWithInPlaceProblemFactChangesWhileWorkingSolutionIsWorse(boolean deltaRecording) {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().getScoreDirectorFactoryConfig()
+                .setEasyScoreCalculatorClass(TestdataValueConflictEasyScoreCalculator.class);
+        BestSolutionRecallerConfig bestSolutionRecallerConfig = new BestSolutionRecallerConfig();
+        bestSolutionRecallerConfig.setDeltaRecording(deltaRecording);
+        solverFactory.getSolverConfig().setBestSolutionRecallerConfig(bestSolutionRecallerConfig);
+        // Late Acceptance often accepts a move that is worse than the best solution
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        TerminationConfig terminationConfig = new TerminationConfig();
+        terminationConfig.setStepCountLimit(200);
+        localSearchPhaseConfig.setTerminationConfig(terminationConfig);
+        solverFactory.getSolverConfig().setPhaseConfigList(Collections.singletonList(localSearchPhaseConfig));
+        solverFactory.getSolverConfig().setInPlaceProblemFactChanges(true);
+        DefaultSolver<TestdataSolution> solver = (DefaultSolver<TestdataSolution>) solverFactory.buildSolver();
+        TestdataValueConflictEasyScoreCalculator scoreCalculator = new TestdataValueConflictEasyScoreCalculator();
+        AtomicReference<Score> bestScoreBeforeChange = new AtomicReference<>();
+        AtomicReference<Score> workingScoreDuringChange = new AtomicReference<>();
+        AtomicReference<ScoreDirector<TestdataSolution>> scoreDirectorBeforeChange = new AtomicReference<>();
+        AtomicReference<ScoreDirector<TestdataSolution>> scoreDirectorDuringChange = new AtomicReference<>();
+        solver.addPhaseLifecycleListener(new PhaseLifecycleListenerAdapter<TestdataSolution>() {
+            @Override
+            public void stepEnded(AbstractStepScope<TestdataSolution> stepScope) {
+                Score bestScore = stepScope.getPhaseScope().getBestScore();
+                if (stepScope instanceof LocalSearchStepScope && bestScoreBeforeChange.get() == null
+                        && stepScope.getScore().compareTo(bestScore) < 0) {
+                    bestScoreBeforeChange.set(bestScore);
+                    scoreDirectorBeforeChange.set(stepScope.getScoreDirector());
+                    solver.addProblemFactChange(scoreDirector -> {
+                        scoreDirectorDuringChange.set(scoreDirector);
+                        workingScoreDuringChange.set(
+                                scoreCalculator.calculateScore(scoreDirector.getWorkingSolution(), 0));
+                        TestdataValue value = new TestdataValue("v3");
+                        scoreDirector.beforeProblemFactAdded(value);
+                        scoreDirector.getWorkingSolution().getValueList().add(value);
+                        scoreDirector.afterProblemFactAdded(value);
+                    });
+                }
+            }
+        });
+
+        TestdataSolution solution = new TestdataSolution("s1");
+        TestdataValue v1 = new TestdataValue("v1");
+        solution.setValueList(new ArrayList<>(Arrays.asList(v1, new TestdataValue("v2"))));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1", v1), new TestdataEntity("e2", v1),
+                new TestdataEntity("e3", v1), new TestdataEntity("e4", v1), new TestdataEntity("e5", v1)));
+
+        solution = solver.solve(solution);
+        assertNotNull(solution);
+        assertNotNull("The working solution was never worse than the best solution.",
+                bestScoreBeforeChange.get());
+        assertTrue(solver.isEveryProblemFactChangeProcessed());
+        assertEquals(3, solution.getValueList().size());
+        // The change was applied on the best solution, with the same score director
+        assertEquals(bestScoreBeforeChange.get(), workingScoreDuringChange.get());
+        assertSame(scoreDirectorBeforeChange.get(), scoreDirectorDuringChange.get());
+        assertTrue(bestScoreBeforeChange.get().compareTo(solution.getScore()) <= 0);
+        assertEquals(scoreCalculator.calculateScore(solution, 0), solution.getScore());
+        assertEquals(1, solver.getSolverScope().getStartingSolverCount());
+    }
+
     @Test
     public void solveLegacy() {
         SolverFactory<TestdataLegacySolution> solverFactory = PlannerTestUtils.buildSolverFactory(
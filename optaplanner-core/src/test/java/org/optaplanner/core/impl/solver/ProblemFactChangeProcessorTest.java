@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.recaller.BestSolutionRecaller;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ProblemFactChangeProcessorTest {
+
+    @Test
+    public void processProblemFactChangesWithOneScoreCalculationPerBatch() {
+        BasicPlumbingTermination termination = new BasicPlumbingTermination(false);
+        BestSolutionRecaller<TestdataSolution> bestSolutionRecaller = mock(BestSolutionRecaller.class);
+        ProblemFactChangeProcessor<TestdataSolution> processor = new ProblemFactChangeProcessor<>(
+                termination, bestSolutionRecaller);
+        InnerScoreDirector<TestdataSolution> scoreDirector = mock(InnerScoreDirector.class);
+        TestdataSolution newBestSolution = new TestdataSolution("s1");
+        when(scoreDirector.cloneWorkingSolution()).thenReturn(newBestSolution);
+        DefaultSolverScope<TestdataSolution> solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(scoreDirector);
+        Score score = mock(Score.class);
+        when(solverScope.calculateScore()).thenReturn(score);
+
+        ProblemFactChange<TestdataSolution> change1 = mock(ProblemFactChange.class);
+        ProblemFactChange<TestdataSolution> change2 = mock(ProblemFactChange.class);
+        ProblemFactChange<TestdataSolution> change3 = mock(ProblemFactChange.class);
+        termination.addProblemFactChanges(Arrays.asList(change1, change2, change3));
+        assertSame(score, processor.processProblemFactChanges(solverScope));
+
+        InOrder inOrder = inOrder(change1, change2, change3, scoreDirector, solverScope, bestSolutionRecaller);
+        inOrder.verify(change1).doChange(scoreDirector);
+        inOrder.verify(scoreDirector).triggerVariableListeners();
+        inOrder.verify(change2).doChange(scoreDirector);
+        inOrder.verify(scoreDirector).triggerVariableListeners();
+        inOrder.verify(change3).doChange(scoreDirector);
+        inOrder.verify(solverScope).calculateScore();
+        inOrder.verify(bestSolutionRecaller).updateBestSolution(solverScope, newBestSolution);
+        verify(solverScope, times(1)).calculateScore();
+        verify(bestSolutionRecaller, times(1)).updateBestSolution(any(DefaultSolverScope.class), any());
+        assertTrue(termination.isEveryProblemFactChangeProcessed());
+    }
+
+    @Test
+    public void processProblemFactChangesDoesNotSplitALaterBatch() {
+        BasicPlumbingTermination termination = new BasicPlumbingTermination(false);
+        ProblemFactChangeProcessor<TestdataSolution> processor = new ProblemFactChangeProcessor<>(
+                termination, mock(BestSolutionRecaller.class));
+        InnerScoreDirector<TestdataSolution> scoreDirector = mock(InnerScoreDirector.class);
+        DefaultSolverScope<TestdataSolution> solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(scoreDirector);
+
+        ProblemFactChange<TestdataSolution> laterChange1 = mock(ProblemFactChange.class);
+        ProblemFactChange<TestdataSolution> laterChange2 = mock(ProblemFactChange.class);
+        // Simulates a client thread that adds another batch while the first batch is being processed
+        ProblemFactChange<TestdataSolution> change = scoreDirector_ -> termination.addProblemFactChanges(
+                Arrays.asList(laterChange1, laterChange2));
+        termination.addProblemFactChange(change);
+        processor.processProblemFactChanges(solverScope);
+
+        verify(solverScope, times(1)).calculateScore();
+        verify(laterChange1, never()).doChange(any());
+        verify(laterChange2, never()).doChange(any());
+        assertEquals(2, termination.getPendingProblemFactChangeCount());
+
+        processor.processProblemFactChanges(solverScope);
+        verify(laterChange1).doChange(scoreDirector);
+        verify(laterChange2).doChange(scoreDirector);
+        verify(solverScope, times(2)).calculateScore();
+        assertEquals(0, termination.getPendingProblemFactChangeCount());
+    }
+
+    @Test
+    public void processWithoutProblemFactChanges() {
+        BasicPlumbingTermination termination = new BasicPlumbingTermination(false);
+        ProblemFactChangeProcessor<TestdataSolution> processor = new ProblemFactChangeProcessor<>(
+                termination, mock(BestSolutionRecaller.class));
+        DefaultSolverScope<TestdataSolution> solverScope = mock(DefaultSolverScope.class);
+        when(solverScope.getScoreDirector()).thenReturn(mock(InnerScoreDirector.class));
+        assertNull(processor.processProblemFactChanges(solverScope));
+        verify(solverScope, never()).calculateScore();
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SolverEventSupportTest {
+
+    @Test
+    public void asyncDeliveryDropsIntermediateEvents() throws InterruptedException {
+        SolverEventSupport<TestdataSolution> solverEventSupport = new SolverEventSupport<>(mock(Solver.class));
+        solverEventSupport.setAsyncDelivery(Executors.defaultThreadFactory(), 0L);
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        CountDownLatch firstEventReleased = new CountDownLatch(1);
+        List<SimpleScore> deliveredScoreList = new CopyOnWriteArrayList<>();
+        solverEventSupport.addEventListener(event -> {
+            deliveredScoreList.add((SimpleScore) event.getNewBestScore());
+            firstEventStarted.countDown();
+            try {
+                firstEventReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        DefaultSolverScope<TestdataSolution> solverScope = new DefaultSolverScope<>();
+        solverScope.startingNow();
+        TestdataSolution solution = new TestdataSolution("s");
+
+        solverEventSupport.solvingStarted();
+        solverEventSupport.fireBestSolutionChanged(solverScope, () -> solution, SimpleScore.valueOfInitialized(-3));
+        assertTrue(firstEventStarted.await(10L, TimeUnit.SECONDS));
+        // The listener is still busy, but the solver thread isn't blocked
+        solverEventSupport.fireBestSolutionChanged(solverScope, () -> solution, SimpleScore.valueOfInitialized(-2));
+        solverEventSupport.fireBestSolutionChanged(solverScope, () -> solution, SimpleScore.valueOfInitialized(-1));
+        firstEventReleased.countDown();
+        solverEventSupport.solvingEnded();
+        assertEquals(2, deliveredScoreList.size());
+        assertEquals(SimpleScore.valueOfInitialized(-3), deliveredScoreList.get(0));
+        assertEquals(SimpleScore.valueOfInitialized(-1), deliveredScoreList.get(1));
+    }
+
+    @Test
+    public void syncDelivery() {
+        SolverEventSupport<TestdataSolution> solverEventSupport = new SolverEventSupport<>(mock(Solver.class));
+        List<SimpleScore> deliveredScoreList = new CopyOnWriteArrayList<>();
+        solverEventSupport.addEventListener(event -> deliveredScoreList.add((SimpleScore) event.getNewBestScore()));
+        DefaultSolverScope<TestdataSolution> solverScope = new DefaultSolverScope<>();
+        solverScope.startingNow();
+        TestdataSolution solution = new TestdataSolution("s");
+
+        solverEventSupport.solvingStarted();
+        solverEventSupport.fireBestSolutionChanged(solverScope, () -> solution, SimpleScore.valueOfInitialized(-2));
+        solverEventSupport.fireBestSolutionChanged(solverScope, () -> solution, SimpleScore.valueOfInitialized(-1));
+        assertEquals(2, deliveredScoreList.size());
+        solverEventSupport.solvingEnded();
+    }
+
+}
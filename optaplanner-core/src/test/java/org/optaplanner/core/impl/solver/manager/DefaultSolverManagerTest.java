@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.manager;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.api.solver.manager.SolverJob;
+import org.optaplanner.core.api.solver.manager.SolverManager;
+import org.optaplanner.core.api.solver.manager.SolverStatus;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.manager.SolverManagerConfig;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+import org.optaplanner.core.impl.testdata.util.PlannerTestUtils;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class DefaultSolverManagerTest {
+
+    @Test
+    public void solveMultipleProblems() throws InterruptedException, ExecutionException {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        SolverManagerConfig solverManagerConfig = new SolverManagerConfig();
+        solverManagerConfig.setParallelSolverCount("2");
+        SolverManager<TestdataSolution, Long> solverManager = solverFactory.buildSolverManager(solverManagerConfig);
+
+        int problemCount = 5;
+        SolverJob<TestdataSolution, Long>[] solverJobs = new SolverJob[problemCount];
+        for (int i = 0; i < problemCount; i++) {
+            solverJobs[i] = solverManager.solve((long) i, buildProblem("s" + i));
+        }
+        for (int i = 0; i < problemCount; i++) {
+            TestdataSolution solution = solverJobs[i].getFinalBestSolution();
+            assertEquals("s" + i, solution.getCode());
+            assertEquals(true, solution.getScore().isSolutionInitialized());
+            assertEquals(SolverStatus.NOT_SOLVING, solverJobs[i].getSolverStatus());
+            assertSame(solution, solverJobs[i].getBestSolution());
+            assertEquals(SolverStatus.NOT_SOLVING, solverManager.getSolverStatus((long) i));
+            assertNull(solverManager.getSolverJob((long) i));
+        }
+        solverManager.shutdown();
+    }
+
+    @Test
+    public void solveSameProblemIdAgainOnceNotSolving() throws InterruptedException, ExecutionException {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        SolverManager<TestdataSolution, String> solverManager = solverFactory.buildSolverManager();
+
+        SolverJob<TestdataSolution, String> solverJob = solverManager.solve("p1", buildProblem("s1"));
+        while (solverJob.getSolverStatus() != SolverStatus.NOT_SOLVING) {
+            Thread.sleep(1L);
+        }
+        // Fails on a duplicate problemId if the job is still known to the solverManager
+        SolverJob<TestdataSolution, String> secondSolverJob = solverManager.solve("p1", buildProblem("s2"));
+        assertEquals("s2", secondSolverJob.getFinalBestSolution().getCode());
+        solverManager.shutdown();
+    }
+
+    @Test
+    public void solveWithActiveThreadCount() throws InterruptedException, ExecutionException {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        SolverManagerConfig solverManagerConfig = new SolverManagerConfig();
+        solverManagerConfig.setParallelSolverCount("4");
+        solverManagerConfig.setActiveThreadCount("1");
+        solverManagerConfig.setThreadQuantumMillis(1L);
+        SolverManager<TestdataSolution, Long> solverManager = solverFactory.buildSolverManager(solverManagerConfig);
+
+        int problemCount = 4;
+        SolverJob<TestdataSolution, Long>[] solverJobs = new SolverJob[problemCount];
+        for (int i = 0; i < problemCount; i++) {
+            solverJobs[i] = solverManager.solve((long) i, buildProblem("s" + i), 0, i + 1, null);
+        }
+        for (int i = 0; i < problemCount; i++) {
+            TestdataSolution solution = solverJobs[i].getFinalBestSolution();
+            assertEquals(true, solution.getScore().isSolutionInitialized());
+        }
+        solverManager.shutdown();
+    }
+
+    @Test
+    public void solveWithActiveThreadCountAndIdleDaemonSolver() throws InterruptedException, ExecutionException {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        solverFactory.getSolverConfig().setDaemon(true);
+        SolverManagerConfig solverManagerConfig = new SolverManagerConfig();
+        solverManagerConfig.setParallelSolverCount("2");
+        solverManagerConfig.setActiveThreadCount("1");
+        SolverManager<TestdataSolution, String> solverManager = solverFactory.buildSolverManager(solverManagerConfig);
+
+        SolverJob<TestdataSolution, String> daemonJob = solverManager.solve("p1", buildProblem("s1"));
+        SolverJob<TestdataSolution, String> otherJob = solverManager.solve("p2", buildProblem("s2"));
+        // Blocks forever if the idle daemon solver keeps its active thread
+        TestdataSolution otherSolution = otherJob.getFinalBestSolution();
+        assertEquals(true, otherSolution.getScore().isSolutionInitialized());
+        assertEquals(SolverStatus.SOLVING_ACTIVE, solverManager.getSolverStatus("p1"));
+
+        assertTrue(solverManager.terminateEarly("p1"));
+        assertNotNull(daemonJob.getFinalBestSolution());
+        solverManager.shutdown();
+    }
+
+    @Test
+    public void solveWithTimeMillisSpentLimit() throws InterruptedException, ExecutionException {
+        SolverFactory<TestdataSolution> solverFactory = buildNeverEndingSolverFactory();
+        SolverManager<TestdataSolution, String> solverManager = solverFactory.buildSolverManager();
+
+        SolverJob<TestdataSolution, String> solverJob = solverManager.solve("p1", buildProblem("s1"), 0, 10L);
+        TestdataSolution solution = solverJob.getFinalBestSolution();
+        assertEquals(true, solution.getScore().isSolutionInitialized());
+        solverManager.shutdown();
+    }
+
+    @Test
+    public void terminateEarlyScheduledAndSolvingProblem() throws InterruptedException, ExecutionException {
+        SolverFactory<TestdataSolution> solverFactory = buildNeverEndingSolverFactory();
+        SolverManagerConfig solverManagerConfig = new SolverManagerConfig();
+        solverManagerConfig.setParallelSolverCount("1");
+        SolverManager<TestdataSolution, String> solverManager = solverFactory.buildSolverManager(solverManagerConfig);
+
+        SolverJob<TestdataSolution, String> solvingJob = solverManager.solve("p1", buildProblem("s1"));
+        TestdataSolution scheduledProblem = buildProblem("s2");
+        SolverJob<TestdataSolution, String> scheduledJob = solverManager.solve("p2", scheduledProblem);
+        assertEquals(SolverStatus.SOLVING_SCHEDULED, solverManager.getSolverStatus("p2"));
+        assertSame(scheduledProblem, solverManager.getBestSolution("p2"));
+
+        assertTrue(solverManager.terminateEarly("p2"));
+        assertSame(scheduledProblem, scheduledJob.getFinalBestSolution());
+        assertEquals(SolverStatus.NOT_SOLVING, solverManager.getSolverStatus("p2"));
+        assertFalse(scheduledJob.terminateEarly());
+
+        assertTrue(solverManager.terminateEarly("p1"));
+        assertNotNull(solvingJob.getFinalBestSolution());
+        assertFalse(solverManager.terminateEarly("p1"));
+        solverManager.shutdown();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void solveDuplicateProblemId() {
+        SolverFactory<TestdataSolution> solverFactory = buildNeverEndingSolverFactory();
+        SolverManager<TestdataSolution, String> solverManager = solverFactory.buildSolverManager();
+        solverManager.solve("p1", buildProblem("s1"));
+        try {
+            solverManager.solve("p1", buildProblem("s2"));
+        } finally {
+            solverManager.shutdown();
+        }
+    }
+
+    @Test
+    public void compareTo() {
+        DefaultSolverManager<TestdataSolution, String> solverManager = mock(DefaultSolverManager.class);
+        DefaultSolverJob<TestdataSolution, String> a = new DefaultSolverJob<>(solverManager, "a", null, 0, 1, 0L, null);
+        DefaultSolverJob<TestdataSolution, String> b = new DefaultSolverJob<>(solverManager, "b", null, 0, 1, 1L, null);
+        DefaultSolverJob<TestdataSolution, String> c = new DefaultSolverJob<>(solverManager, "c", null, 5, 1, 2L, null);
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(b.compareTo(a) > 0);
+        assertTrue(c.compareTo(a) < 0);
+        assertTrue(c.compareTo(b) < 0);
+        assertEquals(0, a.compareTo(a));
+    }
+
+    private SolverFactory<TestdataSolution> buildNeverEndingSolverFactory() {
+        SolverFactory<TestdataSolution> solverFactory = PlannerTestUtils.buildSolverFactory(
+                TestdataSolution.class, TestdataEntity.class);
+        for (PhaseConfig phaseConfig : solverFactory.getSolverConfig().getPhaseConfigList()) {
+            phaseConfig.setTerminationConfig(null);
+        }
+        return solverFactory;
+    }
+
+    private TestdataSolution buildProblem(String code) {
+        TestdataSolution solution = new TestdataSolution(code);
+        solution.setValueList(Arrays.asList(new TestdataValue("v1"), new TestdataValue("v2")));
+        solution.setEntityList(Arrays.asList(new TestdataEntity("e1"), new TestdataEntity("e2")));
+        return solution;
+    }
+
+}
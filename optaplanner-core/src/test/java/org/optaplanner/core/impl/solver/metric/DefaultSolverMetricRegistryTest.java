@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.metric;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.api.solver.metric.SolverTimerType;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.SwapMove;
+
+import static org.junit.Assert.*;
+
+public class DefaultSolverMetricRegistryTest {
+
+    @Test
+    public void recordMoveEvaluation() {
+        DefaultSolverMetricRegistry metricRegistry = new DefaultSolverMetricRegistry();
+        metricRegistry.recordMoveEvaluation(ChangeMove.class, true);
+        metricRegistry.recordMoveEvaluation(ChangeMove.class, false);
+        metricRegistry.recordMoveEvaluation(ChangeMove.class, true);
+        metricRegistry.recordMoveEvaluation(SwapMove.class, false);
+        assertEquals(2, metricRegistry.getMoveClassSet().size());
+        assertEquals(3L, metricRegistry.getMoveEvaluatedCount(ChangeMove.class));
+        assertEquals(2L, metricRegistry.getMoveAcceptedCount(ChangeMove.class));
+        assertEquals(1L, metricRegistry.getMoveEvaluatedCount(SwapMove.class));
+        assertEquals(0L, metricRegistry.getMoveAcceptedCount(SwapMove.class));
+    }
+
+    @Test
+    public void recordTime() {
+        DefaultSolverMetricRegistry metricRegistry = new DefaultSolverMetricRegistry();
+        assertEquals(0L, metricRegistry.getTimerAverageNanos(SolverTimerType.STEP));
+        metricRegistry.recordTime(SolverTimerType.STEP, 100L);
+        metricRegistry.recordTime(SolverTimerType.STEP, 300L);
+        metricRegistry.recordTime(SolverTimerType.SCORE_CALCULATION, 7L);
+        assertEquals(2L, metricRegistry.getTimerCount(SolverTimerType.STEP));
+        assertEquals(400L, metricRegistry.getTimerTotalNanos(SolverTimerType.STEP));
+        assertEquals(200L, metricRegistry.getTimerAverageNanos(SolverTimerType.STEP));
+        assertEquals(1L, metricRegistry.getTimerCount(SolverTimerType.SCORE_CALCULATION));
+        assertEquals(0L, metricRegistry.getTimerCount(SolverTimerType.SOLUTION_CLONE));
+    }
+
+    @Test
+    public void recordBestScoreAndReset() {
+        DefaultSolverMetricRegistry metricRegistry = new DefaultSolverMetricRegistry();
+        metricRegistry.recordBestScore(0L, SimpleScore.valueOf(-2, -10));
+        metricRegistry.recordBestScore(15L, SimpleScore.valueOfInitialized(-3));
+        List<DefaultSolverMetricRegistry.BestScoreRecord> bestScoreRecordList
+                = metricRegistry.getBestScoreRecordList();
+        assertEquals(2, bestScoreRecordList.size());
+        assertEquals(15L, bestScoreRecordList.get(1).getTimeMillisSpent());
+        assertEquals(SimpleScore.valueOfInitialized(-3), bestScoreRecordList.get(1).getBestScore());
+
+        metricRegistry.recordMoveEvaluation(ChangeMove.class, true);
+        metricRegistry.recordTime(SolverTimerType.STEP, 100L);
+        metricRegistry.reset();
+        assertTrue(metricRegistry.getMoveClassSet().isEmpty());
+        assertEquals(0L, metricRegistry.getTimerCount(SolverTimerType.STEP));
+        assertTrue(metricRegistry.getBestScoreRecordList().isEmpty());
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.recaller;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.optaplanner.core.api.score.buildin.simple.SimpleScore;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.event.SolverEventSupport;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.core.impl.testdata.domain.TestdataEntity;
+import org.optaplanner.core.impl.testdata.domain.TestdataSolution;
+import org.optaplanner.core.impl.testdata.domain.TestdataValue;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class DeltaBestSolutionRecallerTest {
+
+    @Test
+    public void cloneBestSolutionLazily() {
+        SolutionDescriptor<TestdataSolution> solutionDescriptor = TestdataSolution.buildSolutionDescriptor();
+        GenuineVariableDescriptor<TestdataSolution> variableDescriptor
+                = solutionDescriptor.findEntityDescriptorOrFail(TestdataEntity.class).getGenuineVariableDescriptor("value");
+        TestdataValue v1 = new TestdataValue("v1");
+        TestdataValue v2 = new TestdataValue("v2");
+        TestdataEntity a = new TestdataEntity("a", v1);
+        TestdataEntity b = new TestdataEntity("b", v1);
+        TestdataSolution workingSolution = new TestdataSolution("s");
+        workingSolution.setValueList(Arrays.asList(v1, v2));
+        workingSolution.setEntityList(Arrays.asList(a, b));
+
+        InnerScoreDirector<TestdataSolution> scoreDirector = mock(InnerScoreDirector.class);
+        when(scoreDirector.getSolutionDescriptor()).thenReturn(solutionDescriptor);
+        when(scoreDirector.getWorkingSolution()).thenReturn(workingSolution);
+        when(scoreDirector.calculateScore()).thenReturn(SimpleScore.valueOfInitialized(-2));
+        DefaultSolverScope<TestdataSolution> solverScope = new DefaultSolverScope<>();
+        solverScope.setScoreDirector(scoreDirector);
+        solverScope.setBestSolution(solutionDescriptor.getSolutionCloner().cloneSolution(workingSolution));
+
+        DeltaBestSolutionRecaller<TestdataSolution> recaller = new DeltaBestSolutionRecaller<>();
+        recaller.setSolverEventSupport(mock(SolverEventSupport.class));
+        recaller.solvingStarted(solverScope);
+        verify(scoreDirector).addWorkingVariableChangeListener(recaller);
+        LocalSearchPhaseScope<TestdataSolution> phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        recaller.phaseStarted(phaseScope);
+
+        // Step 0 improves the best solution
+        LocalSearchStepScope<TestdataSolution> stepScope = new LocalSearchStepScope<>(phaseScope);
+        recaller.stepStarted(stepScope);
+        recaller.beforeVariableChanged(variableDescriptor, a);
+        a.setValue(v2);
+        stepScope.setScore(SimpleScore.valueOfInitialized(-1));
+        recaller.processWorkingSolutionDuringStep(stepScope);
+        recaller.stepEnded(stepScope);
+        assertEquals(SimpleScore.valueOfInitialized(-1), solverScope.getBestScore());
+
+        // Step 1 doesn't improve the best solution
+        stepScope = new LocalSearchStepScope<>(phaseScope);
+        recaller.stepStarted(stepScope);
+        recaller.beforeVariableChanged(variableDescriptor, b);
+        b.setValue(v2);
+        recaller.beforeVariableChanged(variableDescriptor, a);
+        a.setValue(v1);
+        recaller.beforeVariableChanged(variableDescriptor, a);
+        a.setValue(null);
+        stepScope.setScore(SimpleScore.valueOfInitialized(-3));
+        recaller.processWorkingSolutionDuringStep(stepScope);
+        recaller.stepEnded(stepScope);
+
+        TestdataSolution bestSolution = solverScope.getBestSolution();
+        assertNotSame(workingSolution, bestSolution);
+        assertSame(bestSolution, solverScope.getBestSolution());
+        assertEquals(SimpleScore.valueOfInitialized(-1), bestSolution.getScore());
+        assertEquals("v2", bestSolution.getEntityList().get(0).getValue().getCode());
+        assertEquals("v1", bestSolution.getEntityList().get(1).getValue().getCode());
+        // The working solution is unaffected
+        assertSame(null, a.getValue());
+        assertSame(v2, b.getValue());
+        recaller.phaseEnded(phaseScope);
+        recaller.solvingEnded(solverScope);
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.core.impl.solver.thread;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SolverThreadSchedulerTest {
+
+    @Test
+    public void acquireWaitsForRelease() throws InterruptedException {
+        SolverThreadScheduler scheduler = new SolverThreadScheduler(2, 1000L);
+        SolverThreadTicket ticket1 = scheduler.createTicket(1);
+        SolverThreadTicket ticket2 = scheduler.createTicket(1);
+        SolverThreadTicket ticket3 = scheduler.createTicket(1);
+        ticket1.acquire();
+        ticket2.acquire();
+        assertTrue(ticket1.isHolding());
+        assertTrue(ticket2.isHolding());
+
+        Thread thread3 = startAcquiringThread(ticket3);
+        thread3.join(100L);
+        assertTrue(thread3.isAlive());
+        ticket1.release();
+        thread3.join(10000L);
+        assertFalse(thread3.isAlive());
+        assertFalse(ticket1.isHolding());
+        assertTrue(ticket3.isHolding());
+        ticket2.release();
+        ticket3.release();
+    }
+
+    @Test
+    public void abortWaiting() throws InterruptedException {
+        SolverThreadScheduler scheduler = new SolverThreadScheduler(1, 1000L);
+        SolverThreadTicket ticket1 = scheduler.createTicket(1);
+        SolverThreadTicket ticket2 = scheduler.createTicket(1);
+        ticket1.acquire();
+
+        Thread thread2 = startAcquiringThread(ticket2);
+        thread2.join(100L);
+        assertTrue(thread2.isAlive());
+        ticket2.abortWaiting();
+        thread2.join(10000L);
+        assertFalse(thread2.isAlive());
+        assertFalse(ticket2.isHolding());
+        ticket2.checkYielding();
+        ticket2.release();
+
+        ticket1.release();
+        SolverThreadTicket ticket3 = scheduler.createTicket(1);
+        ticket3.acquire();
+        assertTrue(ticket3.isHolding());
+        ticket3.release();
+    }
+
+    @Test
+    public void checkYieldingWithoutWaitingTicket() throws InterruptedException {
+        SolverThreadScheduler scheduler = new SolverThreadScheduler(1, 1L);
+        SolverThreadTicket ticket = scheduler.createTicket(1);
+        ticket.acquire();
+        Thread.sleep(5L);
+        ticket.checkYielding();
+        assertTrue(ticket.isHolding());
+        assertTrue(ticket.calculateGrantedTimeMillisUpToNow() >= 5L);
+        ticket.release();
+    }
+
+    @Test
+    public void checkYieldingHandsOverToWaitingTicket() throws InterruptedException {
+        SolverThreadScheduler scheduler = new SolverThreadScheduler(1, 1L);
+        SolverThreadTicket ticket1 = scheduler.createTicket(1);
+        SolverThreadTicket ticket2 = scheduler.createTicket(1);
+        ticket1.acquire();
+        Thread.sleep(5L);
+
+        Thread thread2 = new Thread(() -> {
+            try {
+                ticket2.acquire();
+                Thread.sleep(200L);
+                ticket2.release();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread2.start();
+        thread2.join(100L);
+        assertTrue(thread2.isAlive());
+        long grantedTimeMillisBeforeYielding = ticket1.calculateGrantedTimeMillisUpToNow();
+        // Blocks until ticket2 has released its turn
+        ticket1.checkYielding();
+        thread2.join(10000L);
+        assertFalse(thread2.isAlive());
+        assertTrue(ticket1.isHolding());
+        // The 200ms waiting time is excluded
+        assertTrue(ticket1.calculateGrantedTimeMillisUpToNow() - grantedTimeMillisBeforeYielding < 200L);
+        ticket1.release();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createTicketWithZeroWeight() {
+        new SolverThreadScheduler(1, 1000L).createTicket(0);
+    }
+
+    private Thread startAcquiringThread(SolverThreadTicket ticket) {
+        Thread thread = new Thread(() -> {
+            try {
+                ticket.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+}
@@ -17,7 +17,9 @@
 package org.optaplanner.examples.cloudbalancing.variants.solver.partitioner;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
 import org.optaplanner.core.impl.score.director.ScoreDirector;
@@ -38,27 +40,22 @@ public class CloudBalancePartitioner implements SolutionPartitioner<CloudBalance
                     new ArrayList<>(originalSolution.getProcessList().size() / partCount + 1));
             partList.add(partSolution);
         }
+        Map<CloudComputer, Integer> computerToPartIndexMap = new HashMap<>(originalSolution.getComputerList().size());
         int partIndex = 0;
         for (CloudComputer originalComputer : originalSolution.getComputerList()) {
             CloudBalance part = partList.get(partIndex);
-            part.getComputerList().add(new CloudComputer(
-                    originalComputer.getId(),
-                    originalComputer.getCpuPower(), originalComputer.getMemory(),
-                    originalComputer.getNetworkBandwidth(), originalComputer.getCost()));
+            part.getComputerList().add(originalComputer);
+            computerToPartIndexMap.put(originalComputer, partIndex);
             partIndex = (partIndex + 1) % partList.size();
         }
         partIndex = 0;
         for (CloudProcess originalProcess : originalSolution.getProcessList()) {
             CloudBalance part = partList.get(partIndex);
-            part.getProcessList().add(new CloudProcess(
-                    originalProcess.getId(),
-                    originalProcess.getRequiredCpuPower(), originalProcess.getRequiredMemory(),
-                    originalProcess.getRequiredNetworkBandwidth()));
-            if (originalProcess.getComputer() != null) {
-                // TODO switch the reference to the partition cloned computer
-                // TODO Then fail fast if the computer isn't in the same partition with this exception:
+            part.getProcessList().add(originalProcess);
+            CloudComputer originalComputer = originalProcess.getComputer();
+            if (originalComputer != null && computerToPartIndexMap.get(originalComputer) != partIndex) {
                 throw new IllegalStateException("The initialized process (" + originalProcess
-                        + ") has a computer (" + originalProcess.getComputer()
+                        + ") has a computer (" + originalComputer
                         + ") which belongs to the another partition.");
             }
             partIndex = (partIndex + 1) % partList.size();
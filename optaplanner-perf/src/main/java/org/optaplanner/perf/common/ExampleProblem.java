@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.common;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+import org.optaplanner.examples.cloudbalancing.persistence.CloudBalancingDao;
+import org.optaplanner.examples.common.persistence.AbstractSolutionDao;
+import org.optaplanner.examples.common.persistence.SolutionDao;
+import org.optaplanner.examples.nurserostering.persistence.NurseRosteringDao;
+import org.optaplanner.examples.tsp.persistence.TspDao;
+import org.optaplanner.examples.vehiclerouting.persistence.VehicleRoutingDao;
+
+/**
+ * The example datasets the benchmarks in this module run on.
+ * <p>
+ * The datasets are read from the optaplanner-examples data directory,
+ * so run the benchmarks from the optaplanner-perf directory
+ * or override {@value #DATA_DIR_JVM_ARG} on the forked JVM.
+ */
+public enum ExampleProblem {
+    CLOUD_BALANCING("org/optaplanner/examples/cloudbalancing/solver/cloudBalancingSolverConfig.xml",
+            CloudBalancingDao::new, "unsolved/400computers-1200processes.xml"),
+    TSP("org/optaplanner/examples/tsp/solver/tspSolverConfig.xml",
+            TspDao::new, "unsolved/lu980.xml"),
+    VEHICLE_ROUTING("org/optaplanner/examples/vehiclerouting/solver/vehicleRoutingSolverConfig.xml",
+            VehicleRoutingDao::new, "unsolved/cvrptw-400customers.xml"),
+    NURSE_ROSTERING("org/optaplanner/examples/nurserostering/solver/nurseRosteringSolverConfig.xml",
+            NurseRosteringDao::new, "unsolved/medium01.xml");
+
+    /**
+     * Relative to the optaplanner-perf directory.
+     */
+    public static final String DATA_DIR_JVM_ARG
+            = "-D" + AbstractSolutionDao.DATA_DIR_SYSTEM_PROPERTY + "=../optaplanner-examples/data/";
+    /**
+     * The logback.xml of optaplanner-examples logs on debug, which would dominate the measurements.
+     */
+    public static final String LOG_LEVEL_JVM_ARG = "-Dlogback.level.org.optaplanner=warn";
+
+    private final String solverConfigResource;
+    private final Supplier<SolutionDao<?>> solutionDaoSupplier;
+    private final String inputSolutionPath;
+
+    ExampleProblem(String solverConfigResource, Supplier<SolutionDao<?>> solutionDaoSupplier,
+            String inputSolutionPath) {
+        this.solverConfigResource = solverConfigResource;
+        this.solutionDaoSupplier = solutionDaoSupplier;
+        this.inputSolutionPath = inputSolutionPath;
+    }
+
+    public <Solution_> SolverFactory<Solution_> buildSolverFactory() {
+        return SolverFactory.createFromXmlResource(solverConfigResource);
+    }
+
+    /**
+     * @param <Solution_> the solution type, the class with the
+     * {@link org.optaplanner.core.api.domain.solution.PlanningSolution} annotation
+     * @return never null, with its planning variables as they are in the dataset, so usually uninitialized
+     */
+    public <Solution_> Solution_ loadSolution() {
+        SolutionDao<Solution_> solutionDao = (SolutionDao<Solution_>) solutionDaoSupplier.get();
+        return solutionDao.readSolution(new File(solutionDao.getDataDir(), inputSolutionPath));
+    }
+
+    /**
+     * Runs only a construction heuristic on the dataset,
+     * so the benchmarks measure the hot paths of a typical local search step on a realistic solution.
+     * @param <Solution_> the solution type, the class with the
+     * {@link org.optaplanner.core.api.domain.solution.PlanningSolution} annotation
+     * @return never null, with all its planning variables initialized
+     */
+    public <Solution_> Solution_ loadInitializedSolution() {
+        SolverFactory<Solution_> solverFactory = buildSolverFactory();
+        SolverConfig solverConfig = solverFactory.getSolverConfig();
+        solverConfig.setTerminationConfig(new TerminationConfig());
+        solverConfig.setPhaseConfigList(
+                Collections.<PhaseConfig>singletonList(new ConstructionHeuristicPhaseConfig()));
+        Solver<Solution_> solver = solverFactory.buildSolver();
+        return solver.solve(loadSolution());
+    }
+
+    public <Solution_> InnerScoreDirectorFactory<Solution_> buildScoreDirectorFactory() {
+        DefaultSolver<Solution_> solver = (DefaultSolver<Solution_>) this.<Solution_>buildSolverFactory().buildSolver();
+        return solver.getScoreDirectorFactory();
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
+import org.optaplanner.perf.common.ExampleProblem;
+
+/**
+ * Measures the planning clone, which happens on every new best solution.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar SolutionClonerBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {ExampleProblem.DATA_DIR_JVM_ARG, ExampleProblem.LOG_LEVEL_JVM_ARG})
+@State(Scope.Benchmark)
+public class SolutionClonerBenchmark {
+
+    @Param({"CLOUD_BALANCING", "TSP", "VEHICLE_ROUTING", "NURSE_ROSTERING"})
+    public ExampleProblem exampleProblem;
+
+    private SolutionCloner<Object> solutionCloner;
+    private Object solution;
+
+    @Setup
+    public void setup() {
+        solutionCloner = exampleProblem.buildScoreDirectorFactory().getSolutionDescriptor().getSolutionCloner();
+        solution = exampleProblem.loadInitializedSolution();
+    }
+
+    @Benchmark
+    public Object cloneSolution() {
+        return solutionCloner.cloneSolution(solution);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.heuristic;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.optaplanner.core.config.heuristic.policy.HeuristicConfigPolicy;
+import org.optaplanner.core.config.heuristic.selector.common.SelectionCacheType;
+import org.optaplanner.core.config.heuristic.selector.common.SelectionOrder;
+import org.optaplanner.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.move.MoveSelector;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.examples.cloudbalancing.domain.CloudBalance;
+import org.optaplanner.perf.common.ExampleProblem;
+
+/**
+ * Measures the move selection of a just in time {@link ChangeMoveSelectorConfig change move selector},
+ * without doing or scoring the moves.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar ChangeMoveSelectorBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {ExampleProblem.DATA_DIR_JVM_ARG, ExampleProblem.LOG_LEVEL_JVM_ARG})
+@State(Scope.Thread)
+public class ChangeMoveSelectorBenchmark {
+
+    private static final int MOVE_COUNT = 10000;
+
+    @Param({"ORIGINAL", "RANDOM"})
+    public SelectionOrder selectionOrder;
+
+    private InnerScoreDirector<CloudBalance> scoreDirector;
+    private MoveSelector moveSelector;
+    private DefaultSolverScope<CloudBalance> solverScope;
+    private LocalSearchPhaseScope<CloudBalance> phaseScope;
+    private LocalSearchStepScope<CloudBalance> stepScope;
+
+    @Setup
+    public void setup() {
+        InnerScoreDirectorFactory<CloudBalance> scoreDirectorFactory
+                = ExampleProblem.CLOUD_BALANCING.buildScoreDirectorFactory();
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false);
+        scoreDirector.setWorkingSolution(ExampleProblem.CLOUD_BALANCING.loadInitializedSolution());
+        HeuristicConfigPolicy configPolicy = new HeuristicConfigPolicy(EnvironmentMode.REPRODUCIBLE,
+                scoreDirectorFactory);
+        moveSelector = new ChangeMoveSelectorConfig().buildMoveSelector(configPolicy,
+                SelectionCacheType.JUST_IN_TIME, selectionOrder);
+        solverScope = new DefaultSolverScope<>();
+        solverScope.setScoreDirector(scoreDirector);
+        solverScope.setWorkingRandom(new Random(37));
+        phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        phaseScope.reset();
+        stepScope = new LocalSearchStepScope<>(phaseScope);
+        moveSelector.solvingStarted(solverScope);
+        moveSelector.phaseStarted(phaseScope);
+        moveSelector.stepStarted(stepScope);
+    }
+
+    @TearDown
+    public void tearDown() {
+        moveSelector.stepEnded(stepScope);
+        moveSelector.phaseEnded(phaseScope);
+        moveSelector.solvingEnded(solverScope);
+        scoreDirector.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVE_COUNT)
+    public void selectMoves(Blackhole blackhole) {
+        // A new iterator per invocation, like a new iterator per step
+        Iterator<Move> moveIterator = moveSelector.iterator();
+        for (int i = 0; i < MOVE_COUNT && moveIterator.hasNext(); i++) {
+            blackhole.consume(moveIterator.next());
+        }
+    }
+
+}
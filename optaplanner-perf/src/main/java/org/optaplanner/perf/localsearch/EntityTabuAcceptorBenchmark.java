@@ -0,0 +1,244 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.localsearch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.AbstractAcceptor;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.tabu.EntityTabuAcceptor;
+import org.optaplanner.core.impl.localsearch.decider.acceptor.tabu.size.FixedTabuSizeStrategy;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchMoveScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import org.optaplanner.core.impl.localsearch.scope.LocalSearchStepScope;
+import org.optaplanner.core.impl.solver.scope.DefaultSolverScope;
+import org.optaplanner.examples.cloudbalancing.domain.CloudBalance;
+import org.optaplanner.examples.cloudbalancing.domain.CloudComputer;
+import org.optaplanner.examples.cloudbalancing.domain.CloudProcess;
+import org.optaplanner.examples.cloudbalancing.persistence.CloudBalancingGenerator;
+import org.optaplanner.examples.cloudbalancing.solver.move.CloudComputerChangeMove;
+import org.optaplanner.perf.common.ExampleProblem;
+
+/**
+ * Measures the {@link EntityTabuAcceptor} bookkeeping of 1 step:
+ * the tabu check of every evaluated move and the tabu list update at the end of the step.
+ * The moves are not done nor scored, so this isolates the acceptor from the score calculation.
+ * <p>
+ * The {@link #tabuList} parameter compares the insertion ordered {@link LinkedHashMap} of {@link EntityTabuAcceptor}
+ * with its baseline, {@link HashMapAndArrayDequeEntityTabuAcceptor}, which refreshes a tabu in O(n).
+ * Every other step picks a tabu move (as if aspiration accepted it), so the tabu list refreshes a tabu.
+ * The large tabu sizes are 5% and 10% of the {@value #PROCESS_COUNT} entities.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar EntityTabuAcceptorBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = ExampleProblem.LOG_LEVEL_JVM_ARG)
+@State(Scope.Thread)
+public class EntityTabuAcceptorBenchmark {
+
+    private static final int COMPUTER_COUNT = 20000;
+    private static final int PROCESS_COUNT = 100000;
+    private static final int MOVE_COUNT = 1 << 17;
+    private static final int MOVE_COUNT_PER_STEP = 1000;
+
+    @Param({"LINKED_HASH_MAP", "HASH_MAP_AND_ARRAY_DEQUE"})
+    public String tabuList;
+
+    @Param({"7", "50", "500", "5000", "10000"})
+    public int tabuSize;
+
+    private Move[] moves;
+    private int moveIndex;
+    private AbstractAcceptor acceptor;
+    private LocalSearchPhaseScope<CloudBalance> phaseScope;
+    private int stepIndex;
+
+    @Setup
+    public void setup() {
+        CloudBalance solution = new CloudBalancingGenerator(true).createCloudBalance(COMPUTER_COUNT, PROCESS_COUNT);
+        List<CloudProcess> processList = solution.getProcessList();
+        List<CloudComputer> computerList = solution.getComputerList();
+        Random random = new Random(37);
+        moves = new Move[MOVE_COUNT];
+        for (int i = 0; i < MOVE_COUNT; i++) {
+            moves[i] = new CloudComputerChangeMove(processList.get(random.nextInt(processList.size())),
+                    computerList.get(random.nextInt(computerList.size())));
+        }
+        moveIndex = 0;
+        switch (tabuList) {
+            case "LINKED_HASH_MAP":
+                EntityTabuAcceptor entityTabuAcceptor = new EntityTabuAcceptor();
+                entityTabuAcceptor.setTabuSizeStrategy(new FixedTabuSizeStrategy(tabuSize));
+                entityTabuAcceptor.setAspirationEnabled(false);
+                acceptor = entityTabuAcceptor;
+                break;
+            case "HASH_MAP_AND_ARRAY_DEQUE":
+                acceptor = new HashMapAndArrayDequeEntityTabuAcceptor(tabuSize);
+                break;
+            default:
+                throw new IllegalStateException("The tabuList (" + tabuList + ") is not implemented.");
+        }
+        phaseScope = new LocalSearchPhaseScope<>(new DefaultSolverScope<>());
+        acceptor.phaseStarted(phaseScope);
+        stepIndex = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        acceptor.phaseEnded(phaseScope);
+    }
+
+    @Benchmark
+    public Move step() {
+        LocalSearchStepScope<CloudBalance> stepScope = new LocalSearchStepScope<>(phaseScope, stepIndex);
+        acceptor.stepStarted(stepScope);
+        Move acceptedMove = null;
+        Move tabuMove = null;
+        for (int i = 0; i < MOVE_COUNT_PER_STEP; i++) {
+            LocalSearchMoveScope<CloudBalance> moveScope = stepScope.borrowMoveScope();
+            moveScope.setMoveIndex(i);
+            moveScope.setMove(moves[moveIndex]);
+            moveIndex = (moveIndex + 1) % MOVE_COUNT;
+            if (acceptor.isAccepted(moveScope)) {
+                if (acceptedMove == null) {
+                    acceptedMove = moveScope.getMove();
+                }
+            } else if (tabuMove == null) {
+                tabuMove = moveScope.getMove();
+            }
+            stepScope.releaseMoveScope(moveScope);
+        }
+        Move step;
+        if (tabuMove != null && (stepIndex % 2 == 1 || acceptedMove == null)) {
+            step = tabuMove;
+        } else if (acceptedMove != null) {
+            step = acceptedMove;
+        } else {
+            step = moves[moveIndex];
+        }
+        stepScope.setStep(step);
+        acceptor.stepEnded(stepScope);
+        phaseScope.setLastCompletedStepScope(stepScope);
+        stepIndex++;
+        return step;
+    }
+
+    /**
+     * The tabu list of {@link EntityTabuAcceptor} before it became a {@link LinkedHashMap},
+     * without aspiration and fading tabu, which this benchmark doesn't use.
+     * Refreshing a tabu that is already in the tabu list removes it from the {@link ArrayDeque}, which is O(n).
+     */
+    private static class HashMapAndArrayDequeEntityTabuAcceptor extends AbstractAcceptor {
+
+        private final int tabuSize;
+
+        private Map<Object, Integer> tabuToStepIndexMap;
+        private Deque<Object> tabuSequenceDeque;
+
+        public HashMapAndArrayDequeEntityTabuAcceptor(int tabuSize) {
+            this.tabuSize = tabuSize;
+        }
+
+        @Override
+        public void phaseStarted(LocalSearchPhaseScope phaseScope) {
+            super.phaseStarted(phaseScope);
+            tabuToStepIndexMap = new HashMap<>(tabuSize);
+            tabuSequenceDeque = new ArrayDeque<>();
+        }
+
+        @Override
+        public void phaseEnded(LocalSearchPhaseScope phaseScope) {
+            super.phaseEnded(phaseScope);
+            tabuToStepIndexMap = null;
+            tabuSequenceDeque = null;
+        }
+
+        @Override
+        public void stepEnded(LocalSearchStepScope stepScope) {
+            super.stepEnded(stepScope);
+            int tabuStepIndex = stepScope.getStepIndex();
+            // Remove the oldest tabu(s)
+            for (Iterator<Object> it = tabuSequenceDeque.iterator(); it.hasNext();) {
+                Object oldTabu = it.next();
+                Integer oldTabuStepIndexInteger = tabuToStepIndexMap.get(oldTabu);
+                if (oldTabuStepIndexInteger == null) {
+                    throw new IllegalStateException("HashCode stability violation: the hashCode() of tabu ("
+                            + oldTabu + ") of class (" + oldTabu.getClass()
+                            + ") changed during planning, since it was inserted in the tabu Map or Set.");
+                }
+                int oldTabuStepCount = tabuStepIndex - oldTabuStepIndexInteger; // at least 1
+                if (oldTabuStepCount < tabuSize) {
+                    break;
+                }
+                it.remove();
+                tabuToStepIndexMap.remove(oldTabu);
+            }
+            // Add the new tabu(s)
+            for (Object tabu : stepScope.getStep().getPlanningEntities()) {
+                // Push tabu to the end of the line
+                if (tabuToStepIndexMap.containsKey(tabu)) {
+                    tabuToStepIndexMap.remove(tabu);
+                    tabuSequenceDeque.remove(tabu);
+                }
+                tabuToStepIndexMap.put(tabu, tabuStepIndex);
+                tabuSequenceDeque.add(tabu);
+            }
+        }
+
+        @Override
+        public boolean isAccepted(LocalSearchMoveScope moveScope) {
+            int maximumTabuStepIndex = -1;
+            for (Object checkingTabu : moveScope.getMove().getPlanningEntities()) {
+                Integer tabuStepIndexInteger = tabuToStepIndexMap.get(checkingTabu);
+                if (tabuStepIndexInteger != null) {
+                    maximumTabuStepIndex = Math.max(tabuStepIndexInteger, maximumTabuStepIndex);
+                }
+            }
+            if (maximumTabuStepIndex < 0) {
+                // The move isn't tabu at all
+                return true;
+            }
+            int tabuStepCount = moveScope.getStepScope().getStepIndex() - maximumTabuStepIndex; // at least 1
+            return tabuStepCount > tabuSize;
+        }
+
+    }
+
+}
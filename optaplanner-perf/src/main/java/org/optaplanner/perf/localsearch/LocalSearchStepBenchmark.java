@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.localsearch;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.perf.common.ExampleProblem;
+
+/**
+ * Measures a fixed number of Local Search steps with the default Local Search configuration,
+ * starting from an initialized solution, so it covers the move selection, the score calculation,
+ * the acceptor and the forager together.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar LocalSearchStepBenchmark}
+ * <p>
+ * To measure the garbage created per step (for example by the move scopes), add {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {ExampleProblem.DATA_DIR_JVM_ARG, ExampleProblem.LOG_LEVEL_JVM_ARG})
+@State(Scope.Thread)
+public class LocalSearchStepBenchmark {
+
+    private static final int STEP_COUNT = 100;
+
+    @Param({"CLOUD_BALANCING", "VEHICLE_ROUTING", "NURSE_ROSTERING"})
+    public ExampleProblem exampleProblem;
+
+    private Solver<Object> solver;
+    private Object solution;
+
+    @Setup
+    public void setup() {
+        SolverFactory<Object> solverFactory = exampleProblem.buildSolverFactory();
+        SolverConfig solverConfig = solverFactory.getSolverConfig();
+        solverConfig.setTerminationConfig(new TerminationConfig());
+        LocalSearchPhaseConfig phaseConfig = new LocalSearchPhaseConfig();
+        TerminationConfig phaseTerminationConfig = new TerminationConfig();
+        phaseTerminationConfig.setStepCountLimit(STEP_COUNT);
+        phaseConfig.setTerminationConfig(phaseTerminationConfig);
+        solverConfig.setPhaseConfigList(Collections.<PhaseConfig>singletonList(phaseConfig));
+        solver = solverFactory.buildSolver();
+        solution = exampleProblem.loadInitializedSolution();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEP_COUNT)
+    public Object solveSteps() {
+        // The solver plans a clone of the solution, so every invocation starts from the same solution
+        return solver.solve(solution);
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.score;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableDemand;
+import org.optaplanner.core.impl.domain.variable.inverserelation.SingletonInverseVariableSupply;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.chained.ChainedChangeMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.examples.vehiclerouting.domain.Customer;
+import org.optaplanner.examples.vehiclerouting.domain.Standstill;
+import org.optaplanner.examples.vehiclerouting.domain.VehicleRoutingSolution;
+import org.optaplanner.perf.common.ExampleProblem;
+
+/**
+ * Measures a chained move on time windowed vehicle routing, which triggers the shadow variable listeners
+ * (the inverse relation, the anchor and the arrival time) and the score calculation:
+ * do the move, calculate the score and undo the move.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar ChainedVariableListenerBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {ExampleProblem.DATA_DIR_JVM_ARG, ExampleProblem.LOG_LEVEL_JVM_ARG})
+@State(Scope.Thread)
+public class ChainedVariableListenerBenchmark {
+
+    private static final int MOVE_COUNT = 1024;
+
+    private InnerScoreDirector<VehicleRoutingSolution> scoreDirector;
+    private Move[] moves;
+    private int moveIndex;
+
+    @Setup
+    public void setup() {
+        InnerScoreDirectorFactory<VehicleRoutingSolution> scoreDirectorFactory
+                = ExampleProblem.VEHICLE_ROUTING.buildScoreDirectorFactory();
+        VehicleRoutingSolution solution = ExampleProblem.VEHICLE_ROUTING.loadInitializedSolution();
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false);
+        scoreDirector.setWorkingSolution(solution);
+        scoreDirector.calculateScore();
+        List<Customer> customerList = solution.getCustomerList();
+        List<Standstill> standstillList = new ArrayList<>(solution.getVehicleList().size() + customerList.size());
+        standstillList.addAll(solution.getVehicleList());
+        standstillList.addAll(customerList);
+        GenuineVariableDescriptor<VehicleRoutingSolution> variableDescriptor = scoreDirectorFactory.getSolutionDescriptor()
+                .findGenuineVariableDescriptorOrFail(customerList.get(0), "previousStandstill");
+        SingletonInverseVariableSupply inverseVariableSupply = scoreDirector.getSupplyManager()
+                .demand(new SingletonInverseVariableDemand(variableDescriptor));
+        Random random = new Random(37);
+        moves = new Move[MOVE_COUNT];
+        int i = 0;
+        while (i < MOVE_COUNT) {
+            Move move = new ChainedChangeMove(customerList.get(random.nextInt(customerList.size())),
+                    variableDescriptor, inverseVariableSupply,
+                    standstillList.get(random.nextInt(standstillList.size())));
+            // Every move is undone, so a move that is doable now is doable in every invocation
+            if (move.isMoveDoable(scoreDirector)) {
+                moves[i] = move;
+                i++;
+            }
+        }
+        moveIndex = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        scoreDirector.dispose();
+    }
+
+    @Benchmark
+    public Score doScoreAndUndoMove() {
+        Move move = moves[moveIndex];
+        moveIndex = (moveIndex + 1) % MOVE_COUNT;
+        Move undoMove = move.createUndoMove(scoreDirector);
+        move.doMove(scoreDirector);
+        Score score = scoreDirector.calculateScore();
+        undoMove.doMove(scoreDirector);
+        return score;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.score;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.impl.heuristic.move.Move;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.examples.cloudbalancing.domain.CloudBalance;
+import org.optaplanner.examples.cloudbalancing.domain.CloudComputer;
+import org.optaplanner.examples.cloudbalancing.domain.CloudProcess;
+import org.optaplanner.examples.cloudbalancing.solver.move.CloudComputerChangeMove;
+import org.optaplanner.perf.common.ExampleProblem;
+
+/**
+ * Measures the incremental Drools score calculation of a single move, which dominates a Local Search step:
+ * do the move, calculate the score and undo the move.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar DroolsScoreCalculationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {ExampleProblem.DATA_DIR_JVM_ARG, ExampleProblem.LOG_LEVEL_JVM_ARG})
+@State(Scope.Thread)
+public class DroolsScoreCalculationBenchmark {
+
+    private static final int MOVE_COUNT = 1024;
+
+    private InnerScoreDirector<CloudBalance> scoreDirector;
+    private Move[] moves;
+    private int moveIndex;
+
+    @Setup
+    public void setup() {
+        InnerScoreDirectorFactory<CloudBalance> scoreDirectorFactory
+                = ExampleProblem.CLOUD_BALANCING.buildScoreDirectorFactory();
+        CloudBalance solution = ExampleProblem.CLOUD_BALANCING.loadInitializedSolution();
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false);
+        scoreDirector.setWorkingSolution(solution);
+        scoreDirector.calculateScore();
+        List<CloudProcess> processList = solution.getProcessList();
+        List<CloudComputer> computerList = solution.getComputerList();
+        Random random = new Random(37);
+        moves = new Move[MOVE_COUNT];
+        for (int i = 0; i < MOVE_COUNT; i++) {
+            moves[i] = new CloudComputerChangeMove(processList.get(random.nextInt(processList.size())),
+                    computerList.get(random.nextInt(computerList.size())));
+        }
+        moveIndex = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        scoreDirector.dispose();
+    }
+
+    @Benchmark
+    public Score doScoreAndUndoMove() {
+        Move move = moves[moveIndex];
+        moveIndex = (moveIndex + 1) % MOVE_COUNT;
+        Move undoMove = move.createUndoMove(scoreDirector);
+        move.doMove(scoreDirector);
+        Score score = scoreDirector.calculateScore();
+        undoMove.doMove(scoreDirector);
+        return score;
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.optaplanner.perf.score;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.api.score.buildin.bendable.BendableScore;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.impl.score.PackedScoreConverter;
+import org.optaplanner.core.impl.score.buildin.bendable.BendableScoreDefinition;
+import org.optaplanner.core.impl.score.buildin.hardsoft.HardSoftScoreDefinition;
+
+/**
+ * Compares {@link org.optaplanner.core.api.score.Score#compareTo(Object)}
+ * with {@link PackedScoreConverter#compare(long[], long[])}, as used by Local Search to compare move scores.
+ * The scores only differ on their last level, which is the common case and the slowest one to compare.
+ * <p>
+ * Run with: {@code java -jar target/benchmarks.jar ScoreCompareBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreCompareBenchmark {
+
+    private HardSoftScore hardSoftScore;
+    private HardSoftScore otherHardSoftScore;
+    private long[] packedHardSoftScore;
+    private long[] otherPackedHardSoftScore;
+
+    private BendableScore bendableScore;
+    private BendableScore otherBendableScore;
+    private long[] packedBendableScore;
+    private long[] otherPackedBendableScore;
+
+    @Setup
+    public void setup() {
+        hardSoftScore = HardSoftScore.valueOfInitialized(-10, -2000);
+        otherHardSoftScore = HardSoftScore.valueOfInitialized(-10, -2001);
+        PackedScoreConverter hardSoftConverter = PackedScoreConverter.build(
+                new HardSoftScoreDefinition(), hardSoftScore);
+        packedHardSoftScore = hardSoftConverter.createPackedScore();
+        hardSoftConverter.pack(hardSoftScore, packedHardSoftScore);
+        otherPackedHardSoftScore = hardSoftConverter.createPackedScore();
+        hardSoftConverter.pack(otherHardSoftScore, otherPackedHardSoftScore);
+
+        bendableScore = BendableScore.valueOfInitialized(new int[]{0, -10}, new int[]{-300, -20, -2000});
+        otherBendableScore = BendableScore.valueOfInitialized(new int[]{0, -10}, new int[]{-300, -20, -2001});
+        PackedScoreConverter bendableConverter = PackedScoreConverter.build(
+                new BendableScoreDefinition(2, 3), bendableScore);
+        packedBendableScore = bendableConverter.createPackedScore();
+        bendableConverter.pack(bendableScore, packedBendableScore);
+        otherPackedBendableScore = bendableConverter.createPackedScore();
+        bendableConverter.pack(otherBendableScore, otherPackedBendableScore);
+    }
+
+    @Benchmark
+    public int compareHardSoftScore() {
+        return hardSoftScore.compareTo(otherHardSoftScore);
+    }
+
+    @Benchmark
+    public int comparePackedHardSoftScore() {
+        return PackedScoreConverter.compare(packedHardSoftScore, otherPackedHardSoftScore);
+    }
+
+    @Benchmark
+    public int compareBendableScore() {
+        return bendableScore.compareTo(otherBendableScore);
+    }
+
+    @Benchmark
+    public int comparePackedBendableScore() {
+        return PackedScoreConverter.compare(packedBendableScore, otherPackedBendableScore);
+    }
+
+}
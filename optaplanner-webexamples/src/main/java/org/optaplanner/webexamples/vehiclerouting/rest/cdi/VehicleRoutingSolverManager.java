@@ -20,16 +20,15 @@ import java.io.Serializable;
 import java.net.URL;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 
-import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
-import org.optaplanner.core.api.solver.event.BestSolutionChangedEvent;
-import org.optaplanner.core.api.solver.event.SolverEventListener;
+import org.optaplanner.core.api.solver.manager.SolverJob;
+import org.optaplanner.core.api.solver.manager.SolverManager;
+import org.optaplanner.core.api.solver.manager.SolverStatus;
+import org.optaplanner.core.config.solver.manager.SolverManagerConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
 import org.optaplanner.examples.vehiclerouting.domain.VehicleRoutingSolution;
 import org.optaplanner.examples.vehiclerouting.persistence.VehicleRoutingImporter;
@@ -40,37 +39,41 @@ public class VehicleRoutingSolverManager implements Serializable {
     private static final String SOLVER_CONFIG = "org/optaplanner/examples/vehiclerouting/solver/vehicleRoutingSolverConfig.xml";
     private static final String IMPORT_DATASET = "/org/optaplanner/webexamples/vehiclerouting/belgium-road-time-n50-k10.vrp";
 
-    private SolverFactory<VehicleRoutingSolution> solverFactory;
-    // TODO After upgrading to JEE 7, replace ExecutorService by ManagedExecutorService:
-    // @Resource(name = "DefaultManagedExecutorService")
-    // private ManagedExecutorService executor;
-    private ExecutorService executor;
+    // TODO After upgrading to JEE 7, use a ManagedThreadFactory as the SolverManagerConfig's threadFactoryClass
+    private SolverManager<VehicleRoutingSolution, String> solverManager;
 
     private Map<String, VehicleRoutingSolution> sessionSolutionMap;
-    private Map<String, Solver<VehicleRoutingSolution>> sessionSolverMap;
+    private Map<String, SolverJob<VehicleRoutingSolution, String>> sessionSolverJobMap;
 
     @PostConstruct
     public synchronized void init() {
-        solverFactory = SolverFactory.createFromXmlResource(SOLVER_CONFIG);
+        SolverFactory<VehicleRoutingSolution> solverFactory = SolverFactory.createFromXmlResource(SOLVER_CONFIG);
         // Always terminate a solver after 2 minutes
         TerminationConfig terminationConfig = new TerminationConfig();
         terminationConfig.setMinutesSpentLimit(2L);
         solverFactory.getSolverConfig().setTerminationConfig(terminationConfig);
-        executor = Executors.newFixedThreadPool(2); // Only 2 because the other examples have their own Executor
+        SolverManagerConfig solverManagerConfig = new SolverManagerConfig();
+        solverManagerConfig.setParallelSolverCount("2"); // Only 2 because the other examples have their own threads
+        solverManager = solverFactory.buildSolverManager(solverManagerConfig);
         // TODO these probably don't need to be thread-safe because all access is synchronized
         sessionSolutionMap = new ConcurrentHashMap<>();
-        sessionSolverMap = new ConcurrentHashMap<>();
+        sessionSolverJobMap = new ConcurrentHashMap<>();
     }
 
     @PreDestroy
     public synchronized void destroy() {
-        for (Solver<VehicleRoutingSolution> solver : sessionSolverMap.values()) {
-            solver.terminateEarly();
-        }
-        executor.shutdown();
+        solverManager.shutdown();
     }
 
     public synchronized VehicleRoutingSolution retrieveOrCreateSolution(String sessionId) {
+        SolverJob<VehicleRoutingSolution, String> solverJob = sessionSolverJobMap.get(sessionId);
+        if (solverJob != null) {
+            if (solverJob.getSolverStatus() != SolverStatus.NOT_SOLVING) {
+                return solverJob.getBestSolution();
+            }
+            sessionSolverJobMap.remove(sessionId);
+            sessionSolutionMap.put(sessionId, solverJob.getBestSolution());
+        }
         VehicleRoutingSolution solution = sessionSolutionMap.get(sessionId);
         if (solution == null) {
             URL unsolvedSolutionURL = getClass().getResource(IMPORT_DATASET);
@@ -85,37 +88,17 @@ public class VehicleRoutingSolverManager implements Serializable {
         return solution;
     }
 
-    public synchronized boolean solve(final String sessionId) {
-        final Solver<VehicleRoutingSolution> solver = solverFactory.buildSolver();
-        solver.addEventListener(event -> {
-            VehicleRoutingSolution bestSolution = event.getNewBestSolution();
-            synchronized (VehicleRoutingSolverManager.this) {
-                sessionSolutionMap.put(sessionId, bestSolution);
-            }
-        });
-        if (sessionSolverMap.containsKey(sessionId)) {
+    public synchronized boolean solve(String sessionId) {
+        if (solverManager.getSolverStatus(sessionId) != SolverStatus.NOT_SOLVING) {
             return false;
         }
-        sessionSolverMap.put(sessionId, solver);
-        final VehicleRoutingSolution solution = retrieveOrCreateSolution(sessionId);
-        executor.submit((Runnable) () -> {
-            VehicleRoutingSolution bestSolution = solver.solve(solution);
-            synchronized (VehicleRoutingSolverManager.this) {
-                sessionSolutionMap.put(sessionId, bestSolution);
-                sessionSolverMap.remove(sessionId);
-            }
-        });
+        VehicleRoutingSolution solution = retrieveOrCreateSolution(sessionId);
+        sessionSolverJobMap.put(sessionId, solverManager.solve(sessionId, solution));
         return true;
     }
 
     public synchronized boolean terminateEarly(String sessionId) {
-        Solver<VehicleRoutingSolution> solver = sessionSolverMap.remove(sessionId);
-        if (solver != null) {
-            solver.terminateEarly();
-            return true;
-        } else {
-            return false;
-        }
+        return solverManager.terminateEarly(sessionId);
     }
 
 }